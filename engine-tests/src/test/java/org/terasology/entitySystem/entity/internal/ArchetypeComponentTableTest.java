@@ -0,0 +1,132 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.entitySystem.entity.internal;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import gnu.trove.iterator.TLongObjectIterator;
+import gnu.trove.list.TLongList;
+import org.junit.Before;
+import org.junit.Test;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.stubs.IntegerComponent;
+import org.terasology.entitySystem.stubs.StringComponent;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ */
+public class ArchetypeComponentTableTest {
+
+    private ArchetypeComponentTable table;
+
+    @Before
+    public void setup() {
+        table = new ArchetypeComponentTable();
+    }
+
+    @Test
+    public void testPutAndGet() {
+        StringComponent string = new StringComponent("a");
+        IntegerComponent integer = new IntegerComponent(1);
+        table.put(1, string);
+        table.put(1, integer);
+
+        assertSame(string, table.get(1, StringComponent.class));
+        assertSame(integer, table.get(1, IntegerComponent.class));
+        assertNull(table.get(2, StringComponent.class));
+        assertEquals(1, table.numEntities());
+    }
+
+    @Test
+    public void testReplaceComponent() {
+        StringComponent first = new StringComponent("a");
+        StringComponent second = new StringComponent("b");
+        table.put(1, first);
+
+        assertSame(first, table.put(1, second));
+        assertSame(second, table.get(1, StringComponent.class));
+        assertEquals(1, table.getComponentCount(StringComponent.class));
+    }
+
+    @Test
+    public void testRemoveComponentKeepsOthers() {
+        IntegerComponent integer = new IntegerComponent(1);
+        StringComponent string = new StringComponent("a");
+        table.putAll(1, Lists.newArrayList(integer, string));
+
+        assertSame(string, table.remove(1, StringComponent.class));
+        assertNull(table.get(1, StringComponent.class));
+        assertSame(integer, table.get(1, IntegerComponent.class));
+
+        assertSame(integer, table.remove(1, IntegerComponent.class));
+        assertEquals(0, table.numEntities());
+    }
+
+    @Test
+    public void testRemoveEntityKeepsRowsOfOthers() {
+        for (int i = 1; i <= 3; i++) {
+            table.putAll(i, Lists.newArrayList(new IntegerComponent(i), new StringComponent("s" + i)));
+        }
+
+        List<Component> removed = table.removeAndReturnComponentsOf(1);
+
+        assertEquals(2, removed.size());
+        assertEquals(2, table.numEntities());
+        assertEquals(new IntegerComponent(2), table.get(2, IntegerComponent.class));
+        assertEquals(new IntegerComponent(3), table.get(3, IntegerComponent.class));
+        assertEquals("s3", table.get(3, StringComponent.class).value);
+    }
+
+    @Test
+    public void testEntitiesWithMultipleComponents() {
+        table.put(1, new IntegerComponent(1));
+        table.putAll(2, Lists.newArrayList(new IntegerComponent(2), new StringComponent("2")));
+        table.put(3, new StringComponent("3"));
+        table.putAll(4, Lists.newArrayList(new StringComponent("4"), new IntegerComponent(4)));
+
+        TLongList ids = table.getEntityIdsWith(new Class[]{IntegerComponent.class, StringComponent.class});
+
+        assertEquals(Sets.newHashSet(2L, 4L), Sets.newHashSet(ids.get(0), ids.get(1)));
+        assertEquals(2, ids.size());
+    }
+
+    @Test
+    public void testComponentIteratorSpansArchetypes() {
+        table.put(1, new IntegerComponent(1));
+        table.putAll(2, Lists.newArrayList(new IntegerComponent(2), new StringComponent("2")));
+        table.put(3, new StringComponent("3"));
+
+        int sum = 0;
+        int count = 0;
+        TLongObjectIterator<IntegerComponent> iterator = table.componentIterator(IntegerComponent.class);
+        while (iterator.hasNext()) {
+            iterator.advance();
+            assertEquals(iterator.key(), iterator.value().value);
+            sum += iterator.value().value;
+            count++;
+        }
+        assertEquals(2, count);
+        assertEquals(3, sum);
+        assertEquals(2, table.getComponentCount(IntegerComponent.class));
+        assertTrue(table.getComponentsInNewList(2).contains(new StringComponent("2")));
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.ai;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.terasology.entitySystem.entity.EntityManager;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.network.ClientComponent;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ */
+public class AIUpdateThrottleTest {
+
+    private AIUpdateThrottle throttle;
+    private EntityManager entityManager;
+
+    @Before
+    public void setup() {
+        throttle = new AIUpdateThrottle();
+        entityManager = mock(EntityManager.class);
+
+        EntityRef character = mock(EntityRef.class);
+        when(character.getComponent(LocationComponent.class)).thenReturn(new LocationComponent(new Vector3f(0, 0, 0)));
+        ClientComponent clientComp = new ClientComponent();
+        clientComp.character = character;
+        EntityRef client = mock(EntityRef.class);
+        when(client.getComponent(ClientComponent.class)).thenReturn(clientComp);
+        when(entityManager.getEntitiesWith(ClientComponent.class)).thenReturn(Arrays.asList(client));
+
+        throttle.updateClientPositions(entityManager);
+    }
+
+    @Test
+    public void testDistanceBands() {
+        assertEquals(0, throttle.getUpdateInterval(new Vector3f(10, 0, 0)));
+        assertEquals(0, throttle.getUpdateInterval(new Vector3f(32, 0, 0)));
+        assertEquals(200, throttle.getUpdateInterval(new Vector3f(50, 0, 0)));
+        assertEquals(200, throttle.getUpdateInterval(new Vector3f(96, 0, 0)));
+        assertEquals(1000, throttle.getUpdateInterval(new Vector3f(200, 0, 0)));
+    }
+
+    @Test
+    public void testEntityWithoutPositionIsNotThrottled() {
+        assertEquals(0, throttle.getUpdateInterval(null));
+    }
+
+    @Test
+    public void testEverythingIsFarWithoutClients() {
+        when(entityManager.getEntitiesWith(ClientComponent.class)).thenReturn(Collections.emptyList());
+        throttle.updateClientPositions(entityManager);
+
+        assertEquals(1000, throttle.getUpdateInterval(new Vector3f(0, 0, 0)));
+    }
+
+    @Test
+    public void testNearEntityUpdatesEveryTick() {
+        EntityRef entity = mock(EntityRef.class);
+        Vector3f position = new Vector3f(10, 0, 0);
+
+        assertEquals(50, throttle.tick(entity, position, 50));
+        assertEquals(50, throttle.tick(entity, position, 50));
+    }
+
+    @Test
+    public void testThrottledEntityAccumulatesTime() {
+        EntityRef entity = mock(EntityRef.class);
+        Vector3f position = new Vector3f(50, 0, 0);
+
+        assertEquals(0, throttle.tick(entity, position, 80));
+        assertEquals(0, throttle.tick(entity, position, 80));
+        assertEquals(240, throttle.tick(entity, position, 80));
+        assertEquals(0, throttle.tick(entity, position, 80));
+    }
+
+    @Test
+    public void testRemoveDropsPendingTime() {
+        EntityRef entity = mock(EntityRef.class);
+        Vector3f position = new Vector3f(50, 0, 0);
+
+        throttle.tick(entity, position, 150);
+        throttle.remove(entity);
+
+        assertEquals(0, throttle.tick(entity, position, 150));
+        assertEquals(300, throttle.tick(entity, position, 150));
+    }
+}
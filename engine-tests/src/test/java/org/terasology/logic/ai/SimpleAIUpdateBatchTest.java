@@ -0,0 +1,134 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.ai;
+
+import com.google.common.collect.Lists;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.logic.characters.CharacterMoveInputEvent;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.utilities.random.FastRandom;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ */
+public class SimpleAIUpdateBatchTest {
+    private static final Vector3f PLAYER_POSITION = new Vector3f(3, 0, 0);
+
+    private SimpleAIUpdateBatch batch;
+
+    @Before
+    public void setup() {
+        batch = new SimpleAIUpdateBatch(new FastRandom(0));
+    }
+
+    @Test
+    public void testDecideHeadsToNearbyPlayer() {
+        SimpleAIComponent ai = new SimpleAIComponent();
+        EntityRef entity = createEntity(ai);
+
+        batch.add(entity, entity.getComponent(LocationComponent.class), ai, 50);
+        batch.decide(PLAYER_POSITION, 0, null, 1);
+        verify(entity, never()).send(any(CharacterMoveInputEvent.class));
+
+        batch.apply();
+
+        CharacterMoveInputEvent event = captureMove(entity, 1);
+        assertEquals(new Vector3f(1, 0, 0), event.getMovementDirection());
+        assertEquals(50, event.getDeltaMs());
+        assertTrue(ai.followingPlayer);
+        assertEquals(PLAYER_POSITION, ai.movementTarget);
+        verify(entity).saveComponent(ai);
+    }
+
+    @Test
+    public void testMoveRepeatsLastDrive() {
+        SimpleAIComponent ai = new SimpleAIComponent();
+        EntityRef entity = createEntity(ai);
+
+        batch.move(entity, 50);
+        verify(entity, never()).send(any(CharacterMoveInputEvent.class));
+        assertFalse(batch.hasDrive(entity));
+
+        batch.add(entity, entity.getComponent(LocationComponent.class), ai, 50);
+        batch.decide(PLAYER_POSITION, 0, null, 1);
+        batch.apply();
+        batch.clear();
+        assertTrue(batch.hasDrive(entity));
+
+        batch.move(entity, 200);
+        CharacterMoveInputEvent event = captureMove(entity, 2);
+        assertEquals(new Vector3f(1, 0, 0), event.getMovementDirection());
+        assertEquals(200, event.getDeltaMs());
+
+        batch.remove(entity);
+        assertFalse(batch.hasDrive(entity));
+    }
+
+    @Test
+    public void testParallelDecideMatchesSerial() throws Exception {
+        int entityCount = 1000;
+        List<EntityRef> entities = Lists.newArrayList();
+        for (int i = 0; i < entityCount; i++) {
+            SimpleAIComponent ai = new SimpleAIComponent();
+            EntityRef entity = createEntity(ai);
+            entities.add(entity);
+            batch.add(entity, entity.getComponent(LocationComponent.class), ai, 50);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            batch.decide(PLAYER_POSITION, 0, executor, 4);
+        } finally {
+            executor.shutdown();
+        }
+        batch.apply();
+
+        for (EntityRef entity : entities) {
+            assertEquals(new Vector3f(1, 0, 0), captureMove(entity, 1).getMovementDirection());
+            assertTrue(entity.getComponent(SimpleAIComponent.class).followingPlayer);
+        }
+    }
+
+    private EntityRef createEntity(SimpleAIComponent ai) {
+        EntityRef entity = mock(EntityRef.class);
+        when(entity.getComponent(SimpleAIComponent.class)).thenReturn(ai);
+        when(entity.getComponent(LocationComponent.class)).thenReturn(new LocationComponent(new Vector3f(0, 0, 0)));
+        return entity;
+    }
+
+    private static CharacterMoveInputEvent captureMove(EntityRef entity, int expectedCount) {
+        ArgumentCaptor<CharacterMoveInputEvent> captor = ArgumentCaptor.forClass(CharacterMoveInputEvent.class);
+        verify(entity, times(expectedCount)).send(captor.capture());
+        return captor.getValue();
+    }
+}
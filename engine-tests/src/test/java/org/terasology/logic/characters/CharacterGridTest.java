@@ -0,0 +1,80 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.characters;
+
+import com.google.common.collect.Sets;
+import org.junit.Before;
+import org.junit.Test;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.math.geom.Vector3f;
+
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ */
+public class CharacterGridTest {
+
+    private CharacterGrid grid;
+    private EntityRef near;
+    private EntityRef far;
+
+    @Before
+    public void setup() {
+        grid = new CharacterGrid(32f);
+        near = mock(EntityRef.class);
+        far = mock(EntityRef.class);
+        grid.update(near, new Vector3f(5, 0, -5));
+        grid.update(far, new Vector3f(500, 0, 500));
+    }
+
+    @Test
+    public void testCollectsNearbyCharacters() {
+        assertEquals(Sets.newHashSet(near), collect(new Vector3f(0, 0, 0), 10f));
+    }
+
+    @Test
+    public void testCollectsAcrossCellBorders() {
+        assertEquals(Sets.newHashSet(near), collect(new Vector3f(-20, 0, 0), 30f));
+    }
+
+    @Test
+    public void testMovedCharacterIsFoundAtNewPosition() {
+        grid.update(far, new Vector3f(1, 1, 1));
+        assertEquals(Sets.newHashSet(near, far), collect(new Vector3f(0, 0, 0), 10f));
+        assertTrue(collect(new Vector3f(500, 0, 500), 10f).isEmpty());
+    }
+
+    @Test
+    public void testRemovedCharacterIsNotFound() {
+        grid.remove(near);
+        assertTrue(collect(new Vector3f(0, 0, 0), 10f).isEmpty());
+    }
+
+    @Test
+    public void testLargeRadiusFindsAll() {
+        assertEquals(Sets.newHashSet(near, far), collect(new Vector3f(0, 0, 0), 100000f));
+    }
+
+    private Set<EntityRef> collect(Vector3f center, float radius) {
+        Set<EntityRef> result = Sets.newHashSet();
+        grid.collect(center, radius, result);
+        return result;
+    }
+}
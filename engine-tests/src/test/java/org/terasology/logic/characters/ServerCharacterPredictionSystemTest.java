@@ -0,0 +1,145 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.characters;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.terasology.context.Context;
+import org.terasology.context.internal.ContextImpl;
+import org.terasology.engine.Time;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.lifecycleEvents.OnActivatedComponent;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.logic.players.LocalPlayer;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.network.ClientComponent;
+import org.terasology.network.NetworkSystem;
+import org.terasology.physics.engine.CharacterCollider;
+import org.terasology.physics.engine.PhysicsEngine;
+import org.terasology.registry.InjectionHelper;
+import org.terasology.world.WorldProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ */
+public class ServerCharacterPredictionSystemTest {
+    private static final float RANGE = 32f;
+
+    private ServerCharacterPredictionSystem system;
+    private long gameTime;
+
+    private EntityRef client;
+    private EntityRef clientCharacter;
+    private EntityRef nearCharacter;
+    private EntityRef farCharacter;
+
+    @Before
+    public void setup() {
+        Time time = mock(Time.class);
+        when(time.getGameTimeInMs()).thenAnswer(invocation -> gameTime);
+        PhysicsEngine physics = mock(PhysicsEngine.class);
+        when(physics.getCharacterCollider(any(EntityRef.class))).thenReturn(mock(CharacterCollider.class));
+        NetworkSystem networkSystem = mock(NetworkSystem.class);
+        when(networkSystem.getOwnerEntity(any(EntityRef.class))).thenReturn(EntityRef.NULL);
+
+        Context context = new ContextImpl();
+        context.put(Time.class, time);
+        context.put(PhysicsEngine.class, physics);
+        context.put(WorldProvider.class, mock(WorldProvider.class));
+        context.put(LocalPlayer.class, mock(LocalPlayer.class));
+        context.put(NetworkSystem.class, networkSystem);
+
+        system = new ServerCharacterPredictionSystem();
+        InjectionHelper.inject(system, context);
+        gameTime = 1000;
+        system.initialise();
+
+        clientCharacter = createCharacter(new Vector3f(0, 0, 0));
+        nearCharacter = createCharacter(new Vector3f(10, 0, 0));
+        farCharacter = createCharacter(new Vector3f(100, 0, 0));
+
+        client = mock(EntityRef.class);
+        ClientComponent clientComp = new ClientComponent();
+        clientComp.character = clientCharacter;
+        when(client.getComponent(ClientComponent.class)).thenReturn(clientComp);
+        when(networkSystem.getOwnerEntity(clientCharacter)).thenReturn(client);
+
+        gameTime = 1200;
+        system.onTeleport(new CharacterTeleportEvent(new Vector3f(12, 0, 0)), nearCharacter);
+        system.onTeleport(new CharacterTeleportEvent(new Vector3f(102, 0, 0)), farCharacter);
+    }
+
+    @Test
+    public void testOnlyCharactersInRangeAreRewound() {
+        system.lagCompensate(client, 1150, RANGE);
+
+        assertEquals(new Vector3f(10.5f, 0, 0), getPosition(nearCharacter));
+        assertEquals(new Vector3f(102, 0, 0), getPosition(farCharacter));
+        system.restoreToPresent();
+    }
+
+    @Test
+    public void testRangeOfEventIsUsed() {
+        system.lagCompensate(client, 1150, 128f);
+
+        assertEquals(new Vector3f(10.5f, 0, 0), getPosition(nearCharacter));
+        assertEquals(new Vector3f(100.5f, 0, 0), getPosition(farCharacter));
+        system.restoreToPresent();
+    }
+
+    @Test
+    public void testOwnCharacterIsNotRewound() {
+        system.lagCompensate(client, 1150, RANGE);
+
+        assertEquals(new Vector3f(0, 0, 0), getPosition(clientCharacter));
+        system.restoreToPresent();
+    }
+
+    @Test
+    public void testRestoreToPresent() {
+        system.lagCompensate(client, 1150, 128f);
+        system.restoreToPresent();
+
+        // Characters of other clients are shown at the render time, RENDER_DELAY behind the game time
+        assertEquals(new Vector3f(11, 0, 0), getPosition(nearCharacter));
+        assertEquals(new Vector3f(101, 0, 0), getPosition(farCharacter));
+    }
+
+    @Test
+    public void testRestoreLeavesUncompensatedCharacters() {
+        system.lagCompensate(client, 1150, RANGE);
+        system.restoreToPresent();
+
+        assertEquals(new Vector3f(11, 0, 0), getPosition(nearCharacter));
+        assertEquals(new Vector3f(102, 0, 0), getPosition(farCharacter));
+    }
+
+    private EntityRef createCharacter(Vector3f position) {
+        EntityRef character = mock(EntityRef.class);
+        when(character.getComponent(LocationComponent.class)).thenReturn(new LocationComponent(position));
+        when(character.getComponent(CharacterMovementComponent.class)).thenReturn(new CharacterMovementComponent());
+        system.onCreate(OnActivatedComponent.newInstance(), character);
+        return character;
+    }
+
+    private static Vector3f getPosition(EntityRef character) {
+        return character.getComponent(LocationComponent.class).getWorldPosition();
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.protobuf.EntityData;
+import org.terasology.world.chunks.Chunk;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.liquid.LiquidData;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ */
+public class ChunkPayloadCacheTest {
+
+    private ChunkPayloadCache cache;
+    private Chunk chunk;
+
+    @Before
+    public void setup() {
+        cache = new ChunkPayloadCache();
+        chunk = mockChunk(new Vector3i(1, 0, 2));
+    }
+
+    private Chunk mockChunk(Vector3i pos) {
+        Chunk result = mock(Chunk.class);
+        when(result.getPosition()).thenReturn(pos);
+        when(result.encode()).thenAnswer(invocation -> EntityData.ChunkStore.newBuilder().setX(pos.x).setY(pos.y).setZ(pos.z));
+        return result;
+    }
+
+    @Test
+    public void testChunkEncodedOnce() {
+        EntityData.ChunkStore first = cache.getPayload(chunk);
+        EntityData.ChunkStore second = cache.getPayload(chunk);
+
+        assertSame(first, second);
+        verify(chunk, times(1)).encode();
+    }
+
+    @Test
+    public void testBlockChangeInvalidates() {
+        EntityData.ChunkStore first = cache.getPayload(chunk);
+        Vector3i blockPos = new Vector3i(ChunkConstants.SIZE_X + 3, 5, 2 * ChunkConstants.SIZE_Z + 1);
+        cache.onBlockChanged(blockPos, null, null);
+
+        assertNotSame(first, cache.getPayload(chunk));
+        verify(chunk, times(2)).encode();
+    }
+
+    @Test
+    public void testLiquidChangeInvalidates() {
+        EntityData.ChunkStore first = cache.getPayload(chunk);
+        Vector3i blockPos = new Vector3i(ChunkConstants.SIZE_X + 3, 5, 2 * ChunkConstants.SIZE_Z + 1);
+        cache.onLiquidChanged(blockPos, new LiquidData(), new LiquidData());
+
+        assertNotSame(first, cache.getPayload(chunk));
+        verify(chunk, times(2)).encode();
+    }
+
+    @Test
+    public void testReloadedChunkIsEncodedAgain() {
+        cache.getPayload(chunk);
+        when(chunk.isDisposed()).thenReturn(true);
+        cache.removeDisposedChunks();
+
+        Chunk reloaded = mockChunk(new Vector3i(1, 0, 2));
+        cache.getPayload(reloaded);
+        verify(reloaded, times(1)).encode();
+    }
+}
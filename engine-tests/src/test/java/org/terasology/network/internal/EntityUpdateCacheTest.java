@@ -0,0 +1,82 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import com.google.common.collect.Sets;
+import org.junit.Before;
+import org.junit.Test;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.stubs.IntegerComponent;
+import org.terasology.entitySystem.stubs.StringComponent;
+import org.terasology.protobuf.EntityData;
+
+import java.util.Collections;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ */
+public class EntityUpdateCacheTest {
+
+    private EntityUpdateCache cache;
+    private Set<Class<? extends Component>> none = Collections.emptySet();
+    private EntityData.PackedEntity entityData = EntityData.PackedEntity.newBuilder().setId(1).build();
+
+    @Before
+    public void setup() {
+        cache = new EntityUpdateCache();
+    }
+
+    @Test
+    public void testSameChangesShareUpdate() {
+        Set<Class<? extends Component>> changed = Sets.newLinkedHashSet();
+        changed.add(StringComponent.class);
+        changed.add(IntegerComponent.class);
+        cache.put(1, false, none, changed, none, entityData, 100);
+        changed.clear();
+
+        Set<Class<? extends Component>> otherClientChanged = Sets.newLinkedHashSet();
+        otherClientChanged.add(IntegerComponent.class);
+        otherClientChanged.add(StringComponent.class);
+        EntityUpdateCache.CachedUpdate update = cache.get(1, false, none, otherClientChanged, none);
+        assertSame(entityData, update.getEntityData());
+        assertEquals(100, update.getSerializationTime());
+    }
+
+    @Test
+    public void testOwnerAndChangesAreDistinguished() {
+        Set<Class<? extends Component>> changed = Sets.newHashSet();
+        changed.add(StringComponent.class);
+        cache.put(1, false, none, changed, none, entityData, 100);
+
+        assertNull(cache.get(1, true, none, changed, none));
+        assertNull(cache.get(1, false, changed, none, none));
+        assertNull(cache.get(2, false, none, changed, none));
+    }
+
+    @Test
+    public void testInvalidate() {
+        cache.put(1, false, none, none, none, entityData, 100);
+        cache.put(2, false, none, none, none, entityData, 100);
+        cache.invalidate(1);
+
+        assertNull(cache.get(1, false, none, none, none));
+        assertSame(entityData, cache.get(2, false, none, none, none).getEntityData());
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
+import org.junit.Before;
+import org.junit.Test;
+import org.terasology.math.Region3i;
+import org.terasology.math.geom.Vector3i;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ */
+public class InterestGridTest {
+
+    private InterestGrid grid;
+
+    @Before
+    public void setup() {
+        grid = new InterestGrid();
+    }
+
+    @Test
+    public void testRegionQuery() {
+        grid.update(1, new Vector3i(0, 0, 0));
+        grid.update(2, new Vector3i(2, 0, -2));
+        grid.update(3, new Vector3i(5, 0, 0));
+
+        assertEquals(set(1, 2), query(Region3i.createFromCenterExtents(new Vector3i(0, 0, 0), 2)));
+        assertEquals(set(3), query(Region3i.createFromCenterExtents(new Vector3i(5, 0, 0), 0)));
+    }
+
+    @Test
+    public void testLargeRegionQuery() {
+        grid.update(1, new Vector3i(0, 0, 0));
+        grid.update(2, new Vector3i(100, 0, 0));
+        assertEquals(set(1), query(Region3i.createFromCenterExtents(new Vector3i(0, 0, 0), 50)));
+    }
+
+    @Test
+    public void testMove() {
+        grid.update(1, new Vector3i(0, 0, 0));
+        grid.update(1, new Vector3i(4, 0, 0));
+
+        assertEquals(new Vector3i(4, 0, 0), grid.getChunk(1));
+        assertEquals(set(), query(Region3i.createFromCenterExtents(new Vector3i(0, 0, 0), 1)));
+        assertEquals(set(1), query(Region3i.createFromCenterExtents(new Vector3i(4, 0, 0), 1)));
+    }
+
+    @Test
+    public void testRemove() {
+        grid.update(1, new Vector3i(0, 0, 0));
+        grid.remove(1);
+
+        assertFalse(grid.contains(1));
+        assertNull(grid.getChunk(1));
+        assertEquals(set(), query(Region3i.createFromCenterExtents(new Vector3i(0, 0, 0), 1)));
+    }
+
+    @Test
+    public void testMovedEntities() {
+        grid.update(1, new Vector3i(0, 0, 0));
+        grid.update(2, new Vector3i(0, 0, 0));
+        assertEquals(set(1, 2), grid.getMovedEntities());
+
+        grid.clearMoved();
+        grid.update(1, new Vector3i(0, 0, 0));
+        grid.update(2, new Vector3i(1, 0, 0));
+        grid.update(3, new Vector3i(0, 0, 0));
+        grid.remove(3);
+        assertEquals(set(2), grid.getMovedEntities());
+    }
+
+    @Test
+    public void testRetainAll() {
+        grid.update(1, new Vector3i(0, 0, 0));
+        grid.update(2, new Vector3i(0, 0, 0));
+        grid.update(3, new Vector3i(1, 0, 0));
+
+        assertEquals(set(2, 3), grid.retainAll(set(1)));
+        assertTrue(grid.contains(1));
+        assertFalse(grid.contains(2));
+        assertFalse(grid.contains(3));
+    }
+
+    private TIntSet query(Region3i region) {
+        TIntSet result = new TIntHashSet();
+        grid.forEachInRegion(region, result::add);
+        return result;
+    }
+
+    private static TIntSet set(int... values) {
+        return new TIntHashSet(values);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import com.google.protobuf.ByteString;
+import org.junit.Test;
+import org.terasology.protobuf.EntityData;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ */
+public class LocationQuantizationTest {
+
+    private static final int LOCATION_ID = 4;
+    private static final byte POSITION_ID = 3;
+    private static final byte ROTATION_ID = 4;
+
+    private LocationQuantization quantization = new LocationQuantization(LOCATION_ID, POSITION_ID, ROTATION_ID);
+
+    @Test
+    public void testRoundTrip() {
+        EntityData.PackedEntity update = location(
+                EntityData.Value.newBuilder().addFloat(10.5f).addFloat(-3.25f).addFloat(1000.1f).build(),
+                EntityData.Value.newBuilder().addFloat(0).addFloat(0.7071f).addFloat(0).addFloat(0.7071f).build());
+
+        EntityData.PackedEntity quantized = quantization.quantize(update);
+        assertEquals(0, quantized.getFieldValue(0).getFloatCount());
+        assertEquals(3, quantized.getFieldValue(0).getIntegerCount());
+        assertEquals(4, quantized.getFieldValue(1).getIntegerCount());
+        // Fields other than position and rotation are left alone
+        assertEquals(update.getFieldValue(2), quantized.getFieldValue(2));
+
+        EntityData.PackedEntity restored = quantization.dequantize(quantized);
+        assertEquals(10.5f, restored.getFieldValue(0).getFloat(0), 0);
+        assertEquals(-3.25f, restored.getFieldValue(0).getFloat(1), 0);
+        assertEquals(1000.1f, restored.getFieldValue(0).getFloat(2), 0.5f / LocationQuantization.POSITION_SCALE);
+        assertEquals(0.7071f, restored.getFieldValue(1).getFloat(1), 0.5f / LocationQuantization.ROTATION_SCALE);
+    }
+
+    @Test
+    public void testSmallMovementsQuantizeEqually() {
+        EntityData.Value rotation = EntityData.Value.newBuilder().addFloat(0).addFloat(0).addFloat(0).addFloat(1).build();
+        EntityData.PackedEntity a = quantization.quantize(location(
+                EntityData.Value.newBuilder().addFloat(1).addFloat(2).addFloat(3).build(), rotation));
+        EntityData.PackedEntity b = quantization.quantize(location(
+                EntityData.Value.newBuilder().addFloat(1.0001f).addFloat(2).addFloat(3).build(), rotation));
+        assertEquals(a, b);
+    }
+
+    @Test
+    public void testOtherComponentsAreUntouched() {
+        EntityData.PackedEntity update = EntityData.PackedEntity.newBuilder()
+                .addComponentId(LOCATION_ID + 1)
+                .setComponentFieldCounts(ByteString.copyFrom(new byte[]{1}))
+                .setFieldIds(ByteString.copyFrom(new byte[]{POSITION_ID}))
+                .addFieldValue(EntityData.Value.newBuilder().addFloat(1).addFloat(2).addFloat(3))
+                .build();
+        assertSame(update, quantization.quantize(update));
+        assertSame(update, quantization.dequantize(update));
+    }
+
+    private EntityData.PackedEntity location(EntityData.Value position, EntityData.Value rotation) {
+        return EntityData.PackedEntity.newBuilder()
+                .addComponentId(LOCATION_ID)
+                .setComponentFieldCounts(ByteString.copyFrom(new byte[]{3}))
+                .setFieldIds(ByteString.copyFrom(new byte[]{POSITION_ID, ROTATION_ID, 5}))
+                .addFieldValue(position)
+                .addFieldValue(rotation)
+                .addFieldValue(EntityData.Value.newBuilder().addFloat(1.2345f))
+                .build();
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import com.google.protobuf.ByteString;
+import org.junit.Before;
+import org.junit.Test;
+import org.terasology.protobuf.EntityData;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ */
+public class ReplicationBaselineTest {
+
+    private ReplicationBaseline baseline;
+
+    @Before
+    public void setup() {
+        baseline = new ReplicationBaseline();
+    }
+
+    @Test
+    public void testFirstUpdateIsSentInFull() {
+        EntityData.PackedEntity update = update(3, 1, 2);
+        assertEquals(update, baseline.filter(1, false, update));
+    }
+
+    @Test
+    public void testUnchangedFieldsAreDropped() {
+        baseline.filter(1, false, update(3, 1, 2));
+
+        EntityData.PackedEntity result = baseline.filter(1, false, update(3, 1, 5));
+        assertEquals(1, result.getComponentIdCount());
+        assertEquals(3, result.getComponentId(0));
+        assertEquals(1, result.getComponentFieldCounts().byteAt(0));
+        assertEquals(1, result.getFieldIds().byteAt(0));
+        assertEquals(5, result.getFieldValue(0).getInteger(0));
+    }
+
+    @Test
+    public void testUnchangedUpdateIsDropped() {
+        baseline.filter(1, false, update(3, 1, 2));
+        assertNull(baseline.filter(1, false, update(3, 1, 2)));
+    }
+
+    @Test
+    public void testEntitiesAreSeparate() {
+        baseline.filter(1, false, update(3, 1, 2));
+        EntityData.PackedEntity update = update(3, 1, 2);
+        assertEquals(update, baseline.filter(2, false, update));
+    }
+
+    @Test
+    public void testRemovedComponentIsSentInFullAgain() {
+        baseline.filter(1, false, update(3, 1, 2));
+        EntityData.PackedEntity removal = EntityData.PackedEntity.newBuilder().addRemovedComponent(3).build();
+        assertEquals(1, baseline.filter(1, false, removal).getRemovedComponentCount());
+
+        EntityData.PackedEntity update = update(3, 1, 2);
+        assertEquals(update, baseline.filter(1, false, update));
+    }
+
+    @Test
+    public void testOwnershipChangeResetsBaseline() {
+        baseline.filter(1, false, update(3, 1, 2));
+        EntityData.PackedEntity update = update(3, 1, 2);
+        assertEquals(update, baseline.filter(1, true, update));
+    }
+
+    @Test
+    public void testRemoveEntity() {
+        baseline.filter(1, false, update(3, 1, 2));
+        baseline.remove(1);
+        EntityData.PackedEntity update = update(3, 1, 2);
+        assertEquals(update, baseline.filter(1, false, update));
+    }
+
+    @Test
+    public void testFieldsWrittenByClientAreSentAgain() {
+        baseline.filter(1, true, update(3, 1, 2));
+        baseline.invalidate(1, update(3, 1, 9));
+
+        EntityData.PackedEntity update = update(3, 1, 2);
+        assertEquals(update, baseline.filter(1, true, update));
+    }
+
+    @Test
+    public void testFieldsNotWrittenByClientAreStillDropped() {
+        baseline.filter(1, true, update(3, 1, 2));
+        baseline.invalidate(1, update(4, 1, 9));
+
+        assertNull(baseline.filter(1, true, update(3, 1, 2)));
+    }
+
+    /**
+     * @return An update of a single component with two fields, the first one always being 7
+     */
+    private EntityData.PackedEntity update(int componentId, int fieldA, int fieldB) {
+        return EntityData.PackedEntity.newBuilder()
+                .addComponentId(componentId)
+                .setComponentFieldCounts(ByteString.copyFrom(new byte[]{2}))
+                .setFieldIds(ByteString.copyFrom(new byte[]{0, (byte) fieldA}))
+                .addFieldValue(EntityData.Value.newBuilder().addInteger(7))
+                .addFieldValue(EntityData.Value.newBuilder().addInteger(fieldB))
+                .build();
+    }
+}
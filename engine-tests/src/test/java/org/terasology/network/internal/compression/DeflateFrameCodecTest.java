@@ -0,0 +1,76 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal.compression;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ */
+public class DeflateFrameCodecTest {
+
+    @Test
+    public void testRoundTrip() throws DataFormatException {
+        DeflateFrameCodec codec = new DeflateFrameCodec(FrameDictionary.getDefault(), Deflater.BEST_SPEED);
+        for (byte[] sample : FrameDictionary.createDefaultSamples()) {
+            byte[] compressed = codec.compress(sample, 0, sample.length);
+            assertArrayEquals(sample, codec.decompress(compressed, 0, compressed.length, sample.length));
+        }
+    }
+
+    @Test
+    public void testDictionaryShrinksSmallFrames() {
+        DeflateFrameCodec withDictionary = new DeflateFrameCodec(FrameDictionary.getDefault(), Deflater.BEST_SPEED);
+        DeflateFrameCodec withoutDictionary = new DeflateFrameCodec(new byte[0], Deflater.BEST_SPEED);
+        int sizeWith = 0;
+        int sizeWithout = 0;
+        for (byte[] sample : FrameDictionary.createDefaultSamples()) {
+            sizeWith += withDictionary.compress(sample, 0, sample.length).length;
+            sizeWithout += withoutDictionary.compress(sample, 0, sample.length).length;
+        }
+        assertTrue(sizeWith < sizeWithout);
+    }
+
+    @Test
+    public void testIdDependsOnDictionary() {
+        assertEquals(new DeflateFrameCodec(new byte[]{1, 2}, 1).getId(), new DeflateFrameCodec(new byte[]{1, 2}, 6).getId());
+        assertNotEquals(new DeflateFrameCodec(new byte[]{1, 2}, 1).getId(), new DeflateFrameCodec(new byte[]{2, 1}, 1).getId());
+    }
+
+    @Test(expected = DataFormatException.class)
+    public void testTruncatedFrameRejected() throws DataFormatException {
+        DeflateFrameCodec codec = new DeflateFrameCodec(FrameDictionary.getDefault(), Deflater.BEST_SPEED);
+        byte[] sample = FrameDictionary.createDefaultSamples().get(0);
+        byte[] compressed = codec.compress(sample, 0, sample.length);
+        codec.decompress(compressed, 0, compressed.length / 2, sample.length);
+    }
+
+    @Test
+    public void testDefaultDictionaryIsDeterministic() {
+        List<byte[]> samples = FrameDictionary.createDefaultSamples();
+        byte[] dictionary = FrameDictionary.train(samples, FrameDictionary.DEFAULT_SIZE);
+        assertArrayEquals(FrameDictionary.getDefault(), dictionary);
+        assertTrue(dictionary.length > 0 && dictionary.length <= FrameDictionary.DEFAULT_SIZE);
+    }
+}
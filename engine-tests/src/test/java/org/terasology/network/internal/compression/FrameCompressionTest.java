@@ -0,0 +1,135 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal.compression;
+
+import gnu.trove.set.hash.TIntHashSet;
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.jboss.netty.channel.ChannelHandlerContext;
+import org.jboss.netty.channel.ChannelPipeline;
+import org.jboss.netty.handler.codec.frame.CorruptedFrameException;
+import org.junit.Before;
+import org.junit.Test;
+import org.terasology.network.FrameCompression;
+import org.terasology.network.internal.MetricRecordingHandler;
+import org.terasology.protobuf.NetData;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ */
+public class FrameCompressionTest {
+
+    private ChannelHandlerContext ctx;
+    private MetricRecordingHandler metrics;
+    private FrameCompressionEncoder encoder;
+    private FrameCompressionDecoder decoder;
+
+    @Before
+    public void setup() {
+        metrics = new MetricRecordingHandler();
+        ChannelPipeline pipeline = mock(ChannelPipeline.class);
+        when(pipeline.get(MetricRecordingHandler.NAME)).thenReturn(metrics);
+        ctx = mock(ChannelHandlerContext.class);
+        when(ctx.getPipeline()).thenReturn(pipeline);
+
+        FrameCodec codec = new LzFrameCodec();
+        encoder = new FrameCompressionEncoder(codec);
+        decoder = new FrameCompressionDecoder(codec, FrameCompressionNegotiation.MAX_FRAME_LENGTH);
+    }
+
+    @Test
+    public void testLargeFrameIsCompressed() throws Exception {
+        byte[] frame = FrameDictionary.createDefaultSamples().get(0);
+        ChannelBuffer encoded = encode(frame);
+        assertEquals(FrameCompressionEncoder.COMPRESSED, encoded.getByte(0));
+        assertTrue(encoded.readableBytes() < frame.length);
+        assertArrayEquals(frame, decode(encoded));
+
+        assertEquals(frame.length, metrics.getUncompressedBytesSinceLastCall());
+        assertEquals(0, metrics.getUncompressedMessagesSinceLastCall());
+    }
+
+    @Test
+    public void testSmallFrameIsStored() throws Exception {
+        byte[] frame = {3, 0x48, 0x10, 0x01};
+        ChannelBuffer encoded = encode(frame);
+        assertEquals(FrameCompressionEncoder.STORED, encoded.getByte(0));
+        assertEquals(frame.length + 1, encoded.readableBytes());
+        assertArrayEquals(frame, decode(encoded));
+        assertEquals(1, metrics.getUncompressedMessagesSinceLastCall());
+    }
+
+    @Test
+    public void testBypassedMessageTypeIsStored() throws Exception {
+        encoder = new FrameCompressionEncoder(new LzFrameCodec(), 0, new TIntHashSet(new int[]{NetData.NetMessage.TIME_FIELD_NUMBER}));
+        byte[] body = NetData.NetMessage.newBuilder().setTime(1234567).build().toByteArray();
+        byte[] frame = new byte[body.length * 8 + 1];
+        frame[0] = (byte) (frame.length - 1);
+        for (int i = 0; i < 8; i++) {
+            System.arraycopy(body, 0, frame, 1 + i * body.length, body.length);
+        }
+        ChannelBuffer encoded = encode(frame);
+        assertEquals(FrameCompressionEncoder.STORED, encoded.getByte(0));
+        assertArrayEquals(frame, decode(encoded));
+    }
+
+    @Test(expected = CorruptedFrameException.class)
+    public void testUnknownHeaderRejected() throws Exception {
+        decode(ChannelBuffers.wrappedBuffer(new byte[]{7, 1, 2, 3}));
+    }
+
+    @Test(expected = CorruptedFrameException.class)
+    public void testOversizedFrameRejected() throws Exception {
+        decoder = new FrameCompressionDecoder(new LzFrameCodec(), 16);
+        decode(ChannelBuffers.wrappedBuffer(new byte[]{FrameCompressionEncoder.COMPRESSED, 17, 0}));
+    }
+
+    @Test
+    public void testNegotiation() throws Exception {
+        NetData.NetMessage offer = NetData.NetMessage.parseFrom(
+                FrameCompressionNegotiation.offer(NetData.NetMessage.newBuilder()).build().toByteArray());
+        for (FrameCompression compression : FrameCompression.values()) {
+            assertEquals(compression, FrameCompressionNegotiation.select(compression, offer));
+
+            NetData.NetMessage announcement = NetData.NetMessage.parseFrom(
+                    FrameCompressionNegotiation.announce(NetData.NetMessage.newBuilder(), compression).build().toByteArray());
+            assertEquals(compression, FrameCompressionNegotiation.getAnnounced(announcement));
+        }
+    }
+
+    @Test
+    public void testClientWithoutOfferKeepsZlib() {
+        NetData.NetMessage message = NetData.NetMessage.newBuilder().build();
+        assertEquals(FrameCompression.ZLIB, FrameCompressionNegotiation.select(FrameCompression.LZ, message));
+        assertEquals(FrameCompression.ZLIB, FrameCompressionNegotiation.getAnnounced(message));
+    }
+
+    private ChannelBuffer encode(byte[] frame) throws Exception {
+        return (ChannelBuffer) encoder.encode(ctx, null, ChannelBuffers.wrappedBuffer(frame));
+    }
+
+    private byte[] decode(ChannelBuffer encoded) throws Exception {
+        ChannelBuffer decoded = (ChannelBuffer) decoder.decode(ctx, null, encoded);
+        byte[] result = new byte[decoded.readableBytes()];
+        decoded.readBytes(result);
+        return result;
+    }
+}
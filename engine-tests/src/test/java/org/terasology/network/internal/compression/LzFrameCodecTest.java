@@ -0,0 +1,103 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal.compression;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.DataFormatException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ */
+public class LzFrameCodecTest {
+
+    private LzFrameCodec codec = new LzFrameCodec();
+
+    @Test
+    public void testEmptyFrame() throws DataFormatException {
+        assertRoundTrip(new byte[0]);
+    }
+
+    @Test
+    public void testShortFrame() throws DataFormatException {
+        assertRoundTrip(new byte[]{1, 2, 3});
+    }
+
+    @Test
+    public void testRepetitiveFrameShrinks() throws DataFormatException {
+        byte[] data = new byte[4096];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i % 7);
+        }
+        byte[] compressed = assertRoundTrip(data);
+        assertTrue(compressed.length < data.length / 10);
+    }
+
+    @Test
+    public void testLongLiteralsAndMatches() throws DataFormatException {
+        byte[] noise = new byte[1000];
+        new Random(3).nextBytes(noise);
+        byte[] data = new byte[3000];
+        System.arraycopy(noise, 0, data, 0, 1000);
+        System.arraycopy(noise, 0, data, 1000, 1000);
+        System.arraycopy(noise, 0, data, 2000, 1000);
+        assertRoundTrip(data);
+    }
+
+    @Test
+    public void testText() throws DataFormatException {
+        assertRoundTrip("engine:location engine:network engine:location engine:character engine:network"
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testSampleFrames() throws DataFormatException {
+        for (byte[] sample : FrameDictionary.createDefaultSamples()) {
+            assertRoundTrip(sample);
+        }
+    }
+
+    @Test
+    public void testOffsetIntoBuffer() throws DataFormatException {
+        byte[] data = "xxabcabcabcabcabcyy".getBytes(StandardCharsets.UTF_8);
+        byte[] compressed = codec.compress(data, 2, 15);
+        assertArrayEquals(Arrays.copyOfRange(data, 2, 17), codec.decompress(compressed, 0, compressed.length, 15));
+    }
+
+    @Test(expected = DataFormatException.class)
+    public void testTruncatedFrameRejected() throws DataFormatException {
+        byte[] data = new byte[256];
+        byte[] compressed = codec.compress(data, 0, data.length);
+        codec.decompress(compressed, 0, compressed.length / 2, data.length);
+    }
+
+    @Test(expected = DataFormatException.class)
+    public void testMatchBeforeStartRejected() throws DataFormatException {
+        // One literal followed by a match reaching two bytes back
+        codec.decompress(new byte[]{0x10, 7, 2, 0}, 0, 4, 5);
+    }
+
+    private byte[] assertRoundTrip(byte[] data) throws DataFormatException {
+        byte[] compressed = codec.compress(data, 0, data.length);
+        assertArrayEquals(data, codec.decompress(compressed, 0, compressed.length, data.length));
+        return compressed;
+    }
+}
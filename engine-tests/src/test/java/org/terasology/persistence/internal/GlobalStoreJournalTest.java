@@ -0,0 +1,141 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.persistence.internal;
+
+import com.google.common.collect.Lists;
+import gnu.trove.list.array.TLongArrayList;
+import gnu.trove.set.hash.TLongHashSet;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.terasology.protobuf.EntityData;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ */
+public class GlobalStoreJournalTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path journalPath;
+    private Path updatePath;
+
+    @Before
+    public void setup() throws IOException {
+        journalPath = temporaryFolder.getRoot().toPath().resolve("global.journal");
+        updatePath = temporaryFolder.getRoot().toPath().resolve("global.journalupdate");
+    }
+
+    @Test
+    public void testGenerationAndRemovedEntitiesSurviveSerialization() throws IOException {
+        EntityData.GlobalStore.Builder builder = EntityData.GlobalStore.newBuilder().setNextEntityId(10);
+        GlobalStoreJournal.setRemovedEntities(builder, new TLongArrayList(new long[]{3, 7}));
+        EntityData.GlobalStore segment = GlobalStoreJournal.withGeneration(builder.build(), 4);
+
+        EntityData.GlobalStore parsed = EntityData.GlobalStore.parseFrom(segment.toByteArray());
+        assertEquals(4, GlobalStoreJournal.getGeneration(parsed));
+        assertEquals(new TLongArrayList(new long[]{3, 7}), GlobalStoreJournal.getRemovedEntities(parsed));
+        assertEquals(0, GlobalStoreJournal.getGeneration(EntityData.GlobalStore.getDefaultInstance()));
+    }
+
+    @Test
+    public void testAppliedUpdatesGetAppended() throws IOException {
+        long size = append(0, createSegment(1, 1));
+        size += append(size, createSegment(1, 2));
+
+        List<EntityData.GlobalStore> segments = Lists.newArrayList();
+        assertEquals(size, GlobalStoreJournal.readSegments(journalPath, 1, segments));
+        assertEquals(2, segments.size());
+        assertEquals(1, segments.get(0).getNextEntityId());
+        assertEquals(2, segments.get(1).getNextEntityId());
+    }
+
+    @Test
+    public void testApplyingUpdateAgainHasNoEffect() throws IOException {
+        long size = append(0, createSegment(1, 1));
+        GlobalStoreJournal.writeUpdate(updatePath, size, createSegment(1, 2));
+        GlobalStoreJournal.applyUpdate(updatePath, journalPath);
+        GlobalStoreJournal.applyUpdate(updatePath, journalPath);
+
+        List<EntityData.GlobalStore> segments = Lists.newArrayList();
+        GlobalStoreJournal.readSegments(journalPath, 1, segments);
+        assertEquals(2, segments.size());
+    }
+
+    @Test
+    public void testSegmentsOfOtherGenerationsGetIgnored() throws IOException {
+        long size = append(0, createSegment(1, 1));
+        append(size, createSegment(2, 2));
+
+        List<EntityData.GlobalStore> segments = Lists.newArrayList();
+        GlobalStoreJournal.readSegments(journalPath, 2, segments);
+        assertEquals(1, segments.size());
+        assertEquals(2, segments.get(0).getNextEntityId());
+    }
+
+    @Test
+    public void testIncompleteSegmentGetsIgnoredAndOverwritten() throws IOException {
+        long size = append(0, createSegment(1, 1));
+        append(size, createSegment(1, 2));
+        try (FileChannel journal = FileChannel.open(journalPath, StandardOpenOption.WRITE)) {
+            journal.truncate(Files.size(journalPath) - 1);
+        }
+
+        List<EntityData.GlobalStore> segments = Lists.newArrayList();
+        assertEquals(size, GlobalStoreJournal.readSegments(journalPath, 1, segments));
+        assertEquals(1, segments.size());
+
+        append(size, createSegment(1, 3));
+        segments.clear();
+        GlobalStoreJournal.readSegments(journalPath, 1, segments);
+        assertEquals(2, segments.size());
+        assertEquals(3, segments.get(1).getNextEntityId());
+    }
+
+    @Test
+    public void testCompactionDueWithoutSnapshotOrWithLargeJournal() {
+        GlobalStoreJournal journal = new GlobalStoreJournal();
+        assertTrue(journal.isCompactionDue());
+        journal.onCompacted(1, 100, new TLongHashSet());
+        assertFalse(journal.isCompactionDue());
+        journal.onAppended(101, new TLongHashSet());
+        assertTrue(journal.isCompactionDue());
+    }
+
+    private long append(long journalSize, EntityData.GlobalStore segment) throws IOException {
+        long segmentSize = GlobalStoreJournal.writeUpdate(updatePath, journalSize, segment);
+        GlobalStoreJournal.applyUpdate(updatePath, journalPath);
+        Files.delete(updatePath);
+        return segmentSize;
+    }
+
+    private EntityData.GlobalStore createSegment(long generation, long nextEntityId) {
+        return GlobalStoreJournal.withGeneration(EntityData.GlobalStore.newBuilder().setNextEntityId(nextEntityId).build(),
+                generation);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.persistence.internal;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ */
+public class RegionFileTest {
+    private static final int ENTRY_COUNT = 4096;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testMissingFileIsNotCreatedForReading() throws Exception {
+        Path path = temporaryFolder.getRoot().toPath().resolve("test.region");
+        RegionFileCache cache = new RegionFileCache(ENTRY_COUNT, true);
+        assertNull(cache.read(path, 0));
+        assertFalse(Files.exists(path));
+    }
+
+    @Test
+    public void testWriteAndReopen() throws Exception {
+        Path path = temporaryFolder.getRoot().toPath().resolve("test.region");
+        byte[] small = createData(100, 1);
+        byte[] large = createData(RegionFile.SECTOR_SIZE * 3 + 5, 2);
+
+        try (RegionFile regionFile = RegionFile.open(path, ENTRY_COUNT, true)) {
+            regionFile.write(0, small);
+            regionFile.write(ENTRY_COUNT - 1, large);
+            assertArrayEquals(small, regionFile.read(0));
+            assertArrayEquals(large, regionFile.read(ENTRY_COUNT - 1));
+            assertNull(regionFile.read(1));
+        }
+
+        try (RegionFile regionFile = RegionFile.open(path, ENTRY_COUNT, false)) {
+            assertArrayEquals(small, regionFile.read(0));
+            assertArrayEquals(large, regionFile.read(ENTRY_COUNT - 1));
+        }
+    }
+
+    @Test
+    public void testRewriteInPlaceOrAppend() throws Exception {
+        Path path = temporaryFolder.getRoot().toPath().resolve("test.region");
+        try (RegionFile regionFile = RegionFile.open(path, ENTRY_COUNT, true)) {
+            regionFile.write(5, createData(RegionFile.SECTOR_SIZE * 2, 1));
+            regionFile.write(6, createData(10, 2));
+            long size = Files.size(path);
+
+            byte[] smaller = createData(RegionFile.SECTOR_SIZE + 1, 3);
+            regionFile.write(5, smaller);
+            assertEquals(size, Files.size(path));
+            assertArrayEquals(smaller, regionFile.read(5));
+
+            byte[] larger = createData(RegionFile.SECTOR_SIZE * 4, 4);
+            regionFile.write(5, larger);
+            assertArrayEquals(larger, regionFile.read(5));
+            assertArrayEquals(createData(10, 2), regionFile.read(6));
+        }
+    }
+
+    @Test
+    public void testMovedChunkSectorsAreReused() throws Exception {
+        Path path = temporaryFolder.getRoot().toPath().resolve("test.region");
+        try (RegionFile regionFile = RegionFile.open(path, ENTRY_COUNT, true)) {
+            regionFile.write(0, createData(RegionFile.SECTOR_SIZE, 1));
+            regionFile.write(1, createData(RegionFile.SECTOR_SIZE, 2));
+            for (int i = 0; i < 20; i++) {
+                // alternately grow and shrink the first chunk, so it keeps moving
+                regionFile.write(0, createData(RegionFile.SECTOR_SIZE * (2 + i % 2), 3 + i));
+                regionFile.write(0, createData(10, 3 + i));
+            }
+            assertTrue(Files.size(path) <= (long) RegionFile.SECTOR_SIZE * (ENTRY_COUNT * 8 / RegionFile.SECTOR_SIZE + 10));
+            assertArrayEquals(createData(10, 22), regionFile.read(0));
+            assertArrayEquals(createData(RegionFile.SECTOR_SIZE, 2), regionFile.read(1));
+        }
+    }
+
+    @Test
+    public void testFreeSectorsAreFoundAfterReopen() throws Exception {
+        Path path = temporaryFolder.getRoot().toPath().resolve("test.region");
+        try (RegionFile regionFile = RegionFile.open(path, ENTRY_COUNT, true)) {
+            regionFile.write(0, createData(RegionFile.SECTOR_SIZE * 2, 1));
+            regionFile.write(1, createData(10, 2));
+            regionFile.write(0, createData(RegionFile.SECTOR_SIZE * 3, 3));
+        }
+        long size = Files.size(path);
+        try (RegionFile regionFile = RegionFile.open(path, ENTRY_COUNT, true)) {
+            byte[] data = createData(RegionFile.SECTOR_SIZE * 2, 4);
+            regionFile.write(2, data);
+            assertEquals(size, Files.size(path));
+            assertArrayEquals(data, regionFile.read(2));
+            assertArrayEquals(createData(RegionFile.SECTOR_SIZE * 3, 3), regionFile.read(0));
+            assertArrayEquals(createData(10, 2), regionFile.read(1));
+        }
+    }
+
+    private byte[] createData(int length, int seed) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) (i * 31 + seed);
+        }
+        return data;
+    }
+}
@@ -29,6 +29,7 @@
 import org.terasology.assets.management.AssetManager;
 import org.terasology.engine.bootstrap.EntitySystemSetupUtil;
 import org.terasology.engine.paths.PathManager;
+import org.terasology.game.GameManifest;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.internal.EngineEntityManager;
 import org.terasology.entitySystem.stubs.EntityRefComponent;
@@ -41,6 +42,7 @@
 import org.terasology.network.ClientComponent;
 import org.terasology.network.NetworkMode;
 import org.terasology.network.NetworkSystem;
+import org.terasology.persistence.ChunkStorageFormat;
 import org.terasology.persistence.ChunkStore;
 import org.terasology.persistence.PlayerStore;
 import org.terasology.persistence.StorageManager;
@@ -219,6 +221,37 @@ public void testGlobalEntitiesStoredAndRestored() throws Exception {
     }
 
 
+    @Test
+    public void testGlobalEntityChangesSurviveStorageViaJournal() throws Exception {
+        EntityRef changedEntity = entityManager.create(new StringComponent("Test"));
+        EntityRef destroyedEntity = entityManager.create(new StringComponent("Destroyed"));
+        esm.waitForCompletionOfPreviousSaveAndStartSaving();
+
+        StringComponent component = changedEntity.getComponent(StringComponent.class);
+        component.value = "Changed";
+        changedEntity.saveComponent(component);
+        long destroyedEntityId = destroyedEntity.getId();
+        destroyedEntity.destroy();
+        EntityRef newEntity = entityManager.create(new StringComponent("New"));
+        esm.waitForCompletionOfPreviousSaveAndStartSaving();
+        esm.finishSavingAndShutdown();
+
+        Path journalPath = new StoragePathProvider(savePath).getGlobalEntityJournalPath();
+        assertTrue(Files.size(journalPath) > 0);
+
+        EntitySystemSetupUtil.addReflectionBasedLibraries(context);
+        EntitySystemSetupUtil.addEntityManagementRelatedClasses(context);
+        EngineEntityManager newEntityManager = context.get(EngineEntityManager.class);
+        StorageManager newSM = new ReadWriteStorageManager(savePath, moduleEnvironment, newEntityManager, blockManager,
+                biomeManager, false);
+        newSM.loadGlobalStore();
+
+        assertEquals(2, Lists.newArrayList(newEntityManager.getEntitiesWith(StringComponent.class)).size());
+        assertEquals("Changed", newEntityManager.getEntity(changedEntity.getId()).getComponent(StringComponent.class).value);
+        assertEquals("New", newEntityManager.getEntity(newEntity.getId()).getComponent(StringComponent.class).value);
+        assertFalse(newEntityManager.getEntity(destroyedEntityId).exists());
+    }
+
     @Test
     public void testReferenceRemainsValidOverStorageRestoral() throws Exception {
         EntityRef someEntity = entityManager.create();
@@ -294,6 +327,144 @@ public void testChunkSurvivesStorageSaveAndRestore() throws Exception {
         assertEquals(testBlock2, restored.getChunk().getBlock(0, 4, 2));
     }
 
+    @Test
+    public void testChunkSurvivesStorageSaveAndRestoreInRegionFiles() throws Exception {
+        Chunk chunk = new ChunkImpl(CHUNK_POS, blockManager, biomeManager);
+        chunk.setBlock(0, 0, 0, testBlock);
+        chunk.setBlock(0, 4, 2, testBlock2);
+        chunk.markReady();
+        ChunkProvider chunkProvider = mock(ChunkProvider.class);
+        when(chunkProvider.getAllChunks()).thenReturn(Arrays.asList(chunk));
+        when(chunkProvider.getChunk(Matchers.any(Vector3i.class))).thenReturn(chunk);
+        CoreRegistry.put(ChunkProvider.class, chunkProvider);
+
+        esm.setChunkStorageFormat(ChunkStorageFormat.REGION_FILES);
+        esm.waitForCompletionOfPreviousSaveAndStartSaving();
+        esm.finishSavingAndShutdown();
+
+        EntitySystemSetupUtil.addReflectionBasedLibraries(context);
+        EntitySystemSetupUtil.addEntityManagementRelatedClasses(context);
+        EngineEntityManager newEntityManager = context.get(EngineEntityManager.class);
+        StorageManager newSM = new ReadWriteStorageManager(savePath, moduleEnvironment, newEntityManager, blockManager,
+                biomeManager, ChunkStorageFormat.REGION_FILES);
+        newSM.loadGlobalStore();
+
+        ChunkStore restored = newSM.loadChunkStore(CHUNK_POS);
+        assertNotNull(restored);
+        assertEquals(CHUNK_POS, restored.getChunkPosition());
+        assertEquals(testBlock, restored.getChunk().getBlock(0, 0, 0));
+        assertEquals(testBlock2, restored.getChunk().getBlock(0, 4, 2));
+    }
+
+    @Test
+    public void testManyChunksSurviveStorageSaveAndRestore() throws Exception {
+        List<Chunk> chunks = Lists.newArrayList();
+        for (int x = 0; x < 4; x++) {
+            for (int z = 0; z < 4; z++) {
+                Chunk chunk = new ChunkImpl(new Vector3i(x * 20, 0, z * 20), blockManager, biomeManager);
+                chunk.setBlock(x, 0, z, testBlock);
+                chunk.markReady();
+                chunks.add(chunk);
+            }
+        }
+        ChunkProvider chunkProvider = mock(ChunkProvider.class);
+        when(chunkProvider.getAllChunks()).thenReturn(chunks);
+        CoreRegistry.put(ChunkProvider.class, chunkProvider);
+
+        esm.setChunkStorageFormat(ChunkStorageFormat.REGION_FILES);
+        esm.waitForCompletionOfPreviousSaveAndStartSaving();
+        esm.finishSavingAndShutdown();
+
+        EntitySystemSetupUtil.addReflectionBasedLibraries(context);
+        EntitySystemSetupUtil.addEntityManagementRelatedClasses(context);
+        EngineEntityManager newEntityManager = context.get(EngineEntityManager.class);
+        StorageManager newSM = new ReadWriteStorageManager(savePath, moduleEnvironment, newEntityManager, blockManager,
+                biomeManager, ChunkStorageFormat.REGION_FILES);
+        newSM.loadGlobalStore();
+
+        for (Chunk chunk : chunks) {
+            ChunkStore restored = newSM.loadChunkStore(chunk.getPosition());
+            assertNotNull(restored);
+            Vector3i pos = chunk.getPosition();
+            assertEquals(testBlock, restored.getChunk().getBlock(pos.x / 20, 0, pos.z / 20));
+        }
+    }
+
+    @Test
+    public void testChunkZipsGetConvertedToRegionFiles() throws Exception {
+        Chunk chunk = new ChunkImpl(CHUNK_POS, blockManager, biomeManager);
+        chunk.setBlock(0, 0, 0, testBlock);
+        chunk.markReady();
+        ChunkProvider chunkProvider = mock(ChunkProvider.class);
+        when(chunkProvider.getAllChunks()).thenReturn(Arrays.asList(chunk));
+        when(chunkProvider.getChunk(Matchers.any(Vector3i.class))).thenReturn(chunk);
+        CoreRegistry.put(ChunkProvider.class, chunkProvider);
+
+        esm.setChunkStorageFormat(ChunkStorageFormat.ZIPS);
+        esm.waitForCompletionOfPreviousSaveAndStartSaving();
+        esm.finishSavingAndShutdown();
+
+        EntitySystemSetupUtil.addReflectionBasedLibraries(context);
+        EntitySystemSetupUtil.addEntityManagementRelatedClasses(context);
+        EngineEntityManager newEntityManager = context.get(EngineEntityManager.class);
+        StorageManager newSM = new ReadWriteStorageManager(savePath, moduleEnvironment, newEntityManager, blockManager,
+                biomeManager, ChunkStorageFormat.REGION_FILES);
+        newSM.checkAndRepairSaveIfNecessary();
+        newSM.loadGlobalStore();
+
+        StoragePathProvider storagePathProvider = new StoragePathProvider(savePath);
+        assertFalse(Files.exists(storagePathProvider.getChunkZipPath(storagePathProvider.getChunkZipPosition(CHUNK_POS))));
+        ChunkStore restored = newSM.loadChunkStore(CHUNK_POS);
+        assertNotNull(restored);
+        assertEquals(testBlock, restored.getChunk().getBlock(0, 0, 0));
+    }
+
+    @Test
+    public void testChunkStorageFormatIsRecordedInManifest() throws Exception {
+        Chunk chunk = new ChunkImpl(CHUNK_POS, blockManager, biomeManager);
+        chunk.setBlock(0, 0, 0, testBlock);
+        chunk.markReady();
+        ChunkProvider chunkProvider = mock(ChunkProvider.class);
+        when(chunkProvider.getAllChunks()).thenReturn(Arrays.asList(chunk));
+        CoreRegistry.put(ChunkProvider.class, chunkProvider);
+
+        esm.setChunkStorageFormat(ChunkStorageFormat.REGION_FILES);
+        esm.waitForCompletionOfPreviousSaveAndStartSaving();
+        esm.finishSavingAndShutdown();
+
+        GameManifest manifest = GameManifest.load(savePath.resolve(GameManifest.DEFAULT_FILE_NAME));
+        assertEquals(ChunkStorageFormat.REGION_FILES, manifest.getChunkStorageFormat());
+        assertEquals(ChunkStorageFormat.REGION_FILES,
+                AbstractStorageManager.selectChunkStorageFormat(savePath, manifest, ChunkStorageFormat.ZIPS, true));
+    }
+
+    @Test
+    public void testChunkStorageFormatOfSaveWithoutManifestEntryIsDetected() throws Exception {
+        Chunk chunk = new ChunkImpl(CHUNK_POS, blockManager, biomeManager);
+        chunk.setBlock(0, 0, 0, testBlock);
+        chunk.markReady();
+        ChunkProvider chunkProvider = mock(ChunkProvider.class);
+        when(chunkProvider.getAllChunks()).thenReturn(Arrays.asList(chunk));
+        CoreRegistry.put(ChunkProvider.class, chunkProvider);
+
+        esm.setChunkStorageFormat(ChunkStorageFormat.ZIPS);
+        esm.waitForCompletionOfPreviousSaveAndStartSaving();
+        esm.finishSavingAndShutdown();
+
+        GameManifest manifest = new GameManifest();
+        assertEquals(ChunkStorageFormat.ZIPS,
+                AbstractStorageManager.selectChunkStorageFormat(savePath, manifest, ChunkStorageFormat.REGION_FILES, false));
+        // Writable zip saves get converted
+        assertEquals(ChunkStorageFormat.REGION_FILES,
+                AbstractStorageManager.selectChunkStorageFormat(savePath, manifest, ChunkStorageFormat.REGION_FILES, true));
+    }
+
+    @Test
+    public void testNewSaveUsesConfiguredChunkStorageFormat() {
+        assertEquals(ChunkStorageFormat.REGION_FILES,
+                AbstractStorageManager.selectChunkStorageFormat(savePath, new GameManifest(), ChunkStorageFormat.REGION_FILES, false));
+    }
+
     @Test
     public void testEntitySurvivesStorageInChunkStore() throws Exception {
         Chunk chunk = new ChunkImpl(CHUNK_POS, blockManager, biomeManager);
@@ -329,6 +500,76 @@ public void testEntitySurvivesStorageInChunkStore() throws Exception {
     }
 
 
+    @Test
+    public void testSavedChunkHasNoUnsavedChangesUntilModified() throws Exception {
+        ChunkImpl chunk = new ChunkImpl(CHUNK_POS, blockManager, biomeManager);
+        chunk.setBlock(0, 0, 0, testBlock);
+        chunk.markReady();
+        ChunkProvider chunkProvider = mock(ChunkProvider.class);
+        when(chunkProvider.getAllChunks()).thenReturn(Arrays.asList(chunk));
+        CoreRegistry.put(ChunkProvider.class, chunkProvider);
+        assertTrue(chunk.hasUnsavedChanges());
+
+        esm.waitForCompletionOfPreviousSaveAndStartSaving();
+        esm.finishSavingAndShutdown();
+        assertFalse(chunk.hasUnsavedChanges());
+
+        chunk.setBlock(0, 0, 0, testBlock);
+        assertFalse(chunk.hasUnsavedChanges());
+        chunk.setBlock(0, 0, 0, testBlock2);
+        assertTrue(chunk.hasUnsavedChanges());
+    }
+
+    @Test
+    public void testChangeAfterSavedVersionStaysUnsaved() {
+        ChunkImpl chunk = new ChunkImpl(CHUNK_POS, blockManager, biomeManager);
+        chunk.setBlock(0, 0, 0, testBlock);
+        int savedVersion = chunk.getChangeVersion();
+        chunk.setBlock(0, 0, 0, testBlock2);
+
+        chunk.markSaved(savedVersion);
+        assertTrue(chunk.hasUnsavedChanges());
+
+        chunk.markSaved(chunk.getChangeVersion());
+        assertFalse(chunk.hasUnsavedChanges());
+    }
+
+    @Test
+    public void testEntityAddedToUnchangedChunkSurvivesStorage() throws Exception {
+        Chunk chunk = new ChunkImpl(CHUNK_POS, blockManager, biomeManager);
+        chunk.setBlock(0, 0, 0, testBlock);
+        chunk.markReady();
+        ChunkProvider chunkProvider = mock(ChunkProvider.class);
+        when(chunkProvider.getAllChunks()).thenReturn(Arrays.asList(chunk));
+        CoreRegistry.put(ChunkProvider.class, chunkProvider);
+        esm.waitForCompletionOfPreviousSaveAndStartSaving();
+
+        EntityRef entity = entityManager.create();
+        long id = entity.getId();
+        LocationComponent locationComponent = new LocationComponent();
+        Vector3f positionInChunk = new Vector3f(chunk.getAABB().getMin());
+        positionInChunk.x += 1;
+        positionInChunk.y += 1;
+        positionInChunk.z += 1;
+        locationComponent.setWorldPosition(positionInChunk);
+        entity.addComponent(locationComponent);
+        esm.waitForCompletionOfPreviousSaveAndStartSaving();
+        esm.finishSavingAndShutdown();
+
+        EntitySystemSetupUtil.addReflectionBasedLibraries(context);
+        EntitySystemSetupUtil.addEntityManagementRelatedClasses(context);
+        EngineEntityManager newEntityManager = context.get(EngineEntityManager.class);
+        StorageManager newSM = new ReadWriteStorageManager(savePath, moduleEnvironment, newEntityManager, blockManager,
+                biomeManager, false);
+        newSM.loadGlobalStore();
+
+        ChunkStore restored = newSM.loadChunkStore(CHUNK_POS);
+        restored.restoreEntities();
+        EntityRef ref = newEntityManager.getEntity(id);
+        assertTrue(ref.exists());
+        assertTrue(ref.isActive());
+    }
+
     @Test
     public void testCanSavePlayerWithoutUnloading() throws Exception {
         esm.waitForCompletionOfPreviousSaveAndStartSaving();
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.persistence.serializers;
+
+import org.junit.Test;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.math.geom.Vector3f;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ */
+public class ValueTypesTest {
+
+    private int primitiveField;
+    private Vector3f vectorField;
+    private List<String> stringListField;
+    private Map<String, Integer> intMapField;
+    private EntityRef entityField;
+    private List<EntityRef> entityListField;
+    private Map<Integer, String> intKeyedMapField;
+
+    @Test
+    public void plainValuesAreValueTypes() throws Exception {
+        assertTrue(ValueTypes.isValueType(fieldType("primitiveField")));
+        assertTrue(ValueTypes.isValueType(fieldType("vectorField")));
+        assertTrue(ValueTypes.isValueType(fieldType("stringListField")));
+        assertTrue(ValueTypes.isValueType(fieldType("intMapField")));
+    }
+
+    @Test
+    public void entityReferencesAreNotValueTypes() throws Exception {
+        assertFalse(ValueTypes.isValueType(fieldType("entityField")));
+        assertFalse(ValueTypes.isValueType(fieldType("entityListField")));
+    }
+
+    @Test
+    public void mapsWithNonStringKeysAreNotValueTypes() throws Exception {
+        assertFalse(ValueTypes.isValueType(fieldType("intKeyedMapField")));
+    }
+
+    private Type fieldType(String name) throws NoSuchFieldException {
+        return ValueTypesTest.class.getDeclaredField(name).getGenericType();
+    }
+}
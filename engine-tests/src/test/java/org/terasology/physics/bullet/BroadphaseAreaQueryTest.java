@@ -0,0 +1,120 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.physics.bullet;
+
+import com.bulletphysics.collision.broadphase.CollisionFilterGroups;
+import com.bulletphysics.collision.broadphase.DbvtBroadphase;
+import com.bulletphysics.collision.dispatch.CollisionDispatcher;
+import com.bulletphysics.collision.dispatch.CollisionObject;
+import com.bulletphysics.collision.dispatch.CollisionWorld;
+import com.bulletphysics.collision.dispatch.DefaultCollisionConfiguration;
+import com.bulletphysics.collision.shapes.BoxShape;
+import com.bulletphysics.linearmath.Transform;
+import org.junit.Before;
+import org.junit.Test;
+import org.terasology.math.AABB;
+import org.terasology.math.geom.Vector3f;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ */
+public class BroadphaseAreaQueryTest {
+
+    private static final short GROUP_A = 1;
+    private static final short GROUP_B = 2;
+
+    private CollisionWorld world;
+    private BroadphaseAreaQuery query;
+
+    @Before
+    public void setup() {
+        DefaultCollisionConfiguration configuration = new DefaultCollisionConfiguration();
+        DbvtBroadphase broadphase = new DbvtBroadphase();
+        world = new CollisionWorld(new CollisionDispatcher(configuration), broadphase, configuration);
+        query = new BroadphaseAreaQuery(broadphase);
+    }
+
+    @Test
+    public void testFindsOverlappingObjects() {
+        CollisionObject near = addBox(0, 0, 0, GROUP_A, CollisionFilterGroups.ALL_FILTER);
+        addBox(50, 0, 0, GROUP_A, CollisionFilterGroups.ALL_FILTER);
+
+        List<CollisionObject> result = query.scan(Collections.singletonList(area(-2, -2, -2, 2, 2, 2)), GROUP_A).get(0);
+        assertEquals(Collections.singletonList(near), result);
+    }
+
+    @Test
+    public void testAreasAreAnsweredSeparately() {
+        CollisionObject first = addBox(0, 0, 0, GROUP_A, CollisionFilterGroups.ALL_FILTER);
+        CollisionObject second = addBox(20, 0, 0, GROUP_A, CollisionFilterGroups.ALL_FILTER);
+
+        List<List<CollisionObject>> results = query.scan(Arrays.asList(area(-2, -2, -2, 2, 2, 2), area(18, -2, -2, 22, 2, 2), area(100, 0, 0, 101, 1, 1)),
+                GROUP_A);
+        assertEquals(3, results.size());
+        assertEquals(Collections.singletonList(first), results.get(0));
+        assertEquals(Collections.singletonList(second), results.get(1));
+        assertTrue(results.get(2).isEmpty());
+    }
+
+    @Test
+    public void testObjectsOutsideFilterAreIgnored() {
+        addBox(0, 0, 0, GROUP_B, CollisionFilterGroups.ALL_FILTER);
+
+        assertTrue(query.scan(Collections.singletonList(area(-2, -2, -2, 2, 2, 2)), GROUP_A).get(0).isEmpty());
+    }
+
+    @Test
+    public void testObjectsNotCollidingWithSensorsAreIgnored() {
+        addBox(0, 0, 0, GROUP_A, (short) (CollisionFilterGroups.ALL_FILTER ^ CollisionFilterGroups.SENSOR_TRIGGER));
+
+        assertTrue(query.scan(Collections.singletonList(area(-2, -2, -2, 2, 2, 2)), GROUP_A).get(0).isEmpty());
+    }
+
+    @Test
+    public void testMovedObjectIsFoundAtNewPosition() {
+        CollisionObject box = addBox(0, 0, 0, GROUP_A, CollisionFilterGroups.ALL_FILTER);
+        box.setWorldTransform(transform(30, 0, 0));
+        world.updateAabbs();
+
+        assertTrue(query.scan(Collections.singletonList(area(-2, -2, -2, 2, 2, 2)), GROUP_A).get(0).isEmpty());
+        assertEquals(Collections.singletonList(box), query.scan(Collections.singletonList(area(28, -2, -2, 32, 2, 2)), GROUP_A).get(0));
+    }
+
+    private CollisionObject addBox(float x, float y, float z, short group, short mask) {
+        CollisionObject box = new CollisionObject();
+        box.setCollisionShape(new BoxShape(new javax.vecmath.Vector3f(0.5f, 0.5f, 0.5f)));
+        box.setWorldTransform(transform(x, y, z));
+        world.addCollisionObject(box, group, mask);
+        return box;
+    }
+
+    private static Transform transform(float x, float y, float z) {
+        Transform transform = new Transform();
+        transform.setIdentity();
+        transform.origin.set(x, y, z);
+        return transform;
+    }
+
+    private static AABB area(float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        return AABB.createMinMax(new Vector3f(minX, minY, minZ), new Vector3f(maxX, maxY, maxZ));
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.rendering.primitives;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.terasology.math.Side;
+import org.terasology.world.ChunkView;
+import org.terasology.world.block.Block;
+import org.terasology.world.chunks.ChunkConstants;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ChunkMeshBlockDataTest {
+
+    private Block air;
+    private Block stone;
+    private ChunkView view;
+
+    @Before
+    public void setup() {
+        air = new Block();
+        air.setId((short) 0);
+        stone = new Block();
+        stone.setId((short) 300);
+
+        // Stone on every position with an even x + y + z, air everywhere else
+        view = mock(ChunkView.class);
+        when(view.getBlock(anyInt(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            Object[] args = invocation.getArguments();
+            int sum = (Integer) args[0] + (Integer) args[1] + (Integer) args[2];
+            return (sum % 2 == 0) ? stone : air;
+        });
+    }
+
+    @Test
+    public void testBlocksMatchView() {
+        ChunkMeshBlockData data = ChunkMeshBlockData.extract(view, 0, 4);
+        for (int y = -1; y <= 4; y++) {
+            for (int z = -1; z <= ChunkConstants.SIZE_Z; z++) {
+                for (int x = -1; x <= ChunkConstants.SIZE_X; x++) {
+                    assertSame(view.getBlock(x, y, z), data.getBlock(x, y, z));
+                    assertEquals(view.getBlock(x, y, z).getId(), data.getBlockId(x, y, z));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testAdjacentBlocks() {
+        ChunkMeshBlockData data = ChunkMeshBlockData.extract(view, 10, 1);
+        Map<Side, Block> adjacent = data.getAdjacentBlocks(0, 10, 0);
+        for (Side side : Side.values()) {
+            assertSame(air, adjacent.get(side));
+            assertSame(air, data.getAdjacentBlock(0, 10, 0, side));
+        }
+        assertSame(stone, data.getBlock(0, 10, 0));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testAdjacentBlocksAreReadOnly() {
+        ChunkMeshBlockData data = ChunkMeshBlockData.extract(view, 10, 1);
+        data.getAdjacentBlocks(0, 10, 0).put(Side.TOP, stone);
+    }
+
+    @Test
+    public void testExtractArea() {
+        ChunkMeshBlockData data = ChunkMeshBlockData.extract(view, 5, 6, 7, 3, 3, 3);
+        assertSame(stone, data.getBlock(5, 6, 7));
+        assertSame(air, data.getBlock(6, 6, 7));
+        assertSame(stone, data.getBlock(7, 8, 9));
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.rendering.primitives;
+
+import org.junit.Test;
+
+import java.nio.IntBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class DirectBufferPoolTest {
+
+    @Test
+    public void testAcquireSetsLimit() {
+        DirectBufferPool pool = new DirectBufferPool(1 << 20);
+        IntBuffer buffer = pool.acquire(1500);
+        assertTrue(buffer.isDirect());
+        assertEquals(0, buffer.position());
+        assertEquals(1500, buffer.limit());
+        assertEquals(2048, buffer.capacity());
+        assertEquals(2048 * 4, pool.getAllocatedBytes());
+    }
+
+    @Test
+    public void testReleasedBufferIsReused() {
+        DirectBufferPool pool = new DirectBufferPool(1 << 20);
+        IntBuffer buffer = pool.acquire(1500);
+        buffer.put(42);
+        pool.release(buffer);
+        assertEquals(2048 * 4, pool.getPooledBytes());
+
+        IntBuffer reused = pool.acquire(2000);
+        assertSame(buffer, reused);
+        assertEquals(0, reused.position());
+        assertEquals(2000, reused.limit());
+        assertEquals(0, pool.getPooledBytes());
+        assertEquals(2048 * 4, pool.getAllocatedBytes());
+    }
+
+    @Test
+    public void testPoolSizeIsLimited() {
+        DirectBufferPool pool = new DirectBufferPool(4096 * 4);
+        IntBuffer first = pool.acquire(4096);
+        IntBuffer second = pool.acquire(4096);
+        pool.release(first);
+        pool.release(second);
+        assertEquals(4096 * 4, pool.getPooledBytes());
+
+        assertSame(first, pool.acquire(4096));
+        assertNotSame(second, pool.acquire(4096));
+    }
+
+    @Test
+    public void testEmptyBuffer() {
+        DirectBufferPool pool = new DirectBufferPool(1 << 20);
+        assertEquals(0, pool.acquire(0).limit());
+        assertEquals(0, pool.getAllocatedBytes());
+    }
+}
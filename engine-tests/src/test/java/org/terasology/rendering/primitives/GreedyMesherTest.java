@@ -0,0 +1,140 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.rendering.primitives;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.terasology.math.Side;
+import org.terasology.math.geom.Vector2f;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.math.geom.Vector4f;
+import org.terasology.world.ChunkView;
+import org.terasology.world.block.Block;
+import org.terasology.world.block.shapes.BlockMeshPart;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyFloat;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class GreedyMesherTest {
+
+    private static final Vector4f WHITE = new Vector4f(1, 1, 1, 1);
+
+    private Block stone;
+    private BlockMeshPart top;
+    private ChunkView view;
+
+    @Before
+    public void setup() {
+        Block air = new Block();
+        air.setId((short) 0);
+        air.setTranslucent(true);
+        stone = new Block();
+        stone.setId((short) 1);
+        stone.setFullSide(Side.TOP, true);
+
+        top = new BlockMeshPart(
+                new Vector3f[]{new Vector3f(-0.5f, 0.5f, -0.5f), new Vector3f(0.5f, 0.5f, -0.5f),
+                        new Vector3f(0.5f, 0.5f, 0.5f), new Vector3f(-0.5f, 0.5f, 0.5f)},
+                new Vector3f[]{new Vector3f(0, 1, 0), new Vector3f(0, 1, 0), new Vector3f(0, 1, 0), new Vector3f(0, 1, 0)},
+                new Vector2f[]{new Vector2f(0, 0), new Vector2f(1, 0), new Vector2f(1, 1), new Vector2f(0, 1)},
+                new int[]{0, 1, 2, 0, 2, 3});
+
+        // Uniformly lit and empty everywhere
+        view = mock(ChunkView.class);
+        when(view.getBlock(anyFloat(), anyFloat(), anyFloat())).thenReturn(air);
+        when(view.getBlock(anyInt(), anyInt(), anyInt())).thenReturn(air);
+    }
+
+    @Test
+    public void testMergesPlane() {
+        GreedyMesher mesher = new GreedyMesher(view, 0, 16);
+        for (int x = 0; x < 4; x++) {
+            for (int z = 0; z < 4; z++) {
+                assertTrue(mesher.add(stone, Side.TOP, top, x, 5, z, WHITE));
+            }
+        }
+        ChunkMesh mesh = new ChunkMesh(null);
+        mesher.merge(mesh);
+
+        ChunkMesh.VertexElements elements = mesh.getVertexElements(ChunkMesh.RenderType.OPAQUE);
+        assertEquals(4, elements.vertexCount);
+        assertEquals(6, elements.indices.size());
+        assertEquals(ChunkVertexFlag.TILED.getValue(), elements.flags.get(0));
+        assertEquals(-0.5f, elements.vertices.min(), 0.0001f);
+        assertEquals(5.5f, elements.vertices.max(), 0.0001f);
+    }
+
+    @Test
+    public void testDoesNotMergeDifferentColors() {
+        GreedyMesher mesher = new GreedyMesher(view, 0, 16);
+        assertTrue(mesher.add(stone, Side.TOP, top, 0, 5, 0, WHITE));
+        assertTrue(mesher.add(stone, Side.TOP, top, 1, 5, 0, new Vector4f(0.5f, 1, 1, 1)));
+        ChunkMesh mesh = new ChunkMesh(null);
+        mesher.merge(mesh);
+
+        ChunkMesh.VertexElements elements = mesh.getVertexElements(ChunkMesh.RenderType.OPAQUE);
+        assertEquals(8, elements.vertexCount);
+        assertEquals(ChunkVertexFlag.NORMAL.getValue(), elements.flags.get(0));
+    }
+
+    @Test
+    public void testCubeFacesMatchTiledMapping() {
+        // The faces of the cube shape
+        assertTrue(GreedyMesher.matchesTiledMapping(part(new float[][]{{-0.5f, 0.5f, 0.5f}, {0.5f, 0.5f, 0.5f}, {0.5f, 0.5f, -0.5f}, {-0.5f, 0.5f, -0.5f}},
+                new float[][]{{0, 1}, {1, 1}, {1, 0}, {0, 0}}), Side.TOP));
+        assertTrue(GreedyMesher.matchesTiledMapping(part(new float[][]{{-0.5f, -0.5f, 0.5f}, {-0.5f, -0.5f, -0.5f}, {0.5f, -0.5f, -0.5f}, {0.5f, -0.5f, 0.5f}},
+                new float[][]{{1, 1}, {1, 0}, {0, 0}, {0, 1}}), Side.BOTTOM));
+        assertTrue(GreedyMesher.matchesTiledMapping(part(new float[][]{{-0.5f, -0.5f, -0.5f}, {-0.5f, 0.5f, -0.5f}, {0.5f, 0.5f, -0.5f}, {0.5f, -0.5f, -0.5f}},
+                new float[][]{{1, 1}, {1, 0}, {0, 0}, {0, 1}}), Side.FRONT));
+        assertTrue(GreedyMesher.matchesTiledMapping(part(new float[][]{{-0.5f, 0.5f, 0.5f}, {-0.5f, -0.5f, 0.5f}, {0.5f, -0.5f, 0.5f}, {0.5f, 0.5f, 0.5f}},
+                new float[][]{{0, 0}, {0, 1}, {1, 1}, {1, 0}}), Side.BACK));
+        assertTrue(GreedyMesher.matchesTiledMapping(part(new float[][]{{-0.5f, -0.5f, 0.5f}, {-0.5f, 0.5f, 0.5f}, {-0.5f, 0.5f, -0.5f}, {-0.5f, -0.5f, -0.5f}},
+                new float[][]{{1, 1}, {1, 0}, {0, 0}, {0, 1}}), Side.LEFT));
+        assertTrue(GreedyMesher.matchesTiledMapping(part(new float[][]{{0.5f, -0.5f, -0.5f}, {0.5f, 0.5f, -0.5f}, {0.5f, 0.5f, 0.5f}, {0.5f, -0.5f, 0.5f}},
+                new float[][]{{1, 1}, {1, 0}, {0, 0}, {0, 1}}), Side.RIGHT));
+    }
+
+    @Test
+    public void testRejectsRotatedTexture() {
+        BlockMeshPart rotated = part(new float[][]{{-0.5f, 0.5f, -0.5f}, {0.5f, 0.5f, -0.5f}, {0.5f, 0.5f, 0.5f}, {-0.5f, 0.5f, 0.5f}},
+                new float[][]{{0, 1}, {0, 0}, {1, 0}, {1, 1}});
+        GreedyMesher mesher = new GreedyMesher(view, 0, 16);
+        assertFalse(mesher.add(stone, Side.TOP, rotated, 0, 5, 0, WHITE));
+    }
+
+    @Test
+    public void testRejectsPartialSides() {
+        GreedyMesher mesher = new GreedyMesher(view, 0, 16);
+        assertFalse(mesher.add(stone, Side.BOTTOM, top, 0, 5, 0, WHITE));
+    }
+
+    private static BlockMeshPart part(float[][] vertices, float[][] texCoords) {
+        Vector3f[] vertexArray = new Vector3f[vertices.length];
+        Vector3f[] normalArray = new Vector3f[vertices.length];
+        Vector2f[] texCoordArray = new Vector2f[vertices.length];
+        for (int i = 0; i < vertices.length; i++) {
+            vertexArray[i] = new Vector3f(vertices[i][0], vertices[i][1], vertices[i][2]);
+            normalArray[i] = new Vector3f();
+            texCoordArray[i] = new Vector2f(texCoords[i][0], texCoords[i][1]);
+        }
+        return new BlockMeshPart(vertexArray, normalArray, texCoordArray, new int[]{0, 1, 2, 0, 2, 3});
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.utilities;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+import org.terasology.utilities.procedural.BrownianNoise;
+import org.terasology.utilities.procedural.Noise;
+import org.terasology.utilities.procedural.PerlinNoise;
+import org.terasology.utilities.procedural.SimplexNoise;
+import org.terasology.utilities.procedural.WhiteNoise;
+import org.terasology.utilities.random.FastRandom;
+import org.terasology.utilities.random.Random;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Checks that the grid-based noise methods produce exactly the values of the scalar ones.
+ */
+@RunWith(Parameterized.class)
+public class BulkNoiseTest {
+
+    private Noise noiseGen;
+    private Random rng;
+
+    public BulkNoiseTest(Noise noiseGen) {
+        this.noiseGen = noiseGen;
+        this.rng = new FastRandom(0xBEEF);
+    }
+
+    @Parameters(name = "{0}")
+    public static Collection<Noise[]> data() {
+        return Arrays.asList(new Noise[][]{
+                {new WhiteNoise(0xCAFE)},
+                {new SimplexNoise(0xCAFE)},
+                {new PerlinNoise(0xCAFE)},
+                {new BrownianNoise(new PerlinNoise(0xCAFE), 8)},
+                {new BrownianNoise(new SimplexNoise(0xCAFE), 5)}
+        });
+    }
+
+    @Test
+    public void test2DGridMatchesScalarNoise() {
+        float[] xs = randomPositions(17);
+        float[] ys = randomPositions(9);
+        float[] bulk = new float[xs.length * ys.length];
+        noiseGen.noise(xs, ys, bulk);
+
+        for (int j = 0; j < ys.length; ++j) {
+            for (int i = 0; i < xs.length; ++i) {
+                Assert.assertEquals(noiseGen.noise(xs[i], ys[j]), bulk[i + xs.length * j], 0);
+            }
+        }
+    }
+
+    @Test
+    public void test3DGridMatchesScalarNoise() {
+        float[] xs = randomPositions(11);
+        float[] ys = randomPositions(7);
+        float[] zs = randomPositions(5);
+        float[] bulk = new float[xs.length * ys.length * zs.length];
+        noiseGen.noise(xs, ys, zs, bulk);
+
+        for (int k = 0; k < zs.length; ++k) {
+            for (int j = 0; j < ys.length; ++j) {
+                for (int i = 0; i < xs.length; ++i) {
+                    Assert.assertEquals(noiseGen.noise(xs[i], ys[j], zs[k]), bulk[i + xs.length * (j + ys.length * k)], 0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testGridIgnoresPreviousTargetContent() {
+        float[] xs = randomPositions(4);
+        float[] ys = randomPositions(4);
+        float[] first = new float[xs.length * ys.length];
+        float[] second = new float[xs.length * ys.length];
+        Arrays.fill(second, 42f);
+
+        noiseGen.noise(xs, ys, first);
+        noiseGen.noise(xs, ys, second);
+
+        Assert.assertArrayEquals(first, second, 0);
+    }
+
+    private float[] randomPositions(int count) {
+        float[] positions = new float[count];
+        for (int i = 0; i < count; ++i) {
+            positions[i] = rng.nextFloat(-300f, 300f);
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.utilities.concurrency;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ */
+public class ReprioritizableBlockingQueueTest {
+
+    private int center;
+
+    @Test
+    public void testDequeuesInPriorityOrder() {
+        ReprioritizableBlockingQueue<Integer> queue = new ReprioritizableBlockingQueue<>(Integer::compare, 1);
+        Random random = new Random(0);
+        for (int i = 0; i < 1000; ++i) {
+            queue.offer(random.nextInt(500));
+        }
+        assertEquals(1000, queue.size());
+
+        int last = Integer.MIN_VALUE;
+        for (int i = 0; i < 1000; ++i) {
+            int value = queue.poll();
+            assertTrue(value >= last);
+            last = value;
+        }
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testReprioritize() {
+        ReprioritizableBlockingQueue<Integer> queue = new ReprioritizableBlockingQueue<>(
+                (a, b) -> Integer.compare(Math.abs(a - center), Math.abs(b - center)));
+        for (int i = 0; i < 100; ++i) {
+            queue.offer(i);
+        }
+        assertEquals((Integer) 0, queue.peek());
+
+        center = 50;
+        queue.reprioritize();
+        assertEquals((Integer) 50, queue.poll());
+
+        center = 90;
+        queue.reprioritize();
+        assertEquals((Integer) 90, queue.poll());
+        int last = 0;
+        for (int i = 0; i < 98; ++i) {
+            int distance = Math.abs(queue.poll() - center);
+            assertTrue(distance >= last);
+            last = distance;
+        }
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testDrainTo() {
+        ReprioritizableBlockingQueue<Integer> queue = new ReprioritizableBlockingQueue<>(Integer::compare);
+        for (int i = 9; i >= 0; --i) {
+            queue.offer(i);
+        }
+        List<Integer> drained = Lists.newArrayList();
+        assertEquals(3, queue.drainTo(drained, 3));
+        assertEquals(Lists.newArrayList(0, 1, 2), drained);
+        assertEquals(7, queue.size());
+    }
+}
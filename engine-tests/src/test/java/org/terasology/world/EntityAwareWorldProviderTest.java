@@ -18,6 +18,7 @@
 
 import com.google.common.base.Objects;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import org.junit.Before;
 import org.junit.Test;
 import org.terasology.TerasologyTestingEnvironment;
@@ -58,6 +59,7 @@
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -205,6 +207,22 @@ public void testComponentsAddedAndActivatedWhenBlockChanged() {
                 checker.receivedEvents);
     }
 
+    @Test
+    public void testComponentsAddedWhenBlocksChangedInBatch() {
+        Map<Vector3i, Block> blocks = Maps.newHashMap();
+        blocks.put(new Vector3i(0, 0, 0), blockWithString);
+        blocks.put(new Vector3i(40, 0, 0), blockWithString);
+
+        Map<Vector3i, Block> oldBlocks = worldProvider.setBlocks(blocks);
+        assertEquals(2, oldBlocks.size());
+        assertEquals(airBlock, oldBlocks.get(new Vector3i(40, 0, 0)));
+
+        for (Vector3i pos : blocks.keySet()) {
+            EntityRef blockEntity = worldProvider.getBlockEntityAt(pos);
+            assertTrue(blockEntity.hasComponent(StringComponent.class));
+        }
+    }
+
     @Test
     public void testComponentsDeactivatedAndRemovedWhenBlockChanged() {
         worldProvider.setBlock(Vector3i.zero(), blockWithString);
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.chunks.internal;
+
+import org.junit.Test;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.protobuf.EntityData;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.chunks.blockdata.TeraArray;
+import org.terasology.world.chunks.blockdata.TeraDenseArray16Bit;
+import org.terasology.world.chunks.blockdata.TeraDenseArray8Bit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ChunkSerializerTest {
+
+    @Test
+    public void testDecodeUniformDataIntoFilledSparseArray() {
+        TeraArray blocks = new TeraDenseArray16Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z);
+        fill(blocks, 0, ChunkConstants.SIZE_Y, 7);
+
+        TeraArray decoded = roundTrip16(blocks);
+        assertTrue(decoded.isSparse());
+        assertSameContent(blocks, decoded);
+    }
+
+    @Test
+    public void testDecodeEmptyData() {
+        TeraArray liquid = new TeraDenseArray8Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z);
+
+        TeraArray decoded = roundTrip8(liquid);
+        assertTrue(decoded.isSparse());
+        assertSameContent(liquid, decoded);
+    }
+
+    @Test
+    public void testDecodeTerrainIntoSparseArray() {
+        TeraArray blocks = new TeraDenseArray16Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z);
+        fill(blocks, 0, 20, 1);
+        blocks.set(3, 20, 5, 2);
+        blocks.set(ChunkConstants.SIZE_X - 1, 21, ChunkConstants.SIZE_Z - 1, 3);
+
+        TeraArray decoded = roundTrip16(blocks);
+        assertTrue(decoded.isSparse());
+        assertSameContent(blocks, decoded);
+
+        TeraArray liquid = new TeraDenseArray8Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z);
+        fill(liquid, 5, 10, -3);
+        liquid.set(0, 11, 0, 4);
+
+        TeraArray decodedLiquid = roundTrip8(liquid);
+        assertTrue(decodedLiquid.isSparse());
+        assertSameContent(liquid, decodedLiquid);
+    }
+
+    @Test
+    public void testDecodeNoisyDataIntoDenseArray() {
+        TeraArray blocks = new TeraDenseArray16Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z);
+        for (int y = 0; y < ChunkConstants.SIZE_Y; y++) {
+            blocks.set(y % ChunkConstants.SIZE_X, y, 0, y + 1);
+        }
+
+        TeraArray decoded = roundTrip16(blocks);
+        assertFalse(decoded.isSparse());
+        assertSameContent(blocks, decoded);
+    }
+
+    private static TeraArray roundTrip16(TeraArray array) {
+        EntityData.ChunkStore store = ChunkSerializer.encode(new Vector3i(), array, array, array).build();
+        return ChunkSerializer.runLengthDecode(store.getBlockData());
+    }
+
+    private static TeraArray roundTrip8(TeraArray array) {
+        EntityData.ChunkStore store = ChunkSerializer.encode(new Vector3i(), array, array, array).build();
+        return ChunkSerializer.runLengthDecode(store.getLiquidData());
+    }
+
+    private static void fill(TeraArray array, int fromY, int toY, int value) {
+        for (int y = fromY; y < toY; y++) {
+            for (int z = 0; z < array.getSizeZ(); z++) {
+                for (int x = 0; x < array.getSizeX(); x++) {
+                    array.set(x, y, z, value);
+                }
+            }
+        }
+    }
+
+    private static void assertSameContent(TeraArray expected, TeraArray actual) {
+        for (int y = 0; y < expected.getSizeY(); y++) {
+            for (int z = 0; z < expected.getSizeZ(); z++) {
+                for (int x = 0; x < expected.getSizeX(); x++) {
+                    assertEquals(expected.get(x, y, z), actual.get(x, y, z));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.generation;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.terasology.context.Context;
+import org.terasology.context.internal.ContextImpl;
+import org.terasology.entitySystem.Component;
+import org.terasology.math.Region3i;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.world.generation.facets.base.BaseFacet2D;
+import org.terasology.world.generation.facets.base.BaseFacet3D;
+import org.terasology.world.generator.plugin.WorldGeneratorPluginLibrary;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ */
+public class ColumnFacetCacheTest {
+
+    private static final Vector3i CHUNK_SIZE = new Vector3i(32, 64, 32);
+
+    private Context context = new ContextImpl();
+
+    private HeightProvider heightProvider;
+    private DensityProvider densityProvider;
+    private WorldImpl world;
+    private ColumnFacetCache cache;
+
+    @Before
+    public void setup() {
+        heightProvider = new HeightProvider();
+        densityProvider = new DensityProvider();
+        WorldBuilder worldBuilder = new WorldBuilder(context.get(WorldGeneratorPluginLibrary.class));
+        worldBuilder.setSeed(12);
+        worldBuilder.addProvider(heightProvider);
+        worldBuilder.addProvider(new RoughnessProvider());
+        worldBuilder.addProvider(densityProvider);
+        worldBuilder.addProvider(new SurfaceProvider());
+
+        world = (WorldImpl) worldBuilder.build();
+        cache = world.getColumnFacetCache();
+    }
+
+    @Test
+    public void testColumnFacetsAreDetermined() {
+        assertTrue(cache.isColumnFacet(HeightFacet.class));
+        assertTrue(cache.isColumnFacet(RoughnessFacet.class));
+        assertFalse(cache.isColumnFacet(DensityFacet.class));
+        assertFalse(cache.isColumnFacet(SurfaceFacet.class));
+        assertTrue(cache.isColumnProvider(heightProvider));
+        assertFalse(cache.isColumnProvider(densityProvider));
+    }
+
+    @Test
+    public void testStackedChunksShareColumnFacets() {
+        HeightFacet lower = chunkRegion(0, 0, 0).getFacet(HeightFacet.class);
+        HeightFacet upper = chunkRegion(0, 1, 0).getFacet(HeightFacet.class);
+
+        assertSame(lower, upper);
+        assertEquals(1, heightProvider.processCount);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testNeighbouringColumnsDoNotShareFacets() {
+        HeightFacet first = chunkRegion(0, 0, 0).getFacet(HeightFacet.class);
+        HeightFacet second = chunkRegion(1, 0, 0).getFacet(HeightFacet.class);
+
+        assertNotSame(first, second);
+        assertEquals(2, heightProvider.processCount);
+        assertEquals(2, cache.getColumnCount());
+    }
+
+    @Test
+    public void test3DFacetsUseColumnFacets() {
+        Region lower = chunkRegion(0, 0, 0);
+        Region upper = chunkRegion(0, 1, 0);
+
+        DensityFacet lowerDensity = lower.getFacet(DensityFacet.class);
+        DensityFacet upperDensity = upper.getFacet(DensityFacet.class);
+
+        assertNotSame(lowerDensity, upperDensity);
+        assertSame(lowerDensity.height, upperDensity.height);
+        assertSame(lower.getFacet(HeightFacet.class), lowerDensity.height);
+        assertEquals(1, heightProvider.processCount);
+        assertEquals(2, densityProvider.processCount);
+    }
+
+    @Test
+    public void testConfigurationChangeRegeneratesColumn() {
+        HeightFacet before = chunkRegion(0, 0, 0).getFacet(HeightFacet.class);
+
+        HeightConfiguration configuration = new HeightConfiguration();
+        configuration.amplitude = 2;
+        heightProvider.setConfiguration(configuration);
+        HeightFacet after = chunkRegion(0, 1, 0).getFacet(HeightFacet.class);
+
+        assertNotSame(before, after);
+        assertEquals(2, after.amplitude);
+        assertEquals(2, heightProvider.processCount);
+    }
+
+    @Test
+    public void testUnchangedConfigurationKeepsColumn() {
+        HeightFacet before = chunkRegion(0, 0, 0).getFacet(HeightFacet.class);
+
+        heightProvider.setConfiguration(heightProvider.getConfiguration());
+        HeightFacet after = chunkRegion(0, 1, 0).getFacet(HeightFacet.class);
+
+        assertSame(before, after);
+        assertEquals(1, heightProvider.processCount);
+    }
+
+    @Test
+    public void testColumnRegionDoesNotDependOnRequestingChunk() {
+        chunkRegion(0, 3, 0).getFacet(HeightFacet.class);
+        Region3i fromUpperChunk = heightProvider.lastRegion;
+        cache.invalidateAll();
+        chunkRegion(0, -2, 0).getFacet(HeightFacet.class);
+
+        assertEquals(fromUpperChunk, heightProvider.lastRegion);
+        assertEquals(0, heightProvider.lastRegion.minX());
+        assertEquals(CHUNK_SIZE.x, heightProvider.lastRegion.sizeX());
+        assertEquals(CHUNK_SIZE.z, heightProvider.lastRegion.sizeZ());
+    }
+
+    @Test
+    public void testRegionsWithoutCacheGenerateTheirOwnFacets() {
+        Region3i chunk = Region3i.createFromMinAndSize(new Vector3i(), CHUNK_SIZE);
+        HeightFacet first = world.getWorldData(chunk).getFacet(HeightFacet.class);
+        HeightFacet second = world.getWorldData(chunk).getFacet(HeightFacet.class);
+
+        assertNotSame(first, second);
+        assertEquals(0, cache.getHitCount() + cache.getMissCount());
+    }
+
+    private Region chunkRegion(int x, int y, int z) {
+        Vector3i min = new Vector3i(x * CHUNK_SIZE.x, y * CHUNK_SIZE.y, z * CHUNK_SIZE.z);
+        return world.getChunkData(Region3i.createFromMinAndSize(min, CHUNK_SIZE));
+    }
+
+    public static class HeightFacet extends BaseFacet2D {
+        public int amplitude;
+
+        public HeightFacet(Region3i targetRegion, Border3D border) {
+            super(targetRegion, border);
+        }
+    }
+
+    public static class RoughnessFacet extends BaseFacet2D {
+        public RoughnessFacet(Region3i targetRegion, Border3D border) {
+            super(targetRegion, border);
+        }
+    }
+
+    public static class SurfaceFacet extends BaseFacet2D {
+        public SurfaceFacet(Region3i targetRegion, Border3D border) {
+            super(targetRegion, border);
+        }
+    }
+
+    public static class DensityFacet extends BaseFacet3D {
+        public HeightFacet height;
+
+        public DensityFacet(Region3i targetRegion, Border3D border) {
+            super(targetRegion, border);
+        }
+    }
+
+    public static class HeightConfiguration implements Component {
+        public int amplitude = 1;
+    }
+
+    @Produces(HeightFacet.class)
+    public static class HeightProvider implements ConfigurableFacetProvider {
+        public int processCount;
+        public Region3i lastRegion;
+
+        private HeightConfiguration configuration = new HeightConfiguration();
+
+        @Override
+        public void process(GeneratingRegion region) {
+            processCount++;
+            lastRegion = region.getRegion();
+            HeightFacet facet = new HeightFacet(region.getRegion(), region.getBorderForFacet(HeightFacet.class));
+            facet.amplitude = configuration.amplitude;
+            region.setRegionFacet(HeightFacet.class, facet);
+        }
+
+        @Override
+        public String getConfigurationName() {
+            return "Height";
+        }
+
+        @Override
+        public Component getConfiguration() {
+            return configuration;
+        }
+
+        @Override
+        public void setConfiguration(Component configuration) {
+            this.configuration = (HeightConfiguration) configuration;
+        }
+    }
+
+    @Produces(RoughnessFacet.class)
+    @Requires(@Facet(value = HeightFacet.class, border = @FacetBorder(sides = 1)))
+    public static class RoughnessProvider implements FacetProvider {
+
+        @Override
+        public void process(GeneratingRegion region) {
+            region.setRegionFacet(RoughnessFacet.class, new RoughnessFacet(region.getRegion(), region.getBorderForFacet(RoughnessFacet.class)));
+        }
+    }
+
+    @Produces(DensityFacet.class)
+    @Requires(@Facet(HeightFacet.class))
+    public static class DensityProvider implements FacetProvider {
+        public int processCount;
+
+        @Override
+        public void process(GeneratingRegion region) {
+            processCount++;
+            DensityFacet facet = new DensityFacet(region.getRegion(), region.getBorderForFacet(DensityFacet.class));
+            facet.height = region.getRegionFacet(HeightFacet.class);
+            region.setRegionFacet(DensityFacet.class, facet);
+        }
+    }
+
+    /**
+     * Produces a 2D facet, but depends on a 3D one, so it cannot be shared by the column.
+     */
+    @Produces(SurfaceFacet.class)
+    @Requires(@Facet(DensityFacet.class))
+    public static class SurfaceProvider implements FacetProvider {
+
+        @Override
+        public void process(GeneratingRegion region) {
+            region.setRegionFacet(SurfaceFacet.class, new SurfaceFacet(region.getRegion(), region.getBorderForFacet(SurfaceFacet.class)));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.propagation;
+
+import org.junit.Test;
+import org.terasology.math.geom.Vector3i;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PackedPositionQueueTest {
+
+    @Test
+    public void testPackRoundTrip() {
+        int[] coordinates = {0, 1, -1, 31, 32, -33, 1000, -70000, 8388607, -8388608};
+        int[] heights = {0, 1, -1, 63, 64, -65, 32767, -32768};
+        Vector3i unpacked = new Vector3i();
+        for (int x : coordinates) {
+            for (int y : heights) {
+                for (int z : coordinates) {
+                    PackedPositionQueue.unpack(PackedPositionQueue.pack(x, y, z), unpacked);
+                    assertEquals(new Vector3i(x, y, z), unpacked);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFifoOrderWithoutDuplicates() {
+        PackedPositionQueue queue = new PackedPositionQueue();
+        assertTrue(queue.add(PackedPositionQueue.pack(1, 2, 3)));
+        assertTrue(queue.add(PackedPositionQueue.pack(-40, 70, 3)));
+        assertFalse(queue.add(PackedPositionQueue.pack(1, 2, 3)));
+        assertEquals(2, queue.size());
+
+        assertEquals(PackedPositionQueue.pack(1, 2, 3), queue.poll());
+        assertEquals(PackedPositionQueue.pack(-40, 70, 3), queue.poll());
+        assertTrue(queue.isEmpty());
+
+        assertTrue(queue.add(PackedPositionQueue.pack(1, 2, 3)));
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void testRemovedPositionsAreSkipped() {
+        PackedPositionQueue queue = new PackedPositionQueue();
+        for (int i = 0; i < 200; i++) {
+            queue.add(PackedPositionQueue.pack(i, 0, 0));
+        }
+        for (int i = 0; i < 200; i += 2) {
+            assertTrue(queue.remove(PackedPositionQueue.pack(i, 0, 0)));
+        }
+        assertFalse(queue.remove(PackedPositionQueue.pack(0, 0, 0)));
+        assertEquals(100, queue.size());
+
+        for (int i = 1; i < 200; i += 2) {
+            assertEquals(PackedPositionQueue.pack(i, 0, 0), queue.poll());
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testClear() {
+        PackedPositionQueue queue = new PackedPositionQueue();
+        queue.add(PackedPositionQueue.pack(5, 5, 5));
+        queue.clear();
+        assertTrue(queue.isEmpty());
+        assertTrue(queue.add(PackedPositionQueue.pack(5, 5, 5)));
+    }
+}
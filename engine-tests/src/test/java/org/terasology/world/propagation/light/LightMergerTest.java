@@ -0,0 +1,123 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.propagation.light;
+
+import com.google.common.collect.Lists;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.world.chunks.Chunk;
+import org.terasology.world.chunks.internal.GeneratingChunkProvider;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ */
+public class LightMergerTest {
+
+    private static final long TIMEOUT_MS = 10000;
+
+    private LightMerger<Vector3i> merger;
+    private CountDownLatch release;
+
+    @Before
+    public void setup() {
+        release = new CountDownLatch(1);
+        merger = new LightMerger<>(mock(GeneratingChunkProvider.class), 1);
+    }
+
+    @After
+    public void teardown() {
+        release.countDown();
+        merger.shutdown();
+    }
+
+    @Test
+    public void testOverlappingMergeWaitsForMergeInFlight() throws Exception {
+        assertTrue(merger.beginMerge(createChunk(new Vector3i(0, 0, 0)), new Vector3i(0, 0, 0)));
+        assertTrue(merger.isMerging(new Vector3i(1, 1, 1)));
+
+        assertFalse(merger.beginMerge(createChunk(new Vector3i(2, 0, 0)), new Vector3i(2, 0, 0)));
+        assertFalse(merger.beginMerge(createChunk(new Vector3i(1, -1, 1)), new Vector3i(1, -1, 1)));
+        assertTrue(merger.completeMerges().isEmpty());
+
+        release.countDown();
+        assertEquals(Lists.newArrayList(new Vector3i(0, 0, 0)), awaitMerges(1));
+        assertFalse(merger.isMerging(new Vector3i(1, 1, 1)));
+        assertTrue(merger.beginMerge(createChunk(new Vector3i(2, 0, 0)), new Vector3i(2, 0, 0)));
+        assertEquals(Lists.newArrayList(new Vector3i(2, 0, 0)), awaitMerges(1));
+    }
+
+    @Test
+    public void testDisjointMergesRunTogether() throws Exception {
+        assertTrue(merger.beginMerge(createChunk(new Vector3i(0, 0, 0)), new Vector3i(0, 0, 0)));
+        assertTrue(merger.beginMerge(createChunk(new Vector3i(3, 0, 0)), new Vector3i(3, 0, 0)));
+
+        release.countDown();
+        assertEquals(2, awaitMerges(2).size());
+    }
+
+    @Test
+    public void testCapacityLimitsMergesInFlight() throws Exception {
+        assertTrue(merger.beginMerge(createChunk(new Vector3i(0, 0, 0)), new Vector3i(0, 0, 0)));
+        assertFalse(merger.isAtCapacity());
+        assertTrue(merger.beginMerge(createChunk(new Vector3i(3, 0, 0)), new Vector3i(3, 0, 0)));
+        assertTrue(merger.isAtCapacity());
+
+        assertFalse(merger.beginMerge(createChunk(new Vector3i(6, 0, 0)), new Vector3i(6, 0, 0)));
+        assertFalse(merger.isMerging(new Vector3i(6, 0, 0)));
+
+        release.countDown();
+        awaitMerges(2);
+        assertFalse(merger.isAtCapacity());
+        assertTrue(merger.beginMerge(createChunk(new Vector3i(6, 0, 0)), new Vector3i(6, 0, 0)));
+        assertEquals(Lists.newArrayList(new Vector3i(6, 0, 0)), awaitMerges(1));
+    }
+
+    /**
+     * Creates a chunk whose merge blocks while taking its lock, until the test releases it
+     */
+    private Chunk createChunk(Vector3i position) {
+        Chunk chunk = mock(Chunk.class);
+        when(chunk.getPosition()).thenReturn(position);
+        doAnswer(invocation -> {
+            release.await(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            return null;
+        }).when(chunk).writeLock();
+        return chunk;
+    }
+
+    private List<Vector3i> awaitMerges(int count) throws InterruptedException {
+        List<Vector3i> results = Lists.newArrayList();
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (results.size() < count && System.currentTimeMillis() < deadline) {
+            results.addAll(merger.completeMerges());
+            Thread.sleep(5);
+        }
+        assertEquals(count, results.size());
+        return results;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmark.ai;
+
+import org.terasology.benchmark.AbstractBenchmark;
+import org.terasology.config.Config;
+import org.terasology.context.internal.ContextImpl;
+import org.terasology.engine.Time;
+import org.terasology.engine.internal.TimeBase;
+import org.terasology.entitySystem.entity.EntityManager;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.internal.PojoEntityManager;
+import org.terasology.entitySystem.event.internal.EventSystemImpl;
+import org.terasology.entitySystem.metadata.EventLibrary;
+import org.terasology.logic.ai.SimpleAIComponent;
+import org.terasology.logic.ai.SimpleAISystem;
+import org.terasology.logic.characters.CharacterMovementComponent;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.logic.players.LocalPlayer;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.network.ClientComponent;
+import org.terasology.network.internal.NetworkSystemImpl;
+import org.terasology.registry.CoreRegistry;
+import org.terasology.registry.InjectionHelper;
+import org.terasology.utilities.random.FastRandom;
+import org.terasology.world.WorldProvider;
+
+import java.lang.reflect.Proxy;
+import java.util.Iterator;
+
+/**
+ * Runs the SimpleAISystem on 5000 simple AI entities spread around a single client, without a world or renderer.
+ * In the sparse scenario most entities are far enough from the client to decide less often, in the dense scenario
+ * all of them are close to it and decide every update.
+ */
+public class SimpleAIUpdateBenchmark extends AbstractBenchmark {
+
+    private static final int ENTITY_COUNT = 5000;
+    private static final float SPARSE_SPREAD = 200f;
+    private static final float DENSE_SPREAD = 20f;
+    private static final long DELTA_IN_MS = 16;
+
+    private final boolean parallel;
+    private final float spread;
+    private SteppedTime time;
+    private SimpleAISystem system;
+    private long ticks;
+    private long decisions;
+
+    public SimpleAIUpdateBenchmark(boolean parallel, boolean dense) {
+        super("Update " + ENTITY_COUNT + " simple AI entities (" + (dense ? "dense" : "sparse") + ", " + (parallel ? "parallel" : "serial") + ")",
+                100, new int[]{1000});
+        this.parallel = parallel;
+        this.spread = dense ? DENSE_SPREAD : SPARSE_SPREAD;
+    }
+
+    @Override
+    public void setup() {
+        ContextImpl context = new ContextImpl();
+        CoreRegistry.setContext(context);
+        Config config = new Config();
+        config.getSystem().setParallelAIEnabled(parallel);
+        context.put(Config.class, config);
+        time = new SteppedTime();
+        context.put(Time.class, time);
+        PojoEntityManager entityManager = new PojoEntityManager();
+        entityManager.setEventSystem(new EventSystemImpl(new EventLibrary(context), new NetworkSystemImpl(time, context)));
+        context.put(EntityManager.class, entityManager);
+
+        FastRandom rand = new FastRandom(0L);
+        for (int i = 0; i < ENTITY_COUNT; ++i) {
+            LocationComponent location = new LocationComponent(new Vector3f(rand.nextFloat(-spread, spread), 0, rand.nextFloat(-spread, spread)));
+            entityManager.create(new SimpleAIComponent(), new CharacterMovementComponent(), location);
+        }
+
+        ClientComponent clientComp = new ClientComponent();
+        clientComp.character = entityManager.create(new LocationComponent(new Vector3f()));
+        EntityRef client = entityManager.create(clientComp);
+        LocalPlayer localPlayer = new LocalPlayer();
+        localPlayer.setClientEntity(client);
+        context.put(LocalPlayer.class, localPlayer);
+
+        // Every position counts as loaded
+        context.put(WorldProvider.class, (WorldProvider) Proxy.newProxyInstance(WorldProvider.class.getClassLoader(),
+                new Class<?>[]{WorldProvider.class}, (proxy, method, args) -> "isBlockRelevant".equals(method.getName()) ? true : null));
+
+        system = new SimpleAISystem();
+        InjectionHelper.inject(system, context);
+        system.initialise();
+        ticks = 0;
+        decisions = 0;
+    }
+
+    @Override
+    public void run() {
+        Iterator<Float> updateCycles = time.step(DELTA_IN_MS);
+        while (updateCycles.hasNext()) {
+            system.update(updateCycles.next());
+            ticks++;
+            decisions += system.getLastDecisionCount();
+        }
+    }
+
+    @Override
+    public void finish(boolean aborted) {
+        system.shutdown();
+        if (!aborted && ticks > 0) {
+            System.out.println(String.format("Decisions per tick: %.1f of %d entities", (double) decisions / ticks, ENTITY_COUNT));
+        }
+    }
+
+    /**
+     * Advances by a fixed step per update rather than by the real time passed.
+     */
+    private static final class SteppedTime extends TimeBase {
+        private long rawTimeInMs;
+
+        SteppedTime() {
+            super(0);
+        }
+
+        Iterator<Float> step(long deltaInMs) {
+            rawTimeInMs += deltaInMs;
+            return tick();
+        }
+
+        @Override
+        protected long getRawTimeInMs() {
+            return rawTimeInMs;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmark.chunks.arrays;
+
+import org.terasology.benchmark.AbstractBenchmark;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.protobuf.EntityData;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.chunks.blockdata.TeraArray;
+import org.terasology.world.chunks.blockdata.TeraDenseArray16Bit;
+import org.terasology.world.chunks.deflate.TeraDeflator;
+import org.terasology.world.chunks.deflate.TeraStandardDeflator;
+import org.terasology.world.chunks.internal.ChunkSerializer;
+
+/**
+ * Compares decoding stored block data into a dense array followed by deflation against decoding it directly into the
+ * deflated representation.
+ *
+ */
+public class BenchmarkChunkDataDecode extends AbstractBenchmark {
+
+    private final EntityData.RunLengthEncoding16 encoded;
+    private final boolean direct;
+    private final TeraDeflator deflator = new TeraStandardDeflator();
+
+    public BenchmarkChunkDataDecode(String dataDescription, TeraArray blockData, boolean direct) {
+        super((direct ? "Direct sparse decode" : "Dense decode and deflate") + " of " + dataDescription, 100, new int[]{500, 1000, 5000});
+        this.encoded = ChunkSerializer.encode(Vector3i.zero(), blockData, blockData, blockData).getBlockData();
+        this.direct = direct;
+    }
+
+    /**
+     * Creates block data resembling generated terrain: solid ground up to the given height, a noisy surface layer and
+     * air above.
+     */
+    public static TeraArray createTerrain(int groundHeight) {
+        TeraArray array = new TeraDenseArray16Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z);
+        for (int y = 0; y <= groundHeight; y++) {
+            for (int z = 0; z < ChunkConstants.SIZE_Z; z++) {
+                for (int x = 0; x < ChunkConstants.SIZE_X; x++) {
+                    if (y < groundHeight) {
+                        array.set(x, y, z, 1);
+                    } else {
+                        array.set(x, y, z, (x * 31 + z * 17) % 5 == 0 ? 2 : 0);
+                    }
+                }
+            }
+        }
+        return array;
+    }
+
+    @Override
+    public void run() {
+        if (direct) {
+            ChunkSerializer.runLengthDecode(encoded);
+        } else {
+            deflator.deflate(decodeDense(encoded));
+        }
+    }
+
+    private static TeraArray decodeDense(EntityData.RunLengthEncoding16 data) {
+        short[] decodedData = new short[ChunkConstants.SIZE_X * ChunkConstants.SIZE_Y * ChunkConstants.SIZE_Z];
+        int index = 0;
+        for (int pos = 0; pos < data.getValuesCount(); ++pos) {
+            int length = data.getRunLengths(pos);
+            short value = (short) data.getValues(pos);
+            for (int i = 0; i < length; ++i) {
+                decodedData[index++] = value;
+            }
+        }
+        return new TeraDenseArray16Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z, decodedData);
+    }
+}
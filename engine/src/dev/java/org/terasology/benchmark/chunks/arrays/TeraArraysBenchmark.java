@@ -58,6 +58,12 @@ public static void main(String[] args) {
         benchmarks.add(new BenchmarkTeraArraySerializeToStreamViaByteArray(new TeraDenseArray8Bit.SerializationHandler(), new TeraDenseArray8Bit(16, 256, 16)));
         benchmarks.add(new BenchmarkTeraArraySerializeToStreamViaChannel(new TeraDenseArray8Bit.SerializationHandler(), new TeraDenseArray8Bit(16, 256, 16)));
 
+        for (int groundHeight : new int[]{0, 20, 50}) {
+            String description = "terrain with ground height " + groundHeight;
+            benchmarks.add(new BenchmarkChunkDataDecode(description, BenchmarkChunkDataDecode.createTerrain(groundHeight), false));
+            benchmarks.add(new BenchmarkChunkDataDecode(description, BenchmarkChunkDataDecode.createTerrain(groundHeight), true));
+        }
+
 //        benchmarks.add(new BenchmarkTeraArrayDeserializeFromBuffer(new TeraDenseArray8Bit.SerializationHandler(), new TeraDenseArray8Bit(16, 256, 16)));
 //
 //
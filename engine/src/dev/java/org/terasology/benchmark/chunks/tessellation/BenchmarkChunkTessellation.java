@@ -0,0 +1,343 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmark.chunks.tessellation;
+
+import org.terasology.benchmark.AbstractBenchmark;
+import org.terasology.engine.subsystem.lwjgl.GLBufferPool;
+import org.terasology.math.Region3i;
+import org.terasology.math.Side;
+import org.terasology.math.geom.Vector2f;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.rendering.primitives.ChunkMesh;
+import org.terasology.rendering.primitives.ChunkTessellator;
+import org.terasology.utilities.random.FastRandom;
+import org.terasology.world.ChunkView;
+import org.terasology.world.biomes.Biome;
+import org.terasology.world.biomes.BiomeManager;
+import org.terasology.world.block.Block;
+import org.terasology.world.block.BlockAppearance;
+import org.terasology.world.block.BlockPart;
+import org.terasology.world.block.shapes.BlockMeshPart;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.liquid.LiquidData;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Tessellates a chunk of generated terrain with hills, water and, optionally, randomly carved out caves.
+ * The buffers are only filled on the CPU, nothing is uploaded to the GPU.
+ */
+public class BenchmarkChunkTessellation extends AbstractBenchmark {
+
+    private static final int SEA_LEVEL = 28;
+
+    private final float caveDensity;
+    private final boolean greedyMeshing;
+    private final Block air = new Block();
+    private final Block stone = new Block();
+    private final Block dirt = new Block();
+    private final Block water = new Block();
+
+    private ArrayChunkView view;
+    private ChunkTessellator tessellator;
+    private int triangles;
+
+    public BenchmarkChunkTessellation(float caveDensity, boolean greedyMeshing) {
+        super("Tessellating a generated chunk with cave density " + caveDensity
+                + (greedyMeshing ? " (greedy meshing)" : ""), 10, new int[]{50});
+        this.caveDensity = caveDensity;
+        this.greedyMeshing = greedyMeshing;
+    }
+
+    @Override
+    public void setup() {
+        BlockAppearance cube = createCubeAppearance();
+        air.setId((short) 0);
+        air.setTranslucent(true);
+        air.setMeshGenerator(null);
+        stone.setId((short) 1);
+        stone.setPrimaryAppearance(cube);
+        dirt.setId((short) 2);
+        dirt.setPrimaryAppearance(cube);
+        water.setId((short) 3);
+        water.setPrimaryAppearance(cube);
+        water.setTranslucent(true);
+        water.setLiquid(true);
+        water.setWater(true);
+        for (Side side : Side.values()) {
+            stone.setFullSide(side, true);
+            dirt.setFullSide(side, true);
+            water.setFullSide(side, true);
+            water.setLoweredLiquidMesh(side, cube.getPart(BlockPart.fromSide(side)));
+        }
+
+        FastRandom rand = new FastRandom(0L);
+        view = new ArrayChunkView(air);
+        for (int x = -1; x <= ChunkConstants.SIZE_X; x++) {
+            for (int z = -1; z <= ChunkConstants.SIZE_Z; z++) {
+                int height = (int) (SEA_LEVEL + 8 * Math.sin(x * 0.2) * Math.cos(z * 0.15));
+                for (int y = -1; y <= ChunkConstants.SIZE_Y; y++) {
+                    if (y < height - 3) {
+                        view.setBlock(x, y, z, (rand.nextFloat() < caveDensity) ? air : stone);
+                    } else if (y < height) {
+                        view.setBlock(x, y, z, dirt);
+                    } else if (y < SEA_LEVEL) {
+                        view.setBlock(x, y, z, water);
+                    }
+                }
+            }
+        }
+        tessellator = new ChunkTessellator(new GLBufferPool(false), greedyMeshing);
+    }
+
+    @Override
+    public void run() {
+        ChunkMesh mesh = tessellator.generateMesh(view, ChunkConstants.SIZE_Y, 0);
+        triangles = 0;
+        for (ChunkMesh.RenderType type : ChunkMesh.RenderType.values()) {
+            triangles += mesh.getVertexElements(type).finalIndices.limit() / 3;
+        }
+        // Disposing hands the buffers back to the pool, like uploading the mesh does
+        mesh.dispose();
+    }
+
+    @Override
+    public void finish(boolean aborted) {
+        if (!aborted) {
+            System.out.println(String.format("Triangles per chunk: %d", triangles));
+        }
+    }
+
+    private static BlockAppearance createCubeAppearance() {
+        Map<BlockPart, BlockMeshPart> parts = new EnumMap<>(BlockPart.class);
+        Map<BlockPart, Vector2f> atlasPositions = new EnumMap<>(BlockPart.class);
+        for (BlockPart part : BlockPart.values()) {
+            atlasPositions.put(part, new Vector2f());
+        }
+        for (Side side : Side.values()) {
+            parts.put(BlockPart.fromSide(side), createFace(side));
+        }
+        return new BlockAppearance(parts, atlasPositions);
+    }
+
+    private static BlockMeshPart createFace(Side side) {
+        Vector3i normal = side.getVector3i();
+        Vector3i u = (normal.x != 0) ? new Vector3i(0, 1, 0) : new Vector3i(1, 0, 0);
+        Vector3i v = (normal.z != 0) ? new Vector3i(0, 1, 0) : new Vector3i(0, 0, 1);
+        float[][] corners = {{-0.5f, -0.5f}, {0.5f, -0.5f}, {0.5f, 0.5f}, {-0.5f, 0.5f}};
+        Vector3f[] vertices = new Vector3f[4];
+        Vector3f[] normals = new Vector3f[4];
+        Vector2f[] texCoords = new Vector2f[4];
+        for (int i = 0; i < 4; i++) {
+            float cu = corners[i][0];
+            float cv = corners[i][1];
+            vertices[i] = new Vector3f(0.5f * normal.x + cu * u.x + cv * v.x, 0.5f * normal.y + cu * u.y + cv * v.y, 0.5f * normal.z + cu * u.z + cv * v.z);
+            normals[i] = new Vector3f(normal.x, normal.y, normal.z);
+            texCoords[i] = createTexCoord(normal, vertices[i]);
+        }
+        return new BlockMeshPart(vertices, normals, texCoords, new int[]{0, 1, 2, 0, 2, 3});
+    }
+
+    /**
+     * Lays the texture out like the cube shape does, so the faces can be merged by the greedy mesher.
+     */
+    private static Vector2f createTexCoord(Vector3i normal, Vector3f vertex) {
+        if (normal.y != 0) {
+            return new Vector2f(0.5f + normal.y * vertex.x, 0.5f + vertex.z);
+        } else if (normal.x != 0) {
+            return new Vector2f(0.5f - normal.x * vertex.z, 0.5f - vertex.y);
+        }
+        return new Vector2f(0.5f + normal.z * vertex.x, 0.5f - vertex.y);
+    }
+
+    /**
+     * A chunk view backed by a plain array holding a single chunk and a one block border around it.
+     */
+    private static final class ArrayChunkView implements ChunkView {
+        private static final int SIZE_X = ChunkConstants.SIZE_X + 2;
+        private static final int SIZE_Y = ChunkConstants.SIZE_Y + 2;
+        private static final int SIZE_Z = ChunkConstants.SIZE_Z + 2;
+
+        private final Block defaultBlock;
+        private final Block[] blocks = new Block[SIZE_X * SIZE_Y * SIZE_Z];
+
+        ArrayChunkView(Block defaultBlock) {
+            this.defaultBlock = defaultBlock;
+            for (int i = 0; i < blocks.length; i++) {
+                blocks[i] = defaultBlock;
+            }
+        }
+
+        private int indexOf(int x, int y, int z) {
+            if (x < -1 || y < -1 || z < -1 || x > ChunkConstants.SIZE_X || y > ChunkConstants.SIZE_Y || z > ChunkConstants.SIZE_Z) {
+                return -1;
+            }
+            return (x + 1) + SIZE_X * ((z + 1) + SIZE_Z * (y + 1));
+        }
+
+        @Override
+        public Block getBlock(float x, float y, float z) {
+            return getBlock(Math.round(x), Math.round(y), Math.round(z));
+        }
+
+        @Override
+        public Block getBlock(Vector3i pos) {
+            return getBlock(pos.x, pos.y, pos.z);
+        }
+
+        @Override
+        public Block getBlock(int x, int y, int z) {
+            int index = indexOf(x, y, z);
+            return (index == -1) ? defaultBlock : blocks[index];
+        }
+
+        @Override
+        public Biome getBiome(float x, float y, float z) {
+            return BiomeManager.getUnknownBiome();
+        }
+
+        @Override
+        public Biome getBiome(Vector3i pos) {
+            return BiomeManager.getUnknownBiome();
+        }
+
+        @Override
+        public Biome getBiome(int x, int y, int z) {
+            return BiomeManager.getUnknownBiome();
+        }
+
+        @Override
+        public byte getSunlight(float x, float y, float z) {
+            return ChunkConstants.MAX_SUNLIGHT;
+        }
+
+        @Override
+        public byte getSunlight(Vector3i pos) {
+            return ChunkConstants.MAX_SUNLIGHT;
+        }
+
+        @Override
+        public byte getSunlight(int x, int y, int z) {
+            return ChunkConstants.MAX_SUNLIGHT;
+        }
+
+        @Override
+        public byte getLight(float x, float y, float z) {
+            return 0;
+        }
+
+        @Override
+        public byte getLight(Vector3i pos) {
+            return 0;
+        }
+
+        @Override
+        public byte getLight(int x, int y, int z) {
+            return 0;
+        }
+
+        @Override
+        public void setBlock(Vector3i pos, Block type) {
+            setBlock(pos.x, pos.y, pos.z, type);
+        }
+
+        @Override
+        public void setBlock(int x, int y, int z, Block type) {
+            blocks[indexOf(x, y, z)] = type;
+        }
+
+        @Override
+        public void setBiome(Vector3i pos, Biome biome) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setBiome(int x, int y, int z, Biome biome) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public LiquidData getLiquid(Vector3i pos) {
+            return new LiquidData();
+        }
+
+        @Override
+        public LiquidData getLiquid(int x, int y, int z) {
+            return new LiquidData();
+        }
+
+        @Override
+        public void setLiquid(Vector3i pos, LiquidData newState) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setLiquid(int x, int y, int z, LiquidData newState) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Vector3i toWorldPos(Vector3i localPos) {
+            return new Vector3i(localPos);
+        }
+
+        @Override
+        public Region3i getWorldRegion() {
+            return Region3i.createFromMinAndSize(new Vector3i(-1, -1, -1), new Vector3i(SIZE_X, SIZE_Y, SIZE_Z));
+        }
+
+        @Override
+        public Region3i getChunkRegion() {
+            return Region3i.createFromMinAndSize(new Vector3i(), new Vector3i(1, 1, 1));
+        }
+
+        @Override
+        public void setDirtyAround(Vector3i blockPos) {
+        }
+
+        @Override
+        public void setDirtyAround(Region3i blockRegion) {
+        }
+
+        @Override
+        public void writeLock() {
+        }
+
+        @Override
+        public void writeUnlock() {
+        }
+
+        @Override
+        public void readLock() {
+        }
+
+        @Override
+        public void readUnlock() {
+        }
+
+        @Override
+        public boolean isLocked() {
+            return false;
+        }
+
+        @Override
+        public boolean isValidView() {
+            return true;
+        }
+    }
+}
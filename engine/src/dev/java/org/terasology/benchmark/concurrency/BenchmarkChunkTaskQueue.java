@@ -0,0 +1,96 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmark.concurrency;
+
+import com.google.common.collect.Lists;
+import org.terasology.benchmark.AbstractBenchmark;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.utilities.concurrency.ReprioritizableBlockingQueue;
+import org.terasology.utilities.random.FastRandom;
+import org.terasology.world.chunks.pipeline.AbstractChunkTask;
+import org.terasology.world.chunks.pipeline.ChunkTask;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Function;
+
+/**
+ * Measures how fast a queue of chunk tasks, prioritized by distance to a moving center, can be filled and drained.
+ * Every run enqueues all tasks, moves the center once and then dequeues every task in priority order.
+ *
+ */
+public class BenchmarkChunkTaskQueue extends AbstractBenchmark {
+
+    private final int taskCount;
+    private final Function<Comparator<ChunkTask>, BlockingQueue<ChunkTask>> queueFactory;
+
+    private final Vector3i center = new Vector3i();
+    private List<ChunkTask> tasks;
+    private BlockingQueue<ChunkTask> queue;
+    private FastRandom random;
+
+    public BenchmarkChunkTaskQueue(String title, int taskCount, int[] reps,
+                                   Function<Comparator<ChunkTask>, BlockingQueue<ChunkTask>> queueFactory) {
+        super(title + " (" + taskCount + " tasks)", 2, reps);
+        this.taskCount = taskCount;
+        this.queueFactory = queueFactory;
+    }
+
+    @Override
+    public void setup() {
+        random = new FastRandom(0L);
+        tasks = Lists.newArrayListWithCapacity(taskCount);
+        for (int i = 0; i < taskCount; ++i) {
+            Vector3i pos = new Vector3i(random.nextInt(-64, 64), random.nextInt(-8, 8), random.nextInt(-64, 64));
+            tasks.add(new AbstractChunkTask(pos) {
+                @Override
+                public String getName() {
+                    return "Benchmark task";
+                }
+
+                @Override
+                public void run() {
+                }
+            });
+        }
+        queue = queueFactory.apply((o1, o2) -> o1.getPosition().gridDistance(center) - o2.getPosition().gridDistance(center));
+    }
+
+    @Override
+    public void run() {
+        center.set(0, 0, 0);
+        for (ChunkTask task : tasks) {
+            queue.offer(task);
+        }
+
+        center.set(random.nextInt(-16, 16), 0, random.nextInt(-16, 16));
+        if (queue instanceof ReprioritizableBlockingQueue) {
+            ((ReprioritizableBlockingQueue<ChunkTask>) queue).reprioritize();
+        }
+
+        int lastDistance = Integer.MIN_VALUE;
+        ChunkTask task = queue.poll();
+        while (task != null) {
+            int distance = task.getPosition().gridDistance(center);
+            if (distance < lastDistance) {
+                throw new IllegalStateException("Tasks dequeued out of order");
+            }
+            lastDistance = distance;
+            task = queue.poll();
+        }
+    }
+}
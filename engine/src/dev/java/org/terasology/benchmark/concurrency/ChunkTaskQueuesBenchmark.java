@@ -0,0 +1,49 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmark.concurrency;
+
+import com.google.common.collect.Lists;
+import org.terasology.benchmark.Benchmark;
+import org.terasology.benchmark.Benchmarks;
+import org.terasology.benchmark.PrintToConsoleCallback;
+import org.terasology.utilities.concurrency.DynamicPriorityBlockingQueue;
+import org.terasology.utilities.concurrency.ReprioritizableBlockingQueue;
+
+import java.util.List;
+
+/**
+ * Compares dequeue throughput of the task queues available to {@link org.terasology.utilities.concurrency.TaskMaster}
+ * with the large amount of queued tasks seen at high view distances.
+ *
+ */
+public final class ChunkTaskQueuesBenchmark {
+
+    private ChunkTaskQueuesBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        final List<Benchmark> benchmarks = Lists.newArrayList();
+
+        for (int taskCount : new int[]{1000, 10000, 20000}) {
+            benchmarks.add(new BenchmarkChunkTaskQueue("Linear scan queue", taskCount, new int[]{5},
+                    DynamicPriorityBlockingQueue::new));
+            benchmarks.add(new BenchmarkChunkTaskQueue("Reprioritizable heap queue", taskCount, new int[]{5},
+                    ReprioritizableBlockingQueue::new));
+        }
+
+        Benchmarks.execute(benchmarks, new PrintToConsoleCallback());
+    }
+}
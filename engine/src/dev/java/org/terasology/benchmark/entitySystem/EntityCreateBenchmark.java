@@ -19,6 +19,7 @@
 import com.google.common.collect.Lists;
 import org.terasology.benchmark.AbstractBenchmark;
 import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.entity.internal.ComponentStorageType;
 import org.terasology.entitySystem.entity.internal.PojoEntityManager;
 import org.terasology.logic.location.LocationComponent;
 import org.terasology.rendering.logic.MeshComponent;
@@ -32,10 +33,16 @@
  */
 public class EntityCreateBenchmark extends AbstractBenchmark {
 
+    private final ComponentStorageType storageType;
     private List<List<Component>> rawEntityData;
 
     public EntityCreateBenchmark() {
-        super("Create Entities", 10000, new int[]{10000});
+        this(ComponentStorageType.HASH_TABLE);
+    }
+
+    public EntityCreateBenchmark(ComponentStorageType storageType) {
+        super("Create Entities (" + storageType + ")", 10000, new int[]{10000});
+        this.storageType = storageType;
     }
 
     @Override
@@ -59,7 +66,7 @@ public void setup() {
 
     @Override
     public void run() {
-        PojoEntityManager entityManager = new PojoEntityManager();
+        PojoEntityManager entityManager = new PojoEntityManager(storageType);
         rawEntityData.forEach(entityManager::create);
     }
 }
@@ -22,6 +22,7 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.benchmark.Benchmark;
+import org.terasology.entitySystem.entity.internal.ComponentStorageType;
 
 import java.util.List;
 
@@ -37,9 +38,13 @@ private EntitySystemBenchmark() {
     public static void main(String[] args) {
         final List<Benchmark> benchmarks = Lists.newArrayList();
 
-        benchmarks.add(new EntityCreateBenchmark());
+        for (ComponentStorageType storageType : ComponentStorageType.values()) {
+            benchmarks.add(new EntityCreateBenchmark(storageType));
+        }
         benchmarks.add(new IterateSingleComponentBenchmark());
-        benchmarks.add(new IterateMultipleComponentBenchmark());
+        for (ComponentStorageType storageType : ComponentStorageType.values()) {
+            benchmarks.add(new IterateMultipleComponentBenchmark(storageType));
+        }
         Benchmarks.execute(benchmarks, new PrintToConsoleCallback());
 
     }
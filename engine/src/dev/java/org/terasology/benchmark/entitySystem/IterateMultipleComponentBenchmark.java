@@ -20,6 +20,7 @@
 import org.terasology.benchmark.AbstractBenchmark;
 import org.terasology.entitySystem.Component;
 import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.internal.ComponentStorageType;
 import org.terasology.entitySystem.entity.internal.PojoEntityManager;
 import org.terasology.logic.location.LocationComponent;
 import org.terasology.rendering.logic.MeshComponent;
@@ -33,11 +34,17 @@
  */
 public class IterateMultipleComponentBenchmark extends AbstractBenchmark {
 
+    private final ComponentStorageType storageType;
     private List<List<Component>> rawEntityData;
     private PojoEntityManager entityManager;
 
     public IterateMultipleComponentBenchmark() {
-        super("Iterate entities by multiple components", 10000, new int[]{10000});
+        this(ComponentStorageType.HASH_TABLE);
+    }
+
+    public IterateMultipleComponentBenchmark(ComponentStorageType storageType) {
+        super("Iterate entities by multiple components (" + storageType + ")", 10000, new int[]{10000});
+        this.storageType = storageType;
     }
 
     @Override
@@ -58,7 +65,7 @@ public void setup() {
             rawEntityData.add(entityData);
         }
 
-        entityManager = new PojoEntityManager();
+        entityManager = new PojoEntityManager(storageType);
         for (List<Component> rawEntity : rawEntityData) {
             entityManager.create(rawEntity);
         }
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmark.network;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.terasology.benchmark.AbstractBenchmark;
+import org.terasology.config.Config;
+import org.terasology.context.internal.ContextImpl;
+import org.terasology.engine.SimpleUri;
+import org.terasology.engine.bootstrap.EntitySystemSetupUtil;
+import org.terasology.engine.subsystem.headless.device.TimeSystem;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.internal.PojoEntityManager;
+import org.terasology.entitySystem.event.internal.EventSystemImpl;
+import org.terasology.entitySystem.metadata.ComponentLibrary;
+import org.terasology.entitySystem.metadata.ComponentMetadata;
+import org.terasology.entitySystem.metadata.EventLibrary;
+import org.terasology.entitySystem.metadata.ReplicatedFieldMetadata;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.geom.Quat4f;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.network.internal.LocationQuantization;
+import org.terasology.network.internal.NetworkSystemImpl;
+import org.terasology.network.internal.ReplicationBaseline;
+import org.terasology.network.serialization.ServerComponentFieldCheck;
+import org.terasology.persistence.serializers.NetworkEntitySerializer;
+import org.terasology.persistence.typeHandling.TypeSerializationLibrary;
+import org.terasology.persistence.typeHandling.extensionTypes.EntityRefTypeHandler;
+import org.terasology.protobuf.EntityData;
+import org.terasology.protobuf.NetData;
+import org.terasology.registry.CoreRegistry;
+import org.terasology.utilities.random.FastRandom;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.Deflater;
+
+/**
+ * Replicates the location of moving entities to a number of clients, one network tick per run, without any sockets.
+ * <br><br>
+ * The update of each entity is serialized once and shared by all clients, like the server does. Each client then
+ * builds its own message, which is deflated by its own stream the way the zlib encoder of a connection does. The
+ * average size of the messages per client and tick is printed once the benchmark finishes.
+ */
+public class EntityReplicationBenchmark extends AbstractBenchmark {
+
+    private static final float SPREAD = 100f;
+    private static final float SPEED = 0.2f;
+
+    private final int entityCount;
+    private final int clientCount;
+    private final boolean deltaReplication;
+
+    private NetworkEntitySerializer serializer;
+    private LocationQuantization quantization;
+    private List<EntityRef> entities;
+    private List<Vector3f> velocities;
+    private List<ReplicationBaseline> baselines;
+    private List<Deflater> deflaters;
+    private Set<Class<? extends Component>> changed = Collections.singleton(LocationComponent.class);
+    private Set<Class<? extends Component>> none = Collections.emptySet();
+    private byte[] deflateBuffer = new byte[1 << 16];
+
+    private long ticks;
+    private long rawBytes;
+    private long compressedBytes;
+
+    public EntityReplicationBenchmark(int entityCount, int clientCount, boolean deltaReplication) {
+        super("Replicate " + entityCount + " moving entities to " + clientCount + " clients"
+                + (deltaReplication ? " (delta replication)" : ""), 100, new int[]{1000});
+        this.entityCount = entityCount;
+        this.clientCount = clientCount;
+        this.deltaReplication = deltaReplication;
+    }
+
+    @Override
+    public void setup() {
+        ContextImpl context = new ContextImpl();
+        CoreRegistry.setContext(context);
+        context.put(Config.class, new Config());
+        EntitySystemSetupUtil.addReflectionBasedLibraries(context);
+        ComponentLibrary componentLibrary = context.get(ComponentLibrary.class);
+        componentLibrary.register(new SimpleUri("engine", "location"), LocationComponent.class);
+
+        PojoEntityManager entityManager = new PojoEntityManager();
+        entityManager.setComponentLibrary(componentLibrary);
+        entityManager.setEventSystem(new EventSystemImpl(new EventLibrary(context), new NetworkSystemImpl(new TimeSystem(), context)));
+        TypeSerializationLibrary typeSerializationLibrary = context.get(TypeSerializationLibrary.class);
+        typeSerializationLibrary.add(EntityRef.class, new EntityRefTypeHandler(entityManager));
+        entityManager.setTypeSerializerLibrary(typeSerializationLibrary);
+
+        // Assign the ids the network system would
+        ComponentMetadata<LocationComponent> metadata = componentLibrary.getMetadata(LocationComponent.class);
+        byte fieldId = 0;
+        for (ReplicatedFieldMetadata<?, ?> field : metadata.getFields()) {
+            field.setId(fieldId++);
+        }
+        Map<Class<? extends Component>, Integer> idMapping = Maps.newHashMap();
+        idMapping.put(LocationComponent.class, 0);
+        serializer = new NetworkEntitySerializer(entityManager, componentLibrary, typeSerializationLibrary);
+        serializer.setIdMapping(idMapping);
+        quantization = new LocationQuantization(0, metadata.getField("position").getId(), metadata.getField("rotation").getId());
+
+        FastRandom rand = new FastRandom(0L);
+        entities = Lists.newArrayList();
+        velocities = Lists.newArrayList();
+        for (int i = 0; i < entityCount; ++i) {
+            LocationComponent location = new LocationComponent(new Vector3f(rand.nextFloat(-SPREAD, SPREAD), 50, rand.nextFloat(-SPREAD, SPREAD)));
+            entities.add(entityManager.create(location));
+            velocities.add(new Vector3f(rand.nextFloat(-SPEED, SPEED), 0, rand.nextFloat(-SPEED, SPEED)));
+        }
+
+        baselines = Lists.newArrayList();
+        deflaters = Lists.newArrayList();
+        for (int i = 0; i < clientCount; ++i) {
+            baselines.add(new ReplicationBaseline());
+            deflaters.add(new Deflater());
+        }
+        ticks = 0;
+        rawBytes = 0;
+        compressedBytes = 0;
+    }
+
+    @Override
+    public void run() {
+        List<EntityData.PackedEntity> updates = Lists.newArrayListWithCapacity(entityCount);
+        for (int i = 0; i < entityCount; ++i) {
+            EntityRef entity = entities.get(i);
+            LocationComponent location = entity.getComponent(LocationComponent.class);
+            Vector3f position = location.getLocalPosition();
+            Vector3f velocity = velocities.get(i);
+            position.add(velocity);
+            location.setLocalPosition(position);
+            // Only some of the entities turn in a tick
+            if (i % 4 == (ticks % 4)) {
+                location.setLocalRotation(new Quat4f(Vector3f.up(), (float) Math.atan2(velocity.x, velocity.z) + 0.01f * ticks));
+            }
+            entity.saveComponent(location);
+
+            EntityData.PackedEntity update = serializer.serialize(entity, none, changed, none, new ServerComponentFieldCheck(false, false));
+            if (update != null && deltaReplication) {
+                update = quantization.quantize(update);
+            }
+            updates.add(update);
+        }
+
+        for (int client = 0; client < clientCount; ++client) {
+            NetData.NetMessage.Builder message = NetData.NetMessage.newBuilder();
+            for (int i = 0; i < entityCount; ++i) {
+                EntityData.PackedEntity update = updates.get(i);
+                if (update != null && deltaReplication) {
+                    update = baselines.get(client).filter(i + 1, false, update);
+                }
+                if (update != null) {
+                    message.addUpdateEntity(NetData.UpdateEntityMessage.newBuilder().setEntity(update).setNetId(i + 1));
+                }
+            }
+            byte[] data = message.build().toByteArray();
+            rawBytes += data.length;
+            compressedBytes += deflate(deflaters.get(client), data);
+        }
+        ticks++;
+    }
+
+    private int deflate(Deflater deflater, byte[] data) {
+        deflater.setInput(data);
+        int size = 0;
+        int count;
+        do {
+            count = deflater.deflate(deflateBuffer, 0, deflateBuffer.length, Deflater.SYNC_FLUSH);
+            size += count;
+        } while (count == deflateBuffer.length);
+        return size;
+    }
+
+    @Override
+    public void finish(boolean aborted) {
+        if (ticks > 0) {
+            long samples = ticks * clientCount;
+            System.out.println(String.format("Bytes per client and tick: %d raw, %d deflated", rawBytes / samples, compressedBytes / samples));
+        }
+        deflaters.forEach(Deflater::end);
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmark.network;
+
+import com.google.common.collect.Lists;
+import org.terasology.benchmark.Benchmark;
+import org.terasology.benchmark.Benchmarks;
+import org.terasology.benchmark.PrintToConsoleCallback;
+
+import java.util.List;
+
+/**
+ * Measures the bandwidth and serialization time of entity replication with and without delta replication.
+ * <br><br>
+ * Usage: ReplicationBenchmark [entity count] [client count]
+ */
+public final class ReplicationBenchmark {
+
+    private ReplicationBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int entityCount = (args.length > 0) ? Integer.parseInt(args[0]) : 500;
+        int clientCount = (args.length > 1) ? Integer.parseInt(args[1]) : 8;
+
+        final List<Benchmark> benchmarks = Lists.newArrayList();
+        benchmarks.add(new EntityReplicationBenchmark(entityCount, clientCount, false));
+        benchmarks.add(new EntityReplicationBenchmark(entityCount, clientCount, true));
+        Benchmarks.execute(benchmarks, new PrintToConsoleCallback());
+    }
+}
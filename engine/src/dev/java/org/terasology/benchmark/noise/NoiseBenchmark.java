@@ -0,0 +1,49 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmark.noise;
+
+import com.google.common.collect.Lists;
+import org.terasology.benchmark.Benchmark;
+import org.terasology.benchmark.Benchmarks;
+import org.terasology.benchmark.PrintToConsoleCallback;
+import org.terasology.utilities.procedural.BrownianNoise;
+import org.terasology.utilities.procedural.PerlinNoise;
+import org.terasology.utilities.procedural.SimplexNoise;
+
+import java.util.List;
+
+/**
+ * Compares evaluating noise point by point with the grid-based noise methods.
+ */
+public final class NoiseBenchmark {
+
+    private NoiseBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        final List<Benchmark> benchmarks = Lists.newArrayList();
+
+        for (boolean bulk : new boolean[]{false, true}) {
+            benchmarks.add(new NoiseGridBenchmark("Perlin", new PerlinNoise(0xCAFE), bulk, 128, 128, 0));
+            benchmarks.add(new NoiseGridBenchmark("Simplex", new SimplexNoise(0xCAFE), bulk, 128, 128, 0));
+            benchmarks.add(new NoiseGridBenchmark("Brownian perlin", new BrownianNoise(new PerlinNoise(0xCAFE), 8), bulk, 128, 128, 0));
+            benchmarks.add(new NoiseGridBenchmark("Brownian simplex", new BrownianNoise(new SimplexNoise(0xCAFE), 8), bulk, 128, 128, 0));
+            benchmarks.add(new NoiseGridBenchmark("Perlin", new PerlinNoise(0xCAFE), bulk, 32, 64, 32));
+            benchmarks.add(new NoiseGridBenchmark("Brownian perlin", new BrownianNoise(new PerlinNoise(0xCAFE), 8), bulk, 32, 64, 32));
+        }
+        Benchmarks.execute(benchmarks, new PrintToConsoleCallback());
+    }
+}
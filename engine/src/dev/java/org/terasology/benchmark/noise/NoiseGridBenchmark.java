@@ -0,0 +1,114 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmark.noise;
+
+import org.terasology.benchmark.AbstractBenchmark;
+import org.terasology.utilities.procedural.Noise;
+
+/**
+ * Evaluates a noise function for a grid of positions, either point by point or with the grid-based methods.
+ */
+public class NoiseGridBenchmark extends AbstractBenchmark {
+
+    private static final float ZOOM = 0.004f;
+    private static final int SAMPLE_RATE = 4;
+
+    private final Noise noise;
+    private final boolean bulk;
+    private final float[] xs;
+    private final float[] ys;
+    private final float[] zs;
+    private float[] target;
+    private float checksum;
+
+    /**
+     * @param name  the name of the noise
+     * @param noise the noise to evaluate
+     * @param bulk  whether to use the grid-based method
+     * @param sizeX the number of positions on the x-axis
+     * @param sizeY the number of positions on the y-axis
+     * @param sizeZ the number of positions on the z-axis, or 0 for 2D noise
+     */
+    public NoiseGridBenchmark(String name, Noise noise, boolean bulk, int sizeX, int sizeY, int sizeZ) {
+        super(name + " for " + sizeX + "x" + sizeY + (sizeZ > 0 ? "x" + sizeZ : "") + " positions (" + (bulk ? "grid" : "point by point") + ")",
+                50, new int[]{100});
+        this.noise = noise;
+        this.bulk = bulk;
+        this.xs = keyPositions(1000, sizeX);
+        this.ys = keyPositions(-500, sizeY);
+        this.zs = keyPositions(0, sizeZ);
+    }
+
+    @Override
+    public void setup() {
+        target = new float[xs.length * ys.length * Math.max(1, zs.length)];
+    }
+
+    @Override
+    public void run() {
+        if (zs.length == 0) {
+            run2D();
+        } else {
+            run3D();
+        }
+        // keep the JIT from discarding the results
+        checksum += target[target.length / 2];
+    }
+
+    @Override
+    public void finish(boolean aborted) {
+        if (Float.isNaN(checksum)) {
+            throw new IllegalStateException("Noise produced NaN");
+        }
+    }
+
+    private void run2D() {
+        if (bulk) {
+            noise.noise(xs, ys, target);
+        } else {
+            for (int j = 0; j < ys.length; ++j) {
+                for (int i = 0; i < xs.length; ++i) {
+                    target[i + xs.length * j] = noise.noise(xs[i], ys[j]);
+                }
+            }
+        }
+    }
+
+    private void run3D() {
+        if (bulk) {
+            noise.noise(xs, ys, zs, target);
+        } else {
+            for (int k = 0; k < zs.length; ++k) {
+                for (int j = 0; j < ys.length; ++j) {
+                    for (int i = 0; i < xs.length; ++i) {
+                        target[i + xs.length * (j + ys.length * k)] = noise.noise(xs[i], ys[j], zs[k]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return positions spaced like the key values of a sub-sampled noise
+     */
+    private static float[] keyPositions(int min, int count) {
+        float[] positions = new float[count];
+        for (int i = 0; i < count; ++i) {
+            positions[i] = ZOOM * (i * SAMPLE_RATE + min);
+        }
+        return positions;
+    }
+}
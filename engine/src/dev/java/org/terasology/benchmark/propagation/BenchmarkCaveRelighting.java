@@ -0,0 +1,157 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmark.propagation;
+
+import com.google.common.collect.Lists;
+import org.terasology.benchmark.AbstractBenchmark;
+import org.terasology.math.Region3i;
+import org.terasology.math.Side;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.world.block.Block;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.propagation.BatchPropagator;
+import org.terasology.world.propagation.BlockChange;
+import org.terasology.world.propagation.PropagatorWorldView;
+import org.terasology.world.propagation.StandardBatchPropagator;
+import org.terasology.world.propagation.light.LightPropagationRules;
+
+import java.util.List;
+
+/**
+ * Carves a cube shaped cave into the ground of a 3x1x3 chunk area lit by lanterns and fills it again, relighting the
+ * area with a {@link StandardBatchPropagator} after each step.
+ *
+ */
+public class BenchmarkCaveRelighting extends AbstractBenchmark {
+
+    private static final int CHUNKS_X = 3;
+    private static final int CHUNKS_Z = 3;
+    private static final int GROUND_HEIGHT = ChunkConstants.SIZE_Y * 3 / 4;
+    private static final int LANTERN_SPACING = 8;
+
+    private final int caveSize;
+    private final Block air = new Block();
+    private final Block stone = new Block();
+    private final Block lantern = new Block();
+
+    private ArrayWorldView world;
+    private BatchPropagator propagator;
+    private List<BlockChange> carveChanges;
+    private List<BlockChange> fillChanges;
+
+    public BenchmarkCaveRelighting(int caveSize) {
+        super("Relighting after carving and filling a " + caveSize + "^3 cave", 5, new int[]{10, 50});
+        this.caveSize = caveSize;
+    }
+
+    @Override
+    public void setup() {
+        air.setTranslucent(true);
+        lantern.setTranslucent(true);
+        lantern.setLuminance((byte) 15);
+        for (Side side : Side.values()) {
+            stone.setFullSide(side, true);
+        }
+
+        Vector3i size = new Vector3i(CHUNKS_X * ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, CHUNKS_Z * ChunkConstants.SIZE_Z);
+        world = new ArrayWorldView(size, air);
+        propagator = new StandardBatchPropagator(new LightPropagationRules(), world);
+
+        List<BlockChange> lanterns = Lists.newArrayList();
+        for (int z = 0; z < size.z; z++) {
+            for (int x = 0; x < size.x; x++) {
+                for (int y = 0; y < GROUND_HEIGHT; y++) {
+                    world.setBlockAt(x, y, z, stone);
+                }
+                if (x % LANTERN_SPACING == 0 && z % LANTERN_SPACING == 0) {
+                    Vector3i pos = new Vector3i(x, GROUND_HEIGHT, z);
+                    world.setBlockAt(pos.x, pos.y, pos.z, lantern);
+                    lanterns.add(new BlockChange(pos, air, lantern));
+                }
+            }
+        }
+        propagator.process(lanterns);
+
+        // The cave is centered horizontally and opens up to the surface, so light floods in from above
+        Vector3i caveMin = new Vector3i((size.x - caveSize) / 2, GROUND_HEIGHT - caveSize, (size.z - caveSize) / 2);
+        carveChanges = Lists.newArrayList();
+        fillChanges = Lists.newArrayList();
+        for (Vector3i pos : Region3i.createFromMinAndSize(caveMin, new Vector3i(caveSize, caveSize, caveSize))) {
+            carveChanges.add(new BlockChange(new Vector3i(pos), stone, air));
+            fillChanges.add(new BlockChange(new Vector3i(pos), air, stone));
+        }
+    }
+
+    @Override
+    public void run() {
+        relight(carveChanges);
+        relight(fillChanges);
+    }
+
+    private void relight(List<BlockChange> changes) {
+        for (BlockChange change : changes) {
+            Vector3i pos = change.getPosition();
+            world.setBlockAt(pos.x, pos.y, pos.z, change.getTo());
+        }
+        propagator.process(changes);
+    }
+
+    /**
+     * A world view backed by plain arrays, so that the benchmark measures the propagator rather than chunk lookups.
+     */
+    private static final class ArrayWorldView implements PropagatorWorldView {
+        private final Vector3i size;
+        private final byte[] values;
+        private final Block[] blocks;
+
+        ArrayWorldView(Vector3i size, Block defaultBlock) {
+            this.size = size;
+            this.values = new byte[size.x * size.y * size.z];
+            this.blocks = new Block[values.length];
+            for (int i = 0; i < blocks.length; i++) {
+                blocks[i] = defaultBlock;
+            }
+        }
+
+        private int indexOf(int x, int y, int z) {
+            if (x < 0 || y < 0 || z < 0 || x >= size.x || y >= size.y || z >= size.z) {
+                return -1;
+            }
+            return x + size.x * (z + size.z * y);
+        }
+
+        void setBlockAt(int x, int y, int z, Block block) {
+            blocks[indexOf(x, y, z)] = block;
+        }
+
+        @Override
+        public byte getValueAt(Vector3i pos) {
+            int index = indexOf(pos.x, pos.y, pos.z);
+            return index < 0 ? UNAVAILABLE : values[index];
+        }
+
+        @Override
+        public void setValueAt(Vector3i pos, byte value) {
+            values[indexOf(pos.x, pos.y, pos.z)] = value;
+        }
+
+        @Override
+        public Block getBlockAt(Vector3i pos) {
+            int index = indexOf(pos.x, pos.y, pos.z);
+            return index < 0 ? null : blocks[index];
+        }
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmark.worldGeneration;
+
+import org.terasology.benchmark.AbstractBenchmark;
+import org.terasology.math.Region3i;
+import org.terasology.math.TeraMath;
+import org.terasology.math.geom.BaseVector2i;
+import org.terasology.math.geom.Rect2i;
+import org.terasology.math.geom.Vector2f;
+import org.terasology.utilities.procedural.BrownianNoise;
+import org.terasology.utilities.procedural.PerlinNoise;
+import org.terasology.utilities.procedural.SubSampledNoise;
+import org.terasology.world.chunks.CoreChunk;
+import org.terasology.world.chunks.internal.ChunkImpl;
+import org.terasology.world.generation.ColumnFacetCache;
+import org.terasology.world.generation.EntityBuffer;
+import org.terasology.world.generation.Facet;
+import org.terasology.world.generation.FacetProvider;
+import org.terasology.world.generation.GeneratingRegion;
+import org.terasology.world.generation.Produces;
+import org.terasology.world.generation.Region;
+import org.terasology.world.generation.Requires;
+import org.terasology.world.generation.Updates;
+import org.terasology.world.generation.World;
+import org.terasology.world.generation.WorldBuilder;
+import org.terasology.world.generation.WorldImpl;
+import org.terasology.world.generation.WorldRasterizer;
+import org.terasology.world.generation.facets.DensityFacet;
+import org.terasology.world.generation.facets.SeaLevelFacet;
+import org.terasology.world.generation.facets.SurfaceHeightFacet;
+import org.terasology.world.generation.facets.SurfaceHumidityFacet;
+import org.terasology.world.generation.facets.SurfaceTemperatureFacet;
+
+/**
+ * Generates columns of vertically stacked chunks with a headless, perlin-like world, either with the 2D facets
+ * shared by the chunks of a column or generated again for every chunk.
+ */
+public class ChunkColumnGenerationBenchmark extends AbstractBenchmark {
+
+    private static final int CHUNKS_PER_COLUMN = 8;
+    private static final int SEA_LEVEL = 32;
+
+    private static final EntityBuffer NO_ENTITIES = entity -> { };
+
+    private final boolean columnCache;
+    private World world;
+    private SolidCounter solidCounter;
+    private int columnX;
+
+    public ChunkColumnGenerationBenchmark(boolean columnCache) {
+        super("Generate a column of " + CHUNKS_PER_COLUMN + " chunks (" + (columnCache ? "shared" : "per chunk") + " 2D facets)", 10, new int[]{50});
+        this.columnCache = columnCache;
+    }
+
+    @Override
+    public void setup() {
+        solidCounter = new SolidCounter();
+        WorldBuilder worldBuilder = new WorldBuilder(null)
+                .setSeaLevel(SEA_LEVEL)
+                .addProvider(new SeaLevelProvider())
+                .addProvider(new TemperatureProvider())
+                .addProvider(new HumidityProvider())
+                .addProvider(new BaseSurfaceProvider())
+                .addProvider(new HillsProvider())
+                .addProvider(new SurfaceToDensityProvider())
+                .addRasterizer(solidCounter);
+        worldBuilder.setSeed(0xCAFE);
+        world = worldBuilder.build();
+        world.initialize();
+        columnX = 0;
+    }
+
+    @Override
+    public void run() {
+        // every run covers a column that has not been generated before
+        columnX++;
+        for (int y = 0; y < CHUNKS_PER_COLUMN; ++y) {
+            CoreChunk chunk = new ChunkImpl(columnX, y - CHUNKS_PER_COLUMN / 2, 0, null, null);
+            if (columnCache) {
+                world.rasterizeChunk(chunk, NO_ENTITIES);
+            } else {
+                Region region = world.getWorldData(chunk.getRegion());
+                solidCounter.generateChunk(chunk, region);
+            }
+        }
+    }
+
+    @Override
+    public void finish(boolean aborted) {
+        if (columnCache && !aborted) {
+            ColumnFacetCache cache = ((WorldImpl) world).getColumnFacetCache();
+            System.out.println(String.format("Column facet cache: %d hits, %d misses (hit rate %.1f%%), %d solid blocks",
+                    cache.getHitCount(), cache.getMissCount(), cache.getHitRate() * 100, solidCounter.solidBlocks));
+        }
+    }
+
+    /**
+     * Stands in for the solid rasterizer without needing a block manager.
+     */
+    private static class SolidCounter implements WorldRasterizer {
+        private long solidBlocks;
+
+        @Override
+        public void initialize() {
+        }
+
+        @Override
+        public void generateChunk(CoreChunk chunk, Region chunkRegion) {
+            DensityFacet density = chunkRegion.getFacet(DensityFacet.class);
+            for (float value : density.getInternal()) {
+                if (value > 0) {
+                    solidBlocks++;
+                }
+            }
+        }
+    }
+
+    @Produces(SeaLevelFacet.class)
+    private static class SeaLevelProvider implements FacetProvider {
+
+        @Override
+        public void process(GeneratingRegion region) {
+            SeaLevelFacet facet = new SeaLevelFacet(region.getRegion(), region.getBorderForFacet(SeaLevelFacet.class));
+            facet.setSeaLevel(SEA_LEVEL);
+            region.setRegionFacet(SeaLevelFacet.class, facet);
+        }
+    }
+
+    @Produces(SurfaceTemperatureFacet.class)
+    private static class TemperatureProvider implements FacetProvider {
+        private SubSampledNoise noise;
+
+        @Override
+        public void setSeed(long seed) {
+            noise = new SubSampledNoise(new BrownianNoise(new PerlinNoise(seed + 5), 8), new Vector2f(0.0005f, 0.0005f), 4);
+        }
+
+        @Override
+        public void process(GeneratingRegion region) {
+            SurfaceTemperatureFacet facet = new SurfaceTemperatureFacet(region.getRegion(), region.getBorderForFacet(SurfaceTemperatureFacet.class));
+            float[] data = noise.noise(facet.getWorldRegion());
+            for (int i = 0; i < data.length; ++i) {
+                data[i] = TeraMath.clamp((data[i] * 2.11f + 1f) * 0.5f);
+            }
+            facet.set(data);
+            region.setRegionFacet(SurfaceTemperatureFacet.class, facet);
+        }
+    }
+
+    @Produces(SurfaceHumidityFacet.class)
+    private static class HumidityProvider implements FacetProvider {
+        private SubSampledNoise noise;
+
+        @Override
+        public void setSeed(long seed) {
+            noise = new SubSampledNoise(new BrownianNoise(new PerlinNoise(seed + 6), 8), new Vector2f(0.0005f, 0.0005f), 4);
+        }
+
+        @Override
+        public void process(GeneratingRegion region) {
+            SurfaceHumidityFacet facet = new SurfaceHumidityFacet(region.getRegion(), region.getBorderForFacet(SurfaceHumidityFacet.class));
+            float[] data = noise.noise(facet.getWorldRegion());
+            for (int i = 0; i < data.length; ++i) {
+                data[i] = TeraMath.clamp((data[i] * 2.11f + 1f) * 0.5f);
+            }
+            facet.set(data);
+            region.setRegionFacet(SurfaceHumidityFacet.class, facet);
+        }
+    }
+
+    @Produces(SurfaceHeightFacet.class)
+    @Requires(@Facet(SeaLevelFacet.class))
+    private static class BaseSurfaceProvider implements FacetProvider {
+        private SubSampledNoise noise;
+
+        @Override
+        public void setSeed(long seed) {
+            noise = new SubSampledNoise(new BrownianNoise(new PerlinNoise(seed), 8), new Vector2f(0.004f, 0.004f), 4);
+        }
+
+        @Override
+        public void process(GeneratingRegion region) {
+            SurfaceHeightFacet facet = new SurfaceHeightFacet(region.getRegion(), region.getBorderForFacet(SurfaceHeightFacet.class));
+            float seaLevel = region.getRegionFacet(SeaLevelFacet.class).getSeaLevel();
+            float[] data = noise.noise(facet.getWorldRegion());
+            for (int i = 0; i < data.length; ++i) {
+                data[i] = seaLevel + seaLevel * ((data[i] * 2.11f + 1f) / 2f);
+            }
+            facet.set(data);
+            region.setRegionFacet(SurfaceHeightFacet.class, facet);
+        }
+    }
+
+    @Requires({@Facet(SurfaceTemperatureFacet.class), @Facet(SurfaceHumidityFacet.class)})
+    @Updates(@Facet(SurfaceHeightFacet.class))
+    private static class HillsProvider implements FacetProvider {
+        private SubSampledNoise mountainNoise;
+        private SubSampledNoise hillNoise;
+
+        @Override
+        public void setSeed(long seed) {
+            mountainNoise = new SubSampledNoise(new BrownianNoise(new PerlinNoise(seed + 3)), new Vector2f(0.0002f, 0.0002f), 4);
+            hillNoise = new SubSampledNoise(new BrownianNoise(new PerlinNoise(seed + 4)), new Vector2f(0.0008f, 0.0008f), 4);
+        }
+
+        @Override
+        public void process(GeneratingRegion region) {
+            SurfaceHeightFacet facet = region.getRegionFacet(SurfaceHeightFacet.class);
+            SurfaceTemperatureFacet temperature = region.getRegionFacet(SurfaceTemperatureFacet.class);
+            SurfaceHumidityFacet humidity = region.getRegionFacet(SurfaceHumidityFacet.class);
+            float[] mountainData = mountainNoise.noise(facet.getWorldRegion());
+            float[] hillData = hillNoise.noise(facet.getWorldRegion());
+            float[] temperatureData = temperature.getInternal();
+            float[] humidityData = humidity.getInternal();
+            float[] heightData = facet.getInternal();
+            for (int i = 0; i < heightData.length; ++i) {
+                float mountainIntensity = TeraMath.clamp(1.0f - Math.abs(temperatureData[i] * humidityData[i] - 0.35f) * 3.0f);
+                float mountains = Math.max(mountainData[i] * 2.12f, 0) * mountainIntensity;
+                float hills = Math.max(hillData[i] * 2.12f - 0.1f, 0) * (1.0f - mountainIntensity);
+                heightData[i] += 1024 * mountains + 128 * hills;
+            }
+        }
+    }
+
+    @Produces(DensityFacet.class)
+    @Requires(@Facet(SurfaceHeightFacet.class))
+    private static class SurfaceToDensityProvider implements FacetProvider {
+
+        @Override
+        public void process(GeneratingRegion region) {
+            SurfaceHeightFacet surfaceHeight = region.getRegionFacet(SurfaceHeightFacet.class);
+            DensityFacet facet = new DensityFacet(region.getRegion(), region.getBorderForFacet(DensityFacet.class));
+            Region3i area = region.getRegion();
+            Region3i relative = facet.getRelativeRegion();
+            Rect2i rect = Rect2i.createFromMinAndMax(relative.minX(), relative.minZ(), relative.maxX(), relative.maxZ());
+            for (BaseVector2i pos : rect.contents()) {
+                float height = surfaceHeight.get(pos);
+                for (int y = relative.minY(); y <= relative.maxY(); ++y) {
+                    facet.set(pos.x(), y, pos.y(), height - area.minY() - y);
+                }
+            }
+            region.setRegionFacet(DensityFacet.class, facet);
+        }
+    }
+}
@@ -19,6 +19,7 @@
 import com.google.common.collect.Lists;
 
 import org.terasology.engine.TerasologyConstants;
+import org.terasology.network.FrameCompression;
 
 import java.util.Collections;
 import java.util.List;
@@ -44,6 +45,22 @@ public class NetworkConfig {
      */
     private String masterServer = "meta.terasology.org";
 
+    /**
+     * Whether entity updates only contain the fields that changed since they were last sent to each client, with
+     * quantized locations
+     */
+    private boolean deltaReplication;
+
+    /**
+     * Whether entities with a location are only replicated to clients near them, with distant ones updated less often
+     */
+    private boolean interestManagement;
+
+    /**
+     * The compression of the messages sent to clients that support it, all other clients use zlib
+     */
+    private FrameCompression frameCompression = FrameCompression.ZLIB;
+
     public void clear() {
         servers.clear();
     }
@@ -64,6 +81,30 @@ public void setServerPort(int serverPort) {
         this.serverPort = serverPort;
     }
 
+    public boolean isDeltaReplication() {
+        return deltaReplication;
+    }
+
+    public void setDeltaReplication(boolean deltaReplication) {
+        this.deltaReplication = deltaReplication;
+    }
+
+    public boolean isInterestManagement() {
+        return interestManagement;
+    }
+
+    public void setInterestManagement(boolean interestManagement) {
+        this.interestManagement = interestManagement;
+    }
+
+    public FrameCompression getFrameCompression() {
+        return frameCompression;
+    }
+
+    public void setFrameCompression(FrameCompression frameCompression) {
+        this.frameCompression = frameCompression;
+    }
+
     public void addServerInfo(ServerInfo serverInfo) {
         servers.add(serverInfo);
     }
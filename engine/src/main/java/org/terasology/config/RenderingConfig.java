@@ -74,6 +74,7 @@ public class RenderingConfig {
     private int fboScale;
     private boolean dumpShaders;
     private boolean volumetricFog;
+    private boolean greedyMeshing;
     private ScreenshotSize screenshotSize;
     private String screenshotFormat;
     private PerspectiveCameraSettings cameraSettings;
@@ -484,4 +485,12 @@ public boolean isVolumetricFog() {
     public void setVolumetricFog(boolean volumetricFog) {
         this.volumetricFog = volumetricFog;
     }
+
+    public boolean isGreedyMeshing() {
+        return greedyMeshing;
+    }
+
+    public void setGreedyMeshing(boolean greedyMeshing) {
+        this.greedyMeshing = greedyMeshing;
+    }
 }
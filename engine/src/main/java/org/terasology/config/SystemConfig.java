@@ -16,6 +16,9 @@
 
 package org.terasology.config;
 
+import org.terasology.entitySystem.entity.internal.ComponentStorageType;
+import org.terasology.persistence.ChunkStorageFormat;
+
 import java.util.Locale;
 import java.util.Locale.Category;
 
@@ -32,6 +35,9 @@ public class SystemConfig {
     private boolean monitoringEnabled;
     private boolean writeSaveGamesEnabled;
     private String locale;
+    private ChunkStorageFormat chunkStorageFormat;
+    private ComponentStorageType componentStorageType;
+    private boolean parallelAIEnabled;
 
     public long getDayNightLengthInMs() {
         return dayNightLengthInMs;
@@ -103,4 +109,37 @@ public Locale getLocale() {
     public void setLocale(Locale locale) {
         this.locale = locale.toLanguageTag();
     }
+
+    /**
+     * @return the format in which new save games store their chunks. Existing save games keep their format.
+     */
+    public ChunkStorageFormat getChunkStorageFormat() {
+        if (chunkStorageFormat == null) {
+            return ChunkStorageFormat.ZIPS;
+        }
+        return chunkStorageFormat;
+    }
+
+    public void setChunkStorageFormat(ChunkStorageFormat chunkStorageFormat) {
+        this.chunkStorageFormat = chunkStorageFormat;
+    }
+
+    public ComponentStorageType getComponentStorageType() {
+        if (componentStorageType == null) {
+            return ComponentStorageType.HASH_TABLE;
+        }
+        return componentStorageType;
+    }
+
+    public void setComponentStorageType(ComponentStorageType componentStorageType) {
+        this.componentStorageType = componentStorageType;
+    }
+
+    public boolean isParallelAIEnabled() {
+        return parallelAIEnabled;
+    }
+
+    public void setParallelAIEnabled(boolean parallelAIEnabled) {
+        this.parallelAIEnabled = parallelAIEnabled;
+    }
 }
@@ -16,12 +16,14 @@
 
 package org.terasology.engine.bootstrap;
 
+import org.terasology.config.Config;
 import org.terasology.context.Context;
 import org.terasology.engine.SimpleUri;
 import org.terasology.engine.module.ModuleManager;
 import org.terasology.entitySystem.Component;
 import org.terasology.entitySystem.entity.EntityManager;
 import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.internal.ComponentStorageType;
 import org.terasology.entitySystem.entity.internal.EngineEntityManager;
 import org.terasology.entitySystem.entity.internal.PojoEntityManager;
 import org.terasology.entitySystem.event.Event;
@@ -87,13 +89,28 @@ public static void addReflectionBasedLibraries(Context context) {
      * <li>{@link EventSystem}</li>
      * <li>{@link NodesClassLibrary}</li>
      * </ul>
+     * <p>
+     * The component storage of the entity manager is taken from the {@link Config} in the context if there is one.
      */
     public static void addEntityManagementRelatedClasses(Context context) {
+        Config config = context.get(Config.class);
+        ComponentStorageType storageType = ComponentStorageType.HASH_TABLE;
+        if (config != null) {
+            storageType = config.getSystem().getComponentStorageType();
+        }
+        addEntityManagementRelatedClasses(context, storageType);
+    }
+
+    /**
+     * Like {@link #addEntityManagementRelatedClasses(Context)}, but with an explicitly chosen component storage for the
+     * entity manager.
+     */
+    public static void addEntityManagementRelatedClasses(Context context, ComponentStorageType storageType) {
         ModuleEnvironment environment = context.get(ModuleManager.class).getEnvironment();
         NetworkSystem networkSystem = context.get(NetworkSystem.class);
 
         // Entity Manager
-        PojoEntityManager entityManager = new PojoEntityManager();
+        PojoEntityManager entityManager = new PojoEntityManager(storageType);
         context.put(EntityManager.class, entityManager);
         context.put(EngineEntityManager.class, entityManager);
 
@@ -32,7 +32,9 @@
 import org.terasology.game.GameManifest;
 import org.terasology.logic.players.LocalPlayer;
 import org.terasology.module.ModuleEnvironment;
+import org.terasology.persistence.ChunkStorageFormat;
 import org.terasology.persistence.StorageManager;
+import org.terasology.persistence.internal.AbstractStorageManager;
 import org.terasology.persistence.internal.ReadOnlyStorageManager;
 import org.terasology.persistence.internal.ReadWriteStorageManager;
 import org.terasology.rendering.backdrop.BackdropProvider;
@@ -116,11 +118,13 @@ public boolean step() {
         EngineEntityManager entityManager = (EngineEntityManager) context.get(EntityManager.class);
         boolean writeSaveGamesEnabled = context.get(Config.class).getSystem().isWriteSaveGamesEnabled();
         Path savePath = PathManager.getInstance().getSavePath(gameManifest.getTitle());
+        ChunkStorageFormat chunkStorageFormat = AbstractStorageManager.selectChunkStorageFormat(savePath, gameManifest,
+                context.get(Config.class).getSystem().getChunkStorageFormat(), writeSaveGamesEnabled);
         StorageManager storageManager;
         try {
             storageManager = writeSaveGamesEnabled
-                    ? new ReadWriteStorageManager(savePath, environment, entityManager, blockManager, biomeManager)
-                    : new ReadOnlyStorageManager(savePath, environment, entityManager, blockManager, biomeManager);
+                    ? new ReadWriteStorageManager(savePath, environment, entityManager, blockManager, biomeManager, chunkStorageFormat)
+                    : new ReadOnlyStorageManager(savePath, environment, entityManager, blockManager, biomeManager, chunkStorageFormat);
         } catch (IOException e) {
             logger.error("Unable to create storage manager!", e);
             context.get(GameEngine.class).changeState(new StateMainMenu("Unable to create storage manager!"));
@@ -0,0 +1,449 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.entitySystem.entity.internal;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import gnu.trove.iterator.TLongIterator;
+import gnu.trove.iterator.TLongObjectIterator;
+import gnu.trove.list.TLongList;
+import gnu.trove.list.array.TLongArrayList;
+import gnu.trove.map.TLongIntMap;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongIntHashMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import org.terasology.entitySystem.Component;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A table for storing entities and components that groups entities by the set of component classes they have (their
+ * archetype). The components of all entities of an archetype are stored in dense arrays, one per component class.
+ * <p>
+ * Iterating over the entities with several components is a linear scan over the matching archetypes and removing an
+ * entity only touches its own archetype. Adding or removing a single component moves the entity to another archetype,
+ * which copies its other components.
+ *
+ */
+class ArchetypeComponentTable implements ComponentStore {
+    private static final int INITIAL_ARCHETYPE_CAPACITY = 16;
+
+    private final Archetype emptyArchetype = new Archetype(Collections.emptySet());
+    private Map<Set<Class<? extends Component>>, Archetype> archetypes = Maps.newHashMap();
+    private Map<Class<? extends Component>, List<Archetype>> archetypesByComponent = Maps.newHashMap();
+
+    private TLongObjectMap<Archetype> entityArchetypes = new TLongObjectHashMap<>();
+    private TLongIntMap entityRows = new TLongIntHashMap();
+
+    @Override
+    public <T extends Component> T get(long entityId, Class<T> componentClass) {
+        Archetype archetype = entityArchetypes.get(entityId);
+        if (archetype != null) {
+            int column = archetype.columnOf(componentClass);
+            if (column != -1) {
+                return componentClass.cast(archetype.columns[column][entityRows.get(entityId)]);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Component put(long entityId, Component component) {
+        Class<? extends Component> componentClass = component.getClass();
+        Archetype archetype = entityArchetypes.get(entityId);
+        if (archetype == null) {
+            insert(entityId, emptyArchetype.with(componentClass), new Component[]{component});
+            return null;
+        }
+        int row = entityRows.get(entityId);
+        int column = archetype.columnOf(componentClass);
+        if (column != -1) {
+            Component old = archetype.columns[column][row];
+            archetype.columns[column][row] = component;
+            return old;
+        }
+        Archetype target = archetype.with(componentClass);
+        Component[] components = new Component[target.types.length];
+        archetype.copyRow(row, target, components);
+        components[target.columnOf(componentClass)] = component;
+        removeRow(archetype, row);
+        insert(entityId, target, components);
+        return null;
+    }
+
+    @Override
+    public void putAll(long entityId, Iterable<Component> components) {
+        Archetype archetype = entityArchetypes.get(entityId);
+        if (archetype != null) {
+            for (Component component : components) {
+                put(entityId, component);
+            }
+            return;
+        }
+        Archetype target = emptyArchetype;
+        for (Component component : components) {
+            target = target.with(component.getClass());
+        }
+        if (target == emptyArchetype) {
+            return;
+        }
+        Component[] row = new Component[target.types.length];
+        for (Component component : components) {
+            row[target.columnOf(component.getClass())] = component;
+        }
+        insert(entityId, target, row);
+    }
+
+    @Override
+    public <T extends Component> Component remove(long entityId, Class<T> componentClass) {
+        Archetype archetype = entityArchetypes.get(entityId);
+        if (archetype == null) {
+            return null;
+        }
+        int column = archetype.columnOf(componentClass);
+        if (column == -1) {
+            return null;
+        }
+        int row = entityRows.get(entityId);
+        Component removed = archetype.columns[column][row];
+        Archetype target = archetype.without(componentClass);
+        if (target == emptyArchetype) {
+            removeRow(archetype, row);
+            entityArchetypes.remove(entityId);
+            entityRows.remove(entityId);
+        } else {
+            Component[] components = new Component[target.types.length];
+            archetype.copyRow(row, target, components);
+            removeRow(archetype, row);
+            insert(entityId, target, components);
+        }
+        return removed;
+    }
+
+    @Override
+    public List<Component> removeAndReturnComponentsOf(long entityId) {
+        Archetype archetype = entityArchetypes.remove(entityId);
+        if (archetype == null) {
+            return Lists.newArrayList();
+        }
+        int row = entityRows.remove(entityId);
+        List<Component> components = archetype.getRow(row);
+        removeRow(archetype, row);
+        return components;
+    }
+
+    @Override
+    public void remove(long entityId) {
+        Archetype archetype = entityArchetypes.remove(entityId);
+        if (archetype != null) {
+            removeRow(archetype, entityRows.remove(entityId));
+        }
+    }
+
+    @Override
+    public void clear() {
+        archetypes.clear();
+        archetypesByComponent.clear();
+        emptyArchetype.addTransitions.clear();
+        entityArchetypes.clear();
+        entityRows.clear();
+    }
+
+    @Override
+    public int getComponentCount(Class<? extends Component> componentClass) {
+        int count = 0;
+        for (Archetype archetype : archetypesByComponent.getOrDefault(componentClass, Collections.emptyList())) {
+            count += archetype.size;
+        }
+        return count;
+    }
+
+    @Override
+    public Iterable<Component> iterateComponents(long entityId) {
+        return getComponentsInNewList(entityId);
+    }
+
+    @Override
+    public List<Component> getComponentsInNewList(long entityId) {
+        Archetype archetype = entityArchetypes.get(entityId);
+        if (archetype == null) {
+            return Lists.newArrayList();
+        }
+        return archetype.getRow(entityRows.get(entityId));
+    }
+
+    @Override
+    public <T extends Component> TLongObjectIterator<T> componentIterator(Class<T> componentClass) {
+        List<Archetype> matching = archetypesByComponent.get(componentClass);
+        if (matching == null) {
+            return null;
+        }
+        return new ComponentIterator<>(matching, componentClass);
+    }
+
+    @Override
+    public TLongList getEntityIdsWith(Class<? extends Component>[] componentClasses) {
+        TLongList idList = new TLongArrayList();
+        List<Archetype> candidates = archetypesByComponent.get(componentClasses[0]);
+        if (candidates == null) {
+            return idList;
+        }
+        for (Archetype archetype : candidates) {
+            if (archetype.size > 0 && archetype.hasAll(componentClasses)) {
+                idList.add(archetype.entityIds, 0, archetype.size);
+            }
+        }
+        return idList;
+    }
+
+    @Override
+    public TLongIterator entityIdIterator() {
+        return TLongArrayList.wrap(entityArchetypes.keys()).iterator();
+    }
+
+    @Override
+    public int numEntities() {
+        return entityArchetypes.size();
+    }
+
+    private void insert(long entityId, Archetype archetype, Component[] components) {
+        entityArchetypes.put(entityId, archetype);
+        entityRows.put(entityId, archetype.addRow(entityId, components));
+    }
+
+    private void removeRow(Archetype archetype, int row) {
+        long movedEntity = archetype.removeRow(row);
+        if (movedEntity != PojoEntityManager.NULL_ID) {
+            entityRows.put(movedEntity, row);
+        }
+    }
+
+    private Archetype getOrCreateArchetype(Set<Class<? extends Component>> types) {
+        if (types.isEmpty()) {
+            return emptyArchetype;
+        }
+        Archetype archetype = archetypes.get(types);
+        if (archetype == null) {
+            archetype = new Archetype(types);
+            archetypes.put(archetype.typeSet, archetype);
+            for (Class<? extends Component> type : archetype.typeSet) {
+                archetypesByComponent.computeIfAbsent(type, k -> Lists.newArrayList()).add(archetype);
+            }
+        }
+        return archetype;
+    }
+
+    /**
+     * The entities sharing one set of component classes. Rows are kept dense: removing an entity moves the last row
+     * into its place.
+     */
+    private final class Archetype {
+        private final Set<Class<? extends Component>> typeSet;
+        private final Class<?>[] types;
+        private final Map<Class<?>, Archetype> addTransitions = Maps.newHashMap();
+        private final Map<Class<?>, Archetype> removeTransitions = Maps.newHashMap();
+
+        private long[] entityIds = new long[INITIAL_ARCHETYPE_CAPACITY];
+        private Component[][] columns;
+        private int size;
+
+        private Archetype(Set<Class<? extends Component>> typeSet) {
+            this.typeSet = ImmutableSet.copyOf(typeSet);
+            this.types = this.typeSet.toArray(new Class<?>[this.typeSet.size()]);
+            this.columns = new Component[types.length][INITIAL_ARCHETYPE_CAPACITY];
+        }
+
+        /**
+         * A linear search, as archetypes seldom have more than a handful of component classes.
+         */
+        private int columnOf(Class<?> type) {
+            for (int i = 0; i < types.length; ++i) {
+                if (types[i] == type) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private boolean hasAll(Class<?>[] componentClasses) {
+            for (Class<?> componentClass : componentClasses) {
+                if (columnOf(componentClass) == -1) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private Archetype with(Class<? extends Component> type) {
+            if (columnOf(type) != -1) {
+                return this;
+            }
+            Archetype result = addTransitions.get(type);
+            if (result == null) {
+                Set<Class<? extends Component>> newTypes = Sets.newHashSet(typeSet);
+                newTypes.add(type);
+                result = getOrCreateArchetype(newTypes);
+                addTransitions.put(type, result);
+            }
+            return result;
+        }
+
+        private Archetype without(Class<? extends Component> type) {
+            Archetype result = removeTransitions.get(type);
+            if (result == null) {
+                Set<Class<? extends Component>> newTypes = Sets.newHashSet(typeSet);
+                newTypes.remove(type);
+                result = getOrCreateArchetype(newTypes);
+                removeTransitions.put(type, result);
+            }
+            return result;
+        }
+
+        private int addRow(long entityId, Component[] components) {
+            if (size == entityIds.length) {
+                int newCapacity = entityIds.length * 2;
+                entityIds = Arrays.copyOf(entityIds, newCapacity);
+                for (int i = 0; i < columns.length; ++i) {
+                    columns[i] = Arrays.copyOf(columns[i], newCapacity);
+                }
+            }
+            entityIds[size] = entityId;
+            for (int i = 0; i < columns.length; ++i) {
+                columns[i][size] = components[i];
+            }
+            return size++;
+        }
+
+        /**
+         * @return the id of the entity that got moved into the removed row, or {@link PojoEntityManager#NULL_ID} if
+         *         the removed row was the last one.
+         */
+        private long removeRow(int row) {
+            int last = --size;
+            long movedEntity = PojoEntityManager.NULL_ID;
+            if (row != last) {
+                movedEntity = entityIds[last];
+                entityIds[row] = movedEntity;
+                for (Component[] column : columns) {
+                    column[row] = column[last];
+                }
+            }
+            for (Component[] column : columns) {
+                column[last] = null;
+            }
+            return movedEntity;
+        }
+
+        /**
+         * Copies the components of a row into the columns of another archetype they share.
+         */
+        private void copyRow(int row, Archetype target, Component[] targetRow) {
+            for (int i = 0; i < types.length; ++i) {
+                int targetColumn = target.columnOf(types[i]);
+                if (targetColumn != -1) {
+                    targetRow[targetColumn] = columns[i][row];
+                }
+            }
+        }
+
+        private List<Component> getRow(int row) {
+            List<Component> components = Lists.newArrayListWithCapacity(columns.length);
+            for (Component[] column : columns) {
+                components.add(column[row]);
+            }
+            return components;
+        }
+    }
+
+    /**
+     * Iterates over the components of one class across all archetypes that contain it.
+     */
+    private static final class ComponentIterator<T extends Component> implements TLongObjectIterator<T> {
+        private final Iterator<Archetype> archetypeIterator;
+        private final Class<T> componentClass;
+        private Archetype current;
+        private int column;
+        private int row = -1;
+        private Archetype next;
+
+        private ComponentIterator(List<Archetype> archetypes, Class<T> componentClass) {
+            this.archetypeIterator = archetypes.iterator();
+            this.componentClass = componentClass;
+            findNext();
+        }
+
+        private void findNext() {
+            next = null;
+            while (archetypeIterator.hasNext()) {
+                Archetype candidate = archetypeIterator.next();
+                if (candidate.size > 0) {
+                    next = candidate;
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return (current != null && row + 1 < current.size) || next != null;
+        }
+
+        @Override
+        public void advance() {
+            if (current != null && row + 1 < current.size) {
+                row++;
+                return;
+            }
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            current = next;
+            column = current.columnOf(componentClass);
+            row = 0;
+            findNext();
+        }
+
+        @Override
+        public long key() {
+            return current.entityIds[row];
+        }
+
+        @Override
+        public T value() {
+            return componentClass.cast(current.columns[column][row]);
+        }
+
+        @Override
+        public T setValue(T val) {
+            T old = value();
+            current.columns[column][row] = val;
+            return old;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.entitySystem.entity.internal;
+
+/**
+ * The ways in which a {@link PojoEntityManager} can store the components of its entities.
+ *
+ */
+public enum ComponentStorageType {
+    /**
+     * A hash map from entity id to component per component class. Adding and removing single components is cheap,
+     * but listing the components of an entity or iterating over entities with several components has to look up
+     * every component class.
+     */
+    HASH_TABLE,
+
+    /**
+     * Entities with the same set of component classes are stored together in dense arrays. Iterating over entities
+     * with several components and destroying entities is cheap, while adding or removing a single component moves
+     * the entity to another set.
+     */
+    ARCHETYPES
+}
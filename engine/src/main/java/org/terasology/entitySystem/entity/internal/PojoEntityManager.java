@@ -69,7 +69,7 @@ public class PojoEntityManager implements EngineEntityManager {
     private long nextEntityId = 1;
     private TLongSet loadedIds = new TLongHashSet();
     private Map<Long, BaseEntityRef> entityCache = new MapMaker().weakValues().concurrencyLevel(4).initialCapacity(1000).makeMap();
-    private ComponentTable store = new ComponentTable();
+    private final ComponentStore store;
 
     private Set<EntityChangeSubscriber> subscribers = Sets.newLinkedHashSet();
     private Set<EntityDestroySubscriber> destroySubscribers = Sets.newLinkedHashSet();
@@ -82,6 +82,18 @@ public class PojoEntityManager implements EngineEntityManager {
     private TypeSerializationLibrary typeSerializerLibrary;
 
     public PojoEntityManager() {
+        this(ComponentStorageType.HASH_TABLE);
+    }
+
+    public PojoEntityManager(ComponentStorageType storageType) {
+        switch (storageType) {
+            case ARCHETYPES:
+                store = new ArchetypeComponentTable();
+                break;
+            default:
+                store = new ComponentTable();
+                break;
+        }
     }
 
     public void setTypeSerializerLibrary(TypeSerializationLibrary serializerLibrary) {
@@ -200,9 +212,7 @@ private EntityRef createEntity(Iterable<Component> components) {
             finalComponents = components;
         }
 
-        for (Component c : finalComponents) {
-            store.put(entityId, c);
-        }
+        store.putAll(entityId, finalComponents);
         return createEntityRef(entityId);
     }
 
@@ -309,26 +319,10 @@ public final Iterable<EntityRef> getEntitiesWith(Class<? extends Component>... c
         if (componentClasses.length == 1) {
             return iterateEntities(componentClasses[0]);
         }
-        TLongList idList = new TLongArrayList();
-        TLongObjectIterator<? extends Component> primeIterator = store.componentIterator(componentClasses[0]);
-        if (primeIterator == null) {
+        TLongList idList = store.getEntityIdsWith(componentClasses);
+        if (idList.isEmpty()) {
             return Collections.emptyList();
         }
-
-        while (primeIterator.hasNext()) {
-            primeIterator.advance();
-            long id = primeIterator.key();
-            boolean discard = false;
-            for (int i = 1; i < componentClasses.length; ++i) {
-                if (store.get(id, componentClasses[i]) == null) {
-                    discard = true;
-                    break;
-                }
-            }
-            if (!discard) {
-                idList.add(primeIterator.key());
-            }
-        }
         return new EntityIterable(idList);
     }
 
@@ -418,9 +412,7 @@ public EntityRef createEntityWithId(long id, Iterable<Component> components) {
             logger.error("Prevented attempt to create entity with an invalid id.");
             return EntityRef.NULL;
         }
-        for (Component c : components) {
-            store.put(id, c);
-        }
+        store.putAll(id, components);
         loadedIds.add(id);
         EntityRef entity = createEntityRef(id);
         if (eventSystem != null) {
@@ -39,6 +39,7 @@
 
     private NetworkEventType networkEventType = NetworkEventType.NONE;
     private boolean lagCompensated;
+    private float lagCompensationRange;
     private boolean skipInstigator;
 
     public EventMetadata(Class<T> simpleClass, CopyStrategyLibrary copyStrategies, ReflectFactory factory, SimpleUri uri) throws NoSuchMethodException {
@@ -46,6 +47,7 @@ public EventMetadata(Class<T> simpleClass, CopyStrategyLibrary copyStrategies, R
         if (simpleClass.getAnnotation(ServerEvent.class) != null) {
             networkEventType = NetworkEventType.SERVER;
             lagCompensated = simpleClass.getAnnotation(ServerEvent.class).lagCompensate();
+            lagCompensationRange = simpleClass.getAnnotation(ServerEvent.class).lagCompensationRange();
         } else if (simpleClass.getAnnotation(OwnerEvent.class) != null) {
             networkEventType = NetworkEventType.OWNER;
         } else if (simpleClass.getAnnotation(BroadcastEvent.class) != null) {
@@ -78,6 +80,13 @@ public boolean isLagCompensated() {
         return lagCompensated;
     }
 
+    /**
+     * @return The distance within which characters are rewound when compensating this event for lag.
+     */
+    public float getLagCompensationRange() {
+        return lagCompensationRange;
+    }
+
     /**
      * @return Whether this event should not be replicated to the instigator
      */
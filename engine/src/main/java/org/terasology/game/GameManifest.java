@@ -26,6 +26,7 @@
 import org.terasology.naming.Version;
 import org.terasology.naming.gson.NameTypeAdapter;
 import org.terasology.naming.gson.VersionTypeAdapter;
+import org.terasology.persistence.ChunkStorageFormat;
 import org.terasology.utilities.gson.CaseInsensitiveEnumTypeAdapterFactory;
 import org.terasology.utilities.gson.UriTypeAdapterFactory;
 import org.terasology.world.internal.WorldInfo;
@@ -51,6 +52,7 @@ public class GameManifest {
     private Map<String, Short> biomeIdMap = Maps.newHashMap();
     private Map<String, WorldInfo> worlds = Maps.newHashMap();
     private List<NameVersion> modules = Lists.newArrayList();
+    private ChunkStorageFormat chunkStorageFormat;
 
     public GameManifest() {
     }
@@ -125,6 +127,17 @@ public void setBiomeIdMap(Map<String, Short> biomeIdMap) {
         this.biomeIdMap = biomeIdMap;
     }
 
+    /**
+     * @return the format the chunks of the save game are stored in, or null if the save predates this entry.
+     */
+    public ChunkStorageFormat getChunkStorageFormat() {
+        return chunkStorageFormat;
+    }
+
+    public void setChunkStorageFormat(ChunkStorageFormat chunkStorageFormat) {
+        this.chunkStorageFormat = chunkStorageFormat;
+    }
+
     public static void save(Path toFile, GameManifest gameManifest) throws IOException {
         try (Writer writer = Files.newBufferedWriter(toFile, TerasologyConstants.CHARSET)) {
             createGson().toJson(gameManifest, writer);
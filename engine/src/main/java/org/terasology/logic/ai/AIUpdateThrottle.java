@@ -0,0 +1,104 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.ai;
+
+import com.google.common.collect.Lists;
+import gnu.trove.map.TObjectLongMap;
+import gnu.trove.map.hash.TObjectLongHashMap;
+import org.terasology.entitySystem.entity.EntityManager;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.network.ClientComponent;
+
+import java.util.List;
+
+/**
+ * Level of detail for AI updates. Entities far away from every client are updated less often, with the time passed
+ * since their last update accumulated so that they still act over the full elapsed time.
+ */
+public class AIUpdateThrottle {
+    private static final float NEAR_DISTANCE = 32f;
+    private static final float FAR_DISTANCE = 96f;
+    private static final long MEDIUM_UPDATE_INTERVAL = 200;
+    private static final long FAR_UPDATE_INTERVAL = 1000;
+
+    private final List<Vector3f> clientPositions = Lists.newArrayList();
+    private final TObjectLongMap<EntityRef> pendingDelta = new TObjectLongHashMap<>();
+
+    /**
+     * Gathers the positions of all client characters, should be called once before each AI update.
+     *
+     * @param entityManager
+     */
+    public void updateClientPositions(EntityManager entityManager) {
+        clientPositions.clear();
+        for (EntityRef client : entityManager.getEntitiesWith(ClientComponent.class)) {
+            ClientComponent clientComp = client.getComponent(ClientComponent.class);
+            LocationComponent location = clientComp.character.getComponent(LocationComponent.class);
+            if (location != null) {
+                clientPositions.add(location.getWorldPosition());
+            }
+        }
+    }
+
+    /**
+     * @param position The world position of the entity, or null if it has none
+     * @return The interval in ms between updates of an entity at the given position
+     */
+    public long getUpdateInterval(Vector3f position) {
+        if (position == null) {
+            return 0;
+        }
+        float minDistanceSquared = Float.MAX_VALUE;
+        for (Vector3f clientPosition : clientPositions) {
+            minDistanceSquared = Math.min(minDistanceSquared, clientPosition.distanceSquared(position));
+        }
+        if (minDistanceSquared <= NEAR_DISTANCE * NEAR_DISTANCE) {
+            return 0;
+        } else if (minDistanceSquared <= FAR_DISTANCE * FAR_DISTANCE) {
+            return MEDIUM_UPDATE_INTERVAL;
+        }
+        return FAR_UPDATE_INTERVAL;
+    }
+
+    /**
+     * Advances the time of an entity.
+     *
+     * @param entity
+     * @param position The world position of the entity, or null if it has none
+     * @param deltaInMs The time passed since the last call
+     * @return The time in ms to update the entity for, or 0 if it should skip this update
+     */
+    public long tick(EntityRef entity, Vector3f position, long deltaInMs) {
+        long pending = pendingDelta.get(entity) + deltaInMs;
+        if (pending < getUpdateInterval(position)) {
+            pendingDelta.put(entity, pending);
+            return 0;
+        }
+        pendingDelta.remove(entity);
+        return pending;
+    }
+
+    public void remove(EntityRef entity) {
+        pendingDelta.remove(entity);
+    }
+
+    public void clear() {
+        pendingDelta.clear();
+        clientPositions.clear();
+    }
+}
@@ -15,29 +15,35 @@
  */
 package org.terasology.logic.ai;
 
+import org.terasology.config.Config;
 import org.terasology.engine.Time;
 import org.terasology.entitySystem.entity.EntityManager;
 import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.lifecycleEvents.BeforeDeactivateComponent;
 import org.terasology.entitySystem.event.ReceiveEvent;
 import org.terasology.entitySystem.systems.BaseComponentSystem;
 import org.terasology.entitySystem.systems.RegisterMode;
 import org.terasology.entitySystem.systems.RegisterSystem;
 import org.terasology.entitySystem.systems.UpdateSubscriberSystem;
-import org.terasology.logic.characters.CharacterMoveInputEvent;
 import org.terasology.logic.characters.CharacterMovementComponent;
 import org.terasology.logic.characters.events.HorizontalCollisionEvent;
 import org.terasology.logic.location.LocationComponent;
 import org.terasology.logic.players.LocalPlayer;
 import org.terasology.math.geom.Vector3f;
 import org.terasology.registry.In;
+import org.terasology.utilities.concurrency.DaemonThreadFactory;
 import org.terasology.utilities.random.FastRandom;
 import org.terasology.utilities.random.Random;
 import org.terasology.world.WorldProvider;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 /**
  */
 @RegisterSystem(RegisterMode.AUTHORITY)
 public class SimpleAISystem extends BaseComponentSystem implements UpdateSubscriberSystem {
+    private static final int DECISION_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
 
     @In
     private WorldProvider worldProvider;
@@ -48,9 +54,28 @@ public class SimpleAISystem extends BaseComponentSystem implements UpdateSubscri
     private Time time;
     @In
     private LocalPlayer localPlayer;
+    @In
+    private Config config;
+
+    private AIUpdateThrottle throttle = new AIUpdateThrottle();
+    private SimpleAIUpdateBatch batch = new SimpleAIUpdateBatch(random);
+    private ExecutorService decisionThreads;
+    private int lastDecisionCount;
+
+    @Override
+    public void shutdown() {
+        throttle.clear();
+        batch.reset();
+        if (decisionThreads != null) {
+            decisionThreads.shutdown();
+            decisionThreads = null;
+        }
+    }
 
     @Override
     public void update(float delta) {
+        throttle.updateClientPositions(entityManager);
+        long deltaInMs = time.getGameDeltaInMs();
         for (EntityRef entity : entityManager.getEntitiesWith(SimpleAIComponent.class, CharacterMovementComponent.class, LocationComponent.class)) {
             LocationComponent location = entity.getComponent(LocationComponent.class);
             Vector3f worldPos = location.getWorldPosition();
@@ -59,41 +84,40 @@ public void update(float delta) {
             if (!worldProvider.isBlockRelevant(worldPos)) {
                 continue;
             }
-            SimpleAIComponent ai = entity.getComponent(SimpleAIComponent.class);
-
-            Vector3f drive = new Vector3f();
-            // TODO: shouldn't use local player, need some way to find nearest player
-            if (localPlayer != null) {
-                Vector3f dist = new Vector3f(worldPos);
-                dist.sub(localPlayer.getPosition());
-                double distanceToPlayer = dist.lengthSquared();
+            // Entities far from every client decide less often, but keep moving with their last drive each update
+            if (!batch.hasDrive(entity) || throttle.tick(entity, worldPos, deltaInMs) > 0) {
+                batch.add(entity, location, entity.getComponent(SimpleAIComponent.class), deltaInMs);
+            } else {
+                batch.move(entity, deltaInMs);
+            }
+        }
 
-                if (distanceToPlayer > 6 && distanceToPlayer < 16) {
-                    // Head to player
-                    ai.movementTarget.set(localPlayer.getPosition());
-                    ai.followingPlayer = true;
-                    entity.saveComponent(ai);
-                } else {
-                    // Random walk
-                    if (time.getGameTimeInMs() - ai.lastChangeOfDirectionAt > 12000 || ai.followingPlayer) {
-                        ai.movementTarget.set(worldPos.x + random.nextFloat(-500.0f, 500.0f), worldPos.y, worldPos.z + random.nextFloat(-500.0f, 500.0f));
-                        ai.lastChangeOfDirectionAt = time.getGameTimeInMs();
-                        ai.followingPlayer = false;
-                        entity.saveComponent(ai);
-                    }
-                }
+        Vector3f playerPosition = (localPlayer != null) ? localPlayer.getPosition() : null;
+        ExecutorService executor = config.getSystem().isParallelAIEnabled() ? getDecisionThreads() : null;
+        batch.decide(playerPosition, time.getGameTimeInMs(), executor, DECISION_THREADS);
+        batch.apply();
+        lastDecisionCount = batch.size();
+        batch.clear();
+    }
 
-                Vector3f targetDirection = new Vector3f();
-                targetDirection.sub(ai.movementTarget, worldPos);
-                targetDirection.normalize();
-                drive.set(targetDirection);
+    /**
+     * @return The number of entities that decided on their movement in the last update
+     */
+    public int getLastDecisionCount() {
+        return lastDecisionCount;
+    }
 
-                float yaw = (float) Math.atan2(targetDirection.x, targetDirection.z);
-                location.getLocalRotation().set(new Vector3f(0, 1, 0), yaw);
-                entity.saveComponent(location);
-            }
-            entity.send(new CharacterMoveInputEvent(0, 0, 0, drive, false, false, time.getGameDeltaInMs()));
+    private ExecutorService getDecisionThreads() {
+        if (decisionThreads == null) {
+            decisionThreads = Executors.newFixedThreadPool(DECISION_THREADS, new DaemonThreadFactory("AI-Decisions-"));
         }
+        return decisionThreads;
+    }
+
+    @ReceiveEvent(components = {SimpleAIComponent.class})
+    public void onDeactivated(BeforeDeactivateComponent event, EntityRef entity) {
+        throttle.remove(entity);
+        batch.remove(entity);
     }
 
     @ReceiveEvent(components = {SimpleAIComponent.class})
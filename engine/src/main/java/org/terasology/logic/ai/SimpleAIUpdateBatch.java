@@ -0,0 +1,255 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.ai;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.logic.characters.CharacterMoveInputEvent;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.geom.Quat4f;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.utilities.random.FastRandom;
+import org.terasology.utilities.random.Random;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Updates a batch of simple AI entities in three steps:
+ * <ol>
+ * <li>{@link #add} takes a snapshot of the state of each entity on the main thread.</li>
+ * <li>{@link #decide} works out the movement of each entity from the snapshots only, so it can run in parallel.</li>
+ * <li>{@link #apply} writes the changed components and sends the movement input on the main thread.</li>
+ * </ol>
+ * Components are only saved if the decision actually changed them.
+ * <p>
+ * The drive of each decision is kept, so that entities that don't decide every update can still be moved every
+ * update with {@link #move}.
+ */
+public class SimpleAIUpdateBatch {
+    private static final Vector3f UP = new Vector3f(0, 1, 0);
+    private static final float ROTATION_EPSILON = 0.9999f;
+    private static final int MIN_TASKS_PER_SLICE = 64;
+
+    private final List<Task> tasks = Lists.newArrayList();
+    private final Map<EntityRef, Vector3f> drives = Maps.newHashMap();
+    private final Random random;
+
+    public SimpleAIUpdateBatch(Random random) {
+        this.random = random;
+    }
+
+    /**
+     * Adds an entity to the batch, taking a snapshot of its state. The entity decides on a new movement and moves.
+     *
+     * @param entity
+     * @param location   The location of the entity
+     * @param ai         The ai component of the entity
+     * @param deltaInMs  The time in ms to move the entity for, i.e. the length of this update
+     */
+    public void add(EntityRef entity, LocationComponent location, SimpleAIComponent ai, long deltaInMs) {
+        tasks.add(new Task(entity, location, ai, deltaInMs, random.nextLong()));
+    }
+
+    /**
+     * Decides the movement of all entities in the batch. Only reads the snapshots taken by {@link #add}.
+     *
+     * @param playerPosition The position of the player the entities follow, or null if there is none
+     * @param gameTimeInMs   The current game time
+     * @param executor       The pool to spread the work over, or null to decide on the calling thread
+     * @param parallelism    The number of slices to split the batch into, usually the number of threads of the pool
+     */
+    public void decide(Vector3f playerPosition, long gameTimeInMs, ExecutorService executor, int parallelism) {
+        int sliceCount = Math.min(parallelism, tasks.size() / MIN_TASKS_PER_SLICE);
+        if (executor == null || sliceCount < 2) {
+            decide(tasks, playerPosition, gameTimeInMs);
+            return;
+        }
+        List<Callable<Void>> slices = Lists.newArrayListWithCapacity(sliceCount);
+        for (int i = 0; i < sliceCount; i++) {
+            List<Task> slice = tasks.subList(i * tasks.size() / sliceCount, (i + 1) * tasks.size() / sliceCount);
+            slices.add(() -> {
+                decide(slice, playerPosition, gameTimeInMs);
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> result : executor.invokeAll(slices)) {
+                result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while deciding AI movement", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to decide AI movement", e.getCause());
+        }
+    }
+
+    private static void decide(List<Task> slice, Vector3f playerPosition, long gameTimeInMs) {
+        for (Task task : slice) {
+            task.decide(playerPosition, gameTimeInMs);
+        }
+    }
+
+    /**
+     * Applies the decisions to the entities. Must be called on the main thread.
+     */
+    public void apply() {
+        for (Task task : tasks) {
+            task.apply();
+            Vector3f drive = drives.get(task.entity);
+            if (drive == null) {
+                drives.put(task.entity, new Vector3f(task.drive));
+            } else {
+                drive.set(task.drive);
+            }
+        }
+    }
+
+    /**
+     * Moves an entity that doesn't decide this update along its last decided drive. Must be called on the main thread.
+     *
+     * @param entity
+     * @param deltaInMs The time in ms to move the entity for, i.e. the length of this update
+     */
+    public void move(EntityRef entity, long deltaInMs) {
+        Vector3f drive = drives.get(entity);
+        if (drive != null) {
+            entity.send(new CharacterMoveInputEvent(0, 0, 0, drive, false, false, deltaInMs));
+        }
+    }
+
+    /**
+     * @param entity
+     * @return Whether the entity has decided on a drive yet, so it can be moved without deciding
+     */
+    public boolean hasDrive(EntityRef entity) {
+        return drives.containsKey(entity);
+    }
+
+    /**
+     * Forgets the last drive of an entity, e.g. because it got deactivated.
+     *
+     * @param entity
+     */
+    public void remove(EntityRef entity) {
+        drives.remove(entity);
+    }
+
+    public int size() {
+        return tasks.size();
+    }
+
+    /**
+     * Removes all entities from the batch, keeping their last drives.
+     */
+    public void clear() {
+        tasks.clear();
+    }
+
+    /**
+     * Removes all entities from the batch and forgets all drives.
+     */
+    public void reset() {
+        tasks.clear();
+        drives.clear();
+    }
+
+    private static final class Task {
+        private final EntityRef entity;
+        private final long deltaInMs;
+        private final long seed;
+        private final Vector3f worldPos;
+        private final Quat4f rotation;
+        private final Vector3f movementTarget;
+        private long lastChangeOfDirectionAt;
+        private boolean followingPlayer;
+
+        private final Vector3f drive = new Vector3f();
+        private boolean aiChanged;
+        private boolean rotationChanged;
+
+        private Task(EntityRef entity, LocationComponent location, SimpleAIComponent ai, long deltaInMs, long seed) {
+            this.entity = entity;
+            this.deltaInMs = deltaInMs;
+            this.seed = seed;
+            this.worldPos = location.getWorldPosition();
+            Quat4f localRotation = location.getLocalRotation();
+            this.rotation = new Quat4f(localRotation.x, localRotation.y, localRotation.z, localRotation.w);
+            this.movementTarget = new Vector3f(ai.movementTarget);
+            this.lastChangeOfDirectionAt = ai.lastChangeOfDirectionAt;
+            this.followingPlayer = ai.followingPlayer;
+        }
+
+        private void decide(Vector3f playerPosition, long gameTimeInMs) {
+            // TODO: shouldn't use local player, need some way to find nearest player
+            if (playerPosition == null) {
+                return;
+            }
+            float distanceToPlayer = worldPos.distanceSquared(playerPosition);
+            if (distanceToPlayer > 6 && distanceToPlayer < 16) {
+                // Head to player
+                aiChanged = !followingPlayer || !movementTarget.equals(playerPosition);
+                movementTarget.set(playerPosition);
+                followingPlayer = true;
+            } else if (gameTimeInMs - lastChangeOfDirectionAt > 12000 || followingPlayer) {
+                // Random walk
+                Random taskRandom = new FastRandom(seed);
+                movementTarget.set(worldPos.x + taskRandom.nextFloat(-500.0f, 500.0f), worldPos.y, worldPos.z + taskRandom.nextFloat(-500.0f, 500.0f));
+                lastChangeOfDirectionAt = gameTimeInMs;
+                followingPlayer = false;
+                aiChanged = true;
+            }
+
+            drive.sub(movementTarget, worldPos);
+            drive.normalize();
+
+            float yaw = (float) Math.atan2(drive.x, drive.z);
+            Quat4f targetRotation = new Quat4f();
+            targetRotation.set(UP, yaw);
+            float dot = targetRotation.x * rotation.x + targetRotation.y * rotation.y + targetRotation.z * rotation.z + targetRotation.w * rotation.w;
+            if (Math.abs(dot) < ROTATION_EPSILON) {
+                rotation.set(targetRotation);
+                rotationChanged = true;
+            }
+        }
+
+        private void apply() {
+            if (aiChanged) {
+                SimpleAIComponent ai = entity.getComponent(SimpleAIComponent.class);
+                if (ai != null) {
+                    ai.movementTarget.set(movementTarget);
+                    ai.lastChangeOfDirectionAt = lastChangeOfDirectionAt;
+                    ai.followingPlayer = followingPlayer;
+                    entity.saveComponent(ai);
+                }
+            }
+            if (rotationChanged) {
+                LocationComponent location = entity.getComponent(LocationComponent.class);
+                if (location != null) {
+                    location.setLocalRotation(rotation);
+                    entity.saveComponent(location);
+                }
+            }
+            entity.send(new CharacterMoveInputEvent(0, 0, 0, drive, false, false, deltaInMs));
+        }
+    }
+}
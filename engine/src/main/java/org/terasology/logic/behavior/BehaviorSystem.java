@@ -28,6 +28,7 @@
 import org.terasology.assets.ResourceUrn;
 import org.terasology.assets.management.AssetManager;
 import org.terasology.audio.StaticSound;
+import org.terasology.engine.Time;
 import org.terasology.engine.paths.PathManager;
 import org.terasology.entitySystem.entity.EntityManager;
 import org.terasology.entitySystem.entity.EntityRef;
@@ -39,12 +40,15 @@
 import org.terasology.entitySystem.systems.RegisterMode;
 import org.terasology.entitySystem.systems.RegisterSystem;
 import org.terasology.entitySystem.systems.UpdateSubscriberSystem;
+import org.terasology.logic.ai.AIUpdateThrottle;
 import org.terasology.logic.behavior.asset.BehaviorTree;
 import org.terasology.logic.behavior.asset.BehaviorTreeData;
 import org.terasology.logic.behavior.asset.BehaviorTreeFormat;
 import org.terasology.logic.behavior.tree.Actor;
 import org.terasology.logic.behavior.tree.Interpreter;
 import org.terasology.logic.behavior.tree.Node;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.geom.Vector3f;
 import org.terasology.naming.Name;
 import org.terasology.registry.In;
 import org.terasology.registry.Share;
@@ -72,9 +76,12 @@ public class BehaviorSystem extends BaseComponentSystem implements UpdateSubscri
     private PrefabManager prefabManager;
     @In
     private AssetManager assetManager;
+    @In
+    private Time time;
 
     private Map<EntityRef, Interpreter> entityInterpreters = Maps.newHashMap();
     private List<BehaviorTree> trees = Lists.newArrayList();
+    private AIUpdateThrottle throttle = new AIUpdateThrottle();
 
     @Override
     public void initialise() {
@@ -99,12 +106,29 @@ public void onBehaviorDeactivated(BeforeDeactivateComponent event, EntityRef ent
         if (behaviorComponent.tree != null) {
             entityInterpreters.remove(entityRef);
         }
+        throttle.remove(entityRef);
     }
 
+    @Override
+    public void shutdown() {
+        throttle.clear();
+    }
+
+    /**
+     * Ticks the interpreters, the ones of entities far away from all clients less often. Interpreters are ticked on
+     * the main thread, as the nodes of a tree access the entity system directly.
+     */
     @Override
     public void update(float delta) {
-        for (Interpreter interpreter : entityInterpreters.values()) {
-            interpreter.tick(delta);
+        throttle.updateClientPositions(entityManager);
+        long deltaInMs = time.getGameDeltaInMs();
+        for (Map.Entry<EntityRef, Interpreter> entry : entityInterpreters.entrySet()) {
+            LocationComponent location = entry.getKey().getComponent(LocationComponent.class);
+            Vector3f position = (location != null) ? location.getWorldPosition() : null;
+            long interpreterDelta = throttle.tick(entry.getKey(), position, deltaInMs);
+            if (interpreterDelta > 0) {
+                entry.getValue().tick(interpreterDelta / 1000f);
+            }
         }
     }
 
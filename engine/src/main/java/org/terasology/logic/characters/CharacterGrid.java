@@ -0,0 +1,126 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.characters;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.math.geom.Vector3i;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Buckets characters into the cells of a uniform grid by their latest position, so that the characters near a
+ * position can be found without going through all of them.
+ *
+ */
+class CharacterGrid {
+
+    private final float cellSize;
+    private final Map<Vector3i, Set<EntityRef>> cells = Maps.newHashMap();
+    private final Map<EntityRef, Vector3i> characterCells = Maps.newHashMap();
+
+    /**
+     * @param cellSize The edge length of the cells, ideally about the radius usually queried
+     */
+    CharacterGrid(float cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Moves a character to the cell of its new position, adding it if it isn't in the grid yet.
+     */
+    public void update(EntityRef character, Vector3f position) {
+        Vector3i cell = cellOf(position.x, position.y, position.z);
+        Vector3i oldCell = characterCells.get(character);
+        if (cell.equals(oldCell)) {
+            return;
+        }
+        if (oldCell != null) {
+            removeFromCell(character, oldCell);
+        }
+        characterCells.put(character, cell);
+        Set<EntityRef> characters = cells.get(cell);
+        if (characters == null) {
+            characters = Sets.newHashSet();
+            cells.put(cell, characters);
+        }
+        characters.add(character);
+    }
+
+    public void remove(EntityRef character) {
+        Vector3i oldCell = characterCells.remove(character);
+        if (oldCell != null) {
+            removeFromCell(character, oldCell);
+        }
+    }
+
+    public void clear() {
+        cells.clear();
+        characterCells.clear();
+    }
+
+    /**
+     * Adds all characters of the cells within the given distance of a position to a collection. This includes all
+     * characters within that distance, but may include characters a little further away as well.
+     *
+     * @param center The position to search around
+     * @param radius The distance to search
+     * @param out    The collection to add the characters to
+     */
+    public void collect(Vector3f center, float radius, Collection<EntityRef> out) {
+        Vector3i min = cellOf(center.x - radius, center.y - radius, center.z - radius);
+        Vector3i max = cellOf(center.x + radius, center.y + radius, center.z + radius);
+        long cellCount = (long) (max.x - min.x + 1) * (max.y - min.y + 1) * (max.z - min.z + 1);
+        if (cellCount > cells.size()) {
+            // Fewer occupied cells than cells in range, so go through the occupied ones instead
+            for (Map.Entry<Vector3i, Set<EntityRef>> entry : cells.entrySet()) {
+                Vector3i cell = entry.getKey();
+                if (cell.x >= min.x && cell.x <= max.x && cell.y >= min.y && cell.y <= max.y && cell.z >= min.z && cell.z <= max.z) {
+                    out.addAll(entry.getValue());
+                }
+            }
+            return;
+        }
+        Vector3i cell = new Vector3i();
+        for (int x = min.x; x <= max.x; ++x) {
+            for (int y = min.y; y <= max.y; ++y) {
+                for (int z = min.z; z <= max.z; ++z) {
+                    cell.set(x, y, z);
+                    Set<EntityRef> characters = cells.get(cell);
+                    if (characters != null) {
+                        out.addAll(characters);
+                    }
+                }
+            }
+        }
+    }
+
+    private void removeFromCell(EntityRef character, Vector3i cell) {
+        Set<EntityRef> characters = cells.get(cell);
+        characters.remove(character);
+        if (characters.isEmpty()) {
+            cells.remove(cell);
+        }
+    }
+
+    private Vector3i cellOf(float x, float y, float z) {
+        return new Vector3i((int) Math.floor(x / cellSize), (int) Math.floor(y / cellSize), (int) Math.floor(z / cellSize));
+    }
+}
@@ -28,8 +28,9 @@ public interface PredictionSystem {
      *
      * @param client The client entity to rewind for
      * @param timeMs The time to rewind to
+     * @param range  Only characters within this distance of the client's character are rewound
      */
-    void lagCompensate(EntityRef client, long timeMs);
+    void lagCompensate(EntityRef client, long timeMs, float range);
 
     void restoreToPresent();
 }
@@ -16,6 +16,7 @@
 
 package org.terasology.logic.characters;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
 import org.slf4j.Logger;
@@ -33,6 +34,7 @@
 import org.terasology.logic.location.LocationComponent;
 import org.terasology.logic.players.LocalPlayer;
 import org.terasology.math.geom.Vector3f;
+import org.terasology.network.ClientComponent;
 import org.terasology.network.NetworkSystem;
 import org.terasology.physics.engine.CharacterCollider;
 import org.terasology.physics.engine.PhysicsEngine;
@@ -41,6 +43,7 @@
 import org.terasology.utilities.collection.CircularBuffer;
 import org.terasology.world.WorldProvider;
 
+import java.util.List;
 import java.util.Map;
 
 @RegisterSystem(RegisterMode.AUTHORITY)
@@ -55,6 +58,17 @@ public class ServerCharacterPredictionSystem extends BaseComponentSystem impleme
     private static final int BUFFER_SIZE = 128;
     private static final int TIME_BETWEEN_STATE_REPLICATE = 50;
 
+    /**
+     * The edge length of the cells characters are bucketed into for lag compensation, about the usual range of lag
+     * compensated events (see {@link org.terasology.network.ServerEvent#lagCompensationRange()}).
+     */
+    private static final float CHARACTER_GRID_CELL_SIZE = 32f;
+
+    /**
+     * The fastest a character can move, used to find the characters that might have been in range at the rewound time.
+     */
+    private static final float MAX_CHARACTER_SPEED = KinematicCharacterMover.TERMINAL_VELOCITY;
+
     @In
     private Time time;
 
@@ -73,6 +87,9 @@ public class ServerCharacterPredictionSystem extends BaseComponentSystem impleme
     private CharacterMover characterMover;
     private Map<EntityRef, CircularBuffer<CharacterStateEvent>> characterStates = Maps.newHashMap();
     private Map<EntityRef, CharacterMoveInputEvent> lastInputEvent = Maps.newHashMap();
+    private List<EntityRef> compensatedCharacters = Lists.newArrayList();
+    private CharacterGrid characterGrid = new CharacterGrid(CHARACTER_GRID_CELL_SIZE);
+    private List<EntityRef> candidates = Lists.newArrayList();
     private long nextSendState;
     private CharacterMovementSystemUtility characterMovementSystemUtility;
 
@@ -87,14 +104,15 @@ public void initialise() {
     public void onCreate(final OnActivatedComponent event, final EntityRef entity) {
         physics.getCharacterCollider(entity);
         CircularBuffer<CharacterStateEvent> stateBuffer = CircularBuffer.create(BUFFER_SIZE);
-        stateBuffer.add(createInitialState(entity));
         characterStates.put(entity, stateBuffer);
+        addState(entity, stateBuffer, createInitialState(entity));
     }
 
     @ReceiveEvent(components = {CharacterMovementComponent.class, LocationComponent.class})
     public void onDestroy(final BeforeDeactivateComponent event, final EntityRef entity) {
         physics.removeCharacterCollider(entity);
         characterStates.remove(entity);
+        characterGrid.remove(entity);
         lastInputEvent.remove(entity);
     }
 
@@ -109,7 +127,7 @@ public void onSetMovementModeEvent(SetMovementModeEvent event, EntityRef charact
         } else {
             newState.setMode(MovementMode.WALKING);
         }
-        stateBuffer.add(newState);
+        addState(character, stateBuffer, newState);
         characterMovementSystemUtility.setToState(character, newState);
     }
 
@@ -124,7 +142,7 @@ public void onPlayerInput(CharacterMoveInputEvent input, EntityRef entity) {
         CharacterStateEvent lastState = stateBuffer.getLast();
         if (input.getDelta() + lastState.getTime() < time.getGameTimeInMs() + MAX_INPUT_OVERFLOW) {
             CharacterStateEvent newState = stepState(input, lastState, entity);
-            stateBuffer.add(newState);
+            addState(entity, stateBuffer, newState);
 
             characterMovementSystemUtility.setToState(entity, newState);
             lastInputEvent.put(entity, input);
@@ -140,11 +158,16 @@ public void onTeleport(CharacterTeleportEvent event, EntityRef entity) {
         CharacterStateEvent newState = new CharacterStateEvent(lastState);
         newState.setPosition(new Vector3f(event.getTargetPosition()));
         newState.setTime(time.getGameTimeInMs());
-        stateBuffer.add(newState);
+        addState(entity, stateBuffer, newState);
         characterMovementSystemUtility.setToState(entity, newState);
 
     }
 
+    private void addState(EntityRef entity, CircularBuffer<CharacterStateEvent> buffer, CharacterStateEvent state) {
+        buffer.add(state);
+        characterGrid.update(entity, state.getPosition());
+    }
+
     private CharacterStateEvent createInitialState(EntityRef entity) {
         LocationComponent location = entity.getComponent(LocationComponent.class);
         return new CharacterStateEvent(time.getGameTimeInMs(), 0, location.getWorldPosition(), location.getWorldRotation(), new Vector3f(), 0, 0, MovementMode.WALKING, false);
@@ -186,17 +209,28 @@ public void update(float delta) {
         }
     }
 
-    private void setToTime(long renderTime, EntityRef entity, CircularBuffer<CharacterStateEvent> buffer) {
-        CharacterStateEvent previous = null;
-        CharacterStateEvent next = null;
-        for (CharacterStateEvent state : buffer) {
-            if (state.getTime() <= renderTime) {
-                previous = state;
+    /**
+     * @return The index of the first state after the given time, or the size of the buffer if there is none
+     */
+    private static int findStateAfter(long timeMs, CircularBuffer<CharacterStateEvent> buffer) {
+        // The states are ordered by time
+        int low = 0;
+        int high = buffer.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (buffer.get(mid).getTime() <= timeMs) {
+                low = mid + 1;
             } else {
-                next = state;
-                break;
+                high = mid;
             }
         }
+        return low;
+    }
+
+    private void setToTime(long renderTime, EntityRef entity, CircularBuffer<CharacterStateEvent> buffer) {
+        int low = findStateAfter(renderTime, buffer);
+        CharacterStateEvent previous = (low > 0) ? buffer.get(low - 1) : null;
+        CharacterStateEvent next = (low < buffer.size()) ? buffer.get(low) : null;
         if (previous != null) {
             if (next != null) {
                 characterMovementSystemUtility.setToInterpolateState(entity, previous, next, renderTime);
@@ -207,21 +241,77 @@ private void setToTime(long renderTime, EntityRef entity, CircularBuffer<Charact
     }
 
     @Override
-    public void lagCompensate(EntityRef client, long timeMs) {
-        for (Map.Entry<EntityRef, CircularBuffer<CharacterStateEvent>> entry : characterStates.entrySet()) {
-            if (networkSystem.getOwnerEntity(entry.getKey()).equals(client)) {
-                characterMovementSystemUtility.setToState(entry.getKey(), entry.getValue().getLast());
+    public void lagCompensate(EntityRef client, long timeMs, float range) {
+        long rewindTime = timeMs - RENDER_DELAY;
+        Vector3f center = getCharacterPosition(client);
+        if (center == null) {
+            for (Map.Entry<EntityRef, CircularBuffer<CharacterStateEvent>> entry : characterStates.entrySet()) {
+                compensate(client, entry.getKey(), entry.getValue(), rewindTime);
+            }
+            return;
+        }
+
+        // The grid holds the latest positions, so also look for characters that were in range at the rewound time
+        float maxTravel = MAX_CHARACTER_SPEED * Math.max(0, time.getGameTimeInMs() - rewindTime) / 1000f;
+        characterGrid.collect(center, range + maxTravel, candidates);
+        float rangeSquared = range * range;
+        for (EntityRef character : candidates) {
+            CircularBuffer<CharacterStateEvent> buffer = characterStates.get(character);
+            if (buffer == null || buffer.isEmpty()) {
+                continue;
+            }
+            float distanceSquared = getPositionAt(rewindTime, buffer).distanceSquared(center);
+            if (distanceSquared <= rangeSquared) {
+                compensate(client, character, buffer, rewindTime);
             } else {
-                setToTime(timeMs - RENDER_DELAY, entry.getKey(), entry.getValue());
+                logger.debug("Not rewinding {} for {}, it was {} away, beyond the lag compensation range of {}",
+                        character, client, (float) Math.sqrt(distanceSquared), range);
+            }
+        }
+        candidates.clear();
+    }
+
+    private void compensate(EntityRef client, EntityRef character, CircularBuffer<CharacterStateEvent> buffer, long rewindTime) {
+        compensatedCharacters.add(character);
+        if (networkSystem.getOwnerEntity(character).equals(client)) {
+            characterMovementSystemUtility.setToState(character, buffer.getLast());
+        } else {
+            setToTime(rewindTime, character, buffer);
+        }
+    }
+
+    /**
+     * @return The position of the last state of a character at or before the given time, or its first state's if
+     * there is none
+     */
+    private static Vector3f getPositionAt(long timeMs, CircularBuffer<CharacterStateEvent> buffer) {
+        int index = findStateAfter(timeMs, buffer);
+        return buffer.get(Math.max(0, index - 1)).getPosition();
+    }
+
+    /**
+     * @return The current position of the character of the client, or null if it has none.
+     */
+    private Vector3f getCharacterPosition(EntityRef client) {
+        ClientComponent clientComp = client.getComponent(ClientComponent.class);
+        if (clientComp != null) {
+            CircularBuffer<CharacterStateEvent> buffer = characterStates.get(clientComp.character);
+            if (buffer != null && !buffer.isEmpty()) {
+                return buffer.getLast().getPosition();
             }
         }
+        return null;
     }
 
     @Override
     public void restoreToPresent() {
         long renderTime = time.getGameTimeInMs() - RENDER_DELAY;
-        for (Map.Entry<EntityRef, CircularBuffer<CharacterStateEvent>> entry : characterStates.entrySet()) {
-            setToTime(renderTime, entry.getKey(), entry.getValue());
+        for (EntityRef character : compensatedCharacters) {
+            CircularBuffer<CharacterStateEvent> buffer = characterStates.get(character);
+            if (buffer != null) {
+                setToTime(renderTime, character, buffer);
+            }
         }
+        compensatedCharacters.clear();
     }
 }
@@ -26,6 +26,7 @@ public class ChunkMeshInfo {
     public final int totalTriangles;
     public final int totalTimeToGenerateBlockVertices;
     public final int totalTimeToGenerateOptimizedBuffers;
+    public final long totalDirectBufferBytes;
 
     public ChunkMeshInfo(ChunkMesh mesh) {
         checkNotNull(mesh, "The parameter 'mesh' must not be null");
@@ -46,6 +47,7 @@ public ChunkMeshInfo(ChunkMesh mesh) {
         this.totalTriangles = indices / 3;
         this.totalTimeToGenerateBlockVertices = mesh.getTimeToGenerateBlockVertices();
         this.totalTimeToGenerateOptimizedBuffers = mesh.getTimeToGenerateOptimizedBuffers();
+        this.totalDirectBufferBytes = mesh.getDirectBufferBytes();
     }
 }
 
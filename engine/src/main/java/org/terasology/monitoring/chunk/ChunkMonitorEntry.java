@@ -24,6 +24,7 @@
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.ListIterator;
 
 public class ChunkMonitorEntry {
 
@@ -67,6 +68,20 @@ public void addChunk(Chunk value) {
         chunks.add(new WeakReference<>(value));
     }
 
+    /**
+     * @return The mesh info of the last tessellation of the chunk, or null if it has not been tessellated yet
+     */
+    public ChunkMeshInfo getLatestMeshInfo() {
+        ListIterator<ChunkMonitorEvent.BasicChunkEvent> iterator = events.listIterator(events.size());
+        while (iterator.hasPrevious()) {
+            ChunkMonitorEvent.BasicChunkEvent event = iterator.previous();
+            if (event instanceof ChunkMonitorEvent.Tessellated) {
+                return ((ChunkMonitorEvent.Tessellated) event).meshInfo;
+            }
+        }
+        return null;
+    }
+
     public void addEvent(ChunkMonitorEvent.BasicChunkEvent event) {
         Preconditions.checkNotNull(event, "The parameter 'event' must not be null");
         Preconditions.checkArgument(pos.equals(event.position), "Expected event for position {} but got position {} instead", pos, event.position);
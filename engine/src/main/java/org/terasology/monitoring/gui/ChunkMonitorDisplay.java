@@ -27,6 +27,7 @@
 import org.terasology.math.geom.Vector3i;
 import org.terasology.monitoring.ThreadActivity;
 import org.terasology.monitoring.ThreadMonitor;
+import org.terasology.monitoring.chunk.ChunkMeshInfo;
 import org.terasology.monitoring.chunk.ChunkMonitor;
 import org.terasology.monitoring.chunk.ChunkMonitorEntry;
 import org.terasology.monitoring.chunk.ChunkMonitorEvent;
@@ -690,6 +691,18 @@ private void renderSelectedChunk(Graphics2D g, int offsetx, int offsety, Vector3
                 g.setColor(COLOR_SELECTED_CHUNK);
                 g.drawRect(pos.x * chunkSize + offsetx, pos.z * chunkSize + offsety, chunkSize - 1, chunkSize - 1);
                 g.drawRect(pos.x * chunkSize + offsetx - 1, pos.z * chunkSize + offsety - 1, chunkSize + 1, chunkSize + 1);
+                renderMeshInfo(g, map.get(pos));
+            }
+        }
+
+        private void renderMeshInfo(Graphics2D g, ChunkMonitorEntry entry) {
+            ChunkMeshInfo meshInfo = (entry != null) ? entry.getLatestMeshInfo() : null;
+            if (meshInfo != null) {
+                g.setColor(Color.white);
+                int lineHeight = g.getFontMetrics().getHeight();
+                g.drawString("Triangles: " + meshInfo.totalTriangles, 4, lineHeight);
+                g.drawString("Vertices: " + meshInfo.totalFinalVertices, 4, 2 * lineHeight);
+                g.drawString("Direct Buffers: " + meshInfo.totalDirectBufferBytes / 1024 + " KiB", 4, 3 * lineHeight);
             }
         }
 
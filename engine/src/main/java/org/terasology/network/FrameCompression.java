@@ -0,0 +1,38 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network;
+
+/**
+ * The compression applied to the messages a server sends to its clients. Anything other than {@link #ZLIB} is only used
+ * for clients that announce support for it while connecting, all others fall back to zlib. Messages clients send to the
+ * server always use the zlib stream.
+ */
+public enum FrameCompression {
+    /**
+     * A single zlib stream spanning all messages of a connection
+     */
+    ZLIB,
+
+    /**
+     * A fast LZ77 compressor applied to each message on its own
+     */
+    LZ,
+
+    /**
+     * Deflate applied to each message on its own, primed with a dictionary of typical network messages
+     */
+    ZLIB_DICTIONARY
+}
@@ -42,4 +42,31 @@ public interface NetMetricSource {
      * @return The amount of bytes sent since last time this method was called
      */
     int getSentBytesSinceLastCall();
+
+    /**
+     * @return The amount of entity updates reused from other clients since last time this method was called
+     */
+    int getSharedEntityUpdatesSinceLastCall();
+
+    /**
+     * @return The time in nanoseconds spared by reusing entity updates since last time this method was called
+     */
+    long getSerializationTimeSavedSinceLastCall();
+
+    /**
+     * @return The amount of bytes of messages compressed frame by frame, before compression, since last time this method
+     * was called
+     */
+    int getUncompressedBytesSinceLastCall();
+
+    /**
+     * @return The amount of messages sent without compression because they are small or of a type that does not
+     * compress, since last time this method was called
+     */
+    int getUncompressedMessagesSinceLastCall();
+
+    /**
+     * @return The time in nanoseconds spent compressing messages frame by frame since last time this method was called
+     */
+    long getCompressionTimeSinceLastCall();
 }
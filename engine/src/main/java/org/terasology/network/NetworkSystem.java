@@ -64,5 +64,27 @@ public interface NetworkSystem extends BlockRegistrationListener {
 
     int getOutgoingBytesDelta();
 
+    int getSharedEntityUpdatesDelta();
+
+    /**
+     * @return The serialization time in nanoseconds saved by sharing entity updates between clients since the last call
+     */
+    long getSerializationTimeSavedDelta();
+
+    /**
+     * @return The size of outgoing messages before frame compression since the last call
+     */
+    int getUncompressedBytesDelta();
+
+    /**
+     * @return The number of outgoing messages that bypassed frame compression since the last call
+     */
+    int getUncompressedMessagesDelta();
+
+    /**
+     * @return The time in nanoseconds spent compressing outgoing messages since the last call
+     */
+    long getCompressionTimeDelta();
+
     void forceDisconnect(Client client);
 }
@@ -34,4 +34,10 @@
      *         is rewound to simulate the condition on the client before processing the event.
      */
     boolean lagCompensate() default false;
+
+    /**
+     * @return The distance from the instigating character within which characters are rewound when compensating for
+     *         lag. Should be the furthest the event can reach, characters further away are left where they are.
+     */
+    float lagCompensationRange() default 32f;
 }
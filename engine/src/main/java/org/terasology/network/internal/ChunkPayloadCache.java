@@ -0,0 +1,106 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import com.google.common.collect.Maps;
+import org.terasology.math.ChunkMath;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.protobuf.EntityData;
+import org.terasology.world.WorldChangeListener;
+import org.terasology.world.biomes.Biome;
+import org.terasology.world.block.Block;
+import org.terasology.world.chunks.Chunk;
+import org.terasology.world.liquid.LiquidData;
+import org.terasology.world.propagation.BlockChange;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Keeps the encoded form of the chunks sent to clients, so that a chunk only needs to be encoded once no matter how
+ * many clients it gets sent to.
+ * <p>
+ * An encoded chunk is dropped when a block, biome or liquid in it changes, and once the chunk it was encoded from got
+ * disposed. The messages are compressed by the network pipeline, so the payloads are stored uncompressed.
+ *
+ */
+class ChunkPayloadCache implements WorldChangeListener {
+
+    private final Map<Vector3i, CachedPayload> payloads = Maps.newConcurrentMap();
+
+    /**
+     * @return The encoded chunk, either taken from the cache or freshly encoded.
+     */
+    public EntityData.ChunkStore getPayload(Chunk chunk) {
+        Vector3i pos = chunk.getPosition();
+        CachedPayload cached = payloads.get(pos);
+        if (cached != null && cached.chunk == chunk) {
+            return cached.payload;
+        }
+        EntityData.ChunkStore payload = chunk.encode().build();
+        payloads.put(new Vector3i(pos), new CachedPayload(chunk, payload));
+        return payload;
+    }
+
+    /**
+     * Drops the payloads of chunks that got unloaded, so that they can be garbage collected.
+     */
+    public void removeDisposedChunks() {
+        Iterator<CachedPayload> iterator = payloads.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().chunk.isDisposed()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    public void clear() {
+        payloads.clear();
+    }
+
+    @Override
+    public void onBlockChanged(Vector3i pos, Block newBlock, Block originalBlock) {
+        payloads.remove(ChunkMath.calcChunkPos(pos));
+    }
+
+    @Override
+    public void onBlocksChanged(Collection<BlockChange> changes) {
+        for (BlockChange change : changes) {
+            payloads.remove(ChunkMath.calcChunkPos(change.getPosition()));
+        }
+    }
+
+    @Override
+    public void onBiomeChanged(Vector3i pos, Biome newBiome, Biome originalBiome) {
+        payloads.remove(ChunkMath.calcChunkPos(pos));
+    }
+
+    @Override
+    public void onLiquidChanged(Vector3i pos, LiquidData newState, LiquidData originalState) {
+        payloads.remove(ChunkMath.calcChunkPos(pos));
+    }
+
+    private static final class CachedPayload {
+        private final Chunk chunk;
+        private final EntityData.ChunkStore payload;
+
+        private CachedPayload(Chunk chunk, EntityData.ChunkStore payload) {
+            this.chunk = chunk;
+            this.payload = payload;
+        }
+    }
+}
@@ -30,6 +30,8 @@
 import org.terasology.identity.IdentityConstants;
 import org.terasology.identity.PrivateIdentityCertificate;
 import org.terasology.identity.PublicIdentityCertificate;
+import org.terasology.network.FrameCompression;
+import org.terasology.network.internal.compression.FrameCompressionNegotiation;
 import org.terasology.protobuf.NetData;
 
 import javax.crypto.BadPaddingException;
@@ -62,6 +64,7 @@ public class ClientHandshakeHandler extends SimpleChannelUpstreamHandler {
     private boolean requestedCertificate;
     private ClientIdentity identity;
     private PublicIdentityCertificate serverCertificate;
+    private FrameCompression frameCompression = FrameCompression.ZLIB;
 
     public ClientHandshakeHandler(JoinStatusImpl joinStatus) {
         this.joinStatus = joinStatus;
@@ -79,8 +82,10 @@ public void messageReceived(ChannelHandlerContext ctx, MessageEvent e) {
         if (message.hasHandshakeHello()) {
             processServerHello(message.getHandshakeHello(), ctx);
         } else if (message.hasProvisionIdentity()) {
+            frameCompression = FrameCompressionNegotiation.getAnnounced(message);
             processNewIdentity(message.getProvisionIdentity(), ctx);
         } else if (message.hasHandshakeVerification()) {
+            frameCompression = FrameCompressionNegotiation.getAnnounced(message);
             processHandshakeVerification(message.getHandshakeVerification(), ctx);
         }
     }
@@ -160,6 +165,7 @@ private void processNewIdentity(NetData.ProvisionIdentity provisionIdentity, Cha
     }
 
     private void channelAuthenticated(ChannelHandlerContext ctx) {
+        FrameCompressionNegotiation.installDecoder(ctx.getPipeline(), frameCompression);
         ctx.getChannel().write(NetData.NetMessage.newBuilder()
                 .setServerInfoRequest(NetData.ServerInfoRequest.newBuilder()).build());
         joinStatus.setCurrentActivity("Requesting server info");
@@ -210,7 +216,7 @@ private void sendCertificate(NetData.HandshakeHello helloMessage, ChannelHandler
         byte[] dataToSign = Bytes.concat(helloMessage.toByteArray(), clientHello.toByteArray());
         byte[] signature = identity.getPlayerPrivateCertificate().sign(dataToSign);
 
-        ctx.getChannel().write(NetData.NetMessage.newBuilder()
+        ctx.getChannel().write(FrameCompressionNegotiation.offer(NetData.NetMessage.newBuilder())
                 .setHandshakeHello(clientHello)
                 .setHandshakeVerification(NetData.HandshakeVerification.newBuilder()
                         .setSignature(ByteString.copyFrom(signature)))
@@ -226,7 +232,7 @@ private void requestIdentity(ChannelHandlerContext ctx) {
 
         masterSecret = HandshakeCommon.generateMasterSecret(preMasterSecret, clientRandom, serverRandom);
 
-        ctx.getChannel().write(NetData.NetMessage.newBuilder()
+        ctx.getChannel().write(FrameCompressionNegotiation.offer(NetData.NetMessage.newBuilder())
                 .setNewIdentityRequest(NetData.NewIdentityRequest.newBuilder()
                         .setPreMasterSecret(ByteString.copyFrom(encryptedPreMasterSecret))
                         .setRandom(ByteString.copyFrom(clientRandom)))
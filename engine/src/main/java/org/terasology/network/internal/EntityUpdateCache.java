@@ -0,0 +1,135 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import com.google.common.base.Objects;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import org.terasology.entitySystem.Component;
+import org.terasology.protobuf.EntityData;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Shares the serialized updates of dirty entities between the clients during a network tick.
+ * <p>
+ * The serialized update of an entity only depends on whether the receiving client owns it and on which of its
+ * components got added, changed or removed. Clients that agree on these get the same update, so it only needs to be
+ * serialized once. Updates of an entity are dropped as soon as any of its components changes again, and all updates
+ * are dropped at the start of each network tick.
+ *
+ */
+class EntityUpdateCache {
+
+    private TIntObjectMap<Map<UpdateKey, CachedUpdate>> updates = new TIntObjectHashMap<>();
+
+    /**
+     * @return The cached update for the given entity and changes, or null if it has not been serialized yet.
+     */
+    public CachedUpdate get(int netId, boolean owner, Set<Class<? extends Component>> added, Set<Class<? extends Component>> changed,
+                            Set<Class<? extends Component>> removed) {
+        Map<UpdateKey, CachedUpdate> entityUpdates = updates.get(netId);
+        if (entityUpdates == null) {
+            return null;
+        }
+        return entityUpdates.get(new UpdateKey(owner, added, changed, removed));
+    }
+
+    /**
+     * Stores a serialized update. The component sets are copied, so the callers can keep modifying theirs.
+     *
+     * @param entityData        The serialized update, may be null if there was nothing to send
+     * @param serializationTime The time in nanoseconds it took to serialize the update
+     */
+    public void put(int netId, boolean owner, Set<Class<? extends Component>> added, Set<Class<? extends Component>> changed,
+                    Set<Class<? extends Component>> removed, EntityData.PackedEntity entityData, long serializationTime) {
+        Map<UpdateKey, CachedUpdate> entityUpdates = updates.get(netId);
+        if (entityUpdates == null) {
+            entityUpdates = Maps.newHashMap();
+            updates.put(netId, entityUpdates);
+        }
+        UpdateKey key = new UpdateKey(owner, ImmutableSet.copyOf(added), ImmutableSet.copyOf(changed), ImmutableSet.copyOf(removed));
+        entityUpdates.put(key, new CachedUpdate(entityData, serializationTime));
+    }
+
+    /**
+     * Drops the updates of an entity, as its state no longer matches them.
+     */
+    public void invalidate(int netId) {
+        updates.remove(netId);
+    }
+
+    public void clear() {
+        updates.clear();
+    }
+
+    public static final class CachedUpdate {
+        private final EntityData.PackedEntity entityData;
+        private final long serializationTime;
+
+        private CachedUpdate(EntityData.PackedEntity entityData, long serializationTime) {
+            this.entityData = entityData;
+            this.serializationTime = serializationTime;
+        }
+
+        public EntityData.PackedEntity getEntityData() {
+            return entityData;
+        }
+
+        /**
+         * @return The time in nanoseconds it took to serialize this update
+         */
+        public long getSerializationTime() {
+            return serializationTime;
+        }
+    }
+
+    private static final class UpdateKey {
+        private final boolean owner;
+        private final Set<Class<? extends Component>> added;
+        private final Set<Class<? extends Component>> changed;
+        private final Set<Class<? extends Component>> removed;
+
+        private UpdateKey(boolean owner, Set<Class<? extends Component>> added, Set<Class<? extends Component>> changed,
+                          Set<Class<? extends Component>> removed) {
+            this.owner = owner;
+            this.added = added;
+            this.changed = changed;
+            this.removed = removed;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (obj instanceof UpdateKey) {
+                UpdateKey other = (UpdateKey) obj;
+                return owner == other.owner && Objects.equal(added, other.added) && Objects.equal(changed, other.changed)
+                        && Objects.equal(removed, other.removed);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(owner, added, changed, removed);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import com.google.common.collect.Maps;
+import gnu.trove.iterator.TIntIterator;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.procedure.TIntProcedure;
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
+import org.terasology.math.Region3i;
+import org.terasology.math.geom.Vector3i;
+
+import java.util.Map;
+
+/**
+ * A spatial hash of network entities, keyed by the chunk they are in, used to find the entities within the area of
+ * interest of a client.
+ *
+ */
+class InterestGrid {
+
+    private TIntObjectMap<Vector3i> entityChunks = new TIntObjectHashMap<>();
+    private Map<Vector3i, TIntSet> chunkEntities = Maps.newHashMap();
+    private TIntSet movedEntities = new TIntHashSet();
+
+    /**
+     * Places an entity in a chunk, moving it there if it was in another one.
+     */
+    public void update(int netId, Vector3i chunkPos) {
+        Vector3i previous = entityChunks.get(netId);
+        if (previous != null) {
+            if (previous.equals(chunkPos)) {
+                return;
+            }
+            removeFromChunk(netId, previous);
+        }
+        Vector3i pos = new Vector3i(chunkPos);
+        entityChunks.put(netId, pos);
+        movedEntities.add(netId);
+        TIntSet entities = chunkEntities.get(pos);
+        if (entities == null) {
+            entities = new TIntHashSet();
+            chunkEntities.put(pos, entities);
+        }
+        entities.add(netId);
+    }
+
+    public void remove(int netId) {
+        Vector3i previous = entityChunks.remove(netId);
+        if (previous != null) {
+            removeFromChunk(netId, previous);
+        }
+        movedEntities.remove(netId);
+    }
+
+    /**
+     * Removes all entities which are not in the given set.
+     *
+     * @return The network ids of the removed entities
+     */
+    public TIntSet retainAll(TIntSet netIds) {
+        TIntSet removed = new TIntHashSet();
+        TIntIterator iterator = entityChunks.keySet().iterator();
+        while (iterator.hasNext()) {
+            int netId = iterator.next();
+            if (!netIds.contains(netId)) {
+                removed.add(netId);
+            }
+        }
+        removed.forEach(netId -> {
+            remove(netId);
+            return true;
+        });
+        return removed;
+    }
+
+    /**
+     * @return The chunk the entity is in, or null if it is not in the grid
+     */
+    public Vector3i getChunk(int netId) {
+        return entityChunks.get(netId);
+    }
+
+    public boolean contains(int netId) {
+        return entityChunks.containsKey(netId);
+    }
+
+    /**
+     * Calls the procedure for every entity in the given region of chunks.
+     */
+    public void forEachInRegion(Region3i region, TIntProcedure procedure) {
+        Vector3i size = region.size();
+        // Visit whichever is fewer, the chunks of the region or the occupied chunks
+        if ((long) size.x * size.y * size.z <= chunkEntities.size()) {
+            for (Vector3i pos : region) {
+                TIntSet entities = chunkEntities.get(pos);
+                if (entities != null) {
+                    entities.forEach(procedure);
+                }
+            }
+        } else {
+            for (Map.Entry<Vector3i, TIntSet> entry : chunkEntities.entrySet()) {
+                if (region.encompasses(entry.getKey())) {
+                    entry.getValue().forEach(procedure);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The entities which were added or changed chunk since the last call of {@link #clearMoved()}. Must not be
+     * modified.
+     */
+    public TIntSet getMovedEntities() {
+        return movedEntities;
+    }
+
+    public void clearMoved() {
+        movedEntities.clear();
+    }
+
+    public void clear() {
+        entityChunks.clear();
+        chunkEntities.clear();
+        movedEntities.clear();
+    }
+
+    private void removeFromChunk(int netId, Vector3i chunkPos) {
+        TIntSet entities = chunkEntities.get(chunkPos);
+        if (entities != null) {
+            entities.remove(netId);
+            if (entities.isEmpty()) {
+                chunkEntities.remove(chunkPos);
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import com.google.common.primitives.UnsignedBytes;
+import org.terasology.protobuf.EntityData;
+
+/**
+ * Quantizes the position and rotation of location components in entity updates to fixed point integers, which take
+ * less space than floats and stay the same while an entity moves by less than their precision.
+ * <p>
+ * Positions are stored in 1/256 of a block, rotations in 1/16384. Quantized values are sent as integers in place of the
+ * floats, so they can be recognized and converted back on the receiving side without any further information.
+ *
+ */
+public class LocationQuantization {
+    public static final float POSITION_SCALE = 256f;
+    public static final float ROTATION_SCALE = 16384f;
+
+    private final int componentId;
+    private final byte positionFieldId;
+    private final byte rotationFieldId;
+
+    /**
+     * @param componentId     The network id of the location component
+     * @param positionFieldId The field id of the position
+     * @param rotationFieldId The field id of the rotation
+     */
+    public LocationQuantization(int componentId, byte positionFieldId, byte rotationFieldId) {
+        this.componentId = componentId;
+        this.positionFieldId = positionFieldId;
+        this.rotationFieldId = rotationFieldId;
+    }
+
+    /**
+     * @return The update with its location position and rotation quantized, or the update itself if it has none.
+     */
+    public EntityData.PackedEntity quantize(EntityData.PackedEntity update) {
+        return convert(update, true);
+    }
+
+    /**
+     * @return The update with quantized location positions and rotations converted back to floats, or the update itself
+     * if it has none.
+     */
+    public EntityData.PackedEntity dequantize(EntityData.PackedEntity update) {
+        return convert(update, false);
+    }
+
+    private EntityData.PackedEntity convert(EntityData.PackedEntity update, boolean quantize) {
+        EntityData.PackedEntity.Builder result = null;
+        int fieldPos = 0;
+        for (int componentIndex = 0; componentIndex < update.getComponentIdCount(); ++componentIndex) {
+            int fieldCount = UnsignedBytes.toInt(update.getComponentFieldCounts().byteAt(componentIndex));
+            if (update.getComponentId(componentIndex) != componentId) {
+                fieldPos += fieldCount;
+                continue;
+            }
+            for (int i = 0; i < fieldCount; ++i, ++fieldPos) {
+                byte fieldId = update.getFieldIds().byteAt(fieldPos);
+                float scale;
+                if (fieldId == positionFieldId) {
+                    scale = POSITION_SCALE;
+                } else if (fieldId == rotationFieldId) {
+                    scale = ROTATION_SCALE;
+                } else {
+                    continue;
+                }
+                EntityData.Value value = update.getFieldValue(fieldPos);
+                EntityData.Value converted = quantize ? quantize(value, scale) : dequantize(value, scale);
+                if (converted != value) {
+                    if (result == null) {
+                        result = update.toBuilder();
+                    }
+                    result.setFieldValue(fieldPos, converted);
+                }
+            }
+        }
+        return (result != null) ? result.build() : update;
+    }
+
+    private static EntityData.Value quantize(EntityData.Value value, float scale) {
+        if (value.getFloatCount() == 0 || value.getIntegerCount() != 0) {
+            return value;
+        }
+        EntityData.Value.Builder result = EntityData.Value.newBuilder();
+        for (int i = 0; i < value.getFloatCount(); ++i) {
+            float scaled = value.getFloat(i) * scale;
+            // Rather keep the exact value than overflow far away from the origin
+            if (Math.abs(scaled) >= Integer.MAX_VALUE) {
+                return value;
+            }
+            result.addInteger(Math.round(scaled));
+        }
+        return result.build();
+    }
+
+    private static EntityData.Value dequantize(EntityData.Value value, float scale) {
+        if (value.getIntegerCount() == 0 || value.getFloatCount() != 0) {
+            return value;
+        }
+        EntityData.Value.Builder result = EntityData.Value.newBuilder();
+        for (int i = 0; i < value.getIntegerCount(); ++i) {
+            result.addFloat(value.getInteger(i) / scale);
+        }
+        return result.build();
+    }
+}
@@ -23,6 +23,7 @@
 import org.terasology.network.NetMetricSource;
 
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A generic Netty handler for recording metrics on sent and received bytes and messages.
@@ -36,6 +37,11 @@ public class MetricRecordingHandler extends SimpleChannelHandler implements NetM
     private AtomicInteger receivedBytes = new AtomicInteger();
     private AtomicInteger sentMessages = new AtomicInteger();
     private AtomicInteger sentBytes = new AtomicInteger();
+    private AtomicInteger sharedEntityUpdates = new AtomicInteger();
+    private AtomicLong serializationTimeSaved = new AtomicLong();
+    private AtomicInteger uncompressedBytes = new AtomicInteger();
+    private AtomicInteger uncompressedMessages = new AtomicInteger();
+    private AtomicLong compressionTime = new AtomicLong();
 
     @Override
     public void messageReceived(ChannelHandlerContext ctx, MessageEvent e) throws Exception {
@@ -72,4 +78,54 @@ public int getSentMessagesSinceLastCall() {
     public int getSentBytesSinceLastCall() {
         return sentBytes.getAndSet(0);
     }
+
+    /**
+     * Records an entity update that was taken from the updates already serialized for other clients.
+     *
+     * @param serializationTime The time in nanoseconds it took to serialize the update
+     */
+    public void recordSharedEntityUpdate(long serializationTime) {
+        sharedEntityUpdates.incrementAndGet();
+        serializationTimeSaved.addAndGet(serializationTime);
+    }
+
+    @Override
+    public int getSharedEntityUpdatesSinceLastCall() {
+        return sharedEntityUpdates.getAndSet(0);
+    }
+
+    @Override
+    public long getSerializationTimeSavedSinceLastCall() {
+        return serializationTimeSaved.getAndSet(0);
+    }
+
+    /**
+     * Records a message passing through frame compression.
+     *
+     * @param frameBytes      The size of the message before compression
+     * @param compressionTime The time in nanoseconds spent compressing it
+     * @param bypassed        Whether the message was sent without compression
+     */
+    public void recordFrameCompression(int frameBytes, long compressionTime, boolean bypassed) {
+        uncompressedBytes.addAndGet(frameBytes);
+        this.compressionTime.addAndGet(compressionTime);
+        if (bypassed) {
+            uncompressedMessages.incrementAndGet();
+        }
+    }
+
+    @Override
+    public int getUncompressedBytesSinceLastCall() {
+        return uncompressedBytes.getAndSet(0);
+    }
+
+    @Override
+    public int getUncompressedMessagesSinceLastCall() {
+        return uncompressedMessages.getAndSet(0);
+    }
+
+    @Override
+    public long getCompressionTimeSinceLastCall() {
+        return compressionTime.getAndSet(0);
+    }
 }
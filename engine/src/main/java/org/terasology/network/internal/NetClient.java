@@ -25,6 +25,7 @@
 import com.google.common.collect.Sets;
 
 import gnu.trove.iterator.TIntIterator;
+import gnu.trove.list.array.TIntArrayList;
 import gnu.trove.set.TIntSet;
 import gnu.trove.set.hash.TIntHashSet;
 
@@ -44,7 +45,12 @@
 import org.terasology.logic.common.DisplayNameComponent;
 import org.terasology.logic.location.LocationComponent;
 import org.terasology.math.ChunkMath;
+import org.terasology.math.Region3i;
+import org.terasology.math.geom.Vector3f;
 import org.terasology.math.geom.Vector3i;
+import org.terasology.monitoring.PerformanceMonitor;
+import org.terasology.monitoring.ThreadActivity;
+import org.terasology.monitoring.ThreadMonitor;
 import org.terasology.network.Client;
 import org.terasology.network.ClientComponent;
 import org.terasology.network.ColorComponent;
@@ -53,6 +59,8 @@
 import org.terasology.network.serialization.ServerComponentFieldCheck;
 import org.terasology.persistence.serializers.EventSerializer;
 import org.terasology.persistence.serializers.NetworkEntitySerializer;
+import org.terasology.persistence.serializers.PreparedEntityData;
+import org.terasology.persistence.serializers.PreparedFields;
 import org.terasology.persistence.typeHandling.DeserializationException;
 import org.terasology.persistence.typeHandling.SerializationException;
 import org.terasology.protobuf.EntityData;
@@ -60,6 +68,7 @@
 import org.terasology.registry.CoreRegistry;
 import org.terasology.rendering.nui.Color;
 import org.terasology.rendering.world.viewDistance.ViewDistance;
+import org.terasology.utilities.concurrency.ReprioritizableBlockingQueue;
 import org.terasology.world.WorldChangeListener;
 import org.terasology.world.WorldProvider;
 import org.terasology.world.biomes.Biome;
@@ -68,9 +77,11 @@
 import org.terasology.world.block.BlockComponent;
 import org.terasology.world.block.family.BlockFamily;
 import org.terasology.world.chunks.Chunk;
+import org.terasology.world.propagation.BlockChange;
 
 import java.math.RoundingMode;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -85,19 +96,33 @@
 public class NetClient extends AbstractClient implements WorldChangeListener {
     private static final Logger logger = LoggerFactory.getLogger(NetClient.class);
     private static final float NET_TICK_RATE = 0.05f;
+    // Entities further away than these chunk distances are updated every second and fourth network tick only
+    private static final int HALF_RATE_CHUNK_DISTANCE = 2;
+    private static final int QUARTER_RATE_CHUNK_DISTANCE = 4;
+    // How far entities have to move beyond the area of interest to be removed again
+    private static final Vector3i INTEREST_LEEWAY = Vector3i.one();
 
     private Time time;
     private NetworkSystemImpl networkSystem;
     private Channel channel;
-    private NetworkEntitySerializer entitySerializer;
-    private EventSerializer eventSerializer;
+    private volatile NetworkEntitySerializer entitySerializer;
+    private volatile EventSerializer eventSerializer;
     private EventLibrary eventLibrary;
-    private NetMetricSource metricSource;
+    private MetricRecordingHandler metricSource;
     private BiomeManager biomeManager;
 
     // Relevance
     private Set<Vector3i> relevantChunks = Sets.newHashSet();
     private TIntSet netRelevant = new TIntHashSet();
+    // The area of interest as of the last update, entities only have to be checked against it again if either moved
+    private Region3i interestRegion;
+    private Region3i interestLeaveRegion;
+    private TIntArrayList leavingNetIds = new TIntArrayList();
+
+    // Entities owned by the client, the only ones it may update. The network thread reads a copy made on change.
+    private TIntSet ownedNetIds = new TIntHashSet();
+    private TIntSet collectedOwnedNetIds = new TIntHashSet();
+    private volatile TIntSet preparableNetIds = new TIntHashSet();
 
     // Entity replication data
     private TIntSet netInitial = new TIntHashSet();
@@ -106,6 +131,8 @@ public class NetClient extends AbstractClient implements WorldChangeListener {
     private SetMultimap<Integer, Class<? extends Component>> dirtyComponents = LinkedHashMultimap.create();
     private SetMultimap<Integer, Class<? extends Component>> addedComponents = LinkedHashMultimap.create();
     private SetMultimap<Integer, Class<? extends Component>> removedComponents = LinkedHashMultimap.create();
+    private ReplicationBaseline replicationBaseline = new ReplicationBaseline();
+    private int netTickCount;
 
     private String preferredName = "Player";
     private long lastReceivedTime;
@@ -123,11 +150,15 @@ public class NetClient extends AbstractClient implements WorldChangeListener {
     private final List<BlockFamily> newlyRegisteredFamilies = Lists.newArrayList();
 
     private Map<Vector3i, Chunk> readyChunks = Maps.newLinkedHashMap();
+    private Vector3i chunkSendCenter = new Vector3i();
+    // May contain positions that are no longer in readyChunks, these are skipped when polled
+    private ReprioritizableBlockingQueue<Vector3i> readyChunkQueue = new ReprioritizableBlockingQueue<>(
+            (a, b) -> Integer.compare(a.distanceSquared(chunkSendCenter), b.distanceSquared(chunkSendCenter)));
     private Set<Vector3i> invalidatedChunks = Sets.newLinkedHashSet();
 
 
     // Incoming messages
-    private BlockingQueue<NetData.NetMessage> queuedIncomingMessage = Queues.newLinkedBlockingQueue();
+    private BlockingQueue<PreparedMessage> queuedIncomingMessage = Queues.newLinkedBlockingQueue();
 
     // Metrics
     private AtomicInteger receivedMessages = new AtomicInteger();
@@ -138,7 +169,7 @@ public class NetClient extends AbstractClient implements WorldChangeListener {
 
     public NetClient(Channel channel, NetworkSystemImpl networkSystem, PublicIdentityCertificate identity) {
         this.channel = channel;
-        metricSource = (NetMetricSource) channel.getPipeline().get(MetricRecordingHandler.NAME);
+        metricSource = (MetricRecordingHandler) channel.getPipeline().get(MetricRecordingHandler.NAME);
         this.networkSystem = networkSystem;
         this.time = CoreRegistry.get(Time.class);
         this.identity = identity;
@@ -216,6 +247,7 @@ public void disconnect() {
     @Override
     public void update(boolean netTick) {
         if (netTick) {
+            netTickCount++;
             NetData.NetMessage.Builder message = NetData.NetMessage.newBuilder();
             message.setTime(time.getGameTimeInMs());
             sendRegisteredBlocks(message);
@@ -249,26 +281,26 @@ private void sendNewChunks(NetData.NetMessage.Builder message) {
             chunkSendCounter += chunkSendRate * NET_TICK_RATE * networkSystem.getBandwidthPerClient();
             if (chunkSendCounter > 1.0f) {
                 chunkSendCounter -= 1.0f;
-                Vector3i center = new Vector3i();
                 LocationComponent loc = getEntity().getComponent(ClientComponent.class).character.getComponent(LocationComponent.class);
                 if (loc != null) {
-                    center.set(ChunkMath.calcChunkPos(new Vector3i(loc.getWorldPosition(), RoundingMode.HALF_UP)));
-                }
-                Vector3i pos = null;
-                int distance = Integer.MAX_VALUE;
-                for (Vector3i chunkPos : readyChunks.keySet()) {
-                    int chunkDistance = chunkPos.distanceSquared(center);
-                    if (pos == null || chunkDistance < distance) {
-                        pos = chunkPos;
-                        distance = chunkDistance;
+                    Vector3i center = ChunkMath.calcChunkPos(new Vector3i(loc.getWorldPosition(), RoundingMode.HALF_UP));
+                    if (!center.equals(chunkSendCenter)) {
+                        chunkSendCenter.set(center);
+                        readyChunkQueue.reprioritize();
                     }
                 }
+                Vector3i pos = readyChunkQueue.poll();
                 Chunk chunk = readyChunks.remove(pos);
+                while (chunk == null) {
+                    pos = readyChunkQueue.poll();
+                    chunk = readyChunks.remove(pos);
+                }
                 relevantChunks.add(pos);
-                message.addChunkInfo(chunk.encode());
+                message.addChunkInfo(networkSystem.getChunkPayloadCache().getPayload(chunk));
             }
         } else {
             chunkSendCounter = 1.0f;
+            readyChunkQueue.clear();
         }
     }
 
@@ -296,6 +328,7 @@ public void setNetRemoved(int netId) {
         removedComponents.keySet().remove(netId);
         netDirty.remove(netId);
         netRelevant.remove(netId);
+        replicationBaseline.remove(netId);
     }
 
     public void setComponentAdded(int networkId, Class<? extends Component> component) {
@@ -381,7 +414,9 @@ void send(NetData.NetMessage data) {
     @Override
     public void onChunkRelevant(Vector3i pos, Chunk chunk) {
         invalidatedChunks.remove(pos);
-        readyChunks.put(pos, chunk);
+        if (readyChunks.put(pos, chunk) == null) {
+            readyChunkQueue.add(pos);
+        }
     }
 
     @Override
@@ -401,6 +436,21 @@ public void onBlockChanged(Vector3i pos, Block newBlock, Block originalBlock) {
         }
     }
 
+    @Override
+    public void onBlocksChanged(Collection<BlockChange> changes) {
+        List<NetData.BlockChangeMessage> messages = Lists.newArrayListWithExpectedSize(changes.size());
+        for (BlockChange change : changes) {
+            Vector3i chunkPos = ChunkMath.calcChunkPos(change.getPosition());
+            if (relevantChunks.contains(chunkPos)) {
+                messages.add(NetData.BlockChangeMessage.newBuilder()
+                        .setPos(NetMessageUtil.convert(change.getPosition()))
+                        .setNewBlock(change.getTo().getId())
+                        .build());
+            }
+        }
+        queuedOutgoingBlockChanges.addAll(messages);
+    }
+
     @Override
     public void onBiomeChanged(Vector3i pos, Biome newBiome, Biome originalBiome) {
         Vector3i chunkPos = ChunkMath.calcChunkPos(pos);
@@ -413,15 +463,69 @@ public void onBiomeChanged(Vector3i pos, Biome newBiome, Biome originalBiome) {
     }
 
     private void processReceivedMessages() {
-        List<NetData.NetMessage> messages = Lists.newArrayListWithExpectedSize(queuedIncomingMessage.size());
+        List<PreparedMessage> messages = Lists.newArrayListWithExpectedSize(queuedIncomingMessage.size());
         queuedIncomingMessage.drainTo(messages);
-        for (NetData.NetMessage message : messages) {
+        PerformanceMonitor.startActivity("Apply received messages");
+        for (PreparedMessage queuedMessage : messages) {
+            PreparedMessage preparedMessage = queuedMessage.isPrepared() ? queuedMessage : prepare(queuedMessage.getMessage());
+            if (!preparedMessage.isPrepared()) {
+                logger.warn("Dropping message received from '{}' before connecting", getName());
+                continue;
+            }
+            NetData.NetMessage message = preparedMessage.getMessage();
             if (message.hasTime() && message.getTime() > lastReceivedTime) {
                 lastReceivedTime = message.getTime();
             }
-            processEntityUpdates(message);
-            processEvents(message);
+            processEntityUpdates(preparedMessage);
+            processEvents(preparedMessage);
+
+        }
+        PerformanceMonitor.endActivity();
+    }
+
+    /**
+     * Deserializes the entity updates and events of a message as far as possible without touching the entity system.
+     * Called on the network thread that received the message.
+     */
+    private PreparedMessage prepare(NetData.NetMessage message) {
+        NetworkEntitySerializer currentEntitySerializer = entitySerializer;
+        EventSerializer currentEventSerializer = eventSerializer;
+        if (currentEntitySerializer == null || currentEventSerializer == null) {
+            return new PreparedMessage(message);
+        }
+
+        // Updates of entities the client doesn't own are dropped on the main thread, so don't bother preparing them
+        TIntSet currentPreparableNetIds = preparableNetIds;
+        List<PreparedEntityData> entityUpdates = Lists.newArrayListWithCapacity(message.getUpdateEntityCount());
+        for (NetData.UpdateEntityMessage updateMessage : message.getUpdateEntityList()) {
+            PreparedEntityData entityUpdate = null;
+            if (currentPreparableNetIds.contains(updateMessage.getNetId())) {
+                entityUpdate = prepareEntityUpdate(currentEntitySerializer, updateMessage);
+            }
+            entityUpdates.add(entityUpdate);
+        }
+
+        List<PreparedFields<Event>> events = Lists.newArrayListWithCapacity(message.getEventCount());
+        for (NetData.EventMessage eventMessage : message.getEventList()) {
+            PreparedFields<Event> event = null;
+            try {
+                event = currentEventSerializer.prepare(eventMessage.getEvent());
+            } catch (DeserializationException e) {
+                logger.error("Failed to deserialize event", e);
+            } catch (RuntimeException e) {
+                logger.error("Error processing event", e);
+            }
+            events.add(event);
+        }
+        return new PreparedMessage(message, entityUpdates, events);
+    }
 
+    private PreparedEntityData prepareEntityUpdate(NetworkEntitySerializer serializer, NetData.UpdateEntityMessage updateMessage) {
+        try {
+            return serializer.prepare(updateMessage.getEntity(), new ServerComponentFieldCheck(false, true));
+        } catch (RuntimeException e) {
+            logger.error("Error processing entity update", e);
+            return null;
         }
     }
 
@@ -438,35 +542,216 @@ private void sendEvents(NetData.NetMessage.Builder message) {
         queuedOutgoingEvents.clear();
     }
 
-    private void processEntityUpdates(NetData.NetMessage message) {
-        for (NetData.UpdateEntityMessage updateMessage : message.getUpdateEntityList()) {
+    private void processEntityUpdates(PreparedMessage message) {
+        List<NetData.UpdateEntityMessage> updateMessages = message.getMessage().getUpdateEntityList();
+        for (int i = 0; i < updateMessages.size(); i++) {
 
+            NetData.UpdateEntityMessage updateMessage = updateMessages.get(i);
             EntityRef currentEntity = networkSystem.getEntity(updateMessage.getNetId());
             if (networkSystem.getOwner(currentEntity) == this) {
-                entitySerializer.deserializeOnto(currentEntity, updateMessage.getEntity(), new ServerComponentFieldCheck(false, true));
+                PreparedEntityData entityUpdate = message.getEntityUpdates().get(i);
+                if (entityUpdate == null) {
+                    // Not prepared, as the client only got the entity after the message arrived or preparing it failed
+                    entityUpdate = prepareEntityUpdate(entitySerializer, updateMessage);
+                }
+                if (entityUpdate != null) {
+                    entitySerializer.applyOnto(currentEntity, entityUpdate);
+                    replicationBaseline.invalidate(updateMessage.getNetId(), updateMessage.getEntity());
+                }
             }
         }
     }
 
     private void sendDirtyEntities(NetData.NetMessage.Builder message) {
+        EntityUpdateCache updateCache = networkSystem.getEntityUpdateCache();
+        boolean deltaReplication = networkSystem.isDeltaReplication();
+        InterestGrid interestGrid = networkSystem.isInterestManagement() ? networkSystem.getInterestGrid() : null;
+        Vector3i interestCenter = (interestGrid != null) ? getInterestCenter() : null;
         TIntIterator dirtyIterator = netDirty.iterator();
         while (dirtyIterator.hasNext()) {
             int netId = dirtyIterator.next();
+            if (interestCenter != null && !isUpdateDue(netId, interestGrid.getChunk(netId), interestCenter)) {
+                // Keep the changes for a later tick
+                continue;
+            }
+            dirtyIterator.remove();
             EntityRef entity = networkSystem.getEntity(netId);
             if (!entity.exists()) {
                 logger.error("Sending non-existent entity update for netId {}", netId);
             }
             boolean isOwner = networkSystem.getOwner(entity) == this;
-            EntityData.PackedEntity entityData = entitySerializer.serialize(entity, addedComponents.get(netId), dirtyComponents.get(netId), removedComponents.get(netId),
-                    new ServerComponentFieldCheck(isOwner, false));
+            Set<Class<? extends Component>> added = addedComponents.get(netId);
+            Set<Class<? extends Component>> changed = dirtyComponents.get(netId);
+            Set<Class<? extends Component>> removed = removedComponents.get(netId);
+            EntityData.PackedEntity entityData;
+            EntityUpdateCache.CachedUpdate cachedUpdate = updateCache.get(netId, isOwner, added, changed, removed);
+            if (cachedUpdate != null) {
+                entityData = cachedUpdate.getEntityData();
+                metricSource.recordSharedEntityUpdate(cachedUpdate.getSerializationTime());
+            } else {
+                long startTime = System.nanoTime();
+                entityData = entitySerializer.serialize(entity, added, changed, removed, new ServerComponentFieldCheck(isOwner, false));
+                LocationQuantization quantization = networkSystem.getLocationQuantization();
+                if (entityData != null && deltaReplication && quantization != null) {
+                    entityData = quantization.quantize(entityData);
+                }
+                updateCache.put(netId, isOwner, added, changed, removed, entityData, System.nanoTime() - startTime);
+            }
+            if (entityData != null && deltaReplication) {
+                entityData = replicationBaseline.filter(netId, isOwner, entityData);
+            }
             if (entityData != null) {
                 message.addUpdateEntity(NetData.UpdateEntityMessage.newBuilder().setEntity(entityData).setNetId(netId));
             }
+            addedComponents.removeAll(netId);
+            removedComponents.removeAll(netId);
+            dirtyComponents.removeAll(netId);
+        }
+    }
+
+    /**
+     * Spreads the updates of distant entities over several network ticks, staggered by their network id.
+     */
+    private boolean isUpdateDue(int netId, Vector3i chunkPos, Vector3i interestCenter) {
+        if (chunkPos == null) {
+            return true;
+        }
+        int distance = Math.max(Math.abs(chunkPos.x - interestCenter.x),
+                Math.max(Math.abs(chunkPos.y - interestCenter.y), Math.abs(chunkPos.z - interestCenter.z)));
+        int interval = 1;
+        if (distance > QUARTER_RATE_CHUNK_DISTANCE) {
+            interval = 4;
+        } else if (distance > HALF_RATE_CHUNK_DISTANCE) {
+            interval = 2;
+        }
+        return (netTickCount + netId) % interval == 0;
+    }
+
+    /**
+     * @return The chunk the character of the client is in, or null if it has none yet
+     */
+    private Vector3i getInterestCenter() {
+        ClientComponent clientComp = getEntity().getComponent(ClientComponent.class);
+        if (clientComp == null) {
+            return null;
+        }
+        LocationComponent loc = clientComp.character.getComponent(LocationComponent.class);
+        if (loc == null) {
+            return null;
+        }
+        Vector3f worldPos = loc.getWorldPosition();
+        if (!Float.isFinite(worldPos.x)) {
+            return null;
+        }
+        return ChunkMath.calcChunkPos(worldPos);
+    }
+
+    /**
+     * @return The region of chunks the client is interested in the entities of, or null if it has no character yet
+     */
+    private Region3i getInterestRegion() {
+        Vector3i center = getInterestCenter();
+        if (center == null) {
+            return null;
+        }
+        Vector3i chunkDistance = viewDistance.getChunkDistance();
+        return Region3i.createFromCenterExtents(center, new Vector3i(chunkDistance.x / 2, chunkDistance.y / 2, chunkDistance.z / 2));
+    }
+
+    /**
+     * @return Whether an entity in the given chunk is within the area of interest of the client
+     */
+    boolean isWithinInterest(Vector3i chunkPos) {
+        Region3i region = getInterestRegion();
+        return region != null && region.encompasses(chunkPos);
+    }
+
+    /**
+     * Starts replicating the entities which entered the area of interest of the client, and stops replicating the
+     * ones which left it. Entities have to move a chunk beyond the area before they are removed, so that entities
+     * moving along its border do not get removed and recreated over and over. Entities owned by the client are
+     * always replicated, wherever they are.
+     * <br><br>
+     * All replicated entities are only checked when the area moves, i.e. the character of the client entered another
+     * chunk. Otherwise only the entities which moved to another chunk since the last update are.
+     *
+     * @param interestGrid The location of the interest managed entities
+     */
+    void updateInterest(InterestGrid interestGrid) {
+        TIntIterator ownedIterator = ownedNetIds.iterator();
+        while (ownedIterator.hasNext()) {
+            ensureRelevant(ownedIterator.next());
+        }
+
+        Region3i region = getInterestRegion();
+        if (region == null) {
+            return;
+        }
+        if (!region.equals(interestRegion)) {
+            interestRegion = region;
+            interestLeaveRegion = region.expand(INTEREST_LEEWAY);
+            checkLeaving(netRelevant.iterator(), interestGrid);
+            checkLeaving(netInitial.iterator(), interestGrid);
+            removeLeaving();
+            interestGrid.forEachInRegion(region, netId -> {
+                ensureRelevant(netId);
+                return true;
+            });
+        } else {
+            TIntIterator movedIterator = interestGrid.getMovedEntities().iterator();
+            while (movedIterator.hasNext()) {
+                int netId = movedIterator.next();
+                if (netRelevant.contains(netId) || netInitial.contains(netId)) {
+                    checkLeaving(netId, interestGrid);
+                } else if (region.encompasses(interestGrid.getChunk(netId))) {
+                    setNetInitial(netId);
+                }
+            }
+            removeLeaving();
+        }
+    }
+
+    private void checkLeaving(TIntIterator netIds, InterestGrid interestGrid) {
+        while (netIds.hasNext()) {
+            checkLeaving(netIds.next(), interestGrid);
+        }
+    }
+
+    private void checkLeaving(int netId, InterestGrid interestGrid) {
+        Vector3i chunkPos = interestGrid.getChunk(netId);
+        if (chunkPos != null && !interestLeaveRegion.encompasses(chunkPos) && !ownedNetIds.contains(netId)) {
+            leavingNetIds.add(netId);
+        }
+    }
+
+    private void removeLeaving() {
+        for (int i = 0; i < leavingNetIds.size(); i++) {
+            setNetRemoved(leavingNetIds.get(i));
+        }
+        leavingNetIds.resetQuick();
+    }
+
+    /**
+     * Gathers the entities owned by the client, should be called once per network tick before anything else.
+     */
+    void updateOwnedEntities() {
+        collectedOwnedNetIds.clear();
+        networkSystem.collectOwnedNetIds(getEntity(), collectedOwnedNetIds);
+        if (!collectedOwnedNetIds.equals(ownedNetIds)) {
+            TIntSet previous = ownedNetIds;
+            ownedNetIds = collectedOwnedNetIds;
+            collectedOwnedNetIds = previous;
+            preparableNetIds = new TIntHashSet(ownedNetIds);
+        }
+    }
+
+    /**
+     * Starts replicating an entity unless it is already replicated to this client.
+     */
+    void ensureRelevant(int netId) {
+        if (!netRelevant.contains(netId) && !netInitial.contains(netId)) {
+            setNetInitial(netId);
         }
-        netDirty.clear();
-        addedComponents.clear();
-        removedComponents.clear();
-        dirtyComponents.clear();
     }
 
     private void sendRemovedEntities(NetData.NetMessage.Builder message) {
@@ -483,6 +768,7 @@ private void sendInitialEntities(NetData.NetMessage.Builder message) {
         Arrays.sort(initial);
         for (int netId : initial) {
             netRelevant.add(netId);
+            replicationBaseline.remove(netId);
             EntityRef entity = networkSystem.getEntity(netId);
             if (!entity.hasComponent(NetworkComponent.class)) {
                 logger.error("Sending net entity with no network component: {} - {}", netId, entity);
@@ -501,22 +787,32 @@ private void sendInitialEntities(NetData.NetMessage.Builder message) {
 
     }
 
-    private void processEvents(NetData.NetMessage message) {
-        boolean lagCompensated = false;
+    private void processEvents(PreparedMessage message) {
+        float lagCompensationRange = 0;
         PredictionSystem predictionSystem = CoreRegistry.get(PredictionSystem.class);
-        for (NetData.EventMessage eventMessage : message.getEventList()) {
+        List<NetData.EventMessage> eventMessages = message.getMessage().getEventList();
+        for (int i = 0; i < eventMessages.size(); i++) {
+            NetData.EventMessage eventMessage = eventMessages.get(i);
+            PreparedFields<Event> preparedEvent = message.getEvents().get(i);
+            if (preparedEvent == null) {
+                continue;
+            }
             try {
-                Event event = eventSerializer.deserialize(eventMessage.getEvent());
+                Event event = eventSerializer.deserialize(preparedEvent);
                 EventMetadata<?> metadata = eventLibrary.getMetadata(event.getClass());
                 if (metadata.getNetworkEventType() != NetworkEventType.SERVER) {
                     logger.warn("Received non-server event '{}' from client '{}'", metadata, getName());
                     continue;
                 }
-                if (!lagCompensated && metadata.isLagCompensated()) {
+                if (metadata.isLagCompensated() && metadata.getLagCompensationRange() > lagCompensationRange) {
+                    // Rewind again if this event reaches further than the ones before it
                     if (predictionSystem != null) {
-                        predictionSystem.lagCompensate(getEntity(), lastReceivedTime);
+                        if (lagCompensationRange > 0) {
+                            predictionSystem.restoreToPresent();
+                        }
+                        predictionSystem.lagCompensate(getEntity(), lastReceivedTime, metadata.getLagCompensationRange());
                     }
-                    lagCompensated = true;
+                    lagCompensationRange = metadata.getLagCompensationRange();
                 }
                 EntityRef target = EntityRef.NULL;
                 if (eventMessage.hasTargetId()) {
@@ -535,7 +831,7 @@ private void processEvents(NetData.NetMessage message) {
                 logger.error("Error processing event", e);
             }
         }
-        if (lagCompensated && predictionSystem != null) {
+        if (lagCompensationRange > 0 && predictionSystem != null) {
             predictionSystem.restoreToPresent();
         }
     }
@@ -544,7 +840,9 @@ public void messageReceived(NetData.NetMessage message) {
         int serializedSize = message.getSerializedSize();
         receivedBytes.addAndGet(serializedSize);
         receivedMessages.incrementAndGet();
-        queuedIncomingMessage.offer(message);
+        try (ThreadActivity ignored = ThreadMonitor.startThreadActivity("Prepare received messages")) {
+            queuedIncomingMessage.offer(prepare(message));
+        }
     }
 
     public NetMetricSource getMetrics() {
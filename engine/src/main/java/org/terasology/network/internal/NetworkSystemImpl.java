@@ -26,6 +26,8 @@
 import com.google.protobuf.ByteString;
 import gnu.trove.map.TIntLongMap;
 import gnu.trove.map.hash.TIntLongHashMap;
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
 import org.jboss.netty.bootstrap.ClientBootstrap;
 import org.jboss.netty.bootstrap.ServerBootstrap;
 import org.jboss.netty.channel.Channel;
@@ -57,6 +59,10 @@
 import org.terasology.entitySystem.metadata.ComponentMetadata;
 import org.terasology.entitySystem.metadata.EventLibrary;
 import org.terasology.entitySystem.metadata.EventMetadata;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.ChunkMath;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.math.geom.Vector3i;
 import org.terasology.module.Module;
 import org.terasology.monitoring.PerformanceMonitor;
 import org.terasology.network.Client;
@@ -132,6 +138,11 @@ public class NetworkSystemImpl implements EntityChangeSubscriber, NetworkSystem
 
     private ChannelFactory factory;
     private TIntLongMap netIdToEntityId = new TIntLongHashMap();
+    private EntityUpdateCache entityUpdateCache = new EntityUpdateCache();
+    private ChunkPayloadCache chunkPayloadCache = new ChunkPayloadCache();
+    private LocationQuantization locationQuantization;
+    private InterestGrid interestGrid = new InterestGrid();
+    private TIntSet trackedNetIds = new TIntHashSet();
 
     private Time time;
     private long nextNetworkTick;
@@ -171,6 +182,10 @@ public void host(int port, boolean dedicatedServer) throws HostingFailedExceptio
                     registerNetworkEntity(entity);
                 }
                 generateSerializationTables();
+                WorldProvider worldProvider = CoreRegistry.get(WorldProvider.class);
+                if (worldProvider != null) {
+                    worldProvider.registerListener(chunkPayloadCache);
+                }
 
                 factory = new NioServerSocketChannelFactory(Executors.newCachedThreadPool(), Executors.newCachedThreadPool());
                 ServerBootstrap bootstrap = new ServerBootstrap(factory);
@@ -257,6 +272,12 @@ public void shutdown() {
         server = null;
         nextNetId = 1;
         netIdToEntityId.clear();
+        WorldProvider worldProvider = CoreRegistry.get(WorldProvider.class);
+        if (worldProvider != null) {
+            worldProvider.unregisterListener(chunkPayloadCache);
+        }
+        chunkPayloadCache.clear();
+        entityUpdateCache.clear();
         if (mode != NetworkMode.CLIENT) {
             if (this.entityManager != null) {
                 for (EntityRef entity : entityManager.getEntitiesWith(NetworkComponent.class)) {
@@ -279,6 +300,7 @@ public void shutdown() {
         biomeManager = null;
         ownerLookup.clear();
         ownedLookup.clear();
+        interestGrid.clear();
         ownershipHelper = null;
         storageManager = null;
         logger.info("Network shutdown");
@@ -304,6 +326,16 @@ public void update() {
                 if (currentTimer > nextNetworkTick) {
                     nextNetworkTick += NET_TICK_RATE;
                     netTick = true;
+                    entityUpdateCache.clear();
+                    chunkPayloadCache.removeDisposedChunks();
+                    if (mode.isServer()) {
+                        for (NetClient client : netClientList) {
+                            client.updateOwnedEntities();
+                        }
+                        if (isInterestManagement()) {
+                            updateInterest();
+                        }
+                    }
                 }
                 PerformanceMonitor.startActivity("Client update");
                 for (Client client : clientList) {
@@ -317,6 +349,60 @@ public void update() {
         }
     }
 
+    /**
+     * Moves the interest managed entities to their current chunks, and updates which of them each client is
+     * replicated.
+     */
+    private void updateInterest() {
+        PerformanceMonitor.startActivity("Update interest");
+        TIntSet tracked = trackedNetIds;
+        tracked.clear();
+        for (EntityRef entity : entityManager.getEntitiesWith(NetworkComponent.class, LocationComponent.class)) {
+            NetworkComponent netComp = entity.getComponent(NetworkComponent.class);
+            Vector3i chunkPos = getInterestChunk(entity, netComp);
+            if (chunkPos != null) {
+                interestGrid.update(netComp.getNetworkId(), chunkPos);
+                tracked.add(netComp.getNetworkId());
+            }
+        }
+
+        // Entities which are no longer interest managed, e.g. because they lost their location, are relevant to all
+        TIntSet untracked = interestGrid.retainAll(tracked);
+        untracked.forEach(netId -> {
+            NetworkComponent netComp = getEntity(netId).getComponent(NetworkComponent.class);
+            if (netComp != null && netComp.replicateMode != NetworkComponent.ReplicateMode.OWNER) {
+                netClientList.forEach(client -> client.ensureRelevant(netId));
+            }
+            return true;
+        });
+
+        for (NetClient client : netClientList) {
+            client.updateInterest(interestGrid);
+        }
+        interestGrid.clearMoved();
+        PerformanceMonitor.endActivity();
+    }
+
+    /**
+     * @return The chunk of an entity that is only replicated to the clients near it, or null if it is replicated
+     * regardless of its location
+     */
+    private Vector3i getInterestChunk(EntityRef entity, NetworkComponent netComp) {
+        if (!isInterestManagement() || netComp.replicateMode != NetworkComponent.ReplicateMode.RELEVANT
+                || netComp.getNetworkId() == NULL_NET_ID) {
+            return null;
+        }
+        LocationComponent location = entity.getComponent(LocationComponent.class);
+        if (location == null) {
+            return null;
+        }
+        Vector3f worldPos = location.getWorldPosition();
+        if (!Float.isFinite(worldPos.x) || !Float.isFinite(worldPos.y) || !Float.isFinite(worldPos.z)) {
+            return null;
+        }
+        return ChunkMath.calcChunkPos(worldPos);
+    }
+
     private void processPendingDisconnects() {
         if (!disconnectedClients.isEmpty()) {
             List<NetClient> removedPlayers = Lists.newArrayListWithExpectedSize(disconnectedClients.size());
@@ -354,6 +440,28 @@ public Client getOwner(EntityRef entity) {
         return clientPlayerLookup.get(owner);
     }
 
+    /**
+     * Adds the network ids of an entity and of all entities it owns, directly or through other owned entities.
+     *
+     * @param owner The owning entity
+     * @param out   The set to add the network ids to
+     */
+    void collectOwnedNetIds(EntityRef owner, TIntSet out) {
+        collectOwnedNetIds(owner, out, 0);
+    }
+
+    private void collectOwnedNetIds(EntityRef owner, TIntSet out, int depth) {
+        NetworkComponent netComp = owner.getComponent(NetworkComponent.class);
+        if (netComp != null && netComp.getNetworkId() != NULL_NET_ID) {
+            out.add(netComp.getNetworkId());
+        }
+        if (depth < OWNER_DEPTH_LIMIT) {
+            for (EntityRef owned : ownedLookup.get(owner)) {
+                collectOwnedNetIds(owned, out, depth + 1);
+            }
+        }
+    }
+
     NetClient getNetOwner(EntityRef entity) {
         Client owner = getOwner(entity);
         if (owner instanceof NetClient) {
@@ -417,9 +525,14 @@ public void registerNetworkEntity(EntityRef entity) {
                     }
                     break;
                 default:
+                    Vector3i interestChunk = getInterestChunk(entity, netComponent);
+                    if (interestChunk != null) {
+                        interestGrid.update(netComponent.getNetworkId(), interestChunk);
+                    }
                     for (NetClient client : netClientList) {
-                        // TODO: Relevance Check
-                        client.setNetInitial(netComponent.getNetworkId());
+                        if (interestChunk == null || client.isWithinInterest(interestChunk)) {
+                            client.setNetInitial(netComponent.getNetworkId());
+                        }
                     }
                     break;
             }
@@ -502,6 +615,7 @@ public void unregisterNetworkEntity(EntityRef entity) {
             if (netComponent != null) {
                 logger.debug("Unregistering network entity: {} with netId {}", entity, netComponent.getNetworkId());
                 netIdToEntityId.remove(netComponent.getNetworkId());
+                interestGrid.remove(netComponent.getNetworkId());
                 if (mode.isServer()) {
                     for (NetClient client : netClientList) {
                         client.setNetRemoved(netComponent.getNetworkId());
@@ -555,6 +669,7 @@ public void onEntityComponentAdded(EntityRef entity, Class<? extends Component>
         if (netComp != null && netComp.getNetworkId() != NULL_NET_ID) {
             if (mode.isServer()) {
                 if (metadata.isReplicated()) {
+                    entityUpdateCache.invalidate(netComp.getNetworkId());
                     for (NetClient client : netClientList) {
                         logger.info("Component {} added to {}", component, entity);
                         client.setComponentAdded(netComp.getNetworkId(), component);
@@ -572,6 +687,7 @@ public void onEntityComponentRemoved(EntityRef entity, Class<? extends Component
         if (netComp != null && netComp.getNetworkId() != NULL_NET_ID) {
             if (mode.isServer()) {
                 if (metadata.isReplicated()) {
+                    entityUpdateCache.invalidate(netComp.getNetworkId());
                     for (NetClient client : netClientList) {
                         logger.info("Component {} removed from {}", component, entity);
                         client.setComponentRemoved(netComp.getNetworkId(), component);
@@ -603,6 +719,7 @@ public void onEntityComponentChange(EntityRef entity, Class<? extends Component>
                 case LISTEN_SERVER:
                 case DEDICATED_SERVER:
                     if (metadata.isReplicated()) {
+                        entityUpdateCache.invalidate(netComp.getNetworkId());
                         for (NetClient client : netClientList) {
                             client.setComponentDirty(netComp.getNetworkId(), component);
                         }
@@ -717,6 +834,133 @@ public int getOutgoingBytesDelta() {
         }
     }
 
+    @Override
+    public int getSharedEntityUpdatesDelta() {
+        switch (mode) {
+            case LISTEN_SERVER:
+            case DEDICATED_SERVER:
+                int total = 0;
+                for (NetClient client : netClientList) {
+                    total += client.getMetrics().getSharedEntityUpdatesSinceLastCall();
+                }
+                return total;
+            case CLIENT:
+                if (server != null) {
+                    return server.getMetrics().getSharedEntityUpdatesSinceLastCall();
+                }
+                return 0;
+            default:
+                return 0;
+        }
+    }
+
+    @Override
+    public long getSerializationTimeSavedDelta() {
+        switch (mode) {
+            case LISTEN_SERVER:
+            case DEDICATED_SERVER:
+                long total = 0;
+                for (NetClient client : netClientList) {
+                    total += client.getMetrics().getSerializationTimeSavedSinceLastCall();
+                }
+                return total;
+            case CLIENT:
+                if (server != null) {
+                    return server.getMetrics().getSerializationTimeSavedSinceLastCall();
+                }
+                return 0;
+            default:
+                return 0;
+        }
+    }
+
+    @Override
+    public int getUncompressedBytesDelta() {
+        switch (mode) {
+            case LISTEN_SERVER:
+            case DEDICATED_SERVER:
+                int total = 0;
+                for (NetClient client : netClientList) {
+                    total += client.getMetrics().getUncompressedBytesSinceLastCall();
+                }
+                return total;
+            case CLIENT:
+                if (server != null) {
+                    return server.getMetrics().getUncompressedBytesSinceLastCall();
+                }
+                return 0;
+            default:
+                return 0;
+        }
+    }
+
+    @Override
+    public int getUncompressedMessagesDelta() {
+        switch (mode) {
+            case LISTEN_SERVER:
+            case DEDICATED_SERVER:
+                int total = 0;
+                for (NetClient client : netClientList) {
+                    total += client.getMetrics().getUncompressedMessagesSinceLastCall();
+                }
+                return total;
+            case CLIENT:
+                if (server != null) {
+                    return server.getMetrics().getUncompressedMessagesSinceLastCall();
+                }
+                return 0;
+            default:
+                return 0;
+        }
+    }
+
+    @Override
+    public long getCompressionTimeDelta() {
+        switch (mode) {
+            case LISTEN_SERVER:
+            case DEDICATED_SERVER:
+                long total = 0;
+                for (NetClient client : netClientList) {
+                    total += client.getMetrics().getCompressionTimeSinceLastCall();
+                }
+                return total;
+            case CLIENT:
+                if (server != null) {
+                    return server.getMetrics().getCompressionTimeSinceLastCall();
+                }
+                return 0;
+            default:
+                return 0;
+        }
+    }
+
+    boolean isInterestManagement() {
+        return config.isInterestManagement();
+    }
+
+    InterestGrid getInterestGrid() {
+        return interestGrid;
+    }
+
+    boolean isDeltaReplication() {
+        return config.isDeltaReplication();
+    }
+
+    /**
+     * @return The quantization of location components for the current serialization tables, or null if there are none
+     */
+    LocationQuantization getLocationQuantization() {
+        return locationQuantization;
+    }
+
+    EntityUpdateCache getEntityUpdateCache() {
+        return entityUpdateCache;
+    }
+
+    ChunkPayloadCache getChunkPayloadCache() {
+        return chunkPayloadCache;
+    }
+
     long getEntityId(int netId) {
         return netIdToEntityId.get(netId);
     }
@@ -800,8 +1044,10 @@ private void processNewClient(NetClient client) {
                         }
                         break;
                     default:
-                        // TODO: Relevance Check
-                        client.setNetInitial(netComp.getNetworkId());
+                        // Nearby interest managed entities are added once the client has a character
+                        if (getInterestChunk(netEntity, netComp) == null) {
+                            client.setNetInitial(netComp.getNetworkId());
+                        }
                         break;
                 }
             }
@@ -899,6 +1145,7 @@ void setServer(ServerImpl server) {
     private void generateSerializationTables() {
         entitySerializer.setIdMapping(generateIds(componentLibrary));
         eventSerializer.setIdMapping(generateIds(eventLibrary));
+        locationQuantization = createLocationQuantization();
     }
 
     private <T> Map<Class<? extends T>, Integer> generateIds(ClassLibrary<T> classLibrary) {
@@ -924,6 +1171,16 @@ private void applySerializationTables() {
         NetData.ServerInfoMessage serverInfo = server.getRawInfo();
         entitySerializer.setIdMapping(applySerializationInfo(serverInfo.getComponentList(), componentLibrary));
         eventSerializer.setIdMapping(applySerializationInfo(serverInfo.getEventList(), eventLibrary));
+        locationQuantization = createLocationQuantization();
+    }
+
+    private LocationQuantization createLocationQuantization() {
+        Integer componentId = entitySerializer.getIdMapping().get(LocationComponent.class);
+        ComponentMetadata<LocationComponent> metadata = componentLibrary.getMetadata(LocationComponent.class);
+        if (componentId == null || metadata == null) {
+            return null;
+        }
+        return new LocationQuantization(componentId, metadata.getField("position").getId(), metadata.getField("rotation").getId());
     }
 
     private <T> Map<Class<? extends T>, Integer> applySerializationInfo(List<NetData.SerializationInfo> infoList, ClassLibrary<T> classLibrary) {
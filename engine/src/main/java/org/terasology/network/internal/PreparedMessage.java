@@ -0,0 +1,72 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import org.terasology.entitySystem.event.Event;
+import org.terasology.persistence.serializers.PreparedEntityData;
+import org.terasology.persistence.serializers.PreparedFields;
+import org.terasology.protobuf.NetData;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A message received from a client, with its entity updates and events deserialized on the network thread that received
+ * it, so that only applying them to entities is left to the main thread.
+ */
+final class PreparedMessage {
+
+    private final NetData.NetMessage message;
+    private final List<PreparedEntityData> entityUpdates;
+    private final List<PreparedFields<Event>> events;
+
+    /**
+     * Creates a message that could not be prepared, as it arrived before the client was connected to the entity system
+     */
+    PreparedMessage(NetData.NetMessage message) {
+        this.message = message;
+        this.entityUpdates = null;
+        this.events = null;
+    }
+
+    /**
+     * @param message       The received message
+     * @param entityUpdates The prepared entity updates, in the order of the message, with null for those that were not
+     *                      prepared because the entity is not owned by the client or failed to deserialize
+     * @param events        The prepared events, in the order of the message, with null for those that failed to deserialize
+     */
+    PreparedMessage(NetData.NetMessage message, List<PreparedEntityData> entityUpdates, List<PreparedFields<Event>> events) {
+        this.message = message;
+        this.entityUpdates = Collections.unmodifiableList(entityUpdates);
+        this.events = Collections.unmodifiableList(events);
+    }
+
+    NetData.NetMessage getMessage() {
+        return message;
+    }
+
+    boolean isPrepared() {
+        return entityUpdates != null;
+    }
+
+    List<PreparedEntityData> getEntityUpdates() {
+        return entityUpdates;
+    }
+
+    List<PreparedFields<Event>> getEvents() {
+        return events;
+    }
+}
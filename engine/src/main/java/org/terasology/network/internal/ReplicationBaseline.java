@@ -0,0 +1,144 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import com.google.common.primitives.UnsignedBytes;
+import com.google.protobuf.ByteString;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import org.terasology.protobuf.EntityData;
+
+/**
+ * Remembers the field values last sent to a client, so that entity updates only need to contain the fields which
+ * changed since.
+ * <p>
+ * Updates are sent over a reliable, ordered connection, so a value that has been sent is the value the client ends up
+ * with. A component that is not in the baseline yet, because it was just added or was last sent as part of the initial
+ * entity, is sent with all its fields. The baseline of an entity is dropped when its ownership changes, as the owner
+ * does not receive all fields. Fields written by the owning client are invalidated, as the client's value can differ
+ * from the one last sent.
+ *
+ */
+public class ReplicationBaseline {
+
+    private TIntObjectMap<EntityBaseline> entities = new TIntObjectHashMap<>();
+
+    /**
+     * Removes all fields from an update that the client already has, and records the remaining ones as sent.
+     *
+     * @param netId   The network id of the updated entity
+     * @param owner   Whether the client owns the entity
+     * @param update  The update serialized for the client
+     * @return The reduced update, or null if nothing is left to send
+     */
+    public EntityData.PackedEntity filter(int netId, boolean owner, EntityData.PackedEntity update) {
+        EntityBaseline baseline = entities.get(netId);
+        if (baseline == null || baseline.owner != owner) {
+            baseline = new EntityBaseline(owner);
+            entities.put(netId, baseline);
+        }
+
+        EntityData.PackedEntity.Builder result = EntityData.PackedEntity.newBuilder();
+        ByteString.Output fieldIds = ByteString.newOutput();
+        ByteString.Output componentFieldCounts = ByteString.newOutput();
+        int fieldPos = 0;
+        for (int componentIndex = 0; componentIndex < update.getComponentIdCount(); ++componentIndex) {
+            int componentId = update.getComponentId(componentIndex);
+            int fieldCount = UnsignedBytes.toInt(update.getComponentFieldCounts().byteAt(componentIndex));
+            TIntObjectMap<EntityData.Value> sentFields = baseline.components.get(componentId);
+            boolean newComponent = sentFields == null;
+            if (newComponent) {
+                sentFields = new TIntObjectHashMap<>();
+                baseline.components.put(componentId, sentFields);
+            }
+
+            int sentCount = 0;
+            for (int i = 0; i < fieldCount; ++i, ++fieldPos) {
+                byte fieldId = update.getFieldIds().byteAt(fieldPos);
+                EntityData.Value value = update.getFieldValue(fieldPos);
+                if (newComponent || !value.equals(sentFields.get(fieldId))) {
+                    sentFields.put(fieldId, value);
+                    fieldIds.write(fieldId);
+                    result.addFieldValue(value);
+                    sentCount++;
+                }
+            }
+            // New components have to be sent even without fields, so the client adds them
+            if (newComponent || sentCount > 0) {
+                result.addComponentId(componentId);
+                componentFieldCounts.write(sentCount);
+            }
+        }
+
+        for (int componentId : update.getRemovedComponentList()) {
+            baseline.components.remove(componentId);
+            result.addRemovedComponent(componentId);
+        }
+
+        if (result.getComponentIdCount() == 0 && result.getRemovedComponentCount() == 0) {
+            return null;
+        }
+        result.setFieldIds(fieldIds.toByteString());
+        result.setComponentFieldCounts(componentFieldCounts.toByteString());
+        return result.build();
+    }
+
+    /**
+     * Forgets the fields of an update received from the client, so that the next values sent for them are sent in full.
+     *
+     * @param netId  The network id of the updated entity
+     * @param update The update received from the client
+     */
+    public void invalidate(int netId, EntityData.PackedEntity update) {
+        EntityBaseline baseline = entities.get(netId);
+        if (baseline == null) {
+            return;
+        }
+        int fieldPos = 0;
+        for (int componentIndex = 0; componentIndex < update.getComponentIdCount(); ++componentIndex) {
+            int fieldCount = UnsignedBytes.toInt(update.getComponentFieldCounts().byteAt(componentIndex));
+            TIntObjectMap<EntityData.Value> sentFields = baseline.components.get(update.getComponentId(componentIndex));
+            for (int i = 0; i < fieldCount; ++i, ++fieldPos) {
+                if (sentFields != null) {
+                    sentFields.remove(update.getFieldIds().byteAt(fieldPos));
+                }
+            }
+        }
+        for (int componentId : update.getRemovedComponentList()) {
+            baseline.components.remove(componentId);
+        }
+    }
+
+    /**
+     * Drops the baseline of an entity, so its next update is sent in full.
+     */
+    public void remove(int netId) {
+        entities.remove(netId);
+    }
+
+    public void clear() {
+        entities.clear();
+    }
+
+    private static final class EntityBaseline {
+        private final boolean owner;
+        private final TIntObjectMap<TIntObjectMap<EntityData.Value>> components = new TIntObjectHashMap<>();
+
+        private EntityBaseline(boolean owner) {
+            this.owner = owner;
+        }
+    }
+}
@@ -29,6 +29,8 @@
 import org.terasology.identity.CertificatePair;
 import org.terasology.identity.IdentityConstants;
 import org.terasology.identity.PublicIdentityCertificate;
+import org.terasology.network.FrameCompression;
+import org.terasology.network.internal.compression.FrameCompressionNegotiation;
 import org.terasology.protobuf.NetData;
 
 import javax.crypto.BadPaddingException;
@@ -50,6 +52,7 @@ public class ServerHandshakeHandler extends SimpleChannelUpstreamHandler {
     private ServerConnectionHandler serverConnectionHandler;
     private byte[] serverRandom = new byte[IdentityConstants.SERVER_CLIENT_RANDOM_LENGTH];
     private NetData.HandshakeHello serverHello;
+    private FrameCompression frameCompression = FrameCompression.ZLIB;
 
     @Override
     public void channelOpen(ChannelHandlerContext ctx, ChannelStateEvent e) throws Exception {
@@ -78,6 +81,7 @@ public void channelConnected(ChannelHandlerContext ctx, ChannelStateEvent e) thr
     @Override
     public void messageReceived(ChannelHandlerContext ctx, MessageEvent e) {
         NetData.NetMessage message = (NetData.NetMessage) e.getMessage();
+        frameCompression = FrameCompressionNegotiation.select(config.getNetwork().getFrameCompression(), message);
         if (message.hasNewIdentityRequest()) {
             processNewIdentityRequest(message.getNewIdentityRequest(), ctx);
         } else if (message.hasHandshakeHello() && message.hasHandshakeVerification()) {
@@ -105,9 +109,10 @@ private void processClientHandshake(NetData.HandshakeHello clientHello, NetData.
 
         logger.info("Sending server verification");
         byte[] serverSignature = config.getSecurity().getServerPrivateCertificate().sign(signatureData);
-        ctx.getChannel().write(NetData.NetMessage.newBuilder()
+        ctx.getChannel().write(FrameCompressionNegotiation.announce(NetData.NetMessage.newBuilder(), frameCompression)
                 .setHandshakeVerification(NetData.HandshakeVerification.newBuilder()
                         .setSignature(ByteString.copyFrom(serverSignature))).build());
+        FrameCompressionNegotiation.installEncoder(ctx.getPipeline(), frameCompression);
 
         // Identity has been established, inform the server handler and withdraw from the pipeline
         ctx.getPipeline().remove(this);
@@ -140,10 +145,11 @@ private void processNewIdentityRequest(NetData.NewIdentityRequest newIdentityReq
                 return;
             }
 
-            ctx.getChannel().write(NetData.NetMessage.newBuilder()
+            ctx.getChannel().write(FrameCompressionNegotiation.announce(NetData.NetMessage.newBuilder(), frameCompression)
                     .setProvisionIdentity(NetData.ProvisionIdentity.newBuilder()
                             .setEncryptedCertificates(ByteString.copyFrom(encryptedCert)))
                     .build());
+            FrameCompressionNegotiation.installEncoder(ctx.getPipeline(), frameCompression);
 
             // Identity has been established, inform the server handler and withdraw from the pipeline
             ctx.getPipeline().remove(this);
@@ -372,7 +372,12 @@ private void updateEntity(NetData.UpdateEntityMessage updateEntity) {
                 logger.error("Network ID wrong before update");
             }
             boolean blockEntityBefore = currentEntity.hasComponent(BlockComponent.class);
-            entitySerializer.deserializeOnto(currentEntity, updateEntity.getEntity());
+            EntityData.PackedEntity entityData = updateEntity.getEntity();
+            LocationQuantization quantization = networkSystem.getLocationQuantization();
+            if (quantization != null) {
+                entityData = quantization.dequantize(entityData);
+            }
+            entitySerializer.deserializeOnto(currentEntity, entityData);
             BlockComponent blockComponent = currentEntity.getComponent(BlockComponent.class);
             if (blockComponent != null && !blockEntityBefore) {
                 if (!blockEntityRegistry.getExistingBlockEntityAt(blockComponent.getPosition()).equals(currentEntity)) {
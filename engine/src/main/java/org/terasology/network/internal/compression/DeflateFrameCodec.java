@@ -0,0 +1,109 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal.compression;
+
+import java.util.Arrays;
+import java.util.zip.Adler32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compresses each frame as a raw deflate stream of its own, primed with a preset dictionary so that even small frames
+ * find matches. Deflaters and inflaters are kept per thread instead of per connection, so the memory they take does not
+ * grow with the number of players.
+ */
+public class DeflateFrameCodec implements FrameCodec {
+
+    private static final String ID_PREFIX = "zlib-dict-";
+
+    private final byte[] dictionary;
+    private final int level;
+    private final String id;
+
+    private final ThreadLocal<Deflater> deflater = new ThreadLocal<Deflater>() {
+        @Override
+        protected Deflater initialValue() {
+            return new Deflater(level, true);
+        }
+    };
+
+    private final ThreadLocal<Inflater> inflater = new ThreadLocal<Inflater>() {
+        @Override
+        protected Inflater initialValue() {
+            return new Inflater(true);
+        }
+    };
+
+    /**
+     * @param dictionary The preset dictionary, which must be the same on both ends of the connection
+     * @param level      The deflate compression level
+     */
+    public DeflateFrameCodec(byte[] dictionary, int level) {
+        this.dictionary = Arrays.copyOf(dictionary, dictionary.length);
+        this.level = level;
+        Adler32 checksum = new Adler32();
+        checksum.update(dictionary);
+        this.id = ID_PREFIX + Long.toHexString(checksum.getValue());
+    }
+
+    /**
+     * @return An identifier including the checksum of the dictionary, so that peers with different dictionaries do not
+     * agree on this codec
+     */
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public byte[] compress(byte[] data, int offset, int length) {
+        Deflater def = deflater.get();
+        def.reset();
+        def.setDictionary(dictionary);
+        def.setInput(data, offset, length);
+        def.finish();
+
+        byte[] out = new byte[length + (length >> 3) + 64];
+        int outLength = 0;
+        while (!def.finished()) {
+            if (outLength == out.length) {
+                out = Arrays.copyOf(out, out.length * 2);
+            }
+            outLength += def.deflate(out, outLength, out.length - outLength);
+        }
+        return Arrays.copyOf(out, outLength);
+    }
+
+    @Override
+    public byte[] decompress(byte[] data, int offset, int length, int uncompressedLength) throws DataFormatException {
+        Inflater inf = inflater.get();
+        inf.reset();
+        inf.setDictionary(dictionary);
+        inf.setInput(data, offset, length);
+
+        byte[] out = new byte[uncompressedLength];
+        int outLength = 0;
+        while (outLength < uncompressedLength) {
+            int inflated = inf.inflate(out, outLength, uncompressedLength - outLength);
+            if (inflated == 0 && (inf.finished() || inf.needsInput() || inf.needsDictionary())) {
+                throw new DataFormatException("Deflated frame is shorter than expected");
+            }
+            outLength += inflated;
+        }
+        return out;
+    }
+}
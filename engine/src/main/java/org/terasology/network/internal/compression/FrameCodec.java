@@ -0,0 +1,49 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal.compression;
+
+import java.util.zip.DataFormatException;
+
+/**
+ * Compresses the frames sent over a connection one at a time. Implementations must be safe to use from several threads
+ * at once, as a single codec is shared by all connections.
+ */
+public interface FrameCodec {
+
+    /**
+     * @return The identifier of this codec, used to agree on a codec while connecting. It must change whenever frames
+     * compressed by one version of the codec can no longer be decompressed by another.
+     */
+    String getId();
+
+    /**
+     * @param data   The buffer holding the frame
+     * @param offset The start of the frame in data
+     * @param length The length of the frame
+     * @return The compressed frame
+     */
+    byte[] compress(byte[] data, int offset, int length);
+
+    /**
+     * @param data               The buffer holding the compressed frame
+     * @param offset             The start of the compressed frame in data
+     * @param length             The length of the compressed frame
+     * @param uncompressedLength The length of the frame before it was compressed
+     * @return The decompressed frame
+     * @throws DataFormatException If the data is not a frame compressed by this codec
+     */
+    byte[] decompress(byte[] data, int offset, int length, int uncompressedLength) throws DataFormatException;
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal.compression;
+
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.jboss.netty.channel.Channel;
+import org.jboss.netty.channel.ChannelHandlerContext;
+import org.jboss.netty.handler.codec.frame.CorruptedFrameException;
+import org.jboss.netty.handler.codec.oneone.OneToOneDecoder;
+
+import java.util.zip.DataFormatException;
+
+/**
+ * Decompresses the frames written by a {@link FrameCompressionEncoder} using the same codec.
+ */
+public class FrameCompressionDecoder extends OneToOneDecoder {
+
+    private static final int MAX_VARINT_BYTES = 5;
+
+    private final FrameCodec codec;
+    private final int maxFrameLength;
+
+    /**
+     * @param codec          The codec the frames were compressed with
+     * @param maxFrameLength The largest uncompressed frame accepted, guarding against frames that would exhaust memory
+     */
+    public FrameCompressionDecoder(FrameCodec codec, int maxFrameLength) {
+        this.codec = codec;
+        this.maxFrameLength = maxFrameLength;
+    }
+
+    @Override
+    protected Object decode(ChannelHandlerContext ctx, Channel channel, Object msg) throws Exception {
+        if (!(msg instanceof ChannelBuffer)) {
+            return msg;
+        }
+        ChannelBuffer frame = (ChannelBuffer) msg;
+        if (!frame.readable()) {
+            throw new CorruptedFrameException("Empty frame");
+        }
+        byte header = frame.readByte();
+        switch (header) {
+            case FrameCompressionEncoder.STORED:
+                return frame;
+            case FrameCompressionEncoder.COMPRESSED:
+                int length = readVarint(frame);
+                if (length < 0 || length > maxFrameLength) {
+                    throw new CorruptedFrameException("Invalid uncompressed frame length: " + length);
+                }
+                byte[] data = new byte[frame.readableBytes()];
+                frame.readBytes(data);
+                try {
+                    return ChannelBuffers.wrappedBuffer(codec.decompress(data, 0, data.length, length));
+                } catch (DataFormatException e) {
+                    throw new CorruptedFrameException(e);
+                }
+            default:
+                throw new CorruptedFrameException("Unknown frame header: " + header);
+        }
+    }
+
+    private static int readVarint(ChannelBuffer frame) throws CorruptedFrameException {
+        int result = 0;
+        for (int i = 0; i < MAX_VARINT_BYTES; i++) {
+            if (!frame.readable()) {
+                break;
+            }
+            byte b = frame.readByte();
+            result |= (b & 0x7F) << (7 * i);
+            if (b >= 0) {
+                return result;
+            }
+        }
+        throw new CorruptedFrameException("Malformed frame length");
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal.compression;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.jboss.netty.channel.Channel;
+import org.jboss.netty.channel.ChannelHandlerContext;
+import org.jboss.netty.handler.codec.oneone.OneToOneEncoder;
+import org.terasology.network.internal.MetricRecordingHandler;
+import org.terasology.protobuf.NetData;
+
+import java.io.IOException;
+
+/**
+ * Compresses each length prefixed NetMessage frame on its own with a {@link FrameCodec}. Every frame starts with a
+ * header byte telling whether it is compressed; compressed frames follow it with their uncompressed length as a varint.
+ * <br><br>
+ * Frames smaller than the minimum size, and frames of message types whose content does not compress (such as module
+ * data, which is already zipped), are sent as they are.
+ */
+public class FrameCompressionEncoder extends OneToOneEncoder {
+
+    public static final int DEFAULT_MINIMUM_SIZE = 64;
+
+    static final byte STORED = 0;
+    static final byte COMPRESSED = 1;
+
+    private final FrameCodec codec;
+    private final int minimumSize;
+    private final TIntSet bypassedFields;
+
+    private MetricRecordingHandler metrics;
+
+    public FrameCompressionEncoder(FrameCodec codec) {
+        this(codec, DEFAULT_MINIMUM_SIZE, new TIntHashSet(new int[]{NetData.NetMessage.MODULEDATA_FIELD_NUMBER}));
+    }
+
+    /**
+     * @param codec          The codec compressing the frames
+     * @param minimumSize    The size in bytes below which frames are not compressed
+     * @param bypassedFields The NetMessage field numbers of message types that are not compressed. The type of a
+     *                       message is given by the first field set in it.
+     */
+    public FrameCompressionEncoder(FrameCodec codec, int minimumSize, TIntSet bypassedFields) {
+        this.codec = codec;
+        this.minimumSize = minimumSize;
+        this.bypassedFields = bypassedFields;
+    }
+
+    @Override
+    protected Object encode(ChannelHandlerContext ctx, Channel channel, Object msg) throws Exception {
+        if (!(msg instanceof ChannelBuffer)) {
+            return msg;
+        }
+        if (metrics == null) {
+            metrics = (MetricRecordingHandler) ctx.getPipeline().get(MetricRecordingHandler.NAME);
+        }
+
+        long startTime = System.nanoTime();
+        ChannelBuffer frame = (ChannelBuffer) msg;
+        int length = frame.readableBytes();
+        ChannelBuffer result = null;
+        if (length >= minimumSize) {
+            byte[] data = new byte[length];
+            frame.getBytes(frame.readerIndex(), data);
+            if (!bypassedFields.contains(getMessageField(data))) {
+                byte[] compressed = codec.compress(data, 0, length);
+                int headerLength = 1 + CodedOutputStream.computeRawVarint32Size(length);
+                if (headerLength + compressed.length < length + 1) {
+                    byte[] header = new byte[headerLength];
+                    header[0] = COMPRESSED;
+                    CodedOutputStream headerOut = CodedOutputStream.newInstance(header, 1, headerLength - 1);
+                    headerOut.writeRawVarint32(length);
+                    headerOut.flush();
+                    result = ChannelBuffers.wrappedBuffer(header, compressed);
+                }
+            }
+        }
+
+        if (metrics != null) {
+            metrics.recordFrameCompression(length, System.nanoTime() - startTime, result == null);
+        }
+        if (result == null) {
+            return ChannelBuffers.wrappedBuffer(ChannelBuffers.wrappedBuffer(new byte[]{STORED}), frame);
+        }
+        return result;
+    }
+
+    /**
+     * @return The number of the first field in the varint length prefixed NetMessage, or 0 if it has none
+     */
+    private static int getMessageField(byte[] frame) {
+        try {
+            CodedInputStream in = CodedInputStream.newInstance(frame);
+            in.readRawVarint32();
+            return WireFormat.getTagFieldNumber(in.readTag());
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
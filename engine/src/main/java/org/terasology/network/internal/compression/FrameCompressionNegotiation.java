@@ -0,0 +1,170 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal.compression;
+
+import org.jboss.netty.channel.ChannelPipeline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.network.FrameCompression;
+import org.terasology.protobuf.NetData;
+
+import java.util.zip.Deflater;
+
+/**
+ * Agrees on the compression of the frames a server sends during the authentication handshake.
+ * <br><br>
+ * The client lists the codecs it supports in its handshake messages, and the server names the one it picked in its
+ * final handshake message, both in the frameCompression field of the NetMessage. Peers unaware of this negotiation leave
+ * the field empty and keep using the zlib stream every connection starts with. Once the final handshake message has been
+ * written and read respectively, both ends swap the zlib stage of their pipeline for the picked codec. Only server to
+ * client traffic is affected, messages from the client keep using the zlib stream.
+ */
+public final class FrameCompressionNegotiation {
+
+    /**
+     * The name of the compressing stage in the server pipeline
+     */
+    public static final String ENCODER_NAME = "deflateEncoder";
+
+    /**
+     * The name of the decompressing stage in the client pipeline
+     */
+    public static final String DECODER_NAME = "inflateDecoder";
+
+    /**
+     * The largest frame, compressed or not, the pipelines accept
+     */
+    public static final int MAX_FRAME_LENGTH = 8388608;
+
+    private static final Logger logger = LoggerFactory.getLogger(FrameCompressionNegotiation.class);
+
+    private static final String ZLIB_ID = "zlib";
+
+    private static final FrameCodec LZ_CODEC = new LzFrameCodec();
+    private static FrameCodec dictionaryCodec;
+
+    private FrameCompressionNegotiation() {
+    }
+
+    /**
+     * @param compression The frame compression
+     * @return The codec of the frame compression, or null for the zlib stream
+     */
+    public static FrameCodec getCodec(FrameCompression compression) {
+        switch (compression) {
+            case LZ:
+                return LZ_CODEC;
+            case ZLIB_DICTIONARY:
+                return getDictionaryCodec();
+            default:
+                return null;
+        }
+    }
+
+    private static synchronized FrameCodec getDictionaryCodec() {
+        if (dictionaryCodec == null) {
+            dictionaryCodec = new DeflateFrameCodec(FrameDictionary.getDefault(), Deflater.BEST_SPEED);
+        }
+        return dictionaryCodec;
+    }
+
+    private static String getId(FrameCompression compression) {
+        FrameCodec codec = getCodec(compression);
+        return (codec != null) ? codec.getId() : ZLIB_ID;
+    }
+
+    /**
+     * Adds the frame compressions supported by this client to a handshake message
+     *
+     * @param message The message to the server
+     * @return The message builder, for chaining
+     */
+    public static NetData.NetMessage.Builder offer(NetData.NetMessage.Builder message) {
+        for (FrameCompression compression : FrameCompression.values()) {
+            message.addFrameCompression(getId(compression));
+        }
+        return message;
+    }
+
+    /**
+     * @param preferred     The frame compression the server is configured to use
+     * @param clientMessage A handshake message from the client
+     * @return The preferred compression if the client offered it, zlib otherwise
+     */
+    public static FrameCompression select(FrameCompression preferred, NetData.NetMessage clientMessage) {
+        if (preferred != FrameCompression.ZLIB && clientMessage.getFrameCompressionList().contains(getId(preferred))) {
+            return preferred;
+        }
+        return FrameCompression.ZLIB;
+    }
+
+    /**
+     * Adds the frame compression picked by the server to its final handshake message
+     *
+     * @param message     The message to the client
+     * @param compression The picked frame compression
+     * @return The message builder, for chaining
+     */
+    public static NetData.NetMessage.Builder announce(NetData.NetMessage.Builder message, FrameCompression compression) {
+        if (compression == FrameCompression.ZLIB) {
+            return message;
+        }
+        return message.addFrameCompression(getId(compression));
+    }
+
+    /**
+     * @param serverMessage The final handshake message from the server
+     * @return The frame compression the server announced, zlib if none
+     */
+    public static FrameCompression getAnnounced(NetData.NetMessage serverMessage) {
+        if (serverMessage.getFrameCompressionCount() > 0) {
+            String id = serverMessage.getFrameCompression(0);
+            for (FrameCompression compression : FrameCompression.values()) {
+                if (getId(compression).equals(id)) {
+                    return compression;
+                }
+            }
+            logger.warn("Server announced unknown frame compression '{}'", id);
+        }
+        return FrameCompression.ZLIB;
+    }
+
+    /**
+     * Replaces the zlib stage of the server pipeline, after the final handshake message has been written
+     *
+     * @param pipeline    The pipeline of the connection
+     * @param compression The negotiated frame compression
+     */
+    public static void installEncoder(ChannelPipeline pipeline, FrameCompression compression) {
+        FrameCodec codec = getCodec(compression);
+        if (codec != null) {
+            pipeline.replace(ENCODER_NAME, ENCODER_NAME, new FrameCompressionEncoder(codec));
+        }
+    }
+
+    /**
+     * Replaces the zlib stage of the client pipeline, after the final handshake message has been read
+     *
+     * @param pipeline    The pipeline of the connection
+     * @param compression The negotiated frame compression
+     */
+    public static void installDecoder(ChannelPipeline pipeline, FrameCompression compression) {
+        FrameCodec codec = getCodec(compression);
+        if (codec != null) {
+            pipeline.replace(DECODER_NAME, DECODER_NAME, new FrameCompressionDecoder(codec, MAX_FRAME_LENGTH));
+        }
+    }
+}
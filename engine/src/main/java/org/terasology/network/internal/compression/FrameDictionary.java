@@ -0,0 +1,248 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal.compression;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import org.terasology.protobuf.EntityData;
+import org.terasology.protobuf.NetData;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Builds preset dictionaries for {@link DeflateFrameCodec} out of sample frames.
+ * <br><br>
+ * The default dictionary is trained on generated messages shaped like the ones a server sends while a game is running,
+ * rather than on recorded traffic. Both ends of a connection have to derive the exact same dictionary, and generating it
+ * avoids shipping a resource that must match between versions. Recorded traffic would also transfer poorly between
+ * games, as the ids of components, events and fields it is full of depend on the modules of the game it was recorded in.
+ * The dictionary only covers server to client traffic, messages from clients keep using the zlib stream. Dictionaries
+ * trained on recorded frames can be built with {@link #train(Collection, int)}.
+ */
+public final class FrameDictionary {
+
+    /**
+     * The size of the default dictionary, well below the 32 KiB deflate window
+     */
+    public static final int DEFAULT_SIZE = 4096;
+
+    private static final int SEGMENT_LENGTH = 8;
+    private static final int SAMPLE_COUNT = 256;
+    private static final long SAMPLE_SEED = 0x7e7a5eedL;
+
+    private static byte[] defaultDictionary;
+
+    private FrameDictionary() {
+    }
+
+    /**
+     * @return The dictionary trained on the default samples
+     */
+    public static synchronized byte[] getDefault() {
+        if (defaultDictionary == null) {
+            defaultDictionary = train(createDefaultSamples(), DEFAULT_SIZE);
+        }
+        return defaultDictionary;
+    }
+
+    /**
+     * Trains a dictionary from the byte sequences occurring in the most samples. Sequences are ordered so that the most
+     * common ones end up at the end of the dictionary, where deflate can reference them with the shortest distances.
+     *
+     * @param samples The frames to train on
+     * @param maxSize The maximum size of the dictionary
+     * @return The dictionary, possibly shorter than maxSize if the samples have little in common
+     */
+    public static byte[] train(Collection<byte[]> samples, int maxSize) {
+        final Map<ByteBuffer, Integer> occurrences = Maps.newHashMap();
+        for (byte[] sample : samples) {
+            Set<ByteBuffer> segments = Sets.newHashSet();
+            for (int i = 0; i + SEGMENT_LENGTH <= sample.length; i++) {
+                segments.add(ByteBuffer.wrap(sample, i, SEGMENT_LENGTH).slice());
+            }
+            for (ByteBuffer segment : segments) {
+                Integer count = occurrences.get(segment);
+                occurrences.put(segment, (count == null) ? 1 : count + 1);
+            }
+        }
+
+        List<ByteBuffer> ranked = Lists.newArrayList();
+        for (Map.Entry<ByteBuffer, Integer> entry : occurrences.entrySet()) {
+            if (entry.getValue() > 1) {
+                ranked.add(entry.getKey());
+            }
+        }
+        Collections.sort(ranked, new Comparator<ByteBuffer>() {
+            @Override
+            public int compare(ByteBuffer o1, ByteBuffer o2) {
+                int result = Integer.compare(occurrences.get(o2), occurrences.get(o1));
+                return (result != 0) ? result : o1.compareTo(o2);
+            }
+        });
+
+        // The dictionary is filled from its end, prepending each segment unless it is already part of it
+        byte[] dictionary = new byte[maxSize];
+        int start = maxSize;
+        Set<ByteBuffer> covered = Sets.newHashSet();
+        for (ByteBuffer segment : ranked) {
+            if (start < SEGMENT_LENGTH) {
+                break;
+            }
+            if (covered.contains(segment)) {
+                continue;
+            }
+            int overlap = getOverlap(segment, dictionary, start);
+            start -= SEGMENT_LENGTH - overlap;
+            segment.duplicate().get(dictionary, start, SEGMENT_LENGTH - overlap);
+            for (int i = start; i < start + SEGMENT_LENGTH && i + SEGMENT_LENGTH <= maxSize; i++) {
+                covered.add(ByteBuffer.wrap(dictionary, i, SEGMENT_LENGTH).slice());
+            }
+        }
+        return Arrays.copyOfRange(dictionary, start, maxSize);
+    }
+
+    /**
+     * @return The length of the longest proper suffix of the segment the dictionary content starting at start begins with
+     */
+    private static int getOverlap(ByteBuffer segment, byte[] dictionary, int start) {
+        for (int overlap = Math.min(SEGMENT_LENGTH - 1, dictionary.length - start); overlap > 0; overlap--) {
+            boolean matches = true;
+            for (int i = 0; i < overlap && matches; i++) {
+                matches = segment.get(SEGMENT_LENGTH - overlap + i) == dictionary[start + i];
+            }
+            if (matches) {
+                return overlap;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return Frames of entity updates, entity creation and removal, events, block changes and chunks, serialized the
+     * way the network pipeline does before compressing them
+     */
+    static List<byte[]> createDefaultSamples() {
+        Random random = new Random(SAMPLE_SEED);
+        List<byte[]> samples = Lists.newArrayListWithCapacity(SAMPLE_COUNT);
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            NetData.NetMessage.Builder message = NetData.NetMessage.newBuilder();
+            switch (i % 4) {
+                case 0:
+                    message.addChunkInfo(createChunk(random));
+                    break;
+                case 1:
+                    message.addCreateEntity(NetData.CreateEntityMessage.newBuilder().setEntity(createEntity(random, 6)));
+                    break;
+                case 2:
+                    message.addRemoveEntity(NetData.RemoveEntityMessage.newBuilder().setNetId(random.nextInt(4096)));
+                    message.addBlockChange(NetData.BlockChangeMessage.newBuilder()
+                            .setPos(createPos(random))
+                            .setNewBlock(random.nextInt(256)));
+                    message.addEvent(NetData.EventMessage.newBuilder()
+                            .setTargetId(random.nextInt(4096))
+                            .setEvent(EntityData.Event.newBuilder()
+                                    .setType(random.nextInt(64))
+                                    .setFieldIds(ByteString.copyFrom(new byte[]{0, 1}))
+                                    .addFieldValue(createLocation(random))
+                                    .addFieldValue(EntityData.Value.newBuilder().addInteger(random.nextInt(100)))));
+                    break;
+                default:
+                    break;
+            }
+            int updates = 1 + random.nextInt(8);
+            for (int j = 0; j < updates; j++) {
+                message.addUpdateEntity(NetData.UpdateEntityMessage.newBuilder()
+                        .setNetId(random.nextInt(4096))
+                        .setEntity(createEntity(random, 1 + random.nextInt(2))));
+            }
+            message.setTime(1000000L + i * 50L);
+            samples.add(frame(message.build()));
+        }
+        return samples;
+    }
+
+    private static byte[] frame(NetData.NetMessage message) {
+        int size = message.getSerializedSize();
+        byte[] frame = new byte[CodedOutputStream.computeRawVarint32Size(size) + size];
+        CodedOutputStream out = CodedOutputStream.newInstance(frame);
+        try {
+            out.writeRawVarint32(size);
+            message.writeTo(out);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize sample message", e);
+        }
+        return frame;
+    }
+
+    private static EntityData.PackedEntity.Builder createEntity(Random random, int componentCount) {
+        EntityData.PackedEntity.Builder entity = EntityData.PackedEntity.newBuilder();
+        byte[] fieldCounts = new byte[componentCount];
+        byte[] fieldIds = new byte[componentCount * 2];
+        for (int i = 0; i < componentCount; i++) {
+            entity.addComponentId(random.nextInt(128));
+            fieldCounts[i] = 2;
+            fieldIds[2 * i] = 0;
+            fieldIds[2 * i + 1] = (byte) (1 + random.nextInt(3));
+            entity.addFieldValue(createLocation(random));
+            entity.addFieldValue(EntityData.Value.newBuilder()
+                    .addFloat(random.nextFloat())
+                    .addFloat(random.nextFloat())
+                    .addFloat(random.nextFloat())
+                    .addFloat(1.0f));
+        }
+        return entity.setComponentFieldCounts(ByteString.copyFrom(fieldCounts)).setFieldIds(ByteString.copyFrom(fieldIds));
+    }
+
+    private static EntityData.Value createLocation(Random random) {
+        return EntityData.Value.newBuilder()
+                .addFloat(random.nextInt(512) + random.nextFloat())
+                .addFloat(random.nextInt(64) + random.nextFloat())
+                .addFloat(random.nextInt(512) + random.nextFloat())
+                .build();
+    }
+
+    private static NetData.Vector3iData.Builder createPos(Random random) {
+        return NetData.Vector3iData.newBuilder().setX(random.nextInt(512)).setY(random.nextInt(64)).setZ(random.nextInt(512));
+    }
+
+    private static EntityData.ChunkStore.Builder createChunk(Random random) {
+        EntityData.RunLengthEncoding16.Builder blocks = EntityData.RunLengthEncoding16.newBuilder();
+        int runs = 16 + random.nextInt(64);
+        for (int i = 0; i < runs; i++) {
+            blocks.addRunLengths(1 + random.nextInt(256));
+            blocks.addValues(random.nextInt(32));
+        }
+        return EntityData.ChunkStore.newBuilder()
+                .setX(random.nextInt(32))
+                .setY(random.nextInt(4))
+                .setZ(random.nextInt(32))
+                .setBlockData(blocks)
+                .setLiquidData(EntityData.RunLengthEncoding8.newBuilder().addRunLengths(16384).setValues(ByteString.copyFrom(new byte[1])))
+                .setBiomeData(EntityData.RunLengthEncoding16.newBuilder().addRunLengths(1024).addValues(random.nextInt(8)));
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal.compression;
+
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+
+/**
+ * A byte oriented LZ77 compressor in the spirit of LZ4, trading compression ratio for speed.
+ * <br><br>
+ * The compressed frame is a series of sequences, each made of a token byte, literals copied as is and a match that
+ * repeats earlier output. The high nibble of the token holds the number of literals and the low nibble the length of
+ * the match minus {@link #MIN_MATCH}; a nibble of 15 is followed by bytes adding to it, until one is less than 255.
+ * The match is given as a two byte little endian offset back from the current position followed by the extra length
+ * bytes. The last sequence has no match, it ends the frame.
+ */
+public class LzFrameCodec implements FrameCodec {
+
+    public static final String ID = "lz";
+
+    private static final int MIN_MATCH = 4;
+    private static final int MAX_OFFSET = 0xFFFF;
+    private static final int NIBBLE_MASK = 0xF;
+    private static final int HASH_BITS = 12;
+
+    private static final ThreadLocal<int[]> HASH_TABLE = new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            return new int[1 << HASH_BITS];
+        }
+    };
+
+    @Override
+    public String getId() {
+        return ID;
+    }
+
+    @Override
+    public byte[] compress(byte[] data, int offset, int length) {
+        byte[] out = new byte[length + length / 255 + 16];
+        int[] table = HASH_TABLE.get();
+        Arrays.fill(table, -1);
+
+        int end = offset + length;
+        int matchLimit = end - MIN_MATCH;
+        int anchor = offset;
+        int pos = offset;
+        int outPos = 0;
+        while (pos <= matchLimit) {
+            int sequence = readInt(data, pos);
+            int hash = (sequence * 0x9E3779B1) >>> (Integer.SIZE - HASH_BITS);
+            int candidate = table[hash];
+            table[hash] = pos;
+            if (candidate >= 0 && pos - candidate <= MAX_OFFSET && readInt(data, candidate) == sequence) {
+                int matchLength = MIN_MATCH;
+                while (pos + matchLength < end && data[candidate + matchLength] == data[pos + matchLength]) {
+                    matchLength++;
+                }
+                outPos = writeLiterals(out, outPos, data, anchor, pos - anchor, matchLength - MIN_MATCH);
+                int matchOffset = pos - candidate;
+                out[outPos++] = (byte) matchOffset;
+                out[outPos++] = (byte) (matchOffset >>> 8);
+                outPos = writeLength(out, outPos, matchLength - MIN_MATCH);
+                pos += matchLength;
+                anchor = pos;
+            } else {
+                pos++;
+            }
+        }
+        outPos = writeLiterals(out, outPos, data, anchor, end - anchor, 0);
+        return Arrays.copyOf(out, outPos);
+    }
+
+    @Override
+    public byte[] decompress(byte[] data, int offset, int length, int uncompressedLength) throws DataFormatException {
+        byte[] out = new byte[uncompressedLength];
+        int end = offset + length;
+        int pos = offset;
+        int outPos = 0;
+        while (outPos < uncompressedLength) {
+            if (pos >= end) {
+                throw new DataFormatException("Truncated LZ frame");
+            }
+            int token = data[pos++] & 0xFF;
+
+            int literals = token >>> 4;
+            if (literals == NIBBLE_MASK) {
+                while (true) {
+                    if (pos >= end) {
+                        throw new DataFormatException("Truncated LZ frame");
+                    }
+                    int extra = data[pos++] & 0xFF;
+                    literals += extra;
+                    if (extra != 0xFF) {
+                        break;
+                    }
+                }
+            }
+            if (literals > end - pos || literals > uncompressedLength - outPos) {
+                throw new DataFormatException("LZ literals exceed the frame");
+            }
+            System.arraycopy(data, pos, out, outPos, literals);
+            pos += literals;
+            outPos += literals;
+            if (outPos == uncompressedLength) {
+                break;
+            }
+
+            if (end - pos < 2) {
+                throw new DataFormatException("Truncated LZ frame");
+            }
+            int matchOffset = (data[pos] & 0xFF) | (data[pos + 1] & 0xFF) << 8;
+            pos += 2;
+            int matchLength = token & NIBBLE_MASK;
+            if (matchLength == NIBBLE_MASK) {
+                while (true) {
+                    if (pos >= end) {
+                        throw new DataFormatException("Truncated LZ frame");
+                    }
+                    int extra = data[pos++] & 0xFF;
+                    matchLength += extra;
+                    if (extra != 0xFF) {
+                        break;
+                    }
+                }
+            }
+            matchLength += MIN_MATCH;
+            if (matchOffset == 0 || matchOffset > outPos || matchLength > uncompressedLength - outPos) {
+                throw new DataFormatException("LZ match exceeds the frame");
+            }
+            // Byte by byte, as a match may overlap the output it produces
+            for (int i = 0; i < matchLength; i++) {
+                out[outPos] = out[outPos - matchOffset];
+                outPos++;
+            }
+        }
+        return out;
+    }
+
+    private static int writeLiterals(byte[] out, int outPos, byte[] data, int start, int count, int matchNibble) {
+        int pos = outPos;
+        out[pos++] = (byte) (Math.min(count, NIBBLE_MASK) << 4 | Math.min(matchNibble, NIBBLE_MASK));
+        pos = writeLength(out, pos, count);
+        System.arraycopy(data, start, out, pos, count);
+        return pos + count;
+    }
+
+    private static int writeLength(byte[] out, int outPos, int length) {
+        int pos = outPos;
+        if (length >= NIBBLE_MASK) {
+            int remaining = length - NIBBLE_MASK;
+            while (remaining >= 0xFF) {
+                out[pos++] = (byte) 0xFF;
+                remaining -= 0xFF;
+            }
+            out[pos++] = (byte) remaining;
+        }
+        return pos;
+    }
+
+    private static int readInt(byte[] data, int pos) {
+        return (data[pos] & 0xFF) | (data[pos + 1] & 0xFF) << 8 | (data[pos + 2] & 0xFF) << 16 | (data[pos + 3] & 0xFF) << 24;
+    }
+}
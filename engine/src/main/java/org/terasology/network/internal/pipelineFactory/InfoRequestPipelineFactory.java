@@ -29,6 +29,7 @@
 import org.terasology.network.internal.ServerInfoRequestHandler;
 import org.terasology.network.internal.JoinStatusImpl;
 import org.terasology.network.internal.MetricRecordingHandler;
+import org.terasology.network.internal.compression.FrameCompressionNegotiation;
 import org.terasology.protobuf.NetData;
 
 /**
@@ -44,8 +45,8 @@ public ChannelPipeline getPipeline() throws Exception {
 
         p.addLast(MetricRecordingHandler.NAME, new MetricRecordingHandler());
 
-        p.addLast("lengthFrameDecoder", new LengthFieldBasedFrameDecoder(8388608, 0, 3, 0, 3));
-        p.addLast("inflateDecoder", new ZlibDecoder());
+        p.addLast("lengthFrameDecoder", new LengthFieldBasedFrameDecoder(FrameCompressionNegotiation.MAX_FRAME_LENGTH, 0, 3, 0, 3));
+        p.addLast(FrameCompressionNegotiation.DECODER_NAME, new ZlibDecoder());
         p.addLast("frameDecoder", new ProtobufVarint32FrameDecoder());
         p.addLast("protobufDecoder", new ProtobufDecoder(NetData.NetMessage.getDefaultInstance()));
 
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.persistence;
+
+/**
+ * The layouts in which a save game can store its chunks on disk. The layout of a save game is recorded in its
+ * {@link org.terasology.game.GameManifest}.
+ *
+ */
+public enum ChunkStorageFormat {
+    /**
+     * Every chunk is stored in its own file.
+     */
+    SEPARATE_FILES,
+
+    /**
+     * Chunks are grouped into zip files of 32x32x32 chunks.
+     */
+    ZIPS,
+
+    /**
+     * Chunks are grouped into region files with a fixed offset table, which are updated in place.
+     * Existing zip based saves get converted when they are loaded in this mode.
+     */
+    REGION_FILES
+}
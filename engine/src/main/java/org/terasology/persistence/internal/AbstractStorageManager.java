@@ -22,11 +22,13 @@
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.internal.EngineEntityManager;
 import org.terasology.entitySystem.entity.internal.OwnershipHelper;
+import org.terasology.game.GameManifest;
 import org.terasology.logic.location.LocationComponent;
 import org.terasology.math.AABB;
 import org.terasology.math.geom.Vector3i;
 import org.terasology.module.ModuleEnvironment;
 import org.terasology.network.ClientComponent;
+import org.terasology.persistence.ChunkStorageFormat;
 import org.terasology.persistence.ChunkStore;
 import org.terasology.persistence.PlayerStore;
 import org.terasology.persistence.StorageManager;
@@ -40,6 +42,7 @@
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.DirectoryStream;
 import java.nio.file.FileSystem;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
@@ -66,30 +69,97 @@ public abstract class AbstractStorageManager implements StorageManager {
     private final PrefabSerializer prefabSerializer;
     private final OwnershipHelper helper;
 
-    private boolean storeChunksInZips = true;
+    private final RegionFileCache regionFileCache;
+    private final GlobalStoreJournal globalStoreJournal = new GlobalStoreJournal();
 
+    private ChunkStorageFormat chunkStorageFormat;
+
+    /**
+     * @param writeRegionFiles whether region files may be created and modified by this storage manager
+     */
     public AbstractStorageManager(Path savePath, ModuleEnvironment environment, EngineEntityManager entityManager,
-                                  BlockManager blockManager, BiomeManager biomeManager, boolean storeChunksInZips) {
+                                  BlockManager blockManager, BiomeManager biomeManager,
+                                  ChunkStorageFormat chunkStorageFormat, boolean writeRegionFiles) {
         this.entityManager = entityManager;
         this.environment = environment;
-        this.storeChunksInZips = storeChunksInZips;
+        this.chunkStorageFormat = chunkStorageFormat;
         this.prefabSerializer = new PrefabSerializer(entityManager.getComponentLibrary(), entityManager.getTypeSerializerLibrary());
         this.blockManager = blockManager;
         this.biomeManager = biomeManager;
 
         this.storagePathProvider = new StoragePathProvider(savePath);
+        this.regionFileCache = new RegionFileCache(storagePathProvider.getChunksPerRegion(), writeRegionFiles);
         this.helper = new OwnershipHelper(entityManager.getComponentLibrary());
     }
 
+    /**
+     * Chooses the chunk storage format for a save game. An existing save keeps the format its chunks are stored in,
+     * since chunks stored in another format would not be found. The only exception is a writable zip save opened in
+     * region mode, as its zips get converted into region files when the save is checked.
+     *
+     * @param configuredFormat the format to use for saves that do not store any chunks yet.
+     */
+    public static ChunkStorageFormat selectChunkStorageFormat(Path savePath, GameManifest gameManifest,
+                                                              ChunkStorageFormat configuredFormat, boolean writable) {
+        ChunkStorageFormat savedFormat = gameManifest.getChunkStorageFormat();
+        if (savedFormat == null) {
+            savedFormat = detectChunkStorageFormat(new StoragePathProvider(savePath));
+        }
+        if (savedFormat == null || savedFormat == configuredFormat) {
+            return configuredFormat;
+        }
+        if (writable && savedFormat == ChunkStorageFormat.ZIPS && configuredFormat == ChunkStorageFormat.REGION_FILES) {
+            logger.info("Converting the chunk zips of the save game into region files");
+            return configuredFormat;
+        }
+        logger.info("The save game stores its chunks as {}, the configured format {} is only used for new games",
+                savedFormat, configuredFormat);
+        return savedFormat;
+    }
+
+    /**
+     * Determines the chunk storage format of saves that predate the format entry of the game manifest.
+     *
+     * @return the format of the stored chunks, or null if there are none.
+     */
+    static ChunkStorageFormat detectChunkStorageFormat(StoragePathProvider storagePathProvider) {
+        Path worldPath = storagePathProvider.getWorldPath();
+        if (!Files.isDirectory(worldPath)) {
+            return null;
+        }
+        ChunkStorageFormat result = null;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(worldPath)) {
+            for (Path path : stream) {
+                if (storagePathProvider.isChunkRegionPath(path)) {
+                    // Left over zips belong to an interrupted conversion
+                    return ChunkStorageFormat.REGION_FILES;
+                } else if (storagePathProvider.isChunkZipPath(path)) {
+                    result = ChunkStorageFormat.ZIPS;
+                } else if (result == null && storagePathProvider.isChunkPath(path)) {
+                    result = ChunkStorageFormat.SEPARATE_FILES;
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Failed to determine the chunk storage format of {}", worldPath, e);
+        }
+        return result;
+    }
+
     @Override
     public void loadGlobalStore() throws IOException {
         Path globalDataFile = storagePathProvider.getGlobalEntityStorePath();
         if (Files.isRegularFile(globalDataFile)) {
+            EntityData.GlobalStore store;
             try (InputStream in = new BufferedInputStream(Files.newInputStream(globalDataFile))) {
-                EntityData.GlobalStore store = EntityData.GlobalStore.parseFrom(in);
-                GlobalStoreLoader loader = new GlobalStoreLoader(environment, entityManager, prefabSerializer);
-                loader.load(store);
+                store = EntityData.GlobalStore.parseFrom(in);
             }
+            long generation = GlobalStoreJournal.getGeneration(store);
+            List<EntityData.GlobalStore> journalSegments = Lists.newArrayList();
+            long journalSize = GlobalStoreJournal.readSegments(storagePathProvider.getGlobalEntityJournalPath(),
+                    generation, journalSegments);
+            GlobalStoreLoader loader = new GlobalStoreLoader(environment, entityManager, prefabSerializer);
+            loader.load(store, journalSegments);
+            globalStoreJournal.reset(generation, Files.size(globalDataFile), journalSize, loader.getLoadedEntityIds());
         }
     }
 
@@ -135,36 +205,60 @@ protected byte[] loadChunkZip(Vector3i chunkPos) {
         return chunkData;
     }
 
+    protected byte[] loadChunkRegion(Vector3i chunkPos) {
+        Vector3i chunkRegionPos = storagePathProvider.getChunkRegionPosition(chunkPos);
+        Path regionPath = storagePathProvider.getChunkRegionPath(chunkRegionPos);
+        try {
+            return regionFileCache.read(regionPath, storagePathProvider.getChunkRegionIndex(chunkPos));
+        } catch (IOException e) {
+            logger.error("Failed to load chunk {} from region file {}", chunkPos, regionPath, e);
+        }
+        return null;
+    }
+
     @Override
     public void update() {
     }
 
     public boolean isStoreChunksInZips() {
-        return storeChunksInZips;
+        return chunkStorageFormat == ChunkStorageFormat.ZIPS;
     }
 
     /**
      * For tests only
      */
     void setStoreChunksInZips(boolean storeChunksInZips) {
-        this.storeChunksInZips = storeChunksInZips;
+        setChunkStorageFormat(storeChunksInZips ? ChunkStorageFormat.ZIPS : ChunkStorageFormat.SEPARATE_FILES);
+    }
+
+    public ChunkStorageFormat getChunkStorageFormat() {
+        return chunkStorageFormat;
+    }
+
+    /**
+     * For tests only
+     */
+    void setChunkStorageFormat(ChunkStorageFormat chunkStorageFormat) {
+        this.chunkStorageFormat = chunkStorageFormat;
     }
 
     protected byte[] loadCompressedChunk(Vector3i chunkPos) {
-        if (isStoreChunksInZips()) {
-            return loadChunkZip(chunkPos);
-        } else {
-            Path chunkPath = storagePathProvider.getChunkPath(chunkPos);
-            if (Files.isRegularFile(chunkPath)) {
-                try {
-                    return Files.readAllBytes(chunkPath);
-                } catch (IOException e) {
-                    logger.error("Failed to load chunk {}", chunkPos, e);
+        switch (chunkStorageFormat) {
+            case ZIPS:
+                return loadChunkZip(chunkPos);
+            case REGION_FILES:
+                return loadChunkRegion(chunkPos);
+            default:
+                Path chunkPath = storagePathProvider.getChunkPath(chunkPos);
+                if (Files.isRegularFile(chunkPath)) {
+                    try {
+                        return Files.readAllBytes(chunkPath);
+                    } catch (IOException e) {
+                        logger.error("Failed to load chunk {}", chunkPos, e);
+                    }
                 }
-            }
+                return null;
         }
-
-        return null;
     }
 
     protected EntityData.PlayerStore loadPlayerStoreData(String playerId) {
@@ -217,6 +311,14 @@ protected StoragePathProvider getStoragePathProvider() {
         return storagePathProvider;
     }
 
+    protected GlobalStoreJournal getGlobalStoreJournal() {
+        return globalStoreJournal;
+    }
+
+    protected RegionFileCache getRegionFileCache() {
+        return regionFileCache;
+    }
+
     protected ModuleEnvironment getEnvironment() {
         return environment;
     }
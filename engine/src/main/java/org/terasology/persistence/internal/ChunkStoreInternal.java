@@ -22,6 +22,7 @@
 import org.terasology.world.biomes.BiomeManager;
 import org.terasology.world.block.BlockManager;
 import org.terasology.world.chunks.Chunk;
+import org.terasology.world.chunks.internal.ChunkImpl;
 import org.terasology.world.chunks.internal.ChunkSerializer;
 
 /**
@@ -40,6 +41,8 @@ public ChunkStoreInternal(EntityData.ChunkStore chunkData, EngineEntityManager e
         this.entityManager = entityManager;
 
         this.chunk = ChunkSerializer.decode(chunkData, blockManager, biomeManager);
+        // The chunk matches what is stored, so it only needs to be saved again once it changes:
+        ((ChunkImpl) chunk).markSaved();
         this.entityStore = chunkData.getStore();
     }
 
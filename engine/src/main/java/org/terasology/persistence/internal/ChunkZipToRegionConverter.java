@@ -0,0 +1,100 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.persistence.internal;
+
+import com.google.common.collect.Sets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.math.geom.Vector3i;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Set;
+
+/**
+ * Converts the chunk zips of a save game into region files.
+ * <br><br>
+ * Each zip gets deleted after all of its chunks have been written to the region files, so an interrupted conversion
+ * can be restarted at any point.
+ *
+ */
+public class ChunkZipToRegionConverter {
+    private static final Logger logger = LoggerFactory.getLogger(ChunkZipToRegionConverter.class);
+
+    private final StoragePathProvider storagePathProvider;
+    private final RegionFileCache regionFileCache;
+
+    public ChunkZipToRegionConverter(StoragePathProvider storagePathProvider, RegionFileCache regionFileCache) {
+        this.storagePathProvider = storagePathProvider;
+        this.regionFileCache = regionFileCache;
+    }
+
+    /**
+     * @return the number of converted chunks.
+     */
+    public int convertAll() throws IOException {
+        Path worldPath = storagePathProvider.getWorldPath();
+        if (!Files.isDirectory(worldPath)) {
+            return 0;
+        }
+        int chunkCount = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(worldPath, storagePathProvider::isChunkZipPath)) {
+            for (Path chunkZipPath : stream) {
+                chunkCount += convert(chunkZipPath);
+            }
+        }
+        if (chunkCount > 0) {
+            logger.info("Converted {} chunks from zips into region files", chunkCount);
+        }
+        return chunkCount;
+    }
+
+    private int convert(Path chunkZipPath) throws IOException {
+        Set<Path> modifiedRegions = Sets.newHashSet();
+        int[] chunkCount = new int[1];
+        try (FileSystem chunkZip = FileSystems.newFileSystem(chunkZipPath, null)) {
+            for (Path root : chunkZip.getRootDirectories()) {
+                Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                        Vector3i chunkPos = storagePathProvider.getChunkPositionFromFilename(file.getFileName().toString());
+                        if (chunkPos == null) {
+                            logger.warn("Skipping unexpected file {} in chunk zip {}", file, chunkZipPath);
+                            return FileVisitResult.CONTINUE;
+                        }
+                        Path regionPath = storagePathProvider.getChunkRegionPath(storagePathProvider.getChunkRegionPosition(chunkPos));
+                        regionFileCache.write(regionPath, storagePathProvider.getChunkRegionIndex(chunkPos), Files.readAllBytes(file));
+                        modifiedRegions.add(regionPath);
+                        chunkCount[0]++;
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            }
+        }
+        for (Path regionPath : modifiedRegions) {
+            regionFileCache.flush(regionPath);
+        }
+        Files.delete(chunkZipPath);
+        return chunkCount[0];
+    }
+}
@@ -24,6 +24,10 @@
 import org.terasology.entitySystem.entity.EntityManager;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.metadata.ComponentLibrary;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.ChunkMath;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.math.geom.Vector3i;
 
 import java.util.Collection;
 import java.util.Map;
@@ -42,6 +46,15 @@ class EntitySetDeltaRecorder {
     private TLongObjectMap<EntityDelta> entityDeltas = new TLongObjectHashMap<>();
     private TLongSet destroyedEntities = new TLongHashSet();
     private TLongSet deactivatedEntities = new TLongHashSet();
+    /**
+     * Entities that got changed or destroyed. Unlike {@link #entityDeltas} it does not contain entities that just got
+     * reactivated.
+     */
+    private TLongSet modifiedEntities = new TLongHashSet();
+    /**
+     * Positions of the chunks in which reactivated entities were located when they got reactivated.
+     */
+    private TLongObjectMap<Vector3i> reactivationChunkPositions = new TLongObjectHashMap<>();
     /**
      * The used keys are unique, so that it is a collection of {@link DelayedEntityRef}s that cleans itself up
      * when the{@link DelayedEntityRef}s get no longer referenced
@@ -68,6 +81,7 @@ public void onEntityComponentChange(EntityRef entity, Class<? extends Component>
             Component component = entity.getComponent(componentClass);
             Component componentSnapshot = componentLibrary.copy(component);
             entityDelta.setChangedComponent(componentSnapshot);
+            modifiedEntities.add(entity.getId());
         }
     }
 
@@ -75,6 +89,7 @@ public void onEntityComponentRemoved(EntityRef entity, Class<? extends Component
         if (entity.isPersistent()) {
             EntityDelta entityDelta = getOrCreateEntityDeltaFor(entity);
             entityDelta.removeComponent(component);
+            modifiedEntities.add(entity.getId());
         }
     }
 
@@ -92,6 +107,7 @@ public void onEntityDestroyed(EntityRef entity) {
         if (entity.isPersistent()) {
             entityDeltas.remove(entity.getId());
             destroyedEntities.add(entity.getId());
+            modifiedEntities.add(entity.getId());
         }
     }
 
@@ -107,6 +123,20 @@ public TLongSet getDeactivatedEntities() {
         return deactivatedEntities;
     }
 
+    /**
+     * @return the ids of all entities that got changed or destroyed since the recording started.
+     */
+    public TLongSet getModifiedEntities() {
+        return modifiedEntities;
+    }
+
+    /**
+     * @return the chunk positions at which entities with a location were when they got reactivated, by entity id.
+     */
+    public TLongObjectMap<Vector3i> getReactivationChunkPositions() {
+        return reactivationChunkPositions;
+    }
+
     public void onReactivation(EntityRef entity, Collection<Component> components) {
         if (entity.isPersistent()) {
             EntityDelta entityDelta = getOrCreateEntityDeltaFor(entity);
@@ -114,6 +144,12 @@ public void onReactivation(EntityRef entity, Collection<Component> components) {
                 Component componentSnapshot = componentLibrary.copy(component);
                 entityDelta.setChangedComponent(componentSnapshot);
             }
+            LocationComponent location = entity.getComponent(LocationComponent.class);
+            if (location != null && !reactivationChunkPositions.containsKey(entity.getId())) {
+                Vector3f worldPosition = location.getWorldPosition();
+                reactivationChunkPositions.put(entity.getId(), ChunkMath.calcChunkPos((int) worldPosition.x,
+                        (int) worldPosition.y, (int) worldPosition.z));
+            }
         }
     }
 
@@ -16,6 +16,7 @@
 package org.terasology.persistence.internal;
 
 import com.google.common.collect.Maps;
+import gnu.trove.TLongCollection;
 import org.terasology.entitySystem.Component;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.internal.EngineEntityManager;
@@ -25,6 +26,7 @@
 import org.terasology.persistence.serializers.PrefabSerializer;
 import org.terasology.protobuf.EntityData;
 
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -42,6 +44,35 @@ public GlobalStoreBuilder(EngineEntityManager entityManager, PrefabSerializer pr
     }
     
     public EntityData.GlobalStore build(EngineEntityManager entityManager, Iterable<EntityRef> entities) {
+        /*
+         * The prefabs can't be obtained from  entityManager.getPrefabManager().listPrefabs() as that might not
+         * be thread save.
+         */
+        return createStore(entityManager, entities, entityManager.getAllEntities()).build();
+    }
+
+    /**
+     * Creates a segment for the {@link GlobalStoreJournal}. Unlike a full store it contains only the given entities
+     * and the prefabs of the modified entities. Prefabs of other entities have already been stored before.
+     *
+     * @param changedEntities  entities that got added to the global store or changed since the last save.
+     * @param removedEntityIds ids of the entities that are no longer part of the global store.
+     * @param modifiedEntities all entities that got created or changed since the last save, wherever they get stored.
+     */
+    public EntityData.GlobalStore buildJournalSegment(EngineEntityManager entityManager,
+                                                      Collection<EntityRef> changedEntities,
+                                                      TLongCollection removedEntityIds,
+                                                      Iterable<EntityRef> modifiedEntities) {
+        EntityData.GlobalStore.Builder segment = createStore(entityManager, changedEntities, modifiedEntities);
+        if (segment.getEntityCount() == 0 && segment.getPrefabCount() == 0) {
+            // Keeps the segments of saves without global changes small, they only update the next entity id
+            segment.clearComponentClass();
+        }
+        return GlobalStoreJournal.setRemovedEntities(segment, removedEntityIds).build();
+    }
+
+    private EntityData.GlobalStore.Builder createStore(EngineEntityManager entityManager, Iterable<EntityRef> entities,
+                                                       Iterable<EntityRef> entitiesRequiringPrefabs) {
         EntityData.GlobalStore.Builder store = EntityData.GlobalStore.newBuilder();
 
         Map<Class<? extends Component>, Integer> componentIdTable = Maps.newHashMap();
@@ -50,12 +81,8 @@ public EntityData.GlobalStore build(EngineEntityManager entityManager, Iterable<
             componentIdTable.put(componentMetadata.getType(), componentIdTable.size());
         }
         prefabSerializer.setComponentIdMapping(componentIdTable);
-        /*
-         * The prefabs can't be obtained from  entityManager.getPrefabManager().listPrefabs() as that might not
-         * be thread save.
-         */
         Set<Prefab> prefabsRequiredForEntityStorage = new HashSet<>();
-        for (EntityRef entityRef : entityManager.getAllEntities()) {
+        for (EntityRef entityRef : entitiesRequiringPrefabs) {
             Prefab prefab = entityRef.getParentPrefab();
             if (prefab != null) {
                 prefabsRequiredForEntityStorage.add(prefab);
@@ -73,7 +100,7 @@ public EntityData.GlobalStore build(EngineEntityManager entityManager, Iterable<
             }
         }
         store.setNextEntityId(nextEntityId);
-        return store.build();
+        return store;
     }
 
 
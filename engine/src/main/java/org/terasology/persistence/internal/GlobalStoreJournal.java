@@ -0,0 +1,245 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.persistence.internal;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.UnknownFieldSet;
+import gnu.trove.TLongCollection;
+import gnu.trove.list.TLongList;
+import gnu.trove.list.array.TLongArrayList;
+import gnu.trove.set.TLongSet;
+import gnu.trove.set.hash.TLongHashSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.protobuf.EntityData;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Keeps track of the global entity store on disk. It consists of a snapshot (global.dat) and a journal
+ * (global.journal) with the changes made since the snapshot got written.
+ * <br><br>
+ * The journal is a sequence of length prefixed {@link EntityData.GlobalStore} segments. Each segment contains the
+ * entities that got added or changed by one save and the ids of the entities that got removed from the global store.
+ * Snapshot and segments carry a generation number, and segments only apply to the snapshot of the same generation.
+ * That way segments left over from before the journal got compacted into a new snapshot get ignored.
+ * <br><br>
+ * Save transactions don't write to the journal directly. They create an update file that gets applied via
+ * {@link #applyUpdate(Path, Path)} when the changes get merged. Applying the same update again has no further effect,
+ * so an interrupted merge can simply be repeated.
+ * <br><br>
+ * Apart from loading, instances are only used by the save thread.
+ */
+final class GlobalStoreJournal {
+    private static final Logger logger = LoggerFactory.getLogger(GlobalStoreJournal.class);
+
+    private static final int GENERATION_FIELD = 5000;
+    private static final int REMOVED_ENTITIES_FIELD = 5001;
+
+    /**
+     * The journal gets compacted into a new snapshot once it got larger than the snapshot.
+     */
+    private static final double MAX_JOURNAL_TO_SNAPSHOT_SIZE_RATIO = 1.0;
+
+    private long generation;
+    private boolean snapshotExists;
+    private long snapshotSize;
+    private long journalSize;
+    private TLongSet storedEntityIds = new TLongHashSet();
+
+    /**
+     * Sets the state to the snapshot and journal that got loaded.
+     *
+     * @param journalSize the size of the valid part of the journal.
+     */
+    public void reset(long snapshotGeneration, long loadedSnapshotSize, long journalSize, TLongSet entityIds) {
+        this.generation = snapshotGeneration;
+        this.snapshotExists = true;
+        this.snapshotSize = loadedSnapshotSize;
+        this.journalSize = journalSize;
+        this.storedEntityIds = entityIds;
+    }
+
+    /**
+     * @return true if the next save should write a new snapshot instead of appending to the journal.
+     */
+    public boolean isCompactionDue() {
+        return !snapshotExists || journalSize > snapshotSize * MAX_JOURNAL_TO_SNAPSHOT_SIZE_RATIO;
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public long getJournalSize() {
+        return journalSize;
+    }
+
+    /**
+     * @return the ids of the entities that snapshot and journal contain together.
+     */
+    public TLongSet getStoredEntityIds() {
+        return storedEntityIds;
+    }
+
+    /**
+     * To be called once a new snapshot and the reset of the journal got merged into the save game.
+     */
+    public void onCompacted(long newGeneration, long newSnapshotSize, TLongSet entityIds) {
+        reset(newGeneration, newSnapshotSize, 0, entityIds);
+    }
+
+    /**
+     * To be called once a segment got merged into the journal.
+     */
+    public void onAppended(long segmentSize, TLongSet entityIds) {
+        this.journalSize += segmentSize;
+        this.storedEntityIds = entityIds;
+    }
+
+    public static long getGeneration(EntityData.GlobalStore store) {
+        UnknownFieldSet.Field field = store.getUnknownFields().getField(GENERATION_FIELD);
+        if (field.getVarintList().isEmpty()) {
+            return 0;
+        }
+        return field.getVarintList().get(0);
+    }
+
+    public static EntityData.GlobalStore withGeneration(EntityData.GlobalStore store, long storeGeneration) {
+        return store.toBuilder().setUnknownFields(UnknownFieldSet.newBuilder(store.getUnknownFields())
+                .addField(GENERATION_FIELD, UnknownFieldSet.Field.newBuilder().addVarint(storeGeneration).build())
+                .build()).build();
+    }
+
+    public static TLongList getRemovedEntities(EntityData.GlobalStore segment) {
+        List<Long> ids = segment.getUnknownFields().getField(REMOVED_ENTITIES_FIELD).getVarintList();
+        TLongList result = new TLongArrayList(ids.size());
+        ids.forEach(result::add);
+        return result;
+    }
+
+    public static EntityData.GlobalStore.Builder setRemovedEntities(EntityData.GlobalStore.Builder segment,
+                                                                   TLongCollection entityIds) {
+        UnknownFieldSet.Field.Builder field = UnknownFieldSet.Field.newBuilder();
+        entityIds.forEach(id -> {
+            field.addVarint(id);
+            return true;
+        });
+        return segment.setUnknownFields(UnknownFieldSet.newBuilder(segment.getUnknownFields())
+                .addField(REMOVED_ENTITIES_FIELD, field.build()).build());
+    }
+
+    /**
+     * Reads the segments of the journal that belong to the snapshot of the given generation. Reading stops at an
+     * incomplete segment, which is what remains of a merge that got interrupted.
+     *
+     * @param segments gets the segments added in the order they got written.
+     * @return the size of the valid part of the journal.
+     */
+    public static long readSegments(Path journalPath, long snapshotGeneration, List<EntityData.GlobalStore> segments)
+            throws IOException {
+        if (!Files.isRegularFile(journalPath)) {
+            return 0;
+        }
+        long validSize = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(journalPath)))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                byte[] data = new byte[length];
+                try {
+                    in.readFully(data);
+                } catch (EOFException e) {
+                    logger.warn("Ignoring incomplete global entity journal segment");
+                    break;
+                }
+                EntityData.GlobalStore segment;
+                try {
+                    segment = EntityData.GlobalStore.parseFrom(data);
+                } catch (InvalidProtocolBufferException e) {
+                    logger.warn("Ignoring corrupt global entity journal segment and everything after it", e);
+                    break;
+                }
+                if (getGeneration(segment) == snapshotGeneration) {
+                    segments.add(segment);
+                }
+                validSize += Integer.BYTES + length;
+            }
+        }
+        return validSize;
+    }
+
+    /**
+     * Writes an update file that, once applied, cuts the journal to the given size and appends the segment.
+     *
+     * @param segment the segment to append or null to only truncate the journal.
+     * @return the number of bytes the update appends to the journal.
+     */
+    public static long writeUpdate(Path updatePath, long journalOffset, EntityData.GlobalStore segment)
+            throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(updatePath)))) {
+            out.writeLong(journalOffset);
+            if (segment == null) {
+                return 0;
+            }
+            out.writeInt(segment.getSerializedSize());
+            segment.writeTo(out);
+            return Integer.BYTES + segment.getSerializedSize();
+        }
+    }
+
+    /**
+     * Applies an update file written by {@link #writeUpdate(Path, long, EntityData.GlobalStore)}. The update file
+     * must only be deleted after this method completed.
+     */
+    public static void applyUpdate(Path updatePath, Path journalPath) throws IOException {
+        try (InputStream in = Files.newInputStream(updatePath);
+             FileChannel journal = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            long journalOffset = new DataInputStream(in).readLong();
+            if (journal.size() < journalOffset) {
+                logger.warn("Global entity journal is shorter than expected, changes may have been lost");
+                journalOffset = journal.size();
+            }
+            journal.truncate(journalOffset);
+            journal.position(journalOffset);
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                ByteBuffer data = ByteBuffer.wrap(buffer, 0, read);
+                while (data.hasRemaining()) {
+                    journal.write(data);
+                }
+            }
+            journal.force(false);
+        }
+    }
+}
@@ -15,7 +15,13 @@
  */
 package org.terasology.persistence.internal;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import gnu.trove.iterator.TLongIterator;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import gnu.trove.set.TLongSet;
+import gnu.trove.set.hash.TLongHashSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.utilities.Assets;
@@ -35,6 +41,8 @@
 import org.terasology.persistence.serializers.PrefabSerializer;
 import org.terasology.protobuf.EntityData;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -50,6 +58,7 @@ final class GlobalStoreLoader {
     private ComponentLibrary componentLibrary;
     private EntitySerializer entitySerializer;
     private PrefabSerializer prefabSerializer;
+    private TLongSet loadedEntityIds = new TLongHashSet();
 
     public GlobalStoreLoader(ModuleEnvironment environment, EngineEntityManager entityManager, PrefabSerializer prefabSerializer) {
         this.entityManager = entityManager;
@@ -61,17 +70,56 @@ public GlobalStoreLoader(ModuleEnvironment environment, EngineEntityManager enti
     }
 
     public void load(EntityData.GlobalStore globalStore) {
-        entityManager.clear();
-        entityManager.setNextId(globalStore.getNextEntityId());
+        load(globalStore, Collections.emptyList());
+    }
+
+    /**
+     * Loads the snapshot of the global store with the changes of the journal segments applied.
+     *
+     * @param journalSegments segments of the {@link GlobalStoreJournal} in the order they got written.
+     */
+    public void load(EntityData.GlobalStore snapshot, List<EntityData.GlobalStore> journalSegments) {
+        List<EntityData.GlobalStore> stores = Lists.newArrayListWithCapacity(journalSegments.size() + 1);
+        stores.add(snapshot);
+        stores.addAll(journalSegments);
+
+        // Determine the latest version of every entity:
+        TLongObjectMap<EntityData.Entity> latestEntityData = new TLongObjectHashMap<>();
+        long nextEntityId = 0;
+        for (EntityData.GlobalStore store : stores) {
+            nextEntityId = Math.max(nextEntityId, store.getNextEntityId());
+            TLongIterator removedIterator = GlobalStoreJournal.getRemovedEntities(store).iterator();
+            while (removedIterator.hasNext()) {
+                latestEntityData.remove(removedIterator.next());
+            }
+            for (EntityData.Entity entityData : store.getEntityList()) {
+                latestEntityData.put(entityData.getId(), entityData);
+            }
+        }
+        loadedEntityIds = new TLongHashSet(latestEntityData.keySet());
 
-        loadComponentMapping(globalStore);
-        loadMissingPrefabs(globalStore);
+        entityManager.clear();
+        entityManager.setNextId(nextEntityId);
+        for (EntityData.GlobalStore store : stores) {
+            // The component ids of entities and prefabs depend on the store they are in
+            loadComponentMapping(store);
+            loadMissingPrefabs(store);
 
-        for (EntityData.Entity entityData : globalStore.getEntityList()) {
-            entitySerializer.deserialize(entityData);
+            for (EntityData.Entity entityData : store.getEntityList()) {
+                if (latestEntityData.get(entityData.getId()) == entityData) {
+                    entitySerializer.deserialize(entityData);
+                }
+            }
         }
     }
 
+    /**
+     * @return the ids of the entities that the last loaded global store contained.
+     */
+    public TLongSet getLoadedEntityIds() {
+        return loadedEntityIds;
+    }
+
     private void loadMissingPrefabs(EntityData.GlobalStore globalStore) {
         // Prefabs that still need to be created, by their name
         Map<String, EntityData.Prefab> pendingPrefabs = Maps.newHashMap();
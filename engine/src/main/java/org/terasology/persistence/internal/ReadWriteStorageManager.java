@@ -42,6 +42,8 @@
 import org.terasology.network.Client;
 import org.terasology.network.ClientComponent;
 import org.terasology.network.NetworkSystem;
+import org.terasology.persistence.ChunkStorageFormat;
+import org.terasology.persistence.ChunkStore;
 import org.terasology.persistence.typeHandling.TypeSerializationLibrary;
 import org.terasology.protobuf.EntityData;
 import org.terasology.registry.CoreRegistry;
@@ -63,6 +65,7 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -113,6 +116,7 @@ public final class ReadWriteStorageManager extends AbstractStorageManager implem
      * that will use the privateEntityManager.
      */
     private ComponentLibrary entityRefReplacingComponentLibrary;
+    private boolean restoringEntities;
 
     public ReadWriteStorageManager(Path savePath, ModuleEnvironment environment, EngineEntityManager entityManager,
                                    BlockManager blockManager, BiomeManager biomeManager) throws IOException {
@@ -121,14 +125,21 @@ public ReadWriteStorageManager(Path savePath, ModuleEnvironment environment, Eng
 
     public ReadWriteStorageManager(Path savePath, ModuleEnvironment environment, EngineEntityManager entityManager,
                                    BlockManager blockManager, BiomeManager biomeManager, boolean storeChunksInZips) throws IOException {
-        super(savePath, environment, entityManager, blockManager, biomeManager, storeChunksInZips);
+        this(savePath, environment, entityManager, blockManager, biomeManager,
+                storeChunksInZips ? ChunkStorageFormat.ZIPS : ChunkStorageFormat.SEPARATE_FILES);
+    }
+
+    public ReadWriteStorageManager(Path savePath, ModuleEnvironment environment, EngineEntityManager entityManager,
+                                   BlockManager blockManager, BiomeManager biomeManager,
+                                   ChunkStorageFormat chunkStorageFormat) throws IOException {
+        super(savePath, environment, entityManager, blockManager, biomeManager, chunkStorageFormat, true);
 
         entityManager.subscribeForDestruction(this);
         entityManager.subscribeForChanges(this);
         // TODO Ensure that the component library and the type serializer library are thread save (e.g. immutable)
         this.privateEntityManager = createPrivateEntityManager(entityManager.getComponentLibrary());
         Files.createDirectories(getStoragePathProvider().getStoragePathDirectory());
-        this.saveTransactionHelper = new SaveTransactionHelper(getStoragePathProvider());
+        this.saveTransactionHelper = new SaveTransactionHelper(getStoragePathProvider(), getRegionFileCache());
         this.saveThreadManager = TaskMaster.createFIFOTaskMaster("Saving", 1);
         this.config = CoreRegistry.get(Config.class);
         this.entityRefReplacingComponentLibrary = privateEntityManager.getComponentLibrary()
@@ -148,6 +159,7 @@ private static EngineEntityManager createPrivateEntityManager(ComponentLibrary c
     public void finishSavingAndShutdown() {
         saveThreadManager.shutdown(new ShutdownTask(), true);
         checkSaveTransactionAndClearUpIfItIsDone();
+        getRegionFileCache().closeAll();
     }
 
     private void checkSaveTransactionAndClearUpIfItIsDone() {
@@ -213,10 +225,19 @@ private void addChunksToSaveTransaction(SaveTransactionBuilder saveTransactionBu
         }
 
         chunkProvider.getAllChunks().stream().filter(ManagedChunk::isReady).forEach(chunk -> {
-            // If there is a newer undisposed version of the chunk,we don't need to save the disposed version:
-            unloadedAndSavingChunkMap.remove(chunk.getPosition());
             ChunkImpl chunkImpl = (ChunkImpl) chunk;  // this storage manager can only work with ChunkImpls
-            saveTransactionBuilder.addLoadedChunk(chunk.getPosition(), chunkImpl);
+            if (chunkImpl.hasUnsavedChanges()) {
+                // If there is a newer undisposed version of the chunk,we don't need to save the disposed version:
+                unloadedAndSavingChunkMap.remove(chunk.getPosition());
+                // The save transaction marks the chunk as saved once it got written
+                saveTransactionBuilder.addLoadedChunk(chunk.getPosition(), chunkImpl);
+            } else {
+                /*
+                 * The disposed version (if any) is kept: It matches the chunk, but might not have been written yet.
+                 * The save transaction replaces it should entities of the chunk have changed.
+                 */
+                saveTransactionBuilder.addUnchangedLoadedChunk(chunk.getPosition(), chunkImpl);
+            }
         });
 
         for (Map.Entry<Vector3i, CompressedChunkBuilder> entry : unloadedAndSavingChunkMap.entrySet()) {
@@ -245,12 +266,15 @@ private void waitForCompletionOfPreviousSave() {
 
     private SaveTransaction createSaveTransaction() {
         SaveTransactionBuilder saveTransactionBuilder = new SaveTransactionBuilder(privateEntityManager,
-                entitySetDeltaRecorder, isStoreChunksInZips(), getStoragePathProvider(), worldDirectoryWriteLock);
+                entitySetDeltaRecorder, getChunkStorageFormat(), getStoragePathProvider(), saveTransactionHelper,
+                getGlobalStoreJournal(), worldDirectoryWriteLock);
 
         ChunkProvider chunkProvider = CoreRegistry.get(ChunkProvider.class);
         NetworkSystem networkSystem = CoreRegistry.get(NetworkSystem.class);
 
+        PerformanceMonitor.startActivity("Collecting Changed Chunks");
         addChunksToSaveTransaction(saveTransactionBuilder, chunkProvider);
+        PerformanceMonitor.endActivity();
         addPlayersToSaveTransaction(saveTransactionBuilder, networkSystem);
         addGlobalStoreBuilderToSaveTransaction(saveTransactionBuilder);
         addGameManifestToSaveTransaction(saveTransactionBuilder);
@@ -313,6 +337,25 @@ public void deactivateChunk(Chunk chunk) {
         entitiesOfChunk.forEach(this::deactivateOrDestroyEntityRecursive);
     }
 
+    @Override
+    public void loadGlobalStore() throws IOException {
+        restoringEntities = true;
+        try {
+            super.loadGlobalStore();
+        } finally {
+            restoringEntities = false;
+        }
+    }
+
+    @Override
+    public ChunkStore loadChunkStore(Vector3i chunkPos) {
+        ChunkStore chunkStore = super.loadChunkStore(chunkPos);
+        if (chunkStore == null) {
+            return null;
+        }
+        return new RestoreTrackingChunkStore(chunkStore);
+    }
+
     @Override
     protected byte[] loadCompressedChunk(Vector3i chunkPos) {
         CompressedChunkBuilder disposedUnsavedChunk = unloadedAndUnsavedChunkMap.get(chunkPos);
@@ -364,6 +407,7 @@ private void addGameManifestToSaveTransaction(SaveTransactionBuilder saveTransac
         }
         gameManifest.setBiomeIdMap(biomeIdMap);
         gameManifest.addWorld(worldProvider.getWorldInfo());
+        gameManifest.setChunkStorageFormat(getChunkStorageFormat());
         saveTransactionBuilder.setGameManifest(gameManifest);
     }
 
@@ -443,6 +487,14 @@ public void checkAndRepairSaveIfNecessary() throws IOException {
         if (Files.exists(getStoragePathProvider().getUnmergedChangesPath())) {
             saveTransactionHelper.mergeChanges();
         }
+        if (getChunkStorageFormat() == ChunkStorageFormat.REGION_FILES) {
+            worldDirectoryWriteLock.lock();
+            try {
+                new ChunkZipToRegionConverter(getStoragePathProvider(), getRegionFileCache()).convertAll();
+            } finally {
+                worldDirectoryWriteLock.unlock();
+            }
+        }
     }
 
 
@@ -453,6 +505,7 @@ public void deleteWorld() {
         unloadedAndSavingChunkMap.clear();
         unloadedAndUnsavedPlayerMap.clear();
         unloadedAndSavingPlayerMap.clear();
+        getRegionFileCache().closeAll();
 
         try {
             FilesUtil.recursiveDelete(getStoragePathProvider().getWorldPath());
@@ -463,7 +516,12 @@ public void deleteWorld() {
 
     @Override
     public void onEntityComponentAdded(EntityRef entity, Class<? extends Component> component) {
-        entitySetDeltaRecorder.onEntityComponentAdded(entity, component);
+        if (restoringEntities) {
+            // Restored entities are unchanged, so they do not require the chunk or global store to be saved again
+            entitySetDeltaRecorder.onReactivation(entity, Collections.singletonList(entity.getComponent(component)));
+        } else {
+            entitySetDeltaRecorder.onEntityComponentAdded(entity, component);
+        }
     }
 
     @Override
@@ -494,4 +552,35 @@ public DelayedEntityRef createDelayedEntityRef(long id) {
         entitySetDeltaRecorder.registerDelayedEntityRef(delayedEntityRef);
         return delayedEntityRef;
     }
+
+    /**
+     * Marks the entities restored with the chunk as reactivated rather than changed.
+     */
+    private class RestoreTrackingChunkStore implements ChunkStore {
+        private final ChunkStore chunkStore;
+
+        RestoreTrackingChunkStore(ChunkStore chunkStore) {
+            this.chunkStore = chunkStore;
+        }
+
+        @Override
+        public Vector3i getChunkPosition() {
+            return chunkStore.getChunkPosition();
+        }
+
+        @Override
+        public Chunk getChunk() {
+            return chunkStore.getChunk();
+        }
+
+        @Override
+        public void restoreEntities() {
+            restoringEntities = true;
+            try {
+                chunkStore.restoreEntities();
+            } finally {
+                restoringEntities = false;
+            }
+        }
+    }
 }
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.persistence.internal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+
+/**
+ * A file that packs the compressed data of many chunks. It starts with a fixed size offset table with one entry per
+ * chunk, followed by the chunk data, which is aligned to sectors.
+ * <br><br>
+ * Each table entry consists of the first sector of the chunk data and the length of the data in bytes. An offset of 0
+ * means the chunk is not stored. When a chunk gets written again its data is replaced in place if the previously
+ * allocated sectors are large enough. Otherwise the data gets written to the first run of free sectors that is large
+ * enough, or appended to the end of the file, and the previously allocated sectors become free. Free sectors are
+ * determined from the offset table when the file is opened.
+ * <br><br>
+ * Reads use positional channel reads and can thus happen concurrently. Writes must not happen concurrently with other
+ * reads or writes.
+ *
+ */
+public class RegionFile implements Closeable {
+    static final int SECTOR_SIZE = 4096;
+    private static final int ENTRY_SIZE = 2 * Integer.BYTES;
+
+    private final FileChannel channel;
+    private final int[] sectorOffsets;
+    private final int[] lengths;
+    private final int headerSectors;
+    private final BitSet usedSectors = new BitSet();
+    private int sectorCount;
+    private volatile long lastAccessTime;
+
+    private RegionFile(FileChannel channel, int entryCount, boolean writable) throws IOException {
+        this.channel = channel;
+        this.sectorOffsets = new int[entryCount];
+        this.lengths = new int[entryCount];
+        this.headerSectors = (entryCount * ENTRY_SIZE + SECTOR_SIZE - 1) / SECTOR_SIZE;
+        this.lastAccessTime = System.nanoTime();
+        readHeader(writable);
+    }
+
+    /**
+     * @param entryCount the number of chunks the region file can contain. Must match for all opens of the same file.
+     * @return the opened region file, or null if it does not exist and writable is false.
+     */
+    public static RegionFile open(Path path, int entryCount, boolean writable) throws IOException {
+        FileChannel channel;
+        if (writable) {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } else if (Files.isRegularFile(path)) {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+        } else {
+            return null;
+        }
+        try {
+            return new RegionFile(channel, entryCount, writable);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void readHeader(boolean writable) throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            sectorCount = headerSectors;
+            usedSectors.set(0, headerSectors);
+            if (writable) {
+                ByteBuffer emptyHeader = ByteBuffer.allocate(headerSectors * SECTOR_SIZE);
+                writeFully(emptyHeader, 0);
+            }
+            return;
+        }
+        if (size < (long) headerSectors * SECTOR_SIZE) {
+            throw new IOException("Region file is too small to contain its offset table");
+        }
+        ByteBuffer header = ByteBuffer.allocate(sectorOffsets.length * ENTRY_SIZE);
+        readFully(header, 0);
+        header.flip();
+        usedSectors.set(0, headerSectors);
+        for (int i = 0; i < sectorOffsets.length; i++) {
+            sectorOffsets[i] = header.getInt();
+            lengths[i] = header.getInt();
+            if (sectorOffsets[i] != 0) {
+                usedSectors.set(sectorOffsets[i], sectorOffsets[i] + sectorsFor(lengths[i]));
+            }
+        }
+        sectorCount = (int) ((size + SECTOR_SIZE - 1) / SECTOR_SIZE);
+    }
+
+    /**
+     * @return the stored data of the chunk with the given index, or null if it is not stored.
+     */
+    public byte[] read(int index) throws IOException {
+        lastAccessTime = System.nanoTime();
+        int sectorOffset = sectorOffsets[index];
+        int length = lengths[index];
+        if (sectorOffset == 0) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        readFully(buffer, (long) sectorOffset * SECTOR_SIZE);
+        return buffer.array();
+    }
+
+    /**
+     * Stores the data of the chunk with the given index. The data is written before the offset table gets updated, and
+     * sectors that are still referenced by the offset table on disk are never overwritten by data that gets moved.
+     */
+    public void write(int index, byte[] data) throws IOException {
+        lastAccessTime = System.nanoTime();
+        int neededSectors = sectorsFor(data.length);
+        int oldSectorOffset = sectorOffsets[index];
+        int allocatedSectors = (oldSectorOffset == 0) ? 0 : sectorsFor(lengths[index]);
+        int sectorOffset;
+        if (oldSectorOffset != 0 && neededSectors <= allocatedSectors) {
+            sectorOffset = oldSectorOffset;
+        } else {
+            sectorOffset = allocateSectors(neededSectors);
+        }
+        writeFully(ByteBuffer.wrap(data), (long) sectorOffset * SECTOR_SIZE);
+
+        ByteBuffer entry = ByteBuffer.allocate(ENTRY_SIZE);
+        entry.putInt(sectorOffset);
+        entry.putInt(data.length);
+        entry.flip();
+        writeFully(entry, (long) index * ENTRY_SIZE);
+        sectorOffsets[index] = sectorOffset;
+        lengths[index] = data.length;
+
+        if (sectorOffset == oldSectorOffset) {
+            usedSectors.clear(sectorOffset + neededSectors, sectorOffset + allocatedSectors);
+        } else if (oldSectorOffset != 0) {
+            usedSectors.clear(oldSectorOffset, oldSectorOffset + allocatedSectors);
+        }
+    }
+
+    /**
+     * Marks the first run of free sectors of the given length as used. Runs may extend past the end of the file.
+     *
+     * @return the first sector of the run
+     */
+    private int allocateSectors(int count) {
+        int start = usedSectors.nextClearBit(headerSectors);
+        while (true) {
+            int end = usedSectors.nextSetBit(start);
+            if (end == -1 || end - start >= count) {
+                break;
+            }
+            start = usedSectors.nextClearBit(end);
+        }
+        usedSectors.set(start, start + count);
+        sectorCount = Math.max(sectorCount, start + count);
+        return start;
+    }
+
+    private static int sectorsFor(int length) {
+        return Math.max(1, (length + SECTOR_SIZE - 1) / SECTOR_SIZE);
+    }
+
+    /**
+     * Forces all written data to the storage device.
+     */
+    public void flush() throws IOException {
+        channel.force(false);
+    }
+
+    long getLastAccessTime() {
+        return lastAccessTime;
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        long pos = position;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, pos);
+            if (read < 0) {
+                throw new IOException("Unexpected end of region file");
+            }
+            pos += read;
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        long pos = position;
+        while (buffer.hasRemaining()) {
+            pos += channel.write(buffer, pos);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
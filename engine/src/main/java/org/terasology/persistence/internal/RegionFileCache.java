@@ -0,0 +1,165 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.persistence.internal;
+
+import com.google.common.collect.Maps;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Keeps a bounded number of {@link RegionFile}s open, so that loading chunks does not need to open a file per chunk.
+ * <br><br>
+ * Multiple threads can read chunks at the same time. Opening or closing region files and writing to them is done
+ * exclusively.
+ *
+ */
+public class RegionFileCache {
+    private static final Logger logger = LoggerFactory.getLogger(RegionFileCache.class);
+    private static final int MAX_OPEN_FILES = 64;
+
+    private final int entryCount;
+    private final boolean writable;
+    private final Map<Path, RegionFile> openFiles = Maps.newConcurrentMap();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * @param entryCount the number of chunks per region file.
+     * @param writable   if false region files will only be opened for reading and writes will fail.
+     */
+    public RegionFileCache(int entryCount, boolean writable) {
+        this.entryCount = entryCount;
+        this.writable = writable;
+    }
+
+    /**
+     * @return the data stored for the given chunk index, or null if the region file or the chunk does not exist.
+     */
+    public byte[] read(Path regionPath, int index) throws IOException {
+        lock.readLock().lock();
+        try {
+            RegionFile regionFile = openFiles.get(regionPath);
+            if (regionFile != null) {
+                return regionFile.read(index);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (!Files.isRegularFile(regionPath)) {
+                return null;
+            }
+            return getOrOpen(regionPath).read(index);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Stores the data for the given chunk index, creating the region file if necessary.
+     */
+    public void write(Path regionPath, int index, byte[] data) throws IOException {
+        if (!writable) {
+            throw new IOException("Region files are opened read only");
+        }
+        lock.writeLock().lock();
+        try {
+            getOrOpen(regionPath).write(index, data);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Forces the data of the given region file to the storage device, if it is open.
+     */
+    public void flush(Path regionPath) throws IOException {
+        lock.writeLock().lock();
+        try {
+            RegionFile regionFile = openFiles.get(regionPath);
+            if (regionFile != null) {
+                regionFile.flush();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Closes all open region files. They will be reopened on demand.
+     */
+    public void closeAll() {
+        lock.writeLock().lock();
+        try {
+            for (Map.Entry<Path, RegionFile> entry : openFiles.entrySet()) {
+                close(entry.getKey(), entry.getValue());
+            }
+            openFiles.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The write lock must be held.
+     */
+    private RegionFile getOrOpen(Path regionPath) throws IOException {
+        RegionFile regionFile = openFiles.get(regionPath);
+        if (regionFile == null) {
+            if (openFiles.size() >= MAX_OPEN_FILES) {
+                evictLeastRecentlyUsed();
+            }
+            regionFile = RegionFile.open(regionPath, entryCount, writable);
+            if (regionFile == null) {
+                throw new NoSuchFileException(regionPath.toString());
+            }
+            openFiles.put(regionPath, regionFile);
+        }
+        return regionFile;
+    }
+
+    private void evictLeastRecentlyUsed() {
+        Path oldestPath = null;
+        long oldestAccessTime = Long.MAX_VALUE;
+        for (Map.Entry<Path, RegionFile> entry : openFiles.entrySet()) {
+            long accessTime = entry.getValue().getLastAccessTime();
+            if (accessTime < oldestAccessTime) {
+                oldestAccessTime = accessTime;
+                oldestPath = entry.getKey();
+            }
+        }
+        if (oldestPath != null) {
+            close(oldestPath, openFiles.remove(oldestPath));
+        }
+    }
+
+    private void close(Path regionPath, RegionFile regionFile) {
+        try {
+            regionFile.close();
+        } catch (IOException e) {
+            logger.error("Failed to close region file {}", regionPath, e);
+        }
+    }
+}
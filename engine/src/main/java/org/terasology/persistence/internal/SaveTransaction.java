@@ -15,26 +15,40 @@
  */
 package org.terasology.persistence.internal;
 
+import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.sun.nio.zipfs.ZipFileSystemProvider;
+import gnu.trove.list.TLongList;
+import gnu.trove.list.array.TLongArrayList;
+import gnu.trove.map.TObjectIntMap;
+import gnu.trove.map.hash.TObjectIntHashMap;
+import gnu.trove.set.TLongSet;
+import gnu.trove.set.hash.TLongHashSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.entitySystem.Component;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.internal.EngineEntityManager;
+import org.terasology.entitySystem.entity.internal.OwnershipHelper;
 import org.terasology.game.GameManifest;
 import org.terasology.logic.location.LocationComponent;
 import org.terasology.math.ChunkMath;
 import org.terasology.math.geom.Vector3f;
 import org.terasology.math.geom.Vector3i;
+import org.terasology.monitoring.ThreadActivity;
+import org.terasology.monitoring.ThreadMonitor;
 import org.terasology.network.ClientComponent;
+import org.terasology.persistence.ChunkStorageFormat;
 import org.terasology.protobuf.EntityData;
 import org.terasology.utilities.concurrency.AbstractTask;
+import org.terasology.utilities.concurrency.DaemonThreadFactory;
 import org.terasology.world.chunks.internal.ChunkImpl;
 
 import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.file.AccessDeniedException;
@@ -54,6 +68,8 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.locks.Lock;
 
 /**
@@ -66,6 +82,10 @@ public class SaveTransaction extends AbstractTask {
     private static final Logger logger = LoggerFactory.getLogger(SaveTransaction.class);
 
     private static final ImmutableMap<String, String> CREATE_ZIP_OPTIONS = ImmutableMap.of("create", "true", "encoding", "UTF-8");
+    /**
+     * Number of threads that encode and compress chunks while the save thread writes them.
+     */
+    private static final int ENCODING_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
     private final GameManifest gameManifest;
     private final Lock worldDirectoryWriteLock;
     private final EngineEntityManager privateEntityManager;
@@ -77,16 +97,43 @@ public class SaveTransaction extends AbstractTask {
     private final Map<String, PlayerStoreBuilder> loadedPlayers;
     private final Map<Vector3i, CompressedChunkBuilder> unloadedChunks;
     private final Map<Vector3i, ChunkImpl> loadedChunks;
+    private final Map<Vector3i, ChunkImpl> unchangedLoadedChunks;
     private final GlobalStoreBuilder globalStoreBuilder;
+    private final GlobalStoreJournal globalStoreJournal;
 
     // processed data:
+    /**
+     * Either a new snapshot of the global store or a segment to append to its journal.
+     */
     private EntityData.GlobalStore globalStore;
+    private boolean compactingGlobalStore;
+    private TLongSet globalEntityIds;
+    private long globalStoreSize;
     private Map<String, EntityData.PlayerStore> allPlayers;
     private Map<Vector3i, CompressedChunkBuilder> allChunks;
+    /**
+     * Positions of the chunks in which modified entities were stored at the last save or will be stored now.
+     */
+    private Set<Vector3i> chunksWithModifiedEntities = new HashSet<>();
+    /**
+     * The entity that owns each owned entity, built once per save. Only owners among the modified entities can change
+     * while applying the delta, so the entities they owned before are kept to update the map afterwards.
+     */
+    private Map<EntityRef, EntityRef> owners;
+    private ListMultimap<EntityRef, EntityRef> ownedByModifiedEntities;
+    /**
+     * The version of each loaded chunk that is being saved, to mark it as saved once the save is complete.
+     */
+    private TObjectIntMap<ChunkImpl> savedChunkVersions = new TObjectIntHashMap<>();
+    private int savedLoadedChunkCount;
+    /**
+     * All chunks to save, with the chunks that get written to the same file next to each other.
+     */
+    private List<Map.Entry<Vector3i, CompressedChunkBuilder>> chunksInWriteOrder;
 
 
     // Save parameters:
-    private final boolean storeChunksInZips;
+    private final ChunkStorageFormat chunkStorageFormat;
 
     // utility classes for saving:
     private final StoragePathProvider storagePathProvider;
@@ -96,20 +143,24 @@ public class SaveTransaction extends AbstractTask {
     public SaveTransaction(EngineEntityManager privateEntityManager, EntitySetDeltaRecorder deltaToSave,
                            Map<String, EntityData.PlayerStore> unloadedPlayers,
                            Map<String, PlayerStoreBuilder> loadedPlayers, GlobalStoreBuilder globalStoreBuilder,
+                           GlobalStoreJournal globalStoreJournal,
                            Map<Vector3i, CompressedChunkBuilder> unloadedChunks, Map<Vector3i, ChunkImpl> loadedChunks,
-                           GameManifest gameManifest, boolean storeChunksInZips,
-                           StoragePathProvider storagePathProvider, Lock worldDirectoryWriteLock) {
+                           Map<Vector3i, ChunkImpl> unchangedLoadedChunks, GameManifest gameManifest, ChunkStorageFormat chunkStorageFormat,
+                           StoragePathProvider storagePathProvider, SaveTransactionHelper saveTransactionHelper,
+                           Lock worldDirectoryWriteLock) {
         this.privateEntityManager = privateEntityManager;
         this.deltaToSave = deltaToSave;
         this.unloadedPlayers = unloadedPlayers;
         this.loadedPlayers = loadedPlayers;
         this.unloadedChunks = unloadedChunks;
         this.loadedChunks = loadedChunks;
+        this.unchangedLoadedChunks = unchangedLoadedChunks;
         this.globalStoreBuilder = globalStoreBuilder;
+        this.globalStoreJournal = globalStoreJournal;
         this.gameManifest = gameManifest;
-        this.storeChunksInZips = storeChunksInZips;
+        this.chunkStorageFormat = chunkStorageFormat;
         this.storagePathProvider = storagePathProvider;
-        this.saveTransactionHelper = new SaveTransactionHelper(storagePathProvider);
+        this.saveTransactionHelper = saveTransactionHelper;
         this.worldDirectoryWriteLock = worldDirectoryWriteLock;
     }
 
@@ -121,13 +172,16 @@ public String getName() {
 
     @Override
     public void run() {
+        long startTime = System.currentTimeMillis();
         try {
             if (Files.exists(storagePathProvider.getUnmergedChangesPath())) {
                 // should not happen, as initialization should clean it up
                 throw new IOException("Save rand while there were unmerged changes");
             }
             saveTransactionHelper.cleanupSaveTransactionDirectory();
+            addChunksOfModifiedEntities();
             applyDeltaToPrivateEntityManager();
+            addChunksOfModifiedEntities();
             prepareChunksPlayersAndGlobalStore();
             createSaveTransactionDirectory();
             writePlayerStores();
@@ -136,8 +190,12 @@ public void run() {
             saveGameManifest();
             perpareChangesForMerge();
             mergeChanges();
+            updateGlobalStoreJournal();
+            markChunksSaved();
             result = SaveTransactionResult.createSuccessResult();
-            logger.info("Save game finished");
+            logger.info("Save game finished in {} ms: Saved {} of {} loaded chunks and {} unloaded chunks",
+                    System.currentTimeMillis() - startTime, savedLoadedChunkCount,
+                    loadedChunks.size() + unchangedLoadedChunks.size(), unloadedChunks.size());
         } catch (IOException | RuntimeException t) {
             logger.error("Save game creation failed", t);
             result = SaveTransactionResult.createFailureResult(t);
@@ -156,7 +214,59 @@ private void prepareChunksPlayersAndGlobalStore() {
         }
         preparePlayerStores(unsavedEntities);
         prepareCompressedChunkBuilders(unsavedEntities);
-        this.globalStore = globalStoreBuilder.build(privateEntityManager, unsavedEntities);
+        prepareGlobalStore(unsavedEntities);
+    }
+
+    /**
+     * Prepares either a new snapshot of the global store, or a journal segment with the entities that got added to
+     * the global store or changed, and the ids of the entities that are no longer part of it.
+     *
+     * @param globalEntities the entities that belong to the global store.
+     */
+    private void prepareGlobalStore(Set<EntityRef> globalEntities) {
+        TLongSet storedEntityIds = globalStoreJournal.getStoredEntityIds();
+        List<EntityRef> changedEntities = Lists.newArrayList();
+        globalEntityIds = new TLongHashSet(globalEntities.size());
+        for (EntityRef entity : globalEntities) {
+            globalEntityIds.add(entity.getId());
+            if (!storedEntityIds.contains(entity.getId())) {
+                changedEntities.add(entity);
+            }
+        }
+        compactingGlobalStore = globalStoreJournal.isCompactionDue();
+        long generation = globalStoreJournal.getGeneration();
+        if (compactingGlobalStore) {
+            EntityData.GlobalStore snapshot = globalStoreBuilder.build(privateEntityManager, globalEntities);
+            globalStore = GlobalStoreJournal.withGeneration(snapshot, generation + 1);
+            return;
+        }
+
+        // Besides the entities that joined the global store, only the modified ones need to be serialized again
+        int keptEntityCount = globalEntityIds.size() - changedEntities.size();
+        List<EntityRef> modifiedEntities = Lists.newArrayList();
+        deltaToSave.getModifiedEntities().forEach(id -> {
+            if (privateEntityManager.isActiveEntity(id)) {
+                EntityRef entity = privateEntityManager.getEntity(id);
+                modifiedEntities.add(entity);
+                if (storedEntityIds.contains(id) && globalEntityIds.contains(id)) {
+                    changedEntities.add(entity);
+                }
+            }
+            return true;
+        });
+        TLongList removedEntityIds = new TLongArrayList();
+        // Unless some stored entities are no longer in the store, there is no need to look for them
+        if (keptEntityCount < storedEntityIds.size()) {
+            storedEntityIds.forEach(id -> {
+                if (!globalEntityIds.contains(id)) {
+                    removedEntityIds.add(id);
+                }
+                return true;
+            });
+        }
+        EntityData.GlobalStore segment = globalStoreBuilder.buildJournalSegment(privateEntityManager, changedEntities,
+                removedEntityIds, modifiedEntities);
+        globalStore = GlobalStoreJournal.withGeneration(segment, generation);
     }
 
 
@@ -170,17 +280,150 @@ private void prepareCompressedChunkBuilders(Set<EntityRef> unsavedEntities) {
         allChunks = Maps.newHashMap();
         allChunks.putAll(unloadedChunks);
         for (Map.Entry<Vector3i, ChunkImpl> chunkEntry : loadedChunks.entrySet()) {
-            Collection<EntityRef> entitiesToStore = chunkPosToEntitiesMap.get(chunkEntry.getKey());
-            if (entitiesToStore == null) {
-                entitiesToStore = Collections.emptySet();
+            prepareLoadedChunk(chunkEntry.getKey(), chunkEntry.getValue(), chunkPosToEntitiesMap, unsavedEntities);
+        }
+        OwnershipHelper ownershipHelper = new OwnershipHelper(privateEntityManager.getComponentLibrary());
+        for (Map.Entry<Vector3i, ChunkImpl> chunkEntry : unchangedLoadedChunks.entrySet()) {
+            Vector3i chunkPos = chunkEntry.getKey();
+            if (chunksWithModifiedEntities.contains(chunkPos)) {
+                prepareLoadedChunk(chunkPos, chunkEntry.getValue(), chunkPosToEntitiesMap, unsavedEntities);
+            } else {
+                // The stored version is still up to date, its entities must not end up in the global store:
+                Collection<EntityRef> storedEntities = chunkPosToEntitiesMap.get(chunkPos);
+                if (storedEntities != null) {
+                    for (EntityRef entity : storedEntities) {
+                        removeWithOwnedEntities(entity, unsavedEntities, ownershipHelper);
+                    }
+                }
+            }
+        }
+    }
+
+    private void prepareLoadedChunk(Vector3i chunkPos, ChunkImpl chunk,
+                                    Map<Vector3i, Collection<EntityRef>> chunkPosToEntitiesMap,
+                                    Set<EntityRef> unsavedEntities) {
+        Collection<EntityRef> entitiesToStore = chunkPosToEntitiesMap.get(chunkPos);
+        if (entitiesToStore == null) {
+            entitiesToStore = Collections.emptySet();
+        }
+        unsavedEntities.removeAll(entitiesToStore);
+        // Read before the snapshot gets taken, so that changes made meanwhile get saved again next time
+        savedChunkVersions.put(chunk, chunk.getChangeVersion());
+        CompressedChunkBuilder compressedChunkBuilder = new CompressedChunkBuilder(privateEntityManager, chunk,
+                entitiesToStore, false);
+        unsavedEntities.removeAll(compressedChunkBuilder.getStoredEntities());
+        allChunks.put(chunkPos, compressedChunkBuilder);
+        savedLoadedChunkCount++;
+    }
+
+    /**
+     * Removes the entity and the entities it owns the same way as {@link EntityStorer} would store them.
+     */
+    private void removeWithOwnedEntities(EntityRef entity, Set<EntityRef> unsavedEntities,
+                                         OwnershipHelper ownershipHelper) {
+        if (unsavedEntities.remove(entity)) {
+            for (EntityRef ownedEntity : ownershipHelper.listOwnedEntities(entity)) {
+                if (!ownedEntity.isAlwaysRelevant() && ownedEntity.isPersistent()) {
+                    removeWithOwnedEntities(ownedEntity, unsavedEntities, ownershipHelper);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the positions of the chunks in which the modified entities are currently stored to
+     * {@link #chunksWithModifiedEntities}. Gets called before and after applying the delta, so that both the chunks
+     * entities got removed from and the chunks they got added to get saved.
+     */
+    private void addChunksOfModifiedEntities() {
+        TLongSet modifiedEntities = deltaToSave.getModifiedEntities();
+        if (modifiedEntities.isEmpty()) {
+            return;
+        }
+        if (owners == null) {
+            createOwnerMap(modifiedEntities);
+        } else {
+            updateOwnerMap(modifiedEntities);
+        }
+        modifiedEntities.forEach(entityId -> {
+            Vector3i reactivationChunkPos = deltaToSave.getReactivationChunkPositions().get(entityId);
+            if (reactivationChunkPos != null) {
+                chunksWithModifiedEntities.add(reactivationChunkPos);
+            }
+            if (privateEntityManager.isActiveEntity(entityId)) {
+                Vector3i chunkPos = getStorageChunkPosition(privateEntityManager.getEntity(entityId), owners);
+                if (chunkPos != null) {
+                    chunksWithModifiedEntities.add(chunkPos);
+                }
+            }
+            return true;
+        });
+    }
+
+    private void createOwnerMap(TLongSet modifiedEntities) {
+        OwnershipHelper ownershipHelper = new OwnershipHelper(privateEntityManager.getComponentLibrary());
+        owners = Maps.newHashMap();
+        ownedByModifiedEntities = ArrayListMultimap.create();
+        for (EntityRef entity : privateEntityManager.getAllEntities()) {
+            boolean modified = modifiedEntities.contains(entity.getId());
+            for (EntityRef ownedEntity : ownershipHelper.listOwnedEntities(entity)) {
+                owners.put(ownedEntity, entity);
+                if (modified) {
+                    ownedByModifiedEntities.put(entity, ownedEntity);
+                }
+            }
+        }
+    }
+
+    /**
+     * Updates the owner map after the delta got applied, by replacing what the modified entities own.
+     */
+    private void updateOwnerMap(TLongSet modifiedEntities) {
+        for (Map.Entry<EntityRef, EntityRef> entry : ownedByModifiedEntities.entries()) {
+            if (entry.getKey().equals(owners.get(entry.getValue()))) {
+                owners.remove(entry.getValue());
+            }
+        }
+        ownedByModifiedEntities = null;
+        OwnershipHelper ownershipHelper = new OwnershipHelper(privateEntityManager.getComponentLibrary());
+        modifiedEntities.forEach(entityId -> {
+            if (privateEntityManager.isActiveEntity(entityId)) {
+                EntityRef entity = privateEntityManager.getEntity(entityId);
+                for (EntityRef ownedEntity : ownershipHelper.listOwnedEntities(entity)) {
+                    owners.put(ownedEntity, entity);
+                }
+            }
+            return true;
+        });
+    }
+
+    /**
+     * @return the position of the chunk the entity gets stored with, via the entity that (indirectly) owns it. Null
+     * if the entity does not get stored with a chunk.
+     */
+    private Vector3i getStorageChunkPosition(EntityRef entity, Map<EntityRef, EntityRef> owners) {
+        EntityRef root = entity;
+        Set<EntityRef> visited = new HashSet<>();
+        visited.add(root);
+        while (true) {
+            EntityRef owner = owners.get(root);
+            if (owner == null && root.getOwner().exists()) {
+                owner = root.getOwner();
+            }
+            if (owner == null || !visited.add(owner)) {
+                break;
             }
-            ChunkImpl chunk = chunkEntry.getValue();
-            unsavedEntities.removeAll(entitiesToStore);
-            CompressedChunkBuilder compressedChunkBuilder = new CompressedChunkBuilder(privateEntityManager, chunk,
-                    entitiesToStore, false);
-            unsavedEntities.removeAll(compressedChunkBuilder.getStoredEntities());
-            allChunks.put(chunkEntry.getKey(), compressedChunkBuilder);
+            root = owner;
+        }
+        if (root.getOwner().exists() || root.hasComponent(ClientComponent.class) || root.isAlwaysRelevant()) {
+            return null;
+        }
+        LocationComponent locationComponent = root.getComponent(LocationComponent.class);
+        if (locationComponent == null) {
+            return null;
         }
+        Vector3f loc = locationComponent.getWorldPosition();
+        return ChunkMath.calcChunkPos((int) loc.x, (int) loc.y, (int) loc.z);
     }
 
     /**
@@ -340,68 +583,179 @@ private void writePlayerStores() throws IOException {
     }
 
     private void writeGlobalStore() throws IOException {
-        Path path = storagePathProvider.getGlobalEntityStoreTempPath();
-        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
-            globalStore.writeTo(out);
+        Path journalUpdatePath = storagePathProvider.getGlobalEntityJournalUpdateTempPath();
+        if (compactingGlobalStore) {
+            Path path = storagePathProvider.getGlobalEntityStoreTempPath();
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
+                globalStore.writeTo(out);
+            }
+            globalStoreSize = Files.size(path);
+            // Clears the journal, its segments are part of the new snapshot:
+            GlobalStoreJournal.writeUpdate(journalUpdatePath, 0, null);
+        } else {
+            globalStoreSize = GlobalStoreJournal.writeUpdate(journalUpdatePath, globalStoreJournal.getJournalSize(),
+                    globalStore);
         }
     }
 
-    private void writeChunkStores() throws IOException {
-        FileSystemProvider zipProvider = new ZipFileSystemProvider();
+    private void updateGlobalStoreJournal() {
+        if (compactingGlobalStore) {
+            globalStoreJournal.onCompacted(GlobalStoreJournal.getGeneration(globalStore), globalStoreSize,
+                    globalEntityIds);
+            logger.info("Saving - Compacted global entity store into a snapshot of {} entities", globalEntityIds.size());
+        } else {
+            globalStoreJournal.onAppended(globalStoreSize, globalEntityIds);
+        }
+    }
 
+    private void writeChunkStores() throws IOException {
         Path chunksPath = storagePathProvider.getWorldTempPath();
         Files.createDirectories(chunksPath);
-        if (storeChunksInZips) {
-            Map<Vector3i, FileSystem> newChunkZips = Maps.newHashMap();
-            for (Map.Entry<Vector3i, CompressedChunkBuilder> entry : allChunks.entrySet()) {
-                Vector3i chunkPos = entry.getKey();
-                Vector3i chunkZipPos = storagePathProvider.getChunkZipPosition(chunkPos);
-                FileSystem zip = newChunkZips.get(chunkZipPos);
-                if (zip == null) {
-                    Path targetPath = storagePathProvider.getChunkZipTempPath(chunkZipPos);
-                    Files.deleteIfExists(targetPath);
-                    zip = zipProvider.newFileSystem(targetPath, CREATE_ZIP_OPTIONS);
-                    newChunkZips.put(chunkZipPos, zip);
-                }
-                Path chunkPath = zip.getPath(storagePathProvider.getChunkFilename(chunkPos));
-                CompressedChunkBuilder compressedChunkBuilder = entry.getValue();
-                byte[] compressedChunk = compressedChunkBuilder.buildEncodedChunk();
-                try (BufferedOutputStream bos = new BufferedOutputStream(Files.newOutputStream(chunkPath))) {
-                    bos.write(compressedChunk);
+        chunksInWriteOrder = createChunkWriteOrder();
+        ExecutorService encodingThreads = Executors.newFixedThreadPool(ENCODING_THREADS,
+                new DaemonThreadFactory("Saving-Encoding-"));
+        try {
+            startEncodingChunks(encodingThreads);
+            switch (chunkStorageFormat) {
+                case ZIPS:
+                    writeChunkZips();
+                    break;
+                case REGION_FILES:
+                    writeChunkRegionUpdates();
+                    break;
+                default:
+                    writeChunkFiles();
+                    break;
+            }
+        } finally {
+            encodingThreads.shutdownNow();
+        }
+    }
+
+    private List<Map.Entry<Vector3i, CompressedChunkBuilder>> createChunkWriteOrder() {
+        Map<Vector3i, List<Map.Entry<Vector3i, CompressedChunkBuilder>>> chunksByFile = Maps.newLinkedHashMap();
+        for (Map.Entry<Vector3i, CompressedChunkBuilder> entry : allChunks.entrySet()) {
+            Vector3i filePos;
+            switch (chunkStorageFormat) {
+                case ZIPS:
+                    filePos = storagePathProvider.getChunkZipPosition(entry.getKey());
+                    break;
+                case REGION_FILES:
+                    filePos = storagePathProvider.getChunkRegionPosition(entry.getKey());
+                    break;
+                default:
+                    filePos = entry.getKey();
+                    break;
+            }
+            chunksByFile.computeIfAbsent(filePos, k -> Lists.newArrayList()).add(entry);
+        }
+        List<Map.Entry<Vector3i, CompressedChunkBuilder>> result = Lists.newArrayListWithCapacity(allChunks.size());
+        chunksByFile.values().forEach(result::addAll);
+        return result;
+    }
+
+    /**
+     * Starts encoding and compressing the chunks in the order they will be written. The save thread waits for a
+     * chunk that is still being encoded when it wants to write it, or encodes it itself if no thread got to it yet.
+     * Either way {@link CompressedChunkBuilder#buildEncodedChunk()} encodes every chunk only once.
+     *
+     * @param encodingThreads the executor to run the encoding on, to be shut down after all chunks have been written.
+     */
+    private void startEncodingChunks(ExecutorService encodingThreads) {
+        for (Map.Entry<Vector3i, CompressedChunkBuilder> entry : chunksInWriteOrder) {
+            CompressedChunkBuilder compressedChunkBuilder = entry.getValue();
+            encodingThreads.execute(() -> {
+                try (ThreadActivity ignored = ThreadMonitor.startThreadActivity("Encoding Chunk")) {
+                    compressedChunkBuilder.buildEncodedChunk();
+                } catch (RuntimeException e) {
+                    // The save thread encodes the chunk again when writing it and reports the failure
+                    logger.debug("Failed to encode chunk {} in advance", entry.getKey(), e);
                 }
+            });
+        }
+    }
+
+    private void writeChunkZips() throws IOException {
+        FileSystemProvider zipProvider = new ZipFileSystemProvider();
+        Map<Vector3i, FileSystem> newChunkZips = Maps.newHashMap();
+        for (Map.Entry<Vector3i, CompressedChunkBuilder> entry : chunksInWriteOrder) {
+            Vector3i chunkPos = entry.getKey();
+            Vector3i chunkZipPos = storagePathProvider.getChunkZipPosition(chunkPos);
+            FileSystem zip = newChunkZips.get(chunkZipPos);
+            if (zip == null) {
+                Path targetPath = storagePathProvider.getChunkZipTempPath(chunkZipPos);
+                Files.deleteIfExists(targetPath);
+                zip = zipProvider.newFileSystem(targetPath, CREATE_ZIP_OPTIONS);
+                newChunkZips.put(chunkZipPos, zip);
+            }
+            Path chunkPath = zip.getPath(storagePathProvider.getChunkFilename(chunkPos));
+            CompressedChunkBuilder compressedChunkBuilder = entry.getValue();
+            byte[] compressedChunk = compressedChunkBuilder.buildEncodedChunk();
+            try (BufferedOutputStream bos = new BufferedOutputStream(Files.newOutputStream(chunkPath))) {
+                bos.write(compressedChunk);
             }
-            // Copy existing, unmodified content into the zips and close them
-            for (Map.Entry<Vector3i, FileSystem> chunkZipEntry : newChunkZips.entrySet()) {
-                Vector3i chunkZipPos = chunkZipEntry.getKey();
-                Path oldChunkZipPath = storagePathProvider.getChunkZipPath(chunkZipPos);
-                final FileSystem zip = chunkZipEntry.getValue();
-                if (Files.isRegularFile(oldChunkZipPath)) {
-                    try (FileSystem oldZip = FileSystems.newFileSystem(oldChunkZipPath, null)) {
-                        for (Path root : oldZip.getRootDirectories()) {
-                            Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
-                                @Override
-                                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
-                                        throws IOException {
-                                    if (!Files.isRegularFile(zip.getPath(file.toString()))) {
-                                        Files.copy(file, zip.getPath(file.toString()));
-                                    }
-                                    return FileVisitResult.CONTINUE;
+        }
+        // Copy existing, unmodified content into the zips and close them
+        for (Map.Entry<Vector3i, FileSystem> chunkZipEntry : newChunkZips.entrySet()) {
+            Vector3i chunkZipPos = chunkZipEntry.getKey();
+            Path oldChunkZipPath = storagePathProvider.getChunkZipPath(chunkZipPos);
+            final FileSystem zip = chunkZipEntry.getValue();
+            if (Files.isRegularFile(oldChunkZipPath)) {
+                try (FileSystem oldZip = FileSystems.newFileSystem(oldChunkZipPath, null)) {
+                    for (Path root : oldZip.getRootDirectories()) {
+                        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+                            @Override
+                            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
+                                    throws IOException {
+                                if (!Files.isRegularFile(zip.getPath(file.toString()))) {
+                                    Files.copy(file, zip.getPath(file.toString()));
                                 }
-                            });
-                        }
+                                return FileVisitResult.CONTINUE;
+                            }
+                        });
                     }
                 }
-                zip.close();
             }
-        } else {
-            for (Map.Entry<Vector3i, CompressedChunkBuilder> entry : allChunks.entrySet()) {
+            zip.close();
+        }
+    }
+
+    /**
+     * Writes one update file per modified region file. The region files themselves get modified in place when the
+     * changes get merged, so unmodified chunks don't need to be copied.
+     */
+    private void writeChunkRegionUpdates() throws IOException {
+        Map<Vector3i, DataOutputStream> regionUpdates = Maps.newHashMap();
+        try {
+            for (Map.Entry<Vector3i, CompressedChunkBuilder> entry : chunksInWriteOrder) {
                 Vector3i chunkPos = entry.getKey();
-                CompressedChunkBuilder compressedChunkBuilder = entry.getValue();
-                byte[] compressedChunk = compressedChunkBuilder.buildEncodedChunk();
-                Path chunkPath = storagePathProvider.getChunkTempPath(chunkPos);
-                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(chunkPath))) {
-                    out.write(compressedChunk);
+                Vector3i chunkRegionPos = storagePathProvider.getChunkRegionPosition(chunkPos);
+                DataOutputStream out = regionUpdates.get(chunkRegionPos);
+                if (out == null) {
+                    Path updatePath = storagePathProvider.getChunkRegionUpdateTempPath(chunkRegionPos);
+                    out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(updatePath)));
+                    regionUpdates.put(chunkRegionPos, out);
                 }
+                byte[] compressedChunk = entry.getValue().buildEncodedChunk();
+                out.writeInt(storagePathProvider.getChunkRegionIndex(chunkPos));
+                out.writeInt(compressedChunk.length);
+                out.write(compressedChunk);
+            }
+        } finally {
+            for (DataOutputStream out : regionUpdates.values()) {
+                out.close();
+            }
+        }
+    }
+
+    private void writeChunkFiles() throws IOException {
+        for (Map.Entry<Vector3i, CompressedChunkBuilder> entry : chunksInWriteOrder) {
+            Vector3i chunkPos = entry.getKey();
+            CompressedChunkBuilder compressedChunkBuilder = entry.getValue();
+            byte[] compressedChunk = compressedChunkBuilder.buildEncodedChunk();
+            Path chunkPath = storagePathProvider.getChunkTempPath(chunkPos);
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(chunkPath))) {
+                out.write(compressedChunk);
             }
         }
     }
@@ -423,6 +777,17 @@ private void saveGameManifest() {
         }
     }
 
+    /**
+     * Marks the saved loaded chunks as saved, once they have been written for good. Should the save fail before, they
+     * still have unsaved changes and get saved with the next save.
+     */
+    private void markChunksSaved() {
+        savedChunkVersions.forEachEntry((chunk, version) -> {
+            chunk.markSaved(version);
+            return true;
+        });
+    }
+
     private void mergeChanges() throws IOException {
         worldDirectoryWriteLock.lock();
         try {
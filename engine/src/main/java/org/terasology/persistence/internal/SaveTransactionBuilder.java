@@ -19,6 +19,7 @@
 import org.terasology.entitySystem.entity.internal.EngineEntityManager;
 import org.terasology.game.GameManifest;
 import org.terasology.math.geom.Vector3i;
+import org.terasology.persistence.ChunkStorageFormat;
 import org.terasology.protobuf.EntityData;
 import org.terasology.world.chunks.internal.ChunkImpl;
 
@@ -37,18 +38,24 @@ class SaveTransactionBuilder {
     private Map<String, PlayerStoreBuilder> loadedPlayers = Maps.newHashMap();
     private Map<Vector3i, CompressedChunkBuilder> unloadedChunks = Maps.newHashMap();
     private Map<Vector3i, ChunkImpl> loadedChunks = Maps.newHashMap();
+    private Map<Vector3i, ChunkImpl> unchangedLoadedChunks = Maps.newHashMap();
     private GlobalStoreBuilder globalStoreBuilder;
-    private final boolean storeChunksInZips;
+    private final GlobalStoreJournal globalStoreJournal;
+    private final ChunkStorageFormat chunkStorageFormat;
     private final StoragePathProvider storagePathProvider;
+    private final SaveTransactionHelper saveTransactionHelper;
     private GameManifest gameManifest;
 
     SaveTransactionBuilder(EngineEntityManager privateEntityManager, EntitySetDeltaRecorder deltaToSave,
-                           boolean storeChunksInZips, StoragePathProvider storagePathProvider,
+                           ChunkStorageFormat chunkStorageFormat, StoragePathProvider storagePathProvider,
+                           SaveTransactionHelper saveTransactionHelper, GlobalStoreJournal globalStoreJournal,
                            Lock worldDirectoryWriteLock) {
         this.privateEntityManager = privateEntityManager;
         this.deltaToSave = deltaToSave;
-        this.storeChunksInZips = storeChunksInZips;
+        this.chunkStorageFormat = chunkStorageFormat;
         this.storagePathProvider = storagePathProvider;
+        this.saveTransactionHelper = saveTransactionHelper;
+        this.globalStoreJournal = globalStoreJournal;
         this.worldDirectoryWriteLock = worldDirectoryWriteLock;
     }
 
@@ -73,10 +80,18 @@ public void addLoadedChunk(final Vector3i chunkPosition, final ChunkImpl chunk)
         loadedChunks.put(chunkPosition, chunk);
     }
 
+    /**
+     * Adds a loaded chunk whose blocks did not change since it got last saved. It only gets saved again if entities
+     * stored with it changed.
+     */
+    public void addUnchangedLoadedChunk(final Vector3i chunkPosition, final ChunkImpl chunk) {
+        unchangedLoadedChunks.put(chunkPosition, chunk);
+    }
+
     public SaveTransaction build() {
         return new SaveTransaction(privateEntityManager, deltaToSave, unloadedPlayers, loadedPlayers, globalStoreBuilder,
-                unloadedChunks, loadedChunks, gameManifest, storeChunksInZips, storagePathProvider,
-                worldDirectoryWriteLock);
+                globalStoreJournal, unloadedChunks, loadedChunks, unchangedLoadedChunks, gameManifest,
+                chunkStorageFormat, storagePathProvider, saveTransactionHelper, worldDirectoryWriteLock);
 
     }
 
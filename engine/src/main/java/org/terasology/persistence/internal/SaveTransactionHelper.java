@@ -18,6 +18,9 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.DirectoryNotEmptyException;
@@ -35,9 +38,11 @@
 public class SaveTransactionHelper {
     private static final Logger logger = LoggerFactory.getLogger(SaveTransactionHelper.class);
     private final StoragePathProvider storagePathProvider;
+    private final RegionFileCache regionFileCache;
 
-    public SaveTransactionHelper(StoragePathProvider storagePathProvider) {
+    public SaveTransactionHelper(StoragePathProvider storagePathProvider, RegionFileCache regionFileCache) {
         this.storagePathProvider = storagePathProvider;
+        this.regionFileCache = regionFileCache;
     }
 
     public void cleanupSaveTransactionDirectory() throws IOException {
@@ -85,6 +90,16 @@ public FileVisitResult preVisitDirectory(Path sourceSubDir, BasicFileAttributes
             @Override
             public FileVisitResult visitFile(Path sourcePath, BasicFileAttributes attrs) throws IOException {
                 Path targetPath = targetDirectory.resolve(sourceDirectory.relativize(sourcePath));
+                if (storagePathProvider.isChunkRegionUpdatePath(sourcePath)) {
+                    applyRegionUpdate(sourcePath, storagePathProvider.getChunkRegionPathOfUpdate(targetPath));
+                    Files.delete(sourcePath);
+                    return FileVisitResult.CONTINUE;
+                }
+                if (storagePathProvider.isGlobalEntityJournalUpdatePath(sourcePath)) {
+                    GlobalStoreJournal.applyUpdate(sourcePath, storagePathProvider.getGlobalEntityJournalPath());
+                    Files.delete(sourcePath);
+                    return FileVisitResult.CONTINUE;
+                }
                 try {
                     // Delete file, as behavior of atomic move is undefined if target file exists:
                     Files.deleteIfExists(targetPath);
@@ -122,4 +137,25 @@ public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOEx
             }
         });
     }
+
+    /**
+     * Writes the chunks of a region update file into the region file. The update file must only be deleted after
+     * this method completed, so that a interrupted merge can simply apply the update again.
+     */
+    private void applyRegionUpdate(Path updatePath, Path regionPath) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(updatePath)))) {
+            while (true) {
+                int index;
+                try {
+                    index = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                byte[] data = new byte[in.readInt()];
+                in.readFully(data);
+                regionFileCache.write(regionPath, index, data);
+            }
+        }
+        regionFileCache.flush(regionPath);
+    }
 }
@@ -28,15 +28,22 @@ public class StoragePathProvider {
     private static final String WORLDS_PATH = "worlds";
     private static final String PLAYER_STORE_EXTENSION = ".player";
     private static final String GLOBAL_ENTITY_STORE = "global.dat";
+    private static final String GLOBAL_ENTITY_JOURNAL = "global.journal";
+    private static final String GLOBAL_ENTITY_JOURNAL_UPDATE = "global.journalupdate";
     private static final String UNFINISHED_SAVE_TRANSACTION = "unfinished-save-transaction";
     private static final String UNMERGED_CHANGED = "unmerged-changes";
     private static final int CHUNK_ZIP_DIM = 32;
+    private static final int CHUNK_REGION_DIM = 16;
+    private static final String CHUNK_ZIP_EXTENSION = ".chunks.zip";
+    private static final String CHUNK_REGION_EXTENSION = ".chunks.region";
+    private static final String CHUNK_REGION_UPDATE_EXTENSION = ".chunks.regionupdate";
 
     private final Path storagePathDirectory;
     private final Path playersPath;
     private final Path worldsPath;
     private Path worldPath;
     private Path globalEntityStorePath;
+    private Path globalEntityJournalPath;
     private Path unfinishedSaveTransactionPath;
     private Path unmergedChangesPath;
 
@@ -47,6 +54,7 @@ public StoragePathProvider(Path storagePathDirectory) {
         this.worldsPath = storagePathDirectory.resolve(WORLDS_PATH);
         this.worldPath = worldsPath.resolve(TerasologyConstants.MAIN_WORLD);
         this.globalEntityStorePath = storagePathDirectory.resolve(GLOBAL_ENTITY_STORE);
+        this.globalEntityJournalPath = storagePathDirectory.resolve(GLOBAL_ENTITY_JOURNAL);
         this.unfinishedSaveTransactionPath = storagePathDirectory.resolve(UNFINISHED_SAVE_TRANSACTION);
         this.unmergedChangesPath = storagePathDirectory.resolve(UNMERGED_CHANGED);
     }
@@ -98,13 +106,98 @@ public Path getGlobalEntityStoreTempPath() {
         return unfinishedSaveTransactionPath.resolve(GLOBAL_ENTITY_STORE);
     }
 
+    public Path getGlobalEntityJournalPath() {
+        return globalEntityJournalPath;
+    }
+
+    public Path getGlobalEntityJournalUpdateTempPath() {
+        return unfinishedSaveTransactionPath.resolve(GLOBAL_ENTITY_JOURNAL_UPDATE);
+    }
+
+    public boolean isGlobalEntityJournalUpdatePath(Path path) {
+        return path.getFileName().toString().equals(GLOBAL_ENTITY_JOURNAL_UPDATE);
+    }
+
     public String getChunkFilename(Vector3i pos) {
         return String.format("%d.%d.%d.chunk", pos.x, pos.y, pos.z);
     }
 
 
     private String getChunkZipFilename(Vector3i pos) {
-        return String.format("%d.%d.%d.chunks.zip", pos.x, pos.y, pos.z);
+        return String.format("%d.%d.%d", pos.x, pos.y, pos.z) + CHUNK_ZIP_EXTENSION;
+    }
+
+    public boolean isChunkZipPath(Path path) {
+        return path.getFileName().toString().endsWith(CHUNK_ZIP_EXTENSION);
+    }
+
+    /**
+     * @return the position of the chunk described by a file name created by {@link #getChunkFilename(Vector3i)},
+     * or null if the file name has another format.
+     */
+    public Vector3i getChunkPositionFromFilename(String filename) {
+        String[] parts = filename.split("\\.");
+        if (parts.length != 4 || !"chunk".equals(parts[3])) {
+            return null;
+        }
+        try {
+            return new Vector3i(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public Vector3i getChunkRegionPosition(Vector3i chunkPos) {
+        return new Vector3i(Math.floorDiv(chunkPos.x, CHUNK_REGION_DIM), Math.floorDiv(chunkPos.y, CHUNK_REGION_DIM),
+                Math.floorDiv(chunkPos.z, CHUNK_REGION_DIM));
+    }
+
+    /**
+     * @return the index of the chunk within the offset table of its region file.
+     */
+    public int getChunkRegionIndex(Vector3i chunkPos) {
+        int x = Math.floorMod(chunkPos.x, CHUNK_REGION_DIM);
+        int y = Math.floorMod(chunkPos.y, CHUNK_REGION_DIM);
+        int z = Math.floorMod(chunkPos.z, CHUNK_REGION_DIM);
+        return (y * CHUNK_REGION_DIM + z) * CHUNK_REGION_DIM + x;
+    }
+
+    public int getChunksPerRegion() {
+        return CHUNK_REGION_DIM * CHUNK_REGION_DIM * CHUNK_REGION_DIM;
+    }
+
+    public Path getChunkRegionPath(Vector3i chunkRegionPos) {
+        return worldPath.resolve(getChunkRegionFilename(chunkRegionPos, CHUNK_REGION_EXTENSION));
+    }
+
+    public Path getChunkRegionUpdateTempPath(Vector3i chunkRegionPos) {
+        return getWorldTempPath().resolve(getChunkRegionFilename(chunkRegionPos, CHUNK_REGION_UPDATE_EXTENSION));
+    }
+
+    public boolean isChunkRegionPath(Path path) {
+        return path.getFileName().toString().endsWith(CHUNK_REGION_EXTENSION);
+    }
+
+    public boolean isChunkPath(Path path) {
+        return getChunkPositionFromFilename(path.getFileName().toString()) != null;
+    }
+
+    public boolean isChunkRegionUpdatePath(Path path) {
+        return path.getFileName().toString().endsWith(CHUNK_REGION_UPDATE_EXTENSION);
+    }
+
+    /**
+     * @return the region file that gets modified by the given update file.
+     */
+    public Path getChunkRegionPathOfUpdate(Path updatePath) {
+        String updateFilename = updatePath.getFileName().toString();
+        String regionFilename = updateFilename.substring(0, updateFilename.length() - CHUNK_REGION_UPDATE_EXTENSION.length())
+                + CHUNK_REGION_EXTENSION;
+        return updatePath.resolveSibling(regionFilename);
+    }
+
+    private String getChunkRegionFilename(Vector3i pos, String extension) {
+        return String.format("%d.%d.%d", pos.x, pos.y, pos.z) + extension;
     }
 
     public Vector3i getChunkZipPosition(Vector3i chunkPos) {
@@ -36,6 +36,7 @@
 import org.terasology.persistence.typeHandling.protobuf.ProtobufPersistedData;
 import org.terasology.persistence.typeHandling.protobuf.ProtobufSerializationContext;
 import org.terasology.protobuf.EntityData;
+import org.terasology.reflection.metadata.ClassMetadata;
 
 import java.util.Map;
 
@@ -85,23 +86,29 @@ public void removeIdMapping() {
      * @throws org.terasology.persistence.typeHandling.DeserializationException if an error occurs when deserializing
      */
     public Event deserialize(EntityData.Event eventData) {
+        return deserialize(prepare(eventData));
+    }
+
+    /**
+     * Deserializes the plain values of an event, leaving the rest to {@link #deserialize(PreparedFields)}. This does not
+     * touch the entity system, so it may be called off the main thread.
+     *
+     * @param eventData
+     * @return The prepared fields of the event described by the eventData
+     * @throws org.terasology.persistence.typeHandling.DeserializationException if the event type is unknown or cannot be constructed
+     */
+    public PreparedFields<Event> prepare(EntityData.Event eventData) {
         Class<? extends Event> eventClass = getEventClass(eventData);
-        if (eventClass != null) {
-            EventMetadata<?> eventMetadata = eventLibrary.getMetadata(eventClass);
-            if (!eventMetadata.isConstructable()) {
-                throw new DeserializationException("Cannot deserialize " + eventMetadata + " - lacks default constructor");
-            } else {
-                Event event = eventMetadata.newInstance();
-                return deserializeOnto(event, eventData, eventMetadata);
-            }
-        } else {
+        if (eventClass == null) {
             throw new DeserializationException("Unable to deserialize unknown event type: " + eventData.getType());
         }
-    }
-
+        EventMetadata<?> eventMetadata = eventLibrary.getMetadata(eventClass);
+        if (!eventMetadata.isConstructable()) {
+            throw new DeserializationException("Cannot deserialize " + eventMetadata + " - lacks default constructor");
+        }
 
-    private Event deserializeOnto(Event targetEvent, EntityData.Event eventData, EventMetadata<? extends Event> eventMetadata) {
         Serializer serializer = typeSerializationLibrary.getSerializerFor(eventMetadata);
+        PreparedFields.Builder<Event> fields = PreparedFields.builder(eventMetadata);
         for (int i = 0; i < eventData.getFieldIds().size(); ++i) {
             byte fieldId = eventData.getFieldIds().byteAt(i);
             ReplicatedFieldMetadata<?, ?> fieldInfo = eventMetadata.getField(fieldId);
@@ -110,10 +117,23 @@ private Event deserializeOnto(Event targetEvent, EntityData.Event eventData, Eve
                 continue;
             }
             if (fieldInfo.isReplicated()) {
-                serializer.deserializeOnto(targetEvent, fieldInfo, new ProtobufPersistedData(eventData.getFieldValue(i)), deserializationContext);
+                fields.add(fieldInfo, new ProtobufPersistedData(eventData.getFieldValue(i)), serializer, deserializationContext);
             }
         }
-        return targetEvent;
+        return fields.build();
+    }
+
+    /**
+     * Creates an event from its prepared fields, deserializing the fields that were left for the main thread.
+     *
+     * @param preparedEvent The fields prepared by {@link #prepare}
+     * @return The event
+     */
+    public Event deserialize(PreparedFields<Event> preparedEvent) {
+        ClassMetadata<? extends Event, ?> eventMetadata = preparedEvent.getMetadata();
+        Event event = eventMetadata.newInstance();
+        preparedEvent.applyTo(event, typeSerializationLibrary.getSerializerFor(eventMetadata), deserializationContext);
+        return event;
     }
 
     /**
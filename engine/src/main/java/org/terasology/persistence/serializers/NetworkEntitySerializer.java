@@ -20,6 +20,7 @@
 import com.google.common.collect.BiMap;
 import com.google.common.collect.ImmutableBiMap;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.google.common.primitives.UnsignedBytes;
 import com.google.protobuf.ByteString;
@@ -41,7 +42,9 @@
 import org.terasology.persistence.typeHandling.protobuf.ProtobufPersistedData;
 import org.terasology.persistence.typeHandling.protobuf.ProtobufSerializationContext;
 import org.terasology.protobuf.EntityData;
+import org.terasology.reflection.metadata.ClassMetadata;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -207,6 +210,19 @@ public void deserializeOnto(MutableComponentContainer entity, EntityData.PackedE
     }
 
     public void deserializeOnto(MutableComponentContainer entity, EntityData.PackedEntity entityData, FieldSerializeCheck<Component> fieldCheck) {
+        applyOnto(entity, prepare(entityData, fieldCheck));
+    }
+
+    /**
+     * Deserializes the plain values of an entity update, leaving the rest to {@link #applyOnto}. This does not touch the
+     * entity system, so it may be called off the main thread.
+     *
+     * @param entityData The received entity update
+     * @param fieldCheck The check of which fields to deserialize
+     * @return The prepared update
+     */
+    public PreparedEntityData prepare(EntityData.PackedEntity entityData, FieldSerializeCheck<Component> fieldCheck) {
+        List<PreparedFields<Component>> components = Lists.newArrayListWithCapacity(entityData.getComponentIdCount());
         int fieldPos = 0;
         for (int componentIndex = 0; componentIndex < entityData.getComponentIdCount(); ++componentIndex) {
             Integer componentId = entityData.getComponentId(componentIndex);
@@ -222,36 +238,56 @@ public void deserializeOnto(MutableComponentContainer entity, EntityData.PackedE
                 continue;
             }
 
-            Component component = entity.getComponent(metadata.getType());
-            boolean createdNewComponent = false;
-            if (component == null) {
-                createdNewComponent = true;
-                component = metadata.newInstance();
-            }
             Serializer serializer = typeSerializationLibrary.getSerializerFor(metadata);
+            PreparedFields.Builder<Component> fields = PreparedFields.builder(metadata);
             for (int fieldIndex = 0; fieldIndex < UnsignedBytes.toInt(entityData.getComponentFieldCounts().byteAt(componentIndex)); ++fieldIndex) {
                 byte fieldId = entityData.getFieldIds().byteAt(fieldPos);
                 ReplicatedFieldMetadata fieldMetadata = metadata.getField(fieldId);
                 if (fieldMetadata != null && fieldCheck.shouldDeserialize(metadata, fieldMetadata)) {
                     logger.trace("Deserializing field {} of component {} as value {}", fieldMetadata, metadata, entityData.getFieldValue(fieldPos));
-                    serializer.deserializeOnto(component, fieldMetadata, new ProtobufPersistedData(entityData.getFieldValue(fieldPos)), deserializationContext);
+                    fields.add(fieldMetadata, new ProtobufPersistedData(entityData.getFieldValue(fieldPos)), serializer, deserializationContext);
                 }
                 fieldPos++;
             }
-            if (createdNewComponent) {
-                entity.addComponent(component);
-            } else {
-                entity.saveComponent(component);
-            }
-
+            components.add(fields.build());
         }
 
+        List<ComponentMetadata<?>> removedComponents = Lists.newArrayList();
         for (int componentId : entityData.getRemovedComponentList()) {
             Class<? extends Component> componentClass = idTable.inverse().get(componentId);
             ComponentMetadata<?> metadata = componentLibrary.getMetadata(componentClass);
             if (componentSerializeCheck.serialize(metadata)) {
-                entity.removeComponent(metadata.getType());
+                removedComponents.add(metadata);
+            }
+        }
+        return new PreparedEntityData(components, removedComponents);
+    }
+
+    /**
+     * Applies a prepared entity update, deserializing the fields that were left for the main thread.
+     *
+     * @param entity The entity to apply the update to
+     * @param data   The update prepared by {@link #prepare}
+     */
+    public void applyOnto(MutableComponentContainer entity, PreparedEntityData data) {
+        for (PreparedFields<Component> fields : data.getComponents()) {
+            ClassMetadata<? extends Component, ?> metadata = fields.getMetadata();
+            Component component = entity.getComponent(metadata.getType());
+            boolean createdNewComponent = false;
+            if (component == null) {
+                createdNewComponent = true;
+                component = metadata.newInstance();
             }
+            fields.applyTo(component, typeSerializationLibrary.getSerializerFor(metadata), deserializationContext);
+            if (createdNewComponent) {
+                entity.addComponent(component);
+            } else {
+                entity.saveComponent(component);
+            }
+        }
+
+        for (ComponentMetadata<?> metadata : data.getRemovedComponents()) {
+            entity.removeComponent(metadata.getType());
         }
     }
 
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.persistence.serializers;
+
+import com.google.common.collect.ImmutableList;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.metadata.ComponentMetadata;
+
+import java.util.List;
+
+/**
+ * A received entity update, deserialized by {@link NetworkEntitySerializer#prepare} ahead of being applied to an entity
+ * on the main thread.
+ */
+public final class PreparedEntityData {
+
+    private final List<PreparedFields<Component>> components;
+    private final List<ComponentMetadata<?>> removedComponents;
+
+    PreparedEntityData(List<PreparedFields<Component>> components, List<ComponentMetadata<?>> removedComponents) {
+        this.components = ImmutableList.copyOf(components);
+        this.removedComponents = ImmutableList.copyOf(removedComponents);
+    }
+
+    /**
+     * @return The added or changed components
+     */
+    public List<PreparedFields<Component>> getComponents() {
+        return components;
+    }
+
+    /**
+     * @return The removed components
+     */
+    public List<ComponentMetadata<?>> getRemovedComponents() {
+        return removedComponents;
+    }
+}
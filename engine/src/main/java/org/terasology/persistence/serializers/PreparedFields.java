@@ -0,0 +1,135 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.persistence.serializers;
+
+import com.google.common.collect.Lists;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.persistence.typeHandling.DeserializationContext;
+import org.terasology.persistence.typeHandling.DeserializationException;
+import org.terasology.persistence.typeHandling.PersistedData;
+import org.terasology.persistence.typeHandling.Serializer;
+import org.terasology.persistence.typeHandling.TypeHandler;
+import org.terasology.reflection.metadata.ClassMetadata;
+import org.terasology.reflection.metadata.FieldMetadata;
+
+import java.util.List;
+
+/**
+ * The received fields of a component or event, deserialized ahead of being applied to an object.
+ * <br><br>
+ * Fields of plain value types, such as numbers, strings, vectors and collections of them, are deserialized when the
+ * prepared fields are created, which may happen off the main thread. All other fields may refer to entities, prefabs or
+ * assets, so they keep their serialized form until they are applied on the main thread.
+ *
+ * @param <T> The base type of the object the fields belong to
+ */
+public final class PreparedFields<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(PreparedFields.class);
+
+    private final ClassMetadata<? extends T, ?> metadata;
+    private final FieldMetadata<?, ?>[] fields;
+    private final Object[] values;
+    private final boolean[] deferred;
+
+    private PreparedFields(Builder<T> builder) {
+        this.metadata = builder.metadata;
+        this.fields = builder.fields.toArray(new FieldMetadata<?, ?>[builder.fields.size()]);
+        this.values = builder.values.toArray();
+        this.deferred = new boolean[builder.deferred.size()];
+        for (int i = 0; i < deferred.length; i++) {
+            deferred[i] = builder.deferred.get(i);
+        }
+    }
+
+    static <T> Builder<T> builder(ClassMetadata<? extends T, ?> metadata) {
+        return new Builder<>(metadata);
+    }
+
+    /**
+     * @return The metadata of the type the fields belong to
+     */
+    public ClassMetadata<? extends T, ?> getMetadata() {
+        return metadata;
+    }
+
+    /**
+     * @return The number of fields deserialized ahead of time
+     */
+    public int getPreparedFieldCount() {
+        int count = 0;
+        for (boolean fieldDeferred : deferred) {
+            if (!fieldDeferred) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Sets the fields on the target, deserializing those that were deferred. Must be called on the main thread.
+     */
+    void applyTo(T target, Serializer serializer, DeserializationContext context) {
+        for (int i = 0; i < fields.length; i++) {
+            if (deferred[i]) {
+                serializer.deserializeOnto(target, fields[i], (PersistedData) values[i], context);
+            } else {
+                fields[i].setValue(target, values[i]);
+            }
+        }
+    }
+
+    static final class Builder<T> {
+        private final ClassMetadata<? extends T, ?> metadata;
+        private final List<FieldMetadata<?, ?>> fields = Lists.newArrayList();
+        private final List<Object> values = Lists.newArrayList();
+        private final List<Boolean> deferred = Lists.newArrayList();
+
+        private Builder(ClassMetadata<? extends T, ?> metadata) {
+            this.metadata = metadata;
+        }
+
+        /**
+         * Deserializes the value of the field right away if it is of a plain value type, or keeps its data otherwise
+         */
+        Builder<T> add(FieldMetadata<?, ?> field, PersistedData data, Serializer serializer, DeserializationContext context) {
+            if (!ValueTypes.isValueType(field.getField().getGenericType())) {
+                fields.add(field);
+                values.add(data);
+                deferred.add(true);
+                return this;
+            }
+            TypeHandler<?> handler = serializer.getHandlerFor(field);
+            if (handler == null) {
+                logger.error("No type handler for type {} used by {}::{}", field.getType(), metadata, field);
+                return this;
+            }
+            try {
+                values.add(handler.deserialize(data, context));
+                fields.add(field);
+                deferred.add(false);
+            } catch (DeserializationException e) {
+                logger.error("Unable to deserialize field '{}' from '{}'", field.getName(), data.toString(), e);
+            }
+            return this;
+        }
+
+        PreparedFields<T> build() {
+            return new PreparedFields<>(this);
+        }
+    }
+}
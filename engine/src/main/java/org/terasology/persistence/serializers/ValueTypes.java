@@ -0,0 +1,74 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.persistence.serializers;
+
+import com.google.common.collect.ImmutableSet;
+import org.terasology.math.IntegerRange;
+import org.terasology.math.Region3i;
+import org.terasology.math.geom.Quat4f;
+import org.terasology.math.geom.Rect2f;
+import org.terasology.math.geom.Rect2i;
+import org.terasology.math.geom.Vector2f;
+import org.terasology.math.geom.Vector2i;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.math.geom.Vector4f;
+import org.terasology.rendering.nui.Color;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tells which field types deserialize into plain values, without looking up entities, prefabs or assets. Such fields
+ * can safely be deserialized off the main thread.
+ */
+final class ValueTypes {
+
+    private static final Set<Class<?>> VALUE_CLASSES = ImmutableSet.<Class<?>>of(Boolean.class, Byte.class, Double.class,
+            Float.class, Integer.class, Long.class, Number.class, String.class, Color.class, Quat4f.class, Vector4f.class,
+            Vector3f.class, Vector2f.class, Vector3i.class, Vector2i.class, Rect2i.class, Rect2f.class, Region3i.class,
+            IntegerRange.class);
+
+    private ValueTypes() {
+    }
+
+    /**
+     * @param type The generic type of a field
+     * @return Whether the type is a primitive, string, enum or math type, or a list, set or string map of these
+     */
+    static boolean isValueType(Type type) {
+        if (type instanceof Class) {
+            Class<?> typeClass = (Class<?>) type;
+            return typeClass.isPrimitive() || typeClass.isEnum() || VALUE_CLASSES.contains(typeClass);
+        }
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            Type rawType = parameterizedType.getRawType();
+            Type[] arguments = parameterizedType.getActualTypeArguments();
+            if (rawType == List.class || rawType == Set.class || rawType == Collection.class) {
+                return isValueType(arguments[0]);
+            }
+            if (rawType == Map.class) {
+                return arguments[0] == String.class && isValueType(arguments[1]);
+            }
+        }
+        return false;
+    }
+}
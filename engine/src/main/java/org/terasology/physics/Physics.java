@@ -83,4 +83,16 @@ public interface Physics {
      *         given collision groups.
      */
     List<EntityRef> scanArea(AABB area, Iterable<CollisionGroup> collisionFilter);
+
+    /**
+     * Scans several areas at once, which is cheaper than scanning them one by one as every physics object only has to
+     * be looked at once.
+     *
+     * @param areas           The areas to scan
+     * @param collisionFilter only objects in these collision groups are
+     *                        returned.
+     * @return A list with one entry per area, in the same order. Each entry is a valid, non null List with the
+     *         EntityRefs {@link #scanArea(AABB, Iterable)} would return for that area.
+     */
+    List<List<EntityRef>> scanAreas(List<AABB> areas, Iterable<CollisionGroup> collisionFilter);
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.physics.bullet;
+
+import com.bulletphysics.collision.broadphase.BroadphaseProxy;
+import com.bulletphysics.collision.broadphase.CollisionFilterGroups;
+import com.bulletphysics.collision.broadphase.Dbvt;
+import com.bulletphysics.collision.broadphase.DbvtAabbMm;
+import com.bulletphysics.collision.broadphase.DbvtBroadphase;
+import com.bulletphysics.collision.dispatch.CollisionObject;
+import com.google.common.collect.Lists;
+import org.terasology.math.AABB;
+
+import javax.vecmath.Vector3f;
+import java.util.List;
+
+/**
+ * Finds the collision objects overlapping an area by descending the AABB trees of a {@link DbvtBroadphase}, so only
+ * the branches of the trees overlapping the area are visited rather than every collision object in the world.
+ * <p>
+ * The bounds used are the ones stored in the broadphase, which are updated whenever the simulation is stepped.
+ *
+ */
+class BroadphaseAreaQuery {
+
+    private final DbvtBroadphase broadphase;
+    private final DbvtAabbMm volume = new DbvtAabbMm();
+    private final Vector3f min = new Vector3f();
+    private final Vector3f max = new Vector3f();
+
+    BroadphaseAreaQuery(DbvtBroadphase broadphase) {
+        this.broadphase = broadphase;
+    }
+
+    /**
+     * Matches the objects the broadphase would pair with a sensor in the given groups, without adding one.
+     *
+     * @param areas  The areas to scan
+     * @param filter The combined collision groups to scan for
+     * @return For each area, the collision objects overlapping it
+     */
+    public List<List<CollisionObject>> scan(List<AABB> areas, short filter) {
+        List<List<CollisionObject>> results = Lists.newArrayListWithCapacity(areas.size());
+        for (AABB area : areas) {
+            min.set(area.minX(), area.minY(), area.minZ());
+            max.set(area.maxX(), area.maxY(), area.maxZ());
+            DbvtAabbMm.FromMM(min, max, volume);
+            Collector collector = new Collector(filter);
+            for (Dbvt set : broadphase.sets) {
+                Dbvt.collideTV(set.root, volume, collector);
+            }
+            results.add(collector.result);
+        }
+        return results;
+    }
+
+    private static final class Collector extends Dbvt.ICollide {
+        private final short filter;
+        private final List<CollisionObject> result = Lists.newArrayList();
+
+        private Collector(short filter) {
+            this.filter = filter;
+        }
+
+        @Override
+        public void Process(Dbvt.Node leaf) {
+            BroadphaseProxy proxy = (BroadphaseProxy) leaf.data;
+            if ((proxy.collisionFilterGroup & filter) != 0
+                    && (proxy.collisionFilterMask & CollisionFilterGroups.SENSOR_TRIGGER) != 0
+                    && proxy.clientObject instanceof CollisionObject) {
+                result.add((CollisionObject) proxy.clientObject);
+            }
+        }
+    }
+}
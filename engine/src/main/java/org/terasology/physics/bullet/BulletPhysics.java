@@ -16,7 +16,6 @@
 package org.terasology.physics.bullet;
 
 import com.bulletphysics.BulletGlobals;
-import com.bulletphysics.collision.broadphase.BroadphaseInterface;
 import com.bulletphysics.collision.broadphase.BroadphasePair;
 import com.bulletphysics.collision.broadphase.BroadphaseProxy;
 import com.bulletphysics.collision.broadphase.CollisionFilterGroups;
@@ -87,6 +86,7 @@
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
@@ -104,7 +104,8 @@ public class BulletPhysics implements PhysicsEngine {
     private final Deque<BulletRigidBody> removalQueue = Lists.newLinkedList();
 
     private final CollisionDispatcher dispatcher;
-    private final BroadphaseInterface broadphase;
+    private final DbvtBroadphase broadphase;
+    private final BroadphaseAreaQuery areaQuery;
     private final DiscreteDynamicsWorld discreteDynamicsWorld;
     private final BlockEntityRegistry blockEntityRegistry;
     private final PhysicsWorldWrapper wrapper;
@@ -116,6 +117,7 @@ public class BulletPhysics implements PhysicsEngine {
 
     public BulletPhysics(WorldProvider world) {
         broadphase = new DbvtBroadphase();
+        areaQuery = new BroadphaseAreaQuery(broadphase);
         broadphase.getOverlappingPairCache().setInternalGhostPairCallback(new GhostPairCallback());
         CollisionConfiguration defaultCollisionConfiguration = new DefaultCollisionConfiguration();
         dispatcher = new CollisionDispatcher(defaultCollisionConfiguration);
@@ -183,22 +185,23 @@ public List<EntityRef> scanArea(AABB area, CollisionGroup... collisionFilter) {
 
     @Override
     public List<EntityRef> scanArea(AABB area, Iterable<CollisionGroup> collisionFilter) {
-        // TODO: Add the aabbTest method from newer versions of bullet to TeraBullet, use that instead
-        BoxShape shape = new BoxShape(VecMath.to(area.getExtents()));
-        GhostObject scanObject = createCollider(VecMath.to(area.getCenter()), shape, CollisionFilterGroups.SENSOR_TRIGGER,
-                combineGroups(collisionFilter), CollisionFlags.NO_CONTACT_RESPONSE);
-        // This in particular is overkill
-        broadphase.calculateOverlappingPairs(dispatcher);
-        List<EntityRef> result = Lists.newArrayList();
-        for (int i = 0; i < scanObject.getNumOverlappingObjects(); ++i) {
-            CollisionObject other = scanObject.getOverlappingObject(i);
-            Object userObj = other.getUserPointer();
-            if (userObj instanceof EntityRef) {
-                result.add((EntityRef) userObj);
+        return scanAreas(Collections.singletonList(area), collisionFilter).get(0);
+    }
+
+    @Override
+    public List<List<EntityRef>> scanAreas(List<AABB> areas, Iterable<CollisionGroup> collisionFilter) {
+        List<List<EntityRef>> results = Lists.newArrayListWithCapacity(areas.size());
+        for (List<CollisionObject> collisionObjects : areaQuery.scan(areas, combineGroups(collisionFilter))) {
+            List<EntityRef> entities = Lists.newArrayListWithCapacity(collisionObjects.size());
+            for (CollisionObject collisionObject : collisionObjects) {
+                Object userObj = collisionObject.getUserPointer();
+                if (userObj instanceof EntityRef) {
+                    entities.add((EntityRef) userObj);
+                }
             }
+            results.add(entities);
         }
-        removeCollider(scanObject);
-        return result;
+        return results;
     }
 
     @Override
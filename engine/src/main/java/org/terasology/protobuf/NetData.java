@@ -404,6 +404,25 @@ org.terasology.protobuf.NetData.ModuleRequestOrBuilder getModuleRequestOrBuilder
      * <code>optional .HandshakeVerification handshakeVerification = 103;</code>
      */
     org.terasology.protobuf.NetData.HandshakeVerificationOrBuilder getHandshakeVerificationOrBuilder();
+
+    /**
+     * <code>repeated string frameCompression = 104;</code>
+     */
+    com.google.protobuf.ProtocolStringList
+        getFrameCompressionList();
+    /**
+     * <code>repeated string frameCompression = 104;</code>
+     */
+    int getFrameCompressionCount();
+    /**
+     * <code>repeated string frameCompression = 104;</code>
+     */
+    java.lang.String getFrameCompression(int index);
+    /**
+     * <code>repeated string frameCompression = 104;</code>
+     */
+    com.google.protobuf.ByteString
+        getFrameCompressionBytes(int index);
   }
   /**
    * Protobuf type {@code NetMessage}
@@ -673,6 +692,15 @@ private NetMessage(
               bitField0_ |= 0x00000400;
               break;
             }
+            case 834: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              if (!((mutable_bitField0_ & 0x00200000) == 0x00200000)) {
+                frameCompression_ = new com.google.protobuf.LazyStringArrayList();
+                mutable_bitField0_ |= 0x00200000;
+              }
+              frameCompression_.add(bs);
+              break;
+            }
           }
         }
       } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -711,6 +739,9 @@ private NetMessage(
         if (((mutable_bitField0_ & 0x00002000) == 0x00002000)) {
           moduleRequest_ = java.util.Collections.unmodifiableList(moduleRequest_);
         }
+        if (((mutable_bitField0_ & 0x00200000) == 0x00200000)) {
+          frameCompression_ = frameCompression_.getUnmodifiableView();
+        }
         this.unknownFields = unknownFields.build();
         makeExtensionsImmutable();
       }
@@ -1330,6 +1361,35 @@ public org.terasology.protobuf.NetData.HandshakeVerificationOrBuilder getHandsha
       return handshakeVerification_;
     }
 
+    public static final int FRAMECOMPRESSION_FIELD_NUMBER = 104;
+    private com.google.protobuf.LazyStringList frameCompression_;
+    /**
+     * <code>repeated string frameCompression = 104;</code>
+     */
+    public com.google.protobuf.ProtocolStringList
+        getFrameCompressionList() {
+      return frameCompression_;
+    }
+    /**
+     * <code>repeated string frameCompression = 104;</code>
+     */
+    public int getFrameCompressionCount() {
+      return frameCompression_.size();
+    }
+    /**
+     * <code>repeated string frameCompression = 104;</code>
+     */
+    public java.lang.String getFrameCompression(int index) {
+      return frameCompression_.get(index);
+    }
+    /**
+     * <code>repeated string frameCompression = 104;</code>
+     */
+    public com.google.protobuf.ByteString
+        getFrameCompressionBytes(int index) {
+      return frameCompression_.getByteString(index);
+    }
+
     private void initFields() {
       chunkInfo_ = java.util.Collections.emptyList();
       invalidateChunk_ = java.util.Collections.emptyList();
@@ -1352,6 +1412,7 @@ private void initFields() {
       newIdentityRequest_ = org.terasology.protobuf.NetData.NewIdentityRequest.getDefaultInstance();
       provisionIdentity_ = org.terasology.protobuf.NetData.ProvisionIdentity.getDefaultInstance();
       handshakeVerification_ = org.terasology.protobuf.NetData.HandshakeVerification.getDefaultInstance();
+      frameCompression_ = com.google.protobuf.LazyStringArrayList.EMPTY;
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
@@ -1556,6 +1617,9 @@ public void writeTo(com.google.protobuf.CodedOutputStream output)
       if (((bitField0_ & 0x00000400) == 0x00000400)) {
         output.writeMessage(103, handshakeVerification_);
       }
+      for (int i = 0; i < frameCompression_.size(); i++) {
+        output.writeBytes(104, frameCompression_.getByteString(i));
+      }
       extensionWriter.writeUntil(536870912, output);
       getUnknownFields().writeTo(output);
     }
@@ -1650,6 +1714,15 @@ public int getSerializedSize() {
         size += com.google.protobuf.CodedOutputStream
           .computeMessageSize(103, handshakeVerification_);
       }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < frameCompression_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeBytesSizeNoTag(frameCompression_.getByteString(i));
+        }
+        size += dataSize;
+        size += 2 * getFrameCompressionList().size();
+      }
       size += extensionsSerializedSize();
       size += getUnknownFields().getSerializedSize();
       memoizedSerializedSize = size;
@@ -1911,6 +1984,8 @@ public Builder clear() {
           handshakeVerificationBuilder_.clear();
         }
         bitField0_ = (bitField0_ & ~0x00100000);
+        frameCompression_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00200000);
         return this;
       }
 
@@ -2113,6 +2188,11 @@ public org.terasology.protobuf.NetData.NetMessage buildPartial() {
         } else {
           result.handshakeVerification_ = handshakeVerificationBuilder_.build();
         }
+        if (((bitField0_ & 0x00200000) == 0x00200000)) {
+          frameCompression_ = frameCompression_.getUnmodifiableView();
+          bitField0_ = (bitField0_ & ~0x00200000);
+        }
+        result.frameCompression_ = frameCompression_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
@@ -2422,6 +2502,16 @@ public Builder mergeFrom(org.terasology.protobuf.NetData.NetMessage other) {
         if (other.hasHandshakeVerification()) {
           mergeHandshakeVerification(other.getHandshakeVerification());
         }
+        if (!other.frameCompression_.isEmpty()) {
+          if (frameCompression_.isEmpty()) {
+            frameCompression_ = other.frameCompression_;
+            bitField0_ = (bitField0_ & ~0x00200000);
+          } else {
+            ensureFrameCompressionIsMutable();
+            frameCompression_.addAll(other.frameCompression_);
+          }
+          onChanged();
+        }
         this.mergeExtensionFields(other);
         this.mergeUnknownFields(other.getUnknownFields());
         return this;
@@ -6202,6 +6292,99 @@ public org.terasology.protobuf.NetData.HandshakeVerificationOrBuilder getHandsha
         return handshakeVerificationBuilder_;
       }
 
+      private com.google.protobuf.LazyStringList frameCompression_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      private void ensureFrameCompressionIsMutable() {
+        if (!((bitField0_ & 0x00200000) == 0x00200000)) {
+          frameCompression_ = new com.google.protobuf.LazyStringArrayList(frameCompression_);
+          bitField0_ |= 0x00200000;
+         }
+      }
+      /**
+       * <code>repeated string frameCompression = 104;</code>
+       */
+      public com.google.protobuf.ProtocolStringList
+          getFrameCompressionList() {
+        return frameCompression_.getUnmodifiableView();
+      }
+      /**
+       * <code>repeated string frameCompression = 104;</code>
+       */
+      public int getFrameCompressionCount() {
+        return frameCompression_.size();
+      }
+      /**
+       * <code>repeated string frameCompression = 104;</code>
+       */
+      public java.lang.String getFrameCompression(int index) {
+        return frameCompression_.get(index);
+      }
+      /**
+       * <code>repeated string frameCompression = 104;</code>
+       */
+      public com.google.protobuf.ByteString
+          getFrameCompressionBytes(int index) {
+        return frameCompression_.getByteString(index);
+      }
+      /**
+       * <code>repeated string frameCompression = 104;</code>
+       */
+      public Builder setFrameCompression(
+          int index, java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureFrameCompressionIsMutable();
+        frameCompression_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string frameCompression = 104;</code>
+       */
+      public Builder addFrameCompression(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureFrameCompressionIsMutable();
+        frameCompression_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string frameCompression = 104;</code>
+       */
+      public Builder addAllFrameCompression(
+          java.lang.Iterable<java.lang.String> values) {
+        ensureFrameCompressionIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, frameCompression_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string frameCompression = 104;</code>
+       */
+      public Builder clearFrameCompression() {
+        frameCompression_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00200000);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string frameCompression = 104;</code>
+       */
+      public Builder addFrameCompressionBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureFrameCompressionIsMutable();
+        frameCompression_.add(value);
+        onChanged();
+        return this;
+      }
+
       // @@protoc_insertion_point(builder_scope:NetMessage)
     }
 
@@ -25181,7 +25364,7 @@ public org.terasology.protobuf.NetData.Vector3iDataOrBuilder getTargetBlockPosOr
       descriptor;
   static {
     java.lang.String[] descriptorData = {
-      "\n\020NetMessage.proto\032\020EntityData.proto\"\377\006\n" +
+      "\n\020NetMessage.proto\032\020EntityData.proto\"\231\007\n" +
       "\nNetMessage\022\036\n\tchunkInfo\030\002 \003(\0132\013.ChunkSt" +
       "ore\0220\n\017invalidateChunk\030\003 \003(\0132\027.Invalidat" +
       "eChunkMessage\022(\n\013blockChange\030\004 \003(\0132\023.Blo" +
@@ -25204,63 +25387,64 @@ public org.terasology.protobuf.NetData.Vector3iDataOrBuilder getTargetBlockPosOr
       "2\023.NewIdentityRequest\022-\n\021provisionIdenti" +
       "ty\030f \001(\0132\022.ProvisionIdentity\0225\n\025handshak" +
       "eVerification\030g \001(\0132\026.HandshakeVerificat" +
-      "ion*\t\010\210\'\020\200\200\200\200\002\"a\n\016HandshakeHello\022\016\n\006rand" +
-      "om\030\001 \001(\014\022!\n\013certificate\030\002 \001(\0132\014.Certific" +
-      "ate\022\021\n\ttimestamp\030\003 \001(\022*\t\010\210\'\020\200\200\200\200\002\"H\n\022New" +
-      "IdentityRequest\022\027\n\017preMasterSecret\030\001 \001(\014" +
-      "\022\016\n\006random\030\002 \001(\014*\t\010\210\'\020\200\200\200\200\002\"=\n\021Provision" +
-      "Identity\022\035\n\025encryptedCertificates\030\001 \001(\014*" +
-      "\t\010\210\'\020\200\200\200\200\002\"]\n\016CertificateSet\022\'\n\021publicCe",
-      "rtificate\030\001 \001(\0132\014.Certificate\022\027\n\017private" +
-      "Exponent\030\002 \001(\014*\t\010\210\'\020\200\200\200\200\002\"5\n\025HandshakeVe" +
-      "rification\022\021\n\tsignature\030\001 \001(\014*\t\010\210\'\020\200\200\200\200\002" +
-      "\"Z\n\013Certificate\022\n\n\002id\030\001 \001(\t\022\017\n\007modulus\030\002" +
-      " \001(\014\022\020\n\010exponent\030\003 \001(\014\022\021\n\tsignature\030\004 \001(" +
-      "\014*\t\010\210\'\020\200\200\200\200\002\"L\n\034BlockFamilyRegisteredMes" +
-      "sage\022\020\n\010blockUri\030\001 \003(\t\022\017\n\007blockId\030\002 \003(\005*" +
-      "\t\010\210\'\020\200\200\200\200\002\"?\n\026InvalidateChunkMessage\022\032\n\003" +
-      "pos\030\001 \001(\0132\r.Vector3iData*\t\010\210\'\020\200\200\200\200\002\"M\n\022B" +
-      "lockChangeMessage\022\032\n\003pos\030\001 \001(\0132\r.Vector3",
-      "iData\022\020\n\010newBlock\030\002 \001(\005*\t\010\210\'\020\200\200\200\200\002\"M\n\022Bi" +
-      "omeChangeMessage\022\032\n\003pos\030\001 \001(\0132\r.Vector3i" +
-      "Data\022\020\n\010newBiome\030\002 \001(\005*\t\010\210\'\020\200\200\200\200\002\"/\n\014Vec" +
-      "tor3iData\022\t\n\001x\030\001 \001(\005\022\t\n\001y\030\002 \001(\005\022\t\n\001z\030\003 \001" +
-      "(\005\"\036\n\021ServerInfoRequest*\t\010\210\'\020\200\200\200\200\002\"i\n\013Jo" +
-      "inMessage\022\014\n\004name\030\001 \001(\t\022\017\n\007version\030\002 \001(\t" +
-      "\022\031\n\021viewDistanceLevel\030\003 \001(\021\022\025\n\005color\030\004 \001" +
-      "(\0132\006.Color*\t\010\210\'\020\200\200\200\200\002\"\025\n\005Color\022\014\n\004rgba\030\001" +
-      " \001(\r\"2\n\023JoinCompleteMessage\022\020\n\010clientId\030" +
-      "\001 \001(\005*\t\010\210\'\020\200\200\200\200\002\"\206\003\n\021ServerInfoMessage\022\033",
-      "\n\006module\030\001 \003(\0132\013.ModuleInfo\022\023\n\007blockId\030\002" +
-      " \003(\021B\002\020\001\022\021\n\tblockName\030\003 \003(\t\022%\n\tcomponent" +
-      "\030\004 \003(\0132\022.SerializationInfo\022!\n\005event\030\005 \003(" +
-      "\0132\022.SerializationInfo\022\023\n\007assetId\030\006 \003(\005B\002" +
-      "\020\001\022\020\n\010assetUri\030\007 \003(\t\022\033\n\023registerBlockFam" +
-      "ily\030\010 \003(\t\022\035\n\tworldInfo\030\t \003(\0132\n.WorldInfo" +
-      "\022\030\n\014biomeShortId\030\n \003(\021B\002\020\001\022\017\n\007biomeId\030\013 " +
-      "\003(\t\022\017\n\007version\030\017 \001(\t\022\020\n\010gameName\030\020 \001(\t\022\014" +
-      "\n\004time\030\021 \001(\003\022\030\n\020reflectionHeight\030\022 \001(\002*\t" +
-      "\010\210\'\020\200\200\200\200\002\"3\n\tWorldInfo\022\r\n\005title\030\001 \001(\t\022\014\n",
-      "\004time\030\002 \001(\003*\t\010\210\'\020\200\200\200\200\002\"]\n\021SerializationI" +
-      "nfo\022\014\n\004name\030\001 \001(\t\022\n\n\002id\030\002 \001(\005\022\021\n\tfieldNa" +
-      "me\030\003 \003(\t\022\020\n\010fieldIds\030\004 \001(\014*\t\010\210\'\020\200\200\200\200\002\"@\n" +
-      "\nModuleInfo\022\020\n\010moduleId\030\001 \001(\t\022\025\n\rmoduleV" +
-      "ersion\030\002 \001(\t*\t\010\210\'\020\200\200\200\200\002\",\n\rModuleRequest" +
-      "\022\020\n\010moduleId\030\001 \001(\t*\t\010\210\'\020\200\200\200\200\002\"W\n\020ModuleD" +
-      "ataHeader\022\n\n\002id\030\001 \001(\t\022\017\n\007version\030\002 \001(\t\022\014" +
-      "\n\004size\030\003 \001(\003\022\r\n\005error\030\017 \001(\t*\t\010\210\'\020\200\200\200\200\002\"\'" +
-      "\n\nModuleData\022\016\n\006module\030\001 \001(\014*\t\010\210\'\020\200\200\200\200\002\"" +
-      "-\n\017ModuleSendError\022\017\n\007message\030\001 \001(\t*\t\010\210\'",
-      "\020\200\200\200\200\002\"`\n\023CreateEntityMessage\022\035\n\006entity\030" +
-      "\001 \001(\0132\r.PackedEntity\022\037\n\010blockPos\030\002 \001(\0132\r" +
-      ".Vector3iData*\t\010\210\'\020\200\200\200\200\002\"N\n\023UpdateEntity" +
-      "Message\022\035\n\006entity\030\001 \001(\0132\r.PackedEntity\022\r" +
-      "\n\005netId\030\002 \001(\005*\t\010\210\'\020\200\200\200\200\002\"/\n\023RemoveEntity" +
-      "Message\022\r\n\005netId\030\001 \001(\005*\t\010\210\'\020\200\200\200\200\002\"i\n\014Eve" +
-      "ntMessage\022\020\n\010targetId\030\001 \001(\005\022\025\n\005event\030\002 \001" +
-      "(\0132\006.Event\022%\n\016targetBlockPos\030\003 \001(\0132\r.Vec" +
-      "tor3iData*\t\010\210\'\020\200\200\200\200\002B$\n\027org.terasology.p" +
-      "rotobufB\007NetDataH\001"
+      "ion\022\030\n\020frameCompression\030h \003(\t*\t\010\210\'\020\200\200\200\200\002" +
+      "\"a\n\016HandshakeHello\022\016\n\006random\030\001 \001(\014\022!\n\013ce" +
+      "rtificate\030\002 \001(\0132\014.Certificate\022\021\n\ttimesta" +
+      "mp\030\003 \001(\022*\t\010\210\'\020\200\200\200\200\002\"H\n\022NewIdentityReques" +
+      "t\022\027\n\017preMasterSecret\030\001 \001(\014\022\016\n\006random\030\002 \001" +
+      "(\014*\t\010\210\'\020\200\200\200\200\002\"=\n\021ProvisionIdentity\022\035\n\025en" +
+      "cryptedCertificates\030\001 \001(\014*\t\010\210\'\020\200\200\200\200\002\"]\n\016",
+      "CertificateSet\022\'\n\021publicCertificate\030\001 \001(" +
+      "\0132\014.Certificate\022\027\n\017privateExponent\030\002 \001(\014" +
+      "*\t\010\210\'\020\200\200\200\200\002\"5\n\025HandshakeVerification\022\021\n\t" +
+      "signature\030\001 \001(\014*\t\010\210\'\020\200\200\200\200\002\"Z\n\013Certificat" +
+      "e\022\n\n\002id\030\001 \001(\t\022\017\n\007modulus\030\002 \001(\014\022\020\n\010expone" +
+      "nt\030\003 \001(\014\022\021\n\tsignature\030\004 \001(\014*\t\010\210\'\020\200\200\200\200\002\"L" +
+      "\n\034BlockFamilyRegisteredMessage\022\020\n\010blockU" +
+      "ri\030\001 \003(\t\022\017\n\007blockId\030\002 \003(\005*\t\010\210\'\020\200\200\200\200\002\"?\n\026" +
+      "InvalidateChunkMessage\022\032\n\003pos\030\001 \001(\0132\r.Ve" +
+      "ctor3iData*\t\010\210\'\020\200\200\200\200\002\"M\n\022BlockChangeMess",
+      "age\022\032\n\003pos\030\001 \001(\0132\r.Vector3iData\022\020\n\010newBl" +
+      "ock\030\002 \001(\005*\t\010\210\'\020\200\200\200\200\002\"M\n\022BiomeChangeMessa" +
+      "ge\022\032\n\003pos\030\001 \001(\0132\r.Vector3iData\022\020\n\010newBio" +
+      "me\030\002 \001(\005*\t\010\210\'\020\200\200\200\200\002\"/\n\014Vector3iData\022\t\n\001x" +
+      "\030\001 \001(\005\022\t\n\001y\030\002 \001(\005\022\t\n\001z\030\003 \001(\005\"\036\n\021ServerIn" +
+      "foRequest*\t\010\210\'\020\200\200\200\200\002\"i\n\013JoinMessage\022\014\n\004n" +
+      "ame\030\001 \001(\t\022\017\n\007version\030\002 \001(\t\022\031\n\021viewDistan" +
+      "ceLevel\030\003 \001(\021\022\025\n\005color\030\004 \001(\0132\006.Color*\t\010\210" +
+      "\'\020\200\200\200\200\002\"\025\n\005Color\022\014\n\004rgba\030\001 \001(\r\"2\n\023JoinCo" +
+      "mpleteMessage\022\020\n\010clientId\030\001 \001(\005*\t\010\210\'\020\200\200\200",
+      "\200\002\"\206\003\n\021ServerInfoMessage\022\033\n\006module\030\001 \003(\013" +
+      "2\013.ModuleInfo\022\023\n\007blockId\030\002 \003(\021B\002\020\001\022\021\n\tbl" +
+      "ockName\030\003 \003(\t\022%\n\tcomponent\030\004 \003(\0132\022.Seria" +
+      "lizationInfo\022!\n\005event\030\005 \003(\0132\022.Serializat" +
+      "ionInfo\022\023\n\007assetId\030\006 \003(\005B\002\020\001\022\020\n\010assetUri" +
+      "\030\007 \003(\t\022\033\n\023registerBlockFamily\030\010 \003(\t\022\035\n\tw" +
+      "orldInfo\030\t \003(\0132\n.WorldInfo\022\030\n\014biomeShort" +
+      "Id\030\n \003(\021B\002\020\001\022\017\n\007biomeId\030\013 \003(\t\022\017\n\007version" +
+      "\030\017 \001(\t\022\020\n\010gameName\030\020 \001(\t\022\014\n\004time\030\021 \001(\003\022\030" +
+      "\n\020reflectionHeight\030\022 \001(\002*\t\010\210\'\020\200\200\200\200\002\"3\n\tW",
+      "orldInfo\022\r\n\005title\030\001 \001(\t\022\014\n\004time\030\002 \001(\003*\t\010" +
+      "\210\'\020\200\200\200\200\002\"]\n\021SerializationInfo\022\014\n\004name\030\001 " +
+      "\001(\t\022\n\n\002id\030\002 \001(\005\022\021\n\tfieldName\030\003 \003(\t\022\020\n\010fi" +
+      "eldIds\030\004 \001(\014*\t\010\210\'\020\200\200\200\200\002\"@\n\nModuleInfo\022\020\n" +
+      "\010moduleId\030\001 \001(\t\022\025\n\rmoduleVersion\030\002 \001(\t*\t" +
+      "\010\210\'\020\200\200\200\200\002\",\n\rModuleRequest\022\020\n\010moduleId\030\001" +
+      " \001(\t*\t\010\210\'\020\200\200\200\200\002\"W\n\020ModuleDataHeader\022\n\n\002i" +
+      "d\030\001 \001(\t\022\017\n\007version\030\002 \001(\t\022\014\n\004size\030\003 \001(\003\022\r" +
+      "\n\005error\030\017 \001(\t*\t\010\210\'\020\200\200\200\200\002\"\'\n\nModuleData\022\016" +
+      "\n\006module\030\001 \001(\014*\t\010\210\'\020\200\200\200\200\002\"-\n\017ModuleSendE",
+      "rror\022\017\n\007message\030\001 \001(\t*\t\010\210\'\020\200\200\200\200\002\"`\n\023Crea" +
+      "teEntityMessage\022\035\n\006entity\030\001 \001(\0132\r.Packed" +
+      "Entity\022\037\n\010blockPos\030\002 \001(\0132\r.Vector3iData*" +
+      "\t\010\210\'\020\200\200\200\200\002\"N\n\023UpdateEntityMessage\022\035\n\006ent" +
+      "ity\030\001 \001(\0132\r.PackedEntity\022\r\n\005netId\030\002 \001(\005*" +
+      "\t\010\210\'\020\200\200\200\200\002\"/\n\023RemoveEntityMessage\022\r\n\005net" +
+      "Id\030\001 \001(\005*\t\010\210\'\020\200\200\200\200\002\"i\n\014EventMessage\022\020\n\010t" +
+      "argetId\030\001 \001(\005\022\025\n\005event\030\002 \001(\0132\006.Event\022%\n\016" +
+      "targetBlockPos\030\003 \001(\0132\r.Vector3iData*\t\010\210\'" +
+      "\020\200\200\200\200\002B$\n\027org.terasology.protobufB\007NetDa",
+      "taH\001"
     };
     com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
         new com.google.protobuf.Descriptors.FileDescriptor.    InternalDescriptorAssigner() {
@@ -25280,7 +25464,7 @@ public com.google.protobuf.ExtensionRegistry assignDescriptors(
     internal_static_NetMessage_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_NetMessage_descriptor,
-        new java.lang.String[] { "ChunkInfo", "InvalidateChunk", "BlockChange", "CreateEntity", "RemoveEntity", "UpdateEntity", "Event", "Time", "BiomeChange", "ServerInfoRequest", "ServerInfo", "BlockFamilyRegistered", "Join", "ModuleRequest", "ModuleDataHeader", "ModuleData", "JoinComplete", "HandshakeHello", "NewIdentityRequest", "ProvisionIdentity", "HandshakeVerification", });
+        new java.lang.String[] { "ChunkInfo", "InvalidateChunk", "BlockChange", "CreateEntity", "RemoveEntity", "UpdateEntity", "Event", "Time", "BiomeChange", "ServerInfoRequest", "ServerInfo", "BlockFamilyRegistered", "Join", "ModuleRequest", "ModuleDataHeader", "ModuleData", "JoinComplete", "HandshakeHello", "NewIdentityRequest", "ProvisionIdentity", "HandshakeVerification", "FrameCompression", });
     internal_static_HandshakeHello_descriptor =
       getDescriptor().getMessageTypes().get(1);
     internal_static_HandshakeHello_fieldAccessorTable = new
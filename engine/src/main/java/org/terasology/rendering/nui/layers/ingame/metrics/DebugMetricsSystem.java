@@ -54,6 +54,8 @@ public void initialise() {
         register(new AllocationsMode());
         register(new RunningThreadsMode());
         register(new WorldRendererMode());
+        register(new WorldGenerationMode());
+        register(new NetworkStatsMode());
         register(new RenderingExecTimeMeansMode("Rendering - Execution Time: Running Means - Sorted Alphabetically"));
         currentMode = defaultMode;
     }
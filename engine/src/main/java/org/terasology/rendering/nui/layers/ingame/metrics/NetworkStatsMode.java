@@ -51,6 +51,11 @@ public String getMetrics() {
             builder.append(String.format("In Bytes: %d%n", networkSystem.getIncomingBytesDelta()));
             builder.append(String.format("Out Msg: %d%n", networkSystem.getOutgoingMessagesDelta()));
             builder.append(String.format("Out Bytes: %d%n", networkSystem.getOutgoingBytesDelta()));
+            builder.append(String.format("Out Bytes Uncompressed: %d%n", networkSystem.getUncompressedBytesDelta()));
+            builder.append(String.format("Out Msg Uncompressed: %d%n", networkSystem.getUncompressedMessagesDelta()));
+            builder.append(String.format("Compression Time: %.2fms%n", networkSystem.getCompressionTimeDelta() / 1000000.0));
+            builder.append(String.format("Shared Updates: %d%n", networkSystem.getSharedEntityUpdatesDelta()));
+            builder.append(String.format("Serialization Saved: %.2fms%n", networkSystem.getSerializationTimeSavedDelta() / 1000000.0));
             if (lastTime != 0) {
                 // ignore the first update as it will not have useful data
                 lastMetric = builder.toString();
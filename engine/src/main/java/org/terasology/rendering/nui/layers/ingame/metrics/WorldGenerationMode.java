@@ -0,0 +1,67 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.rendering.nui.layers.ingame.metrics;
+
+import org.terasology.registry.CoreRegistry;
+import org.terasology.world.generation.ColumnFacetCache;
+import org.terasology.world.generation.World;
+import org.terasology.world.generation.WorldImpl;
+import org.terasology.world.generator.WorldGenerator;
+
+/**
+ * Shows how well the facets shared between the chunks of a column are reused.
+ */
+public class WorldGenerationMode extends MetricsMode {
+
+    public WorldGenerationMode() {
+        super("World Generation");
+    }
+
+    @Override
+    public String getMetrics() {
+        ColumnFacetCache cache = getColumnFacetCache();
+        if (cache == null) {
+            return getName();
+        }
+        StringBuilder builder = new StringBuilder();
+        builder.append(getName());
+        builder.append("\n");
+        builder.append(String.format("Column Facet Hits: %d%n", cache.getHitCount()));
+        builder.append(String.format("Column Facet Misses: %d%n", cache.getMissCount()));
+        builder.append(String.format("Column Facet Hit Rate: %.1f%%%n", cache.getHitRate() * 100));
+        builder.append(String.format("Cached Columns: %d%n", cache.getColumnCount()));
+        return builder.toString();
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return getColumnFacetCache() != null;
+    }
+
+    @Override
+    public boolean isPerformanceManagerMode() {
+        return false;
+    }
+
+    private static ColumnFacetCache getColumnFacetCache() {
+        WorldGenerator worldGenerator = CoreRegistry.get(WorldGenerator.class);
+        if (worldGenerator == null) {
+            return null;
+        }
+        World world = worldGenerator.getWorld();
+        return (world instanceof WorldImpl) ? ((WorldImpl) world).getColumnFacetCache() : null;
+    }
+}
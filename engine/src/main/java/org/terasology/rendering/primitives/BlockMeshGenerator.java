@@ -36,6 +36,21 @@ public interface BlockMeshGenerator {
      */
     void generateChunkMesh(ChunkView view, ChunkMesh mesh, int x, int y, int z);
 
+    /**
+     * Generates a block mesh at the defined location in the ChunkMesh, looking up the block and its neighbours in
+     * blocks extracted from the view beforehand. Defaults to {@link #generateChunkMesh(ChunkView, ChunkMesh, int, int, int)}.
+     *
+     * @param view   The input chunk area to acquire other data, like biomes, from.
+     * @param blocks The blocks of the input chunk area, including a one block border around the position.
+     * @param mesh   The output mesh that is being generated.
+     * @param x      Input position X.
+     * @param y      Input position Y.
+     * @param z      Input position Z.
+     */
+    default void generateChunkMesh(ChunkView view, ChunkMeshBlockData blocks, ChunkMesh mesh, int x, int y, int z) {
+        generateChunkMesh(view, mesh, x, y, z);
+    }
+
     /**
      * @return A standalone mesh used for items, inventory, etc...
      */
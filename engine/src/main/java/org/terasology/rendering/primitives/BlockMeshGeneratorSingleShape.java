@@ -15,7 +15,6 @@
  */
 package org.terasology.rendering.primitives;
 
-import com.google.common.collect.Maps;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.assets.ResourceUrn;
@@ -30,10 +29,10 @@
 import org.terasology.world.block.BlockPart;
 import org.terasology.world.block.shapes.BlockMeshPart;
 
-import java.util.Map;
-
 public class BlockMeshGeneratorSingleShape implements BlockMeshGenerator {
     private static final Logger logger = LoggerFactory.getLogger(BlockMeshGeneratorSingleShape.class);
+    private static final Side[] SIDES = Side.values();
+    private static final Side[] HORIZONTAL_SIDES = Side.horizontalSides().toArray(new Side[0]);
 
     private Block block;
     private Mesh mesh;
@@ -44,13 +43,25 @@ public BlockMeshGeneratorSingleShape(Block block) {
 
     @Override
     public void generateChunkMesh(ChunkView view, ChunkMesh chunkMesh, int x, int y, int z) {
+        generate(view, null, chunkMesh, x, y, z);
+    }
+
+    @Override
+    public void generateChunkMesh(ChunkView view, ChunkMeshBlockData blocks, ChunkMesh chunkMesh, int x, int y, int z) {
+        generate(view, blocks, chunkMesh, x, y, z);
+    }
+
+    /**
+     * @param blocks The blocks extracted from the view, or null to look the blocks up in the view directly
+     */
+    private void generate(ChunkView view, ChunkMeshBlockData blocks, ChunkMesh chunkMesh, int x, int y, int z) {
         Biome selfBiome = view.getBiome(x, y, z);
-        Block selfBlock = view.getBlock(x, y, z);
+        Block selfBlock = getBlock(view, blocks, x, y, z);
 
         // TODO: Needs review - too much hardcoded special cases and corner cases resulting from this.
         ChunkVertexFlag vertexFlag = ChunkVertexFlag.NORMAL;
         if (selfBlock.isWater()) {
-            if (view.getBlock(x, y + 1, z).isWater()) {
+            if (getBlock(view, blocks, x, y + 1, z).isWater()) {
                 vertexFlag = ChunkVertexFlag.WATER;
             } else {
                 vertexFlag = ChunkVertexFlag.WATER_SURFACE;
@@ -63,15 +74,9 @@ public void generateChunkMesh(ChunkView view, ChunkMesh chunkMesh, int x, int y,
             vertexFlag = ChunkVertexFlag.WAVING_BLOCK;
         }
 
-        // Gather adjacent blocks
-        Map<Side, Block> adjacentBlocks = Maps.newEnumMap(Side.class);
-        for (Side side : Side.values()) {
-            Vector3i offset = side.getVector3i();
-            Block blockToCheck = view.getBlock(x + offset.x, y + offset.y, z + offset.z);
-            adjacentBlocks.put(side, blockToCheck);
-        }
-
-        BlockAppearance blockAppearance = selfBlock.getAppearance(adjacentBlocks);
+        // Block appearances don't depend on the adjacent blocks yet (see Block.getAppearance), so the adjacent blocks
+        // are only looked up where they are needed
+        BlockAppearance blockAppearance = selfBlock.getPrimaryAppearance();
 
         /*
          * Determine the render process.
@@ -94,34 +99,42 @@ public void generateChunkMesh(ChunkView view, ChunkMesh chunkMesh, int x, int y,
             blockAppearance.getPart(BlockPart.CENTER).appendTo(chunkMesh, x, y, z, colorOffset, renderType, vertexFlag);
         }
 
-        boolean[] drawDir = new boolean[6];
+        // Bit mask of the sides to draw, by side ordinal
+        int drawDir = 0;
 
-        for (Side side : Side.values()) {
-            drawDir[side.ordinal()] = blockAppearance.getPart(BlockPart.fromSide(side)) != null && isSideVisibleForBlockTypes(adjacentBlocks.get(side), selfBlock, side);
+        for (Side side : SIDES) {
+            if (blockAppearance.getPart(BlockPart.fromSide(side)) != null
+                    && isSideVisibleForBlockTypes(getAdjacentBlock(view, blocks, x, y, z, side), selfBlock, side)) {
+                drawDir |= 1 << side.ordinal();
+            }
         }
 
         // If the selfBlock is lowered, some more faces may have to be drawn
         if (selfBlock.isLiquid()) {
-            Block bottomBlock = adjacentBlocks.get(Side.BOTTOM);
+            Block bottomBlock = getBlock(view, blocks, x, y - 1, z);
             // Draw horizontal sides if visible from below
-            for (Side side : Side.horizontalSides()) {
+            for (Side side : HORIZONTAL_SIDES) {
                 Vector3i offset = side.getVector3i();
-                Block adjacentBelow = view.getBlock(x + offset.x, y - 1, z + offset.z);
-                Block adjacent = adjacentBlocks.get(side);
+                Block adjacentBelow = getBlock(view, blocks, x + offset.x, y - 1, z + offset.z);
+                Block adjacent = getBlock(view, blocks, x + offset.x, y, z + offset.z);
 
                 boolean visible = (blockAppearance.getPart(BlockPart.fromSide(side)) != null
                         && isSideVisibleForBlockTypes(adjacentBelow, selfBlock, side) && !isSideVisibleForBlockTypes(bottomBlock, adjacent, side.reverse()));
-                drawDir[side.ordinal()] |= visible;
+                if (visible) {
+                    drawDir |= 1 << side.ordinal();
+                }
             }
 
             // Draw the top if below a non-lowered selfBlock
             // TODO: Don't need to render the top if each side and the selfBlock above each side are either liquid or opaque solids.
-            Block blockToCheck = adjacentBlocks.get(Side.TOP);
-            drawDir[Side.TOP.ordinal()] |= !blockToCheck.isLiquid();
+            Block blockToCheck = getBlock(view, blocks, x, y + 1, z);
+            if (!blockToCheck.isLiquid()) {
+                drawDir |= 1 << Side.TOP.ordinal();
+            }
 
             if (bottomBlock.isLiquid() || bottomBlock.getMeshGenerator() == null) {
-                for (Side dir : Side.values()) {
-                    if (drawDir[dir.ordinal()]) {
+                for (Side dir : SIDES) {
+                    if ((drawDir & (1 << dir.ordinal())) != 0) {
                         Vector4f colorOffset = selfBlock.calcColorOffsetFor(BlockPart.fromSide(dir), selfBiome);
                         selfBlock.getLoweredLiquidMesh(dir).appendTo(chunkMesh, x, y, z, colorOffset, renderType, vertexFlag);
                     }
@@ -130,8 +143,8 @@ public void generateChunkMesh(ChunkView view, ChunkMesh chunkMesh, int x, int y,
             }
         }
 
-        for (Side dir : Side.values()) {
-            if (drawDir[dir.ordinal()]) {
+        for (Side dir : SIDES) {
+            if ((drawDir & (1 << dir.ordinal())) != 0) {
                 Vector4f colorOffset = selfBlock.calcColorOffsetFor(BlockPart.fromSide(dir), selfBiome);
                 // TODO: Needs review since the new per-vertex flags introduce a lot of special scenarios - probably a per-side setting?
                 if (selfBlock.isGrass() && dir != Side.TOP && dir != Side.BOTTOM) {
@@ -146,13 +159,27 @@ public void generateChunkMesh(ChunkView view, ChunkMesh chunkMesh, int x, int y,
                         // But with that handling you don't get water blocks occluding tops underwater... and there's no TOP to retrieve below -> NPE
                         logger.debug("Cannot render side '{}' for a block - no stored block appearance for it. renderType {}, vertexFlag {}", dir, renderType, vertexFlag);
                     } else {
-                        blockAppearance.getPart(BlockPart.fromSide(dir)).appendTo(chunkMesh, x, y, z, colorOffset, renderType, vertexFlag);
+                        BlockMeshPart part = blockAppearance.getPart(BlockPart.fromSide(dir));
+                        GreedyMesher greedyMesher = chunkMesh.getGreedyMesher();
+                        boolean mergeable = renderType == ChunkMesh.RenderType.OPAQUE && vertexFlag == ChunkVertexFlag.NORMAL;
+                        if (!mergeable || greedyMesher == null || !greedyMesher.add(selfBlock, dir, part, x, y, z, colorOffset)) {
+                            part.appendTo(chunkMesh, x, y, z, colorOffset, renderType, vertexFlag);
+                        }
                     }
                 }
             }
         }
     }
 
+    private static Block getBlock(ChunkView view, ChunkMeshBlockData blocks, int x, int y, int z) {
+        return (blocks != null) ? blocks.getBlock(x, y, z) : view.getBlock(x, y, z);
+    }
+
+    private static Block getAdjacentBlock(ChunkView view, ChunkMeshBlockData blocks, int x, int y, int z, Side side) {
+        Vector3i offset = side.getVector3i();
+        return getBlock(view, blocks, x + offset.x, y + offset.y, z + offset.z);
+    }
+
     /**
      * Returns true if the side should be rendered adjacent to the second side provided.
      *
@@ -16,6 +16,7 @@
 package org.terasology.rendering.primitives;
 
 import com.google.common.collect.Maps;
+import gnu.trove.TCollections;
 import gnu.trove.list.TFloatList;
 import gnu.trove.list.TIntList;
 import gnu.trove.list.array.TFloatArrayList;
@@ -101,6 +102,7 @@ public enum RenderPhase {
 
     /* TEMPORARY DATA */
     private Map<RenderType, VertexElements> vertexElements = Maps.newEnumMap(RenderType.class);
+    private GreedyMesher greedyMesher;
 
     private boolean disposed;
 
@@ -110,8 +112,10 @@ public enum RenderPhase {
     /* MEASUREMENTS */
     private int timeToGenerateBlockVertices;
     private int timeToGenerateOptimizedBuffers;
+    private long directBufferBytes;
 
     private GLBufferPool bufferPool;
+    private DirectBufferPool directBufferPool;
 
     public ChunkMesh(GLBufferPool bufferPool) {
         this.bufferPool = bufferPool;
@@ -120,10 +124,46 @@ public ChunkMesh(GLBufferPool bufferPool) {
         }
     }
 
+    /**
+     * Creates a mesh which is built in reused staging elements, with its final buffers taken from a pool.
+     * {@link #releaseStagingElements()} has to be called once the final buffers are filled, before the staging
+     * elements are used for the next mesh.
+     */
+    ChunkMesh(GLBufferPool bufferPool, DirectBufferPool directBufferPool, Map<RenderType, VertexElements> stagingElements) {
+        this.bufferPool = bufferPool;
+        this.directBufferPool = directBufferPool;
+        vertexElements.putAll(stagingElements);
+    }
+
     public VertexElements getVertexElements(RenderType renderType) {
         return vertexElements.get(renderType);
     }
 
+    /**
+     * @return The mesher collecting the faces to merge while the mesh is being generated, or null if faces should be
+     * appended directly.
+     */
+    GreedyMesher getGreedyMesher() {
+        return greedyMesher;
+    }
+
+    void setGreedyMesher(GreedyMesher greedyMesher) {
+        this.greedyMesher = greedyMesher;
+    }
+
+    /**
+     * Detaches the mesh from its staging elements, keeping only the final buffers.
+     */
+    void releaseStagingElements() {
+        for (RenderType type : RenderType.values()) {
+            VertexElements staging = vertexElements.get(type);
+            vertexElements.put(type, new VertexElements(staging.finalVertices, staging.finalIndices));
+            directBufferBytes += (staging.finalVertices.capacity() + staging.finalIndices.capacity()) * 4L;
+            staging.finalVertices = null;
+            staging.finalIndices = null;
+        }
+    }
+
     public boolean isGenerated() {
         return vertexElements == null;
     }
@@ -174,7 +214,16 @@ private void generateVBO(RenderType type) {
             idxBuffers[id] = 0;
             vertexCount[id] = 0;
         }
+        releaseFinalBuffers(elements);
+    }
 
+    private void releaseFinalBuffers(VertexElements elements) {
+        if (directBufferPool != null && elements.finalVertices != null) {
+            directBufferPool.release(elements.finalVertices);
+            directBufferPool.release(elements.finalIndices);
+            elements.finalVertices = null;
+            elements.finalIndices = null;
+        }
     }
 
     private void renderVbo(int id) {
@@ -258,6 +307,9 @@ public void dispose() {
                     }
                 }
 
+                if (vertexElements != null) {
+                    vertexElements.values().forEach(this::releaseFinalBuffers);
+                }
                 disposed = true;
                 vertexElements = null;
             }
@@ -304,11 +356,21 @@ public int getTimeToGenerateOptimizedBuffers() {
         return timeToGenerateOptimizedBuffers;
     }
 
+    /**
+     * @return The size of the direct buffers taken from the pool for the final vertex data of this mesh, in bytes
+     */
+    public long getDirectBufferBytes() {
+        return directBufferBytes;
+    }
+
     /**
      * Data structure for storing vertex data. Abused like a "struct" in C/C++. Just sad.
      */
     public static class VertexElements {
 
+        private static final TFloatList NO_FLOATS = TCollections.unmodifiableList(new TFloatArrayList(0));
+        private static final TIntList NO_INTS = TCollections.unmodifiableList(new TIntArrayList(0));
+
         public final TFloatList normals;
         public final TFloatList vertices;
         public final TFloatList tex;
@@ -329,5 +391,34 @@ public VertexElements() {
             indices = new TIntArrayList();
             flags = new TIntArrayList();
         }
+
+        /**
+         * Creates elements holding nothing but the final buffers, once the staging lists are no longer needed.
+         */
+        VertexElements(IntBuffer finalVertices, IntBuffer finalIndices) {
+            normals = NO_FLOATS;
+            vertices = NO_FLOATS;
+            tex = NO_FLOATS;
+            color = NO_FLOATS;
+            indices = NO_INTS;
+            flags = NO_INTS;
+            this.finalVertices = finalVertices;
+            this.finalIndices = finalIndices;
+        }
+
+        /**
+         * Empties the lists for the next mesh. Unlike clear(), removing the elements keeps the capacity of the lists.
+         */
+        void reset() {
+            normals.remove(0, normals.size());
+            vertices.remove(0, vertices.size());
+            tex.remove(0, tex.size());
+            color.remove(0, color.size());
+            indices.remove(0, indices.size());
+            flags.remove(0, flags.size());
+            vertexCount = 0;
+            finalVertices = null;
+            finalIndices = null;
+        }
     }
 }
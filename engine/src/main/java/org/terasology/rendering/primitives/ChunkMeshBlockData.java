@@ -0,0 +1,146 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.rendering.primitives;
+
+import com.google.common.collect.Maps;
+import org.terasology.math.Side;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.module.sandbox.API;
+import org.terasology.world.ChunkView;
+import org.terasology.world.block.Block;
+import org.terasology.world.chunks.ChunkConstants;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The blocks of an area of a chunk view, extracted once into a flat array of block ids. Mesh generators look up a
+ * block and its neighbours in here instead of going through the bounds and offset checks of the chunk view for every
+ * access.
+ */
+@API
+public final class ChunkMeshBlockData {
+    private static final Side[] SIDES = Side.values();
+
+    private final int minX;
+    private final int minY;
+    private final int minZ;
+    private final int sizeX;
+    private final int sizeZ;
+    private final short[] ids;
+    private Block[] blocksById = new Block[64];
+
+    private final Map<Side, Block> adjacentBlocks = Maps.newEnumMap(Side.class);
+    private final Map<Side, Block> adjacentBlocksView = Collections.unmodifiableMap(adjacentBlocks);
+
+    private ChunkMeshBlockData(int minX, int minY, int minZ, int sizeX, int sizeY, int sizeZ) {
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.sizeX = sizeX;
+        this.sizeZ = sizeZ;
+        this.ids = new short[sizeX * sizeY * sizeZ];
+    }
+
+    /**
+     * Extracts the blocks of the chunk at the center of a view between the given heights, plus a one block border
+     * around them.
+     *
+     * @param view           The view to extract the blocks from
+     * @param verticalOffset The lowest y to extract, in chunk coordinates
+     * @param meshHeight     The number of layers to extract
+     * @return The extracted blocks
+     */
+    public static ChunkMeshBlockData extract(ChunkView view, int verticalOffset, int meshHeight) {
+        return extract(view, -1, verticalOffset - 1, -1, ChunkConstants.SIZE_X + 2, meshHeight + 2, ChunkConstants.SIZE_Z + 2);
+    }
+
+    /**
+     * Extracts the blocks of an area of a view.
+     *
+     * @param view  The view to extract the blocks from
+     * @param minX  The minimum x of the area
+     * @param minY  The minimum y of the area
+     * @param minZ  The minimum z of the area
+     * @param sizeX The size of the area along the x axis
+     * @param sizeY The size of the area along the y axis
+     * @param sizeZ The size of the area along the z axis
+     * @return The extracted blocks
+     */
+    public static ChunkMeshBlockData extract(ChunkView view, int minX, int minY, int minZ, int sizeX, int sizeY, int sizeZ) {
+        ChunkMeshBlockData data = new ChunkMeshBlockData(minX, minY, minZ, sizeX, sizeY, sizeZ);
+        int index = 0;
+        for (int y = minY; y < minY + sizeY; y++) {
+            for (int z = minZ; z < minZ + sizeZ; z++) {
+                for (int x = minX; x < minX + sizeX; x++) {
+                    data.ids[index++] = data.register(view.getBlock(x, y, z));
+                }
+            }
+        }
+        return data;
+    }
+
+    private short register(Block block) {
+        int id = block.getId() & 0xFFFF;
+        if (id >= blocksById.length) {
+            blocksById = Arrays.copyOf(blocksById, Math.max(id + 1, blocksById.length * 2));
+        }
+        blocksById[id] = block;
+        return block.getId();
+    }
+
+    /**
+     * @return The id of the block at the given position, which must lie within the extracted area
+     */
+    public short getBlockId(int x, int y, int z) {
+        return ids[indexOf(x, y, z)];
+    }
+
+    /**
+     * @return The block at the given position, which must lie within the extracted area
+     */
+    public Block getBlock(int x, int y, int z) {
+        return blocksById[ids[indexOf(x, y, z)] & 0xFFFF];
+    }
+
+    /**
+     * @return The block next to the given position on the given side
+     */
+    public Block getAdjacentBlock(int x, int y, int z, Side side) {
+        Vector3i offset = side.getVector3i();
+        return getBlock(x + offset.x, y + offset.y, z + offset.z);
+    }
+
+    /**
+     * Gathers the blocks next to the given position on each side.
+     * <p>
+     * The returned map is a read-only view of a map owned by this object, which is overwritten by the next call. Copy
+     * it if the blocks are needed for longer.
+     *
+     * @return The blocks next to the given position on each side
+     */
+    public Map<Side, Block> getAdjacentBlocks(int x, int y, int z) {
+        for (Side side : SIDES) {
+            adjacentBlocks.put(side, getAdjacentBlock(x, y, z, side));
+        }
+        return adjacentBlocksView;
+    }
+
+    private int indexOf(int x, int y, int z) {
+        return (x - minX) + sizeX * ((z - minZ) + sizeZ * (y - minY));
+    }
+}
@@ -16,8 +16,8 @@
 package org.terasology.rendering.primitives;
 
 import com.google.common.base.Stopwatch;
+import com.google.common.collect.Maps;
 import gnu.trove.iterator.TIntIterator;
-import org.lwjgl.BufferUtils;
 import org.terasology.engine.subsystem.lwjgl.GLBufferPool;
 import org.terasology.math.Direction;
 import org.terasology.math.TeraMath;
@@ -28,6 +28,7 @@
 import org.terasology.world.block.Block;
 import org.terasology.world.chunks.ChunkConstants;
 
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -36,36 +37,73 @@
  */
 public final class ChunkTessellator {
 
+    private static final long MAX_POOLED_BYTES = 64 * 1024 * 1024;
+
     private static int statVertexArrayUpdateCount;
 
     private GLBufferPool bufferPool;
+    private boolean greedyMeshing;
+
+    /* The vertex data is built in per thread staging lists and then copied to pooled direct buffers */
+    private final DirectBufferPool directBufferPool = new DirectBufferPool(MAX_POOLED_BYTES);
+    private final ThreadLocal<Map<ChunkMesh.RenderType, ChunkMesh.VertexElements>> stagingElements =
+            ThreadLocal.withInitial(() -> {
+                Map<ChunkMesh.RenderType, ChunkMesh.VertexElements> elements = Maps.newEnumMap(ChunkMesh.RenderType.class);
+                for (ChunkMesh.RenderType type : ChunkMesh.RenderType.values()) {
+                    elements.put(type, new ChunkMesh.VertexElements());
+                }
+                return elements;
+            });
 
     public ChunkTessellator(GLBufferPool bufferPool) {
+        this(bufferPool, false);
+    }
+
+    /**
+     * @param bufferPool
+     * @param greedyMeshing Whether to merge adjacent faces of full cube blocks into larger quads
+     */
+    public ChunkTessellator(GLBufferPool bufferPool, boolean greedyMeshing) {
         this.bufferPool = bufferPool;
+        this.greedyMeshing = greedyMeshing;
     }
 
     public ChunkMesh generateMesh(ChunkView chunkView, int meshHeight, int verticalOffset) {
         PerformanceMonitor.startActivity("GenerateMesh");
-        ChunkMesh mesh = new ChunkMesh(bufferPool);
+        Map<ChunkMesh.RenderType, ChunkMesh.VertexElements> staging = stagingElements.get();
+        staging.values().forEach(ChunkMesh.VertexElements::reset);
+        ChunkMesh mesh = new ChunkMesh(bufferPool, directBufferPool, staging);
+        GreedyMesher greedyMesher = null;
+        if (greedyMeshing) {
+            greedyMesher = new GreedyMesher(chunkView, verticalOffset, meshHeight);
+            mesh.setGreedyMesher(greedyMesher);
+        }
 
         final Stopwatch watch = Stopwatch.createStarted();
 
+        // Look up all blocks once, rather than for every block and its neighbours separately
+        ChunkMeshBlockData blocks = ChunkMeshBlockData.extract(chunkView, verticalOffset, meshHeight);
         for (int x = 0; x < ChunkConstants.SIZE_X; x++) {
             for (int z = 0; z < ChunkConstants.SIZE_Z; z++) {
                 for (int y = verticalOffset; y < verticalOffset + meshHeight; y++) {
-                    Block block = chunkView.getBlock(x, y, z);
+                    Block block = blocks.getBlock(x, y, z);
                     if (block != null && block.getMeshGenerator() != null) {
-                        block.getMeshGenerator().generateChunkMesh(chunkView, mesh, x, y, z);
+                        block.getMeshGenerator().generateChunkMesh(chunkView, blocks, mesh, x, y, z);
                     }
                 }
             }
         }
+        if (greedyMesher != null) {
+            mesh.setGreedyMesher(null);
+            greedyMesher.merge(mesh);
+        }
         watch.stop();
 
         mesh.setTimeToGenerateBlockVertices((int) watch.elapsed(TimeUnit.MILLISECONDS));
 
         watch.reset().start();
         generateOptimizedBuffers(chunkView, mesh);
+        mesh.releaseStagingElements();
         watch.stop();
         mesh.setTimeToGenerateOptimizedBuffers((int) watch.elapsed(TimeUnit.MILLISECONDS));
         statVertexArrayUpdateCount++;
@@ -76,11 +114,14 @@ public ChunkMesh generateMesh(ChunkView chunkView, int meshHeight, int verticalO
 
     private void generateOptimizedBuffers(ChunkView chunkView, ChunkMesh mesh) {
         PerformanceMonitor.startActivity("OptimizeBuffers");
+        Vector3f vertexPos = new Vector3f();
+        Vector3f normal = new Vector3f();
+        float[] result = new float[3];
 
         for (ChunkMesh.RenderType type : ChunkMesh.RenderType.values()) {
             ChunkMesh.VertexElements elements = mesh.getVertexElements(type);
             // Vertices double to account for light info
-            elements.finalVertices = BufferUtils.createIntBuffer(
+            elements.finalVertices = directBufferPool.acquire(
                     elements.vertices.size() + /* POSITION */
                             elements.tex.size() + /* TEX0 (UV0 and flags) */
                             elements.tex.size() + /* TEX1 (lighting data) */
@@ -93,7 +134,7 @@ private void generateOptimizedBuffers(ChunkView chunkView, ChunkMesh mesh) {
             int cColor = 0;
             int cFlags = 0;
             for (int i = 0; i < elements.vertices.size(); i += 3, cTex += 2, cColor += 4, cFlags++) {
-                Vector3f vertexPos = new Vector3f(
+                vertexPos.set(
                         elements.vertices.get(i),
                         elements.vertices.get(i + 1),
                         elements.vertices.get(i + 2));
@@ -110,8 +151,7 @@ private void generateOptimizedBuffers(ChunkView chunkView, ChunkMesh mesh) {
                 /* FLAGS */
                 elements.finalVertices.put(Float.floatToIntBits(elements.flags.get(cFlags)));
 
-                float[] result = new float[3];
-                Vector3f normal = new Vector3f(elements.normals.get(i), elements.normals.get(i + 1), elements.normals.get(i + 2));
+                normal.set(elements.normals.get(i), elements.normals.get(i + 1), elements.normals.get(i + 2));
                 calcLightingValuesForVertexPos(chunkView, vertexPos, result, normal);
 
                 /* LIGHTING DATA / TEX DATA 1 */
@@ -133,7 +173,7 @@ private void generateOptimizedBuffers(ChunkView chunkView, ChunkMesh mesh) {
                 elements.finalVertices.put(Float.floatToIntBits(normal.z));
             }
 
-            elements.finalIndices = BufferUtils.createIntBuffer(elements.indices.size());
+            elements.finalIndices = directBufferPool.acquire(elements.indices.size());
             TIntIterator indexIterator = elements.indices.iterator();
             while (indexIterator.hasNext()) {
                 elements.finalIndices.put(indexIterator.next());
@@ -145,7 +185,14 @@ private void generateOptimizedBuffers(ChunkView chunkView, ChunkMesh mesh) {
         PerformanceMonitor.endActivity();
     }
 
-    private void calcLightingValuesForVertexPos(ChunkView chunkView, Vector3f vertexPos, float[] output, Vector3f normal) {
+    /**
+     * @return The pool providing the direct buffers of the generated meshes
+     */
+    public DirectBufferPool getDirectBufferPool() {
+        return directBufferPool;
+    }
+
+    static void calcLightingValuesForVertexPos(ChunkView chunkView, Vector3f vertexPos, float[] output, Vector3f normal) {
         PerformanceMonitor.startActivity("calcLighting");
         float[] lights = new float[8];
         float[] blockLights = new float[8];
@@ -24,7 +24,12 @@ public enum ChunkVertexFlag {
     LAVA(3, "BLOCK_HINT_LAVA"),
     COLOR_MASK(4, "BLOCK_HINT_GRASS"),
     WAVING(5, "BLOCK_HINT_WAVING"),
-    WAVING_BLOCK(6, "BLOCK_HINT_WAVING_BLOCK");
+    WAVING_BLOCK(6, "BLOCK_HINT_WAVING_BLOCK"),
+    /**
+     * A quad spanning several blocks, produced by the {@link GreedyMesher}. The texture coordinates point at the
+     * corner of the tile, which the shader repeats once per block.
+     */
+    TILED(7, "BLOCK_HINT_TILED");
 
     private int value;
     private String defineName;
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.rendering.primitives;
+
+import com.google.common.collect.Lists;
+import org.lwjgl.BufferUtils;
+
+import java.nio.IntBuffer;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A thread safe pool of direct int buffers, used to hand the vertex data of chunk meshes over to OpenGL.
+ * <br><br>
+ * Buffers are pooled in power of two size classes, so a buffer can be reused for any request of up to its capacity.
+ * Requests larger than the largest size class are allocated directly and not taken back into the pool.
+ */
+public class DirectBufferPool {
+
+    private static final int MIN_SIZE_CLASS = 10;
+    private static final int MAX_SIZE_CLASS = 22;
+    private static final IntBuffer EMPTY_BUFFER = BufferUtils.createIntBuffer(0);
+
+    private final List<Queue<IntBuffer>> pools = Lists.newArrayList();
+    private final long maxPooledBytes;
+
+    private final AtomicLong pooledBytes = new AtomicLong();
+    private final AtomicLong allocatedBytes = new AtomicLong();
+
+    /**
+     * @param maxPooledBytes The maximum amount of memory held by the pool. Buffers released beyond it are left to the
+     *                       garbage collector.
+     */
+    public DirectBufferPool(long maxPooledBytes) {
+        this.maxPooledBytes = maxPooledBytes;
+        for (int i = MIN_SIZE_CLASS; i <= MAX_SIZE_CLASS; i++) {
+            pools.add(new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    /**
+     * @param size The number of ints the buffer has to hold
+     * @return A buffer positioned at zero with its limit set to size. It might have a larger capacity.
+     */
+    public IntBuffer acquire(int size) {
+        if (size == 0) {
+            return EMPTY_BUFFER.duplicate();
+        }
+        int sizeClass = sizeClassOf(size);
+        if (sizeClass > MAX_SIZE_CLASS) {
+            allocatedBytes.addAndGet(size * 4L);
+            return BufferUtils.createIntBuffer(size);
+        }
+
+        IntBuffer buffer = pools.get(sizeClass - MIN_SIZE_CLASS).poll();
+        if (buffer != null) {
+            pooledBytes.addAndGet(-buffer.capacity() * 4L);
+            buffer.clear();
+        } else {
+            buffer = BufferUtils.createIntBuffer(1 << sizeClass);
+            allocatedBytes.addAndGet(buffer.capacity() * 4L);
+        }
+        buffer.limit(size);
+        return buffer;
+    }
+
+    /**
+     * Hands a buffer back to the pool. It must not be used by the caller anymore afterwards.
+     */
+    public void release(IntBuffer buffer) {
+        int capacity = buffer.capacity();
+        if (capacity == 0 || Integer.bitCount(capacity) != 1) {
+            return;
+        }
+        int sizeClass = sizeClassOf(capacity);
+        if (sizeClass < MIN_SIZE_CLASS || sizeClass > MAX_SIZE_CLASS) {
+            return;
+        }
+        long bytes = capacity * 4L;
+        if (pooledBytes.addAndGet(bytes) > maxPooledBytes) {
+            pooledBytes.addAndGet(-bytes);
+            return;
+        }
+        pools.get(sizeClass - MIN_SIZE_CLASS).add(buffer);
+    }
+
+    /**
+     * @return The amount of direct memory allocated by the pool in bytes, over its whole lifetime
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes.get();
+    }
+
+    /**
+     * @return The amount of memory currently held by the pool for reuse, in bytes
+     */
+    public long getPooledBytes() {
+        return pooledBytes.get();
+    }
+
+    private static int sizeClassOf(int size) {
+        return Math.max(MIN_SIZE_CLASS, 32 - Integer.numberOfLeadingZeros(size - 1));
+    }
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.rendering.primitives;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.terasology.math.Side;
+import org.terasology.math.geom.Vector2f;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.math.geom.Vector4f;
+import org.terasology.world.ChunkView;
+import org.terasology.world.block.Block;
+import org.terasology.world.block.shapes.BlockMeshPart;
+import org.terasology.world.chunks.ChunkConstants;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Merges adjacent faces of full cube blocks lying in the same plane into larger quads.
+ * <br><br>
+ * Faces are only merged if they use the same mesh part, the same color and are lit the same at all corners, so the
+ * merged quad looks the same as the single faces did. The merged quads are flagged as {@link ChunkVertexFlag#TILED},
+ * so the chunk shader repeats the tile of the texture atlas once per block across them.
+ * <br><br>
+ * The shader derives the position within the tile from the position of the fragment on a fixed pair of world axes
+ * per face direction (see chunk_vert.glsl), matching the texture coordinates of the cube shape. Faces whose texture
+ * coordinates are rotated or mirrored relative to these axes would be drawn differently when merged, so they are left
+ * as they are.
+ */
+final class GreedyMesher {
+    private static final Side[] SIDES = Side.values();
+    private static final float UV_EPSILON = 0.001f;
+
+    private final ChunkView view;
+    private final int[] min;
+    private final int[] size;
+    private final Map<Side, List<Face>> faces = Maps.newEnumMap(Side.class);
+
+    // Scratch space for the lighting of a single corner, reused to not allocate per vertex
+    private final Vector3f vertexPos = new Vector3f();
+    private final float[] vertexLight = new float[3];
+
+    GreedyMesher(ChunkView view, int verticalOffset, int meshHeight) {
+        this.view = view;
+        this.min = new int[]{0, verticalOffset, 0};
+        this.size = new int[]{ChunkConstants.SIZE_X, meshHeight, ChunkConstants.SIZE_Z};
+        for (Side side : SIDES) {
+            faces.put(side, Lists.newArrayList());
+        }
+    }
+
+    /**
+     * Takes over a visible face of a block, to be merged with its neighbours later on.
+     *
+     * @return Whether the face was taken. If not, it is not a full quad and has to be appended to the mesh directly.
+     */
+    boolean add(Block block, Side side, BlockMeshPart part, int x, int y, int z, Vector4f colorOffset) {
+        if (!block.isFullSide(side) || part.size() != 4 || part.indicesSize() != 6 || !matchesTiledMapping(part, side)) {
+            return false;
+        }
+        faces.get(side).add(new Face(x, y, z, part, colorOffset));
+        return true;
+    }
+
+    /**
+     * Merges all faces taken so far and appends the resulting quads to the opaque vertex elements of the mesh.
+     */
+    void merge(ChunkMesh mesh) {
+        for (Side side : SIDES) {
+            List<Face> sideFaces = faces.get(side);
+            if (!sideFaces.isEmpty()) {
+                mergeSide(mesh, side, sideFaces);
+                sideFaces.clear();
+            }
+        }
+    }
+
+    private void mergeSide(ChunkMesh mesh, Side side, List<Face> sideFaces) {
+        Vector3i normal = side.getVector3i();
+        int normalAxis = (normal.x != 0) ? 0 : (normal.y != 0) ? 1 : 2;
+        int uAxis = (normalAxis == 0) ? 2 : 0;
+        int vAxis = (normalAxis == 1) ? 2 : 1;
+        int sizeU = size[uAxis];
+        int sizeV = size[vAxis];
+
+        Face[] mask = new Face[sizeU * sizeV];
+        float[] cornerLights = new float[(sizeU + 1) * (sizeV + 1) * 3];
+        boolean[] cornerKnown = new boolean[(sizeU + 1) * (sizeV + 1)];
+        Vector3f normalVector = new Vector3f(normal.x, normal.y, normal.z);
+
+        // Process the faces one plane at a time
+        sideFaces.sort(Comparator.comparingInt(face -> face.pos[normalAxis]));
+        int start = 0;
+        while (start < sideFaces.size()) {
+            int plane = sideFaces.get(start).pos[normalAxis];
+            int end = start;
+            Arrays.fill(cornerKnown, false);
+            while (end < sideFaces.size() && sideFaces.get(end).pos[normalAxis] == plane) {
+                Face face = sideFaces.get(end);
+                int u = face.pos[uAxis] - min[uAxis];
+                int v = face.pos[vAxis] - min[vAxis];
+                mask[u + sizeU * v] = face;
+                face.light = calcUniformLight(face, u, v, uAxis, vAxis, sizeU, normalVector, cornerLights, cornerKnown);
+                end++;
+            }
+
+            for (int v = 0; v < sizeV; v++) {
+                for (int u = 0; u < sizeU; u++) {
+                    Face face = mask[u + sizeU * v];
+                    if (face == null) {
+                        continue;
+                    }
+                    int width = 1;
+                    int height = 1;
+                    if (face.light != null) {
+                        while (u + width < sizeU && face.canMergeWith(mask[u + width + sizeU * v])) {
+                            width++;
+                        }
+                        boolean extendable = true;
+                        while (extendable && v + height < sizeV) {
+                            for (int i = 0; i < width; i++) {
+                                if (!face.canMergeWith(mask[u + i + sizeU * (v + height)])) {
+                                    extendable = false;
+                                    break;
+                                }
+                            }
+                            if (extendable) {
+                                height++;
+                            }
+                        }
+                    }
+                    for (int j = 0; j < height; j++) {
+                        Arrays.fill(mask, u + sizeU * (v + j), u + width + sizeU * (v + j), null);
+                    }
+
+                    if (width == 1 && height == 1) {
+                        face.part.appendTo(mesh, face.pos[0], face.pos[1], face.pos[2], face.color, ChunkMesh.RenderType.OPAQUE, ChunkVertexFlag.NORMAL);
+                    } else {
+                        appendMerged(mesh, face, uAxis, vAxis, width, height);
+                    }
+                }
+            }
+            start = end;
+        }
+    }
+
+    /**
+     * Calculates the lighting of the corners of a face, the same way the chunk tessellator does for every vertex.
+     * Corners are shared between the faces of a plane, so each one is only calculated once.
+     *
+     * @return The lighting of the face, or null if it differs between its corners
+     */
+    private float[] calcUniformLight(Face face, int u, int v, int uAxis, int vAxis, int sizeU, Vector3f normal,
+                                     float[] cornerLights, boolean[] cornerKnown) {
+        int firstCorner = -1;
+        for (int i = 0; i < 4; i++) {
+            Vector3f vertex = face.part.getVertex(i);
+            int cornerU = u + (getComponent(vertex, uAxis) > 0 ? 1 : 0);
+            int cornerV = v + (getComponent(vertex, vAxis) > 0 ? 1 : 0);
+            int corner = cornerU + (sizeU + 1) * cornerV;
+            if (!cornerKnown[corner]) {
+                vertexPos.set(vertex.x + face.pos[0], vertex.y + face.pos[1], vertex.z + face.pos[2]);
+                ChunkTessellator.calcLightingValuesForVertexPos(view, vertexPos, vertexLight, normal);
+                System.arraycopy(vertexLight, 0, cornerLights, corner * 3, 3);
+                cornerKnown[corner] = true;
+            }
+            if (firstCorner < 0) {
+                firstCorner = corner;
+            } else if (cornerLights[firstCorner * 3] != cornerLights[corner * 3] || cornerLights[firstCorner * 3 + 1] != cornerLights[corner * 3 + 1]
+                    || cornerLights[firstCorner * 3 + 2] != cornerLights[corner * 3 + 2]) {
+                return null;
+            }
+        }
+        return Arrays.copyOfRange(cornerLights, firstCorner * 3, firstCorner * 3 + 3);
+    }
+
+    private void appendMerged(ChunkMesh mesh, Face face, int uAxis, int vAxis, int width, int height) {
+        ChunkMesh.VertexElements elements = mesh.getVertexElements(ChunkMesh.RenderType.OPAQUE);
+        BlockMeshPart part = face.part;
+
+        // All vertices point at the corner of the tile, the shader adds the position within the block
+        float minU = Float.MAX_VALUE;
+        float minV = Float.MAX_VALUE;
+        for (int i = 0; i < part.size(); i++) {
+            Vector2f texCoord = part.getTexCoord(i);
+            minU = Math.min(minU, texCoord.x);
+            minV = Math.min(minV, texCoord.y);
+        }
+
+        int nextIndex = elements.vertexCount;
+        float[] pos = new float[3];
+        for (int i = 0; i < part.size(); i++) {
+            Vector3f vertex = part.getVertex(i);
+            pos[0] = vertex.x + face.pos[0];
+            pos[1] = vertex.y + face.pos[1];
+            pos[2] = vertex.z + face.pos[2];
+            if (getComponent(vertex, uAxis) > 0) {
+                pos[uAxis] += width - 1;
+            }
+            if (getComponent(vertex, vAxis) > 0) {
+                pos[vAxis] += height - 1;
+            }
+            Vector3f normal = part.getNormal(i);
+
+            elements.tex.add(minU);
+            elements.tex.add(minV);
+            elements.color.add(face.color.x);
+            elements.color.add(face.color.y);
+            elements.color.add(face.color.z);
+            elements.color.add(face.color.w);
+            elements.vertices.add(pos[0]);
+            elements.vertices.add(pos[1]);
+            elements.vertices.add(pos[2]);
+            elements.normals.add(normal.x);
+            elements.normals.add(normal.y);
+            elements.normals.add(normal.z);
+            elements.flags.add(ChunkVertexFlag.TILED.getValue());
+        }
+        elements.vertexCount += part.size();
+
+        for (int i = 0; i < part.indicesSize(); i++) {
+            elements.indices.add(part.getIndex(i) + nextIndex);
+        }
+    }
+
+    /**
+     * Checks whether the texture coordinates of a face span its tile the same way the shader repeats the tile across
+     * a merged quad. The shader follows the texture coordinates of the cube shape: on the top and bottom u runs along
+     * x (mirrored on the bottom) and v along z; on the sides u runs horizontally when looking at the face and v runs
+     * downwards.
+     *
+     * @return Whether the face looks the same when drawn as part of a merged quad
+     */
+    static boolean matchesTiledMapping(BlockMeshPart part, Side side) {
+        float minU = Float.MAX_VALUE;
+        float minV = Float.MAX_VALUE;
+        float maxU = -Float.MAX_VALUE;
+        float maxV = -Float.MAX_VALUE;
+        for (int i = 0; i < part.size(); i++) {
+            Vector2f texCoord = part.getTexCoord(i);
+            minU = Math.min(minU, texCoord.x);
+            minV = Math.min(minV, texCoord.y);
+            maxU = Math.max(maxU, texCoord.x);
+            maxV = Math.max(maxV, texCoord.y);
+        }
+        if (maxU - minU < UV_EPSILON || maxV - minV < UV_EPSILON) {
+            return false;
+        }
+
+        Vector3i normal = side.getVector3i();
+        for (int i = 0; i < part.size(); i++) {
+            Vector3f vertex = part.getVertex(i);
+            float expectedU;
+            float expectedV;
+            if (normal.y != 0) {
+                expectedU = 0.5f + normal.y * vertex.x;
+                expectedV = 0.5f + vertex.z;
+            } else if (normal.x != 0) {
+                expectedU = 0.5f - normal.x * vertex.z;
+                expectedV = 0.5f - vertex.y;
+            } else {
+                expectedU = 0.5f + normal.z * vertex.x;
+                expectedV = 0.5f - vertex.y;
+            }
+            Vector2f texCoord = part.getTexCoord(i);
+            if (Math.abs((texCoord.x - minU) / (maxU - minU) - expectedU) > UV_EPSILON
+                    || Math.abs((texCoord.y - minV) / (maxV - minV) - expectedV) > UV_EPSILON) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static float getComponent(Vector3f vector, int axis) {
+        switch (axis) {
+            case 0:
+                return vector.x;
+            case 1:
+                return vector.y;
+            default:
+                return vector.z;
+        }
+    }
+
+    private static final class Face {
+        private final int[] pos;
+        private final BlockMeshPart part;
+        private final Vector4f color;
+        private float[] light;
+
+        private Face(int x, int y, int z, BlockMeshPart part, Vector4f color) {
+            this.pos = new int[]{x, y, z};
+            this.part = part;
+            this.color = color;
+        }
+
+        private boolean canMergeWith(Face other) {
+            return other != null && other.light != null && other.part == part && other.color.equals(color)
+                    && Arrays.equals(other.light, light);
+        }
+    }
+}
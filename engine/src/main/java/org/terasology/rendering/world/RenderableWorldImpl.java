@@ -31,6 +31,7 @@
 import org.terasology.rendering.cameras.Camera;
 import org.terasology.rendering.primitives.ChunkMesh;
 import org.terasology.rendering.primitives.ChunkTessellator;
+import org.terasology.rendering.primitives.DirectBufferPool;
 import org.terasology.rendering.world.viewDistance.ViewDistance;
 import org.terasology.world.ChunkView;
 import org.terasology.world.WorldProvider;
@@ -83,7 +84,7 @@ public RenderableWorldImpl(WorldProvider worldProvider,
 
         this.worldProvider = worldProvider;
         this.chunkProvider = chunkProvider;
-        chunkTessellator = new ChunkTessellator(bufferPool);
+        chunkTessellator = new ChunkTessellator(bufferPool, renderingConfig.isGreedyMeshing());
         chunkMeshUpdateManager = new ChunkMeshUpdateManager(chunkTessellator, worldProvider);
 
         this.playerCamera = playerCamera;
@@ -419,6 +420,13 @@ public String getMetrics() {
         builder.append("Visible Chunks: ");
         builder.append(statVisibleChunks);
         builder.append("\n");
+        DirectBufferPool directBufferPool = chunkTessellator.getDirectBufferPool();
+        builder.append("Mesh Buffers Allocated: ");
+        builder.append(directBufferPool.getAllocatedBytes() / 1024);
+        builder.append(" KiB\n");
+        builder.append("Mesh Buffers Pooled: ");
+        builder.append(directBufferPool.getPooledBytes() / 1024);
+        builder.append(" KiB\n");
         return builder.toString();
     }
 
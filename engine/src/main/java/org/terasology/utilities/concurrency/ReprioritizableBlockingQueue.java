@@ -0,0 +1,278 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.utilities.concurrency;
+
+import java.util.AbstractQueue;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A blocking priority queue for elements whose priority changes over time, such as chunk tasks ordered by their
+ * distance to the player.
+ * <p>
+ * Elements are kept in an array based binary heap, so adding and taking elements costs O(log n) comparisons. The heap
+ * order is only re-evaluated when {@link #reprioritize()} is called; the next dequeue then rebuilds the heap in O(n).
+ * Between two calls to reprioritize the queue behaves like a regular priority queue using the comparator results at
+ * the time the elements were inserted.
+ *
+ */
+public class ReprioritizableBlockingQueue<T> extends AbstractQueue<T> implements BlockingQueue<T> {
+    private static final int DEFAULT_INITIAL_CAPACITY = 64;
+
+    private final Comparator<T> comparator;
+    private Object[] heap;
+    private int size;
+
+    /**
+     * Whether the heap must be rebuilt before the next element is dequeued
+     */
+    private boolean prioritiesChanged;
+
+    /**
+     * Lock used for all public operations
+     */
+    private final ReentrantLock lock;
+
+    /**
+     * Condition for blocking when empty
+     */
+    private final Condition notEmpty;
+
+    public ReprioritizableBlockingQueue(Comparator<T> comparator) {
+        this(comparator, DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public ReprioritizableBlockingQueue(Comparator<T> comparator, int initialCapacity) {
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("Initial capacity must be at least 1");
+        }
+        this.comparator = comparator;
+        this.heap = new Object[initialCapacity];
+
+        lock = new ReentrantLock();
+        notEmpty = lock.newCondition();
+    }
+
+    /**
+     * Signals that the priorities of the queued elements may have changed. This is cheap to call; the actual re-ordering
+     * is deferred until an element is next requested.
+     */
+    public void reprioritize() {
+        lock.lock();
+        try {
+            prioritiesChanged = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean add(T t) {
+        return offer(t);
+    }
+
+    @Override
+    public void put(T t) throws InterruptedException {
+        offer(t);
+    }
+
+    @Override
+    public boolean offer(T t, long timeout, TimeUnit unit) throws InterruptedException {
+        return offer(t);
+    }
+
+    @Override
+    public boolean offer(T t) {
+        if (t == null) {
+            throw new NullPointerException();
+        }
+        lock.lock();
+        try {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, heap.length * 2);
+            }
+            siftUp(size++, t);
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public T poll() {
+        lock.lock();
+        try {
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public T take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            T result = dequeue();
+            while (result == null) {
+                notEmpty.await();
+                result = dequeue();
+            }
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            T result = dequeue();
+            while (result == null && nanos > 0) {
+                nanos = notEmpty.awaitNanos(nanos);
+                result = dequeue();
+            }
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public T peek() {
+        lock.lock();
+        try {
+            if (size == 0) {
+                return null;
+            }
+            rebuildIfNeeded();
+            return elementAt(0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private T dequeue() {
+        if (size == 0) {
+            return null;
+        }
+        rebuildIfNeeded();
+        T result = elementAt(0);
+        int last = --size;
+        T moved = elementAt(last);
+        heap[last] = null;
+        if (last > 0) {
+            siftDown(0, moved);
+        }
+        return result;
+    }
+
+    private void rebuildIfNeeded() {
+        if (prioritiesChanged) {
+            prioritiesChanged = false;
+            for (int i = (size >>> 1) - 1; i >= 0; i--) {
+                siftDown(i, elementAt(i));
+            }
+        }
+    }
+
+    private void siftUp(int index, T element) {
+        int k = index;
+        while (k > 0) {
+            int parent = (k - 1) >>> 1;
+            T parentElement = elementAt(parent);
+            if (comparator.compare(element, parentElement) >= 0) {
+                break;
+            }
+            heap[k] = parentElement;
+            k = parent;
+        }
+        heap[k] = element;
+    }
+
+    private void siftDown(int index, T element) {
+        int k = index;
+        int half = size >>> 1;
+        while (k < half) {
+            int child = (k << 1) + 1;
+            T childElement = elementAt(child);
+            int right = child + 1;
+            if (right < size && comparator.compare(childElement, elementAt(right)) > 0) {
+                child = right;
+                childElement = elementAt(child);
+            }
+            if (comparator.compare(element, childElement) <= 0) {
+                break;
+            }
+            heap[k] = childElement;
+            k = child;
+        }
+        heap[k] = element;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T elementAt(int index) {
+        return (T) heap[index];
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public int drainTo(Collection<? super T> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super T> c, int maxElements) {
+        lock.lock();
+        try {
+            int count = 0;
+            while (size > 0 && count < maxElements) {
+                c.add(dequeue());
+                count++;
+            }
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -64,7 +64,7 @@ public static <T extends Task> TaskMaster<T> createPriorityTaskMaster(String nam
     }
 
     public static <T extends Task> TaskMaster<T> createDynamicPriorityTaskMaster(String name, int threads, Comparator<T> comparator) {
-        return new TaskMaster<>(name, threads, new DynamicPriorityBlockingQueue<>(comparator));
+        return new TaskMaster<>(name, threads, new ReprioritizableBlockingQueue<>(comparator));
     }
 
     /**
@@ -86,6 +86,16 @@ public void put(T task) throws InterruptedException {
         taskQueue.put(task);
     }
 
+    /**
+     * Notifies this task master that the relative priority of the queued tasks may have changed, e.g. because the
+     * player moved. Task masters that were not created with a dynamic priority ignore this.
+     */
+    public void reprioritize() {
+        if (taskQueue instanceof ReprioritizableBlockingQueue) {
+            ((ReprioritizableBlockingQueue<T>) taskQueue).reprioritize();
+        }
+    }
+
     public void shutdown(T shutdownTask, boolean awaitComplete) {
         if (!shutdownTask.isTerminateSignal()) {
             throw new IllegalArgumentException("Expected task to provide terminate signal");
@@ -16,6 +16,8 @@
 
 package org.terasology.utilities.procedural;
 
+import java.util.Arrays;
+
 /**
  * Computes Brownian noise based on some noise generator.
  * Originally, Brown integrates white noise, but using other noises can be sometimes useful, too.
@@ -107,6 +109,80 @@ public float noise(float x, float y, float z) {
         return result * scale;
     }
 
+    /**
+     * Computes Fractional Brownian Motion for a grid of positions, one octave of the whole grid at a time.
+     * Scaling the coordinates per octave only depends on one axis, so it is done once per axis.
+     *
+     * @param xs     The positions on the x-axis
+     * @param ys     The positions on the y-axis
+     * @param target The array to fill, of at least xs.length * ys.length elements
+     */
+    @Override
+    public void noise(float[] xs, float[] ys, float[] target) {
+        int size = xs.length * ys.length;
+        float[] workingX = Arrays.copyOf(xs, xs.length);
+        float[] workingY = Arrays.copyOf(ys, ys.length);
+        float[] octave = new float[size];
+
+        Arrays.fill(target, 0, size, 0.0f);
+        for (int i = 0; i < octaves; i++) {
+            other.noise(workingX, workingY, octave);
+            accumulate(target, octave, spectralWeights[i], size);
+
+            scaleCoordinates(workingX);
+            scaleCoordinates(workingY);
+        }
+        applyScale(target, size);
+    }
+
+    /**
+     * Computes Fractional Brownian Motion for a grid of positions, one octave of the whole grid at a time.
+     * Scaling the coordinates per octave only depends on one axis, so it is done once per axis.
+     *
+     * @param xs     The positions on the x-axis
+     * @param ys     The positions on the y-axis
+     * @param zs     The positions on the z-axis
+     * @param target The array to fill, of at least xs.length * ys.length * zs.length elements
+     */
+    @Override
+    public void noise(float[] xs, float[] ys, float[] zs, float[] target) {
+        int size = xs.length * ys.length * zs.length;
+        float[] workingX = Arrays.copyOf(xs, xs.length);
+        float[] workingY = Arrays.copyOf(ys, ys.length);
+        float[] workingZ = Arrays.copyOf(zs, zs.length);
+        float[] octave = new float[size];
+
+        Arrays.fill(target, 0, size, 0.0f);
+        for (int i = 0; i < octaves; i++) {
+            other.noise(workingX, workingY, workingZ, octave);
+            accumulate(target, octave, spectralWeights[i], size);
+
+            scaleCoordinates(workingX);
+            scaleCoordinates(workingY);
+            scaleCoordinates(workingZ);
+        }
+        applyScale(target, size);
+    }
+
+    private static void accumulate(float[] target, float[] octave, float weight, int size) {
+        for (int k = 0; k < size; k++) {
+            target[k] += octave[k] * weight;
+        }
+    }
+
+    private void applyScale(float[] target, int size) {
+        for (int k = 0; k < size; k++) {
+            target[k] *= scale;
+        }
+    }
+
+    private void scaleCoordinates(float[] coordinates) {
+        // same rounding as the scalar version, which multiplies by the double lacunarity
+        for (int k = 0; k < coordinates.length; k++) {
+            coordinates[k] *= lacunarity;
+        }
+    }
+
     private static float computeScale(float[] spectralWeights) {
         float sum = 0;
         for (float weight : spectralWeights) {
@@ -59,4 +59,46 @@ public interface Noise {
      * @return The noise value in the range [-1..1]
      */
     float noise(float x, float y, float z);
+
+    /**
+     * Computes the noise values of a grid of positions. The value at position (xs[i], ys[j]) is stored at
+     * index i + xs.length * j of the target array. Implementations can override this to share work between
+     * positions, but must produce the same values as {@link #noise(float, float)}.
+     *
+     * @param xs     The positions on the x-axis
+     * @param ys     The positions on the y-axis
+     * @param target The array to fill, of at least xs.length * ys.length elements
+     */
+    default void noise(float[] xs, float[] ys, float[] target) {
+        int sizeX = xs.length;
+        for (int j = 0; j < ys.length; ++j) {
+            int offset = sizeX * j;
+            for (int i = 0; i < sizeX; ++i) {
+                target[offset + i] = noise(xs[i], ys[j]);
+            }
+        }
+    }
+
+    /**
+     * Computes the noise values of a grid of positions. The value at position (xs[i], ys[j], zs[k]) is stored at
+     * index i + xs.length * (j + ys.length * k) of the target array. Implementations can override this to share
+     * work between positions, but must produce the same values as {@link #noise(float, float, float)}.
+     *
+     * @param xs     The positions on the x-axis
+     * @param ys     The positions on the y-axis
+     * @param zs     The positions on the z-axis
+     * @param target The array to fill, of at least xs.length * ys.length * zs.length elements
+     */
+    default void noise(float[] xs, float[] ys, float[] zs, float[] target) {
+        int sizeX = xs.length;
+        int sizeY = ys.length;
+        for (int k = 0; k < zs.length; ++k) {
+            for (int j = 0; j < sizeY; ++j) {
+                int offset = sizeX * (j + sizeY * k);
+                for (int i = 0; i < sizeX; ++i) {
+                    target[offset + i] = noise(xs[i], ys[j], zs[k]);
+                }
+            }
+        }
+    }
 }
@@ -24,6 +24,8 @@
  */
 public class PerlinNoise extends AbstractNoise implements Noise2D, Noise3D {
 
+    private static final float[] ZERO = {0};
+
     private final int[] noisePermutations;
 
     /**
@@ -106,6 +108,84 @@ public float noise(float posX, float posY, float posZ) {
         return TeraMath.lerp(val1, val2, w);
     }
 
+    /**
+     * Computes the noise of a grid of positions in the plane z = 0, like {@link #noise(float, float)} does.
+     */
+    @Override
+    public void noise(float[] xs, float[] ys, float[] target) {
+        noise(xs, ys, ZERO, target);
+    }
+
+    /**
+     * Computes the noise of a grid of positions. The integer cell, fraction and fade value of every coordinate
+     * only depend on one axis, so they are computed once per axis instead of once per position.
+     */
+    @Override
+    public void noise(float[] xs, float[] ys, float[] zs, float[] target) {
+        int sizeX = xs.length;
+        int sizeY = ys.length;
+        int sizeZ = zs.length;
+
+        int[] xInts = new int[sizeX];
+        float[] xFracs = new float[sizeX];
+        float[] us = new float[sizeX];
+        prepareAxis(xs, xInts, xFracs, us);
+        int[] yInts = new int[sizeY];
+        float[] yFracs = new float[sizeY];
+        float[] vs = new float[sizeY];
+        prepareAxis(ys, yInts, yFracs, vs);
+        int[] zInts = new int[sizeZ];
+        float[] zFracs = new float[sizeZ];
+        float[] ws = new float[sizeZ];
+        prepareAxis(zs, zInts, zFracs, ws);
+
+        for (int k = 0; k < sizeZ; ++k) {
+            int zInt = zInts[k];
+            float z = zFracs[k];
+            float w = ws[k];
+            for (int j = 0; j < sizeY; ++j) {
+                int yInt = yInts[j];
+                float y = yFracs[j];
+                float v = vs[j];
+                int offset = sizeX * (j + sizeY * k);
+                for (int i = 0; i < sizeX; ++i) {
+                    int xInt = xInts[i];
+                    float x = xFracs[i];
+                    float u = us[i];
+
+                    int a = noisePermutations[xInt] + yInt;
+                    int aa = noisePermutations[a] + zInt;
+                    int ab = noisePermutations[(a + 1)] + zInt;
+                    int b = noisePermutations[(xInt + 1)] + yInt;
+                    int ba = noisePermutations[b] + zInt;
+                    int bb = noisePermutations[(b + 1)] + zInt;
+
+                    float gradAA = grad(noisePermutations[aa], x, y, z);
+                    float gradBA = grad(noisePermutations[ba], x - 1, y, z);
+                    float gradAB = grad(noisePermutations[ab], x, y - 1, z);
+                    float gradBB = grad(noisePermutations[bb], x - 1, y - 1, z);
+                    float val1 = TeraMath.lerp(TeraMath.lerp(gradAA, gradBA, u), TeraMath.lerp(gradAB, gradBB, u), v);
+
+                    float gradAA1 = grad(noisePermutations[(aa + 1)], x, y, z - 1);
+                    float gradBA1 = grad(noisePermutations[(ba + 1)], x - 1, y, z - 1);
+                    float gradAB1 = grad(noisePermutations[(ab + 1)], x, y - 1, z - 1);
+                    float gradBB1 = grad(noisePermutations[(bb + 1)], x - 1, y - 1, z - 1);
+                    float val2 = TeraMath.lerp(TeraMath.lerp(gradAA1, gradBA1, u), TeraMath.lerp(gradAB1, gradBB1, u), v);
+
+                    target[offset + i] = TeraMath.lerp(val1, val2, w);
+                }
+            }
+        }
+    }
+
+    private static void prepareAxis(float[] positions, int[] ints, float[] fracs, float[] fades) {
+        for (int i = 0; i < positions.length; ++i) {
+            ints[i] = (int) TeraMath.fastFloor(positions[i]) & 255;
+            fracs[i] = positions[i] - TeraMath.fastFloor(positions[i]);
+            fades[i] = TeraMath.fadePerlin(fracs[i]);
+        }
+    }
+
     private static float grad(int hash, float x, float y, float z) {
         int h = hash & 15;
         float u = h < 8 ? x : y;
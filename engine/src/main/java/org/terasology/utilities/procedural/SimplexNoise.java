@@ -119,6 +119,27 @@ private static float dot(Grad g, float x, float y, float z, float w) {
      */
     @Override
     public float noise(float xin, float yin) {
+        return simplex2D(xin, yin);
+    }
+
+    /**
+     * Computes 2D simplex noise for a grid of positions without dispatching each position through
+     * {@link #noise(float, float)}. The skewing mixes the axes, so no per-axis work can be shared without
+     * changing the results.
+     */
+    @Override
+    public void noise(float[] xs, float[] ys, float[] target) {
+        int sizeX = xs.length;
+        for (int j = 0; j < ys.length; ++j) {
+            float yin = ys[j];
+            int offset = sizeX * j;
+            for (int i = 0; i < sizeX; ++i) {
+                target[offset + i] = simplex2D(xs[i], yin);
+            }
+        }
+    }
+
+    private float simplex2D(float xin, float yin) {
         float n0;
         float n1;
         float n2; // Noise contributions from the three corners
@@ -198,6 +219,30 @@ public float noise(float xin, float yin) {
      */
     @Override
     public float noise(float xin, float yin, float zin) {
+        return simplex3D(xin, yin, zin);
+    }
+
+    /**
+     * Computes 3D simplex noise for a grid of positions without dispatching each position through
+     * {@link #noise(float, float, float)}.
+     */
+    @Override
+    public void noise(float[] xs, float[] ys, float[] zs, float[] target) {
+        int sizeX = xs.length;
+        int sizeY = ys.length;
+        for (int k = 0; k < zs.length; ++k) {
+            float zin = zs[k];
+            for (int j = 0; j < sizeY; ++j) {
+                float yin = ys[j];
+                int offset = sizeX * (j + sizeY * k);
+                for (int i = 0; i < sizeX; ++i) {
+                    target[offset + i] = simplex3D(xs[i], yin, zin);
+                }
+            }
+        }
+    }
+
+    private float simplex3D(float xin, float yin, float zin) {
         float n0;
         float n1;
         float n2;
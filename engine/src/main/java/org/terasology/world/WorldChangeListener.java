@@ -19,6 +19,10 @@
 import org.terasology.math.geom.Vector3i;
 import org.terasology.world.biomes.Biome;
 import org.terasology.world.block.Block;
+import org.terasology.world.liquid.LiquidData;
+import org.terasology.world.propagation.BlockChange;
+
+import java.util.Collection;
 
 /**
  */
@@ -26,6 +30,24 @@ public interface WorldChangeListener {
 
     void onBlockChanged(Vector3i pos, Block newBlock, Block originalBlock);
 
+    /**
+     * Notifies about a batch of block changes made together, e.g. by {@link WorldProvider#setBlocks(java.util.Map)}.
+     * By default each change is forwarded to {@link #onBlockChanged(Vector3i, Block, Block)}.
+     *
+     * @param changes The changes, at most one per position
+     */
+    default void onBlocksChanged(Collection<BlockChange> changes) {
+        for (BlockChange change : changes) {
+            onBlockChanged(change.getPosition(), change.getTo(), change.getFrom());
+        }
+    }
+
     void onBiomeChanged(Vector3i pos, Biome newBiome, Biome originalBiome);
 
+    /**
+     * Notifies about a change of the liquid state at a position. Does nothing by default.
+     */
+    default void onLiquidChanged(Vector3i pos, LiquidData newState, LiquidData originalState) {
+    }
+
 }
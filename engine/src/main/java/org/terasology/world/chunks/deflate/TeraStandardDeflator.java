@@ -59,9 +59,9 @@ public class TeraStandardDeflator extends TeraVisitingDeflator {
      */
 
     // TODO dynamically calculate DEFLATE_MINIMUM_*, they only work for chunks with dimension 16x256x16
-    protected static final int DEFLATE_MINIMUM_16BIT = 8;
-    protected static final int DEFLATE_MINIMUM_8BIT = 16;
-    protected static final int DEFLATE_MINIMUM_4BIT = 31;
+    public static final int DEFLATE_MINIMUM_16BIT = 8;
+    public static final int DEFLATE_MINIMUM_8BIT = 16;
+    public static final int DEFLATE_MINIMUM_4BIT = 31;
 
     public TeraStandardDeflator() {
     }
@@ -86,8 +86,17 @@ public class ChunkImpl implements Chunk {
     private boolean disposed;
     private boolean ready;
     private boolean dirty;
+    // Chunk data is only changed by one thread at a time, so the version needs no atomic increment
+    private volatile int changeVersion;
+    private volatile int savedVersion = -1;
     private boolean animated;
 
+    /**
+     * Whether block, liquid and biome data are already in the form the deflator would produce, e.g. because they were
+     * decoded straight into sparse arrays. Cleared as soon as any of them is modified.
+     */
+    private boolean storedDataDeflated;
+
     // Rendering
     private ChunkMesh activeMesh;
     private ChunkMesh pendingMesh;
@@ -197,8 +206,10 @@ public Block setBlock(int x, int y, int z, Block block) {
         if (blockData == blockDataSnapshot) {
             blockData = blockData.copy();
         }
+        storedDataDeflated = false;
         int oldValue = blockData.set(x, y, z, block.getId());
         if (oldValue != block.getId()) {
+            changeVersion++;
             if (!block.isLiquid()) {
                 setLiquid(x, y, z, new LiquidData());
             }
@@ -285,7 +296,10 @@ public void setLiquid(int x, int y, int z, LiquidData newState) {
         if (extraData == extraDataSnapshot) {
             extraData = extraData.copy();
         }
-        extraData.set(x, y, z, newValue);
+        storedDataDeflated = false;
+        if ((byte) extraData.set(x, y, z, newValue) != newValue) {
+            changeVersion++;
+        }
     }
 
     @Override
@@ -309,7 +323,11 @@ public Biome setBiome(int x, int y, int z, Biome biome) {
             biomeData = biomeData.copy();
         }
         short shortId = biomeManager.getBiomeShortId(biome);
+        storedDataDeflated = false;
         short previousShortId = (short) biomeData.set(x, y, z, shortId);
+        if (previousShortId != shortId) {
+            changeVersion++;
+        }
         return biomeManager.getBiomeByShortId(previousShortId);
     }
 
@@ -382,10 +400,7 @@ public void deflate() {
             int biomeSize = biomeData.getEstimatedMemoryConsumptionInBytes();
             int totalSize = blocksSize + sunlightRegenSize + sunlightSize + lightSize + liquidSize + biomeSize;
 
-            blockData = def.deflate(blockData);
-            lightData = def.deflate(lightData);
-            extraData = def.deflate(extraData);
-            biomeData = def.deflate(biomeData);
+            deflateData(def);
 
             int blocksReduced = blockData.getEstimatedMemoryConsumptionInBytes();
             int lightReduced = lightData.getEstimatedMemoryConsumptionInBytes();
@@ -418,12 +433,27 @@ public void deflate() {
             ChunkMonitor.fireChunkDeflated(this, totalSize, totalReduced);
         } else {
             final int oldSize = getEstimatedMemoryConsumptionInBytes();
+            deflateData(def);
+            ChunkMonitor.fireChunkDeflated(this, oldSize, getEstimatedMemoryConsumptionInBytes());
+        }
+    }
+
+    private void deflateData(TeraDeflator def) {
+        if (!storedDataDeflated) {
             blockData = def.deflate(blockData);
-            lightData = def.deflate(lightData);
             extraData = def.deflate(extraData);
             biomeData = def.deflate(biomeData);
-            ChunkMonitor.fireChunkDeflated(this, oldSize, getEstimatedMemoryConsumptionInBytes());
         }
+        lightData = def.deflate(lightData);
+        storedDataDeflated = false;
+    }
+
+    /**
+     * Marks the block, liquid and biome data as already deflated, so the next {@link #deflate()} only has to process
+     * the light data.
+     */
+    void markStoredDataDeflated() {
+        storedDataDeflated = true;
     }
 
     @Override
@@ -603,6 +633,39 @@ public EntityData.ChunkStore.Builder encode() {
         return ChunkSerializer.encode(chunkPos, blockData, extraData, biomeData);
     }
 
+    /**
+     * @return true if blocks, liquids or biomes of this chunk changed since it was loaded or last saved. Chunks that
+     * have never been saved always have unsaved changes.
+     */
+    public boolean hasUnsavedChanges() {
+        return changeVersion != savedVersion;
+    }
+
+    /**
+     * @return a number that changes whenever blocks, liquids or biomes of this chunk change.
+     */
+    public int getChangeVersion() {
+        return changeVersion;
+    }
+
+    /**
+     * Marks the block, liquid and biome data of the given version as stored. Changes made after that version mark the
+     * chunk as having unsaved changes, even if they were made before this method got called.
+     *
+     * @param version the version that got stored, as returned by {@link #getChangeVersion()} before it got encoded.
+     */
+    public void markSaved(int version) {
+        savedVersion = version;
+    }
+
+    /**
+     * Marks the current block, liquid and biome data as stored. Changes made afterwards mark the chunk as having
+     * unsaved changes again.
+     */
+    public void markSaved() {
+        markSaved(changeVersion);
+    }
+
     /**
      * Calling this method results in a (cheap) snapshot to be taken of the current state of the chunk.
      * This snapshot can then be obtained and rleased by calling {@link #encodeAndReleaseSnapshot()}.
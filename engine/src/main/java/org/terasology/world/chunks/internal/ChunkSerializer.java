@@ -28,6 +28,11 @@
 import org.terasology.world.chunks.blockdata.TeraArray;
 import org.terasology.world.chunks.blockdata.TeraDenseArray16Bit;
 import org.terasology.world.chunks.blockdata.TeraDenseArray8Bit;
+import org.terasology.world.chunks.blockdata.TeraSparseArray16Bit;
+import org.terasology.world.chunks.blockdata.TeraSparseArray8Bit;
+import org.terasology.world.chunks.deflate.TeraStandardDeflator;
+
+import java.util.Arrays;
 
 /**
  */
@@ -62,7 +67,9 @@ public static Chunk decode(EntityData.ChunkStore message, BlockManager blockMana
         final TeraArray blockData = runLengthDecode(message.getBlockData());
         final TeraArray liquidData = runLengthDecode(message.getLiquidData());
         final TeraArray biomeData = runLengthDecode(message.getBiomeData());
-        return new ChunkImpl(pos, blockData, liquidData, biomeData, blockManager, biomeManager);
+        ChunkImpl chunk = new ChunkImpl(pos, blockData, liquidData, biomeData, blockManager, biomeManager);
+        chunk.markStoredDataDeflated();
+        return chunk;
     }
 
     private static EntityData.RunLengthEncoding16 runLengthEncode16(TeraArray array) {
@@ -119,32 +126,182 @@ private static EntityData.RunLengthEncoding8 runLengthEncode8(TeraArray array) {
         return builder.build();
     }
 
-    private static TeraArray runLengthDecode(EntityData.RunLengthEncoding16 data) {
+    /**
+     * Decodes run length encoded 16 bit data straight into the representation the {@link TeraStandardDeflator} would
+     * produce, without materializing a dense array first. Rows covered by a single run are stored packed; the array is
+     * only kept dense if too few rows can be packed to make a sparse array worthwhile.
+     */
+    public static TeraArray runLengthDecode(EntityData.RunLengthEncoding16 data) {
         Preconditions.checkState(data.getValuesCount() == data.getRunLengthsCount(), "Expected same number of values as runs");
-        short[] decodedData = new short[ChunkConstants.SIZE_X * ChunkConstants.SIZE_Y * ChunkConstants.SIZE_Z];
-        int index = 0;
-        for (int pos = 0; pos < data.getValuesCount(); ++pos) {
-            int length = data.getRunLengths(pos);
-            short value = (short) data.getValues(pos);
-            for (int i = 0; i < length; ++i) {
-                decodedData[index++] = value;
+        int[] runLengths = new int[data.getRunLengthsCount()];
+        int[] values = new int[data.getValuesCount()];
+        for (int i = 0; i < runLengths.length; ++i) {
+            runLengths[i] = data.getRunLengths(i);
+            values[i] = data.getValues(i);
+        }
+        final int sizeY = ChunkConstants.SIZE_Y;
+        final int rowSize = ChunkConstants.SIZE_X * ChunkConstants.SIZE_Z;
+
+        final short[] deflated = new short[sizeY];
+        final boolean[] packedRows = new boolean[sizeY];
+        int packed = countPackableRows(new RunCursor(runLengths, values), rowSize, sizeY, packedRows, deflated);
+
+        if (packed == sizeY && allEqual(deflated)) {
+            return new TeraSparseArray16Bit(ChunkConstants.SIZE_X, sizeY, ChunkConstants.SIZE_Z, deflated[0]);
+        }
+        RunCursor cursor = new RunCursor(runLengths, values);
+        if (packed > TeraStandardDeflator.DEFLATE_MINIMUM_16BIT) {
+            final short[][] inflated = new short[sizeY][];
+            for (int y = 0; y < sizeY; y++) {
+                if (packedRows[y]) {
+                    cursor.skip(rowSize);
+                } else {
+                    inflated[y] = new short[rowSize];
+                    cursor.fill(inflated[y], 0, rowSize);
+                }
             }
+            return new TeraSparseArray16Bit(ChunkConstants.SIZE_X, sizeY, ChunkConstants.SIZE_Z, inflated, deflated);
         }
-        return new TeraDenseArray16Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z, decodedData);
+        short[] decodedData = new short[rowSize * sizeY];
+        cursor.fill(decodedData, 0, decodedData.length);
+        return new TeraDenseArray16Bit(ChunkConstants.SIZE_X, sizeY, ChunkConstants.SIZE_Z, decodedData);
     }
 
-    private static TeraArray runLengthDecode(EntityData.RunLengthEncoding8 data) {
+    /**
+     * The 8 bit counterpart of {@link #runLengthDecode(EntityData.RunLengthEncoding16)}.
+     */
+    public static TeraArray runLengthDecode(EntityData.RunLengthEncoding8 data) {
         Preconditions.checkState(data.getValues().size() == data.getRunLengthsCount(), "Expected same number of values as runs");
-        byte[] decodedData = new byte[ChunkConstants.SIZE_X * ChunkConstants.SIZE_Y * ChunkConstants.SIZE_Z];
-        int index = 0;
+        int[] runLengths = new int[data.getRunLengthsCount()];
+        int[] values = new int[runLengths.length];
         ByteString.ByteIterator valueSource = data.getValues().iterator();
-        for (int pos = 0; pos < data.getRunLengthsCount(); ++pos) {
-            int length = data.getRunLengths(pos);
-            byte value = valueSource.nextByte();
-            for (int i = 0; i < length; ++i) {
-                decodedData[index++] = value;
+        for (int i = 0; i < runLengths.length; ++i) {
+            runLengths[i] = data.getRunLengths(i);
+            values[i] = valueSource.nextByte();
+        }
+        final int sizeY = ChunkConstants.SIZE_Y;
+        final int rowSize = ChunkConstants.SIZE_X * ChunkConstants.SIZE_Z;
+
+        final short[] rowValues = new short[sizeY];
+        final boolean[] packedRows = new boolean[sizeY];
+        int packed = countPackableRows(new RunCursor(runLengths, values), rowSize, sizeY, packedRows, rowValues);
+        final byte[] deflated = new byte[sizeY];
+        for (int y = 0; y < sizeY; y++) {
+            deflated[y] = (byte) rowValues[y];
+        }
+
+        if (packed == sizeY && allEqual(rowValues)) {
+            return new TeraSparseArray8Bit(ChunkConstants.SIZE_X, sizeY, ChunkConstants.SIZE_Z, deflated[0]);
+        }
+        RunCursor cursor = new RunCursor(runLengths, values);
+        if (packed > TeraStandardDeflator.DEFLATE_MINIMUM_8BIT) {
+            final byte[][] inflated = new byte[sizeY][];
+            for (int y = 0; y < sizeY; y++) {
+                if (packedRows[y]) {
+                    cursor.skip(rowSize);
+                } else {
+                    inflated[y] = new byte[rowSize];
+                    cursor.fill(inflated[y], 0, rowSize);
+                }
+            }
+            return new TeraSparseArray8Bit(ChunkConstants.SIZE_X, sizeY, ChunkConstants.SIZE_Z, inflated, deflated);
+        }
+        byte[] decodedData = new byte[rowSize * sizeY];
+        cursor.fill(decodedData, 0, decodedData.length);
+        return new TeraDenseArray8Bit(ChunkConstants.SIZE_X, sizeY, ChunkConstants.SIZE_Z, decodedData);
+    }
+
+    /**
+     * Walks the runs once and marks every row that is covered by a single run, as such a row consists of one value only.
+     * Neighbouring runs never share a value, so no other row can be uniform.
+     *
+     * @return the number of packable rows
+     */
+    private static int countPackableRows(RunCursor cursor, int rowSize, int sizeY, boolean[] packedRows, short[] rowValues) {
+        int packed = 0;
+        for (int y = 0; y < sizeY; y++) {
+            if (cursor.remaining() >= rowSize) {
+                packedRows[y] = true;
+                rowValues[y] = (short) cursor.value();
+                packed++;
+            }
+            cursor.skip(rowSize);
+        }
+        return packed;
+    }
+
+    private static boolean allEqual(short[] values) {
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] != values[0]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Position within a run length encoding. Elements after the last run are zero, as the encoder drops a trailing run of
+     * zeros.
+     */
+    private static final class RunCursor {
+        private final int[] runLengths;
+        private final int[] values;
+        private int run = -1;
+        private int remainingInRun;
+
+        RunCursor(int[] runLengths, int[] values) {
+            this.runLengths = runLengths;
+            this.values = values;
+            nextRun();
+        }
+
+        private void nextRun() {
+            do {
+                run++;
+            } while (run < runLengths.length && runLengths[run] == 0);
+            remainingInRun = run < runLengths.length ? runLengths[run] : Integer.MAX_VALUE;
+        }
+
+        int value() {
+            return run < values.length ? values[run] : 0;
+        }
+
+        int remaining() {
+            return remainingInRun;
+        }
+
+        void skip(int count) {
+            int left = count;
+            while (left > 0) {
+                int step = Math.min(left, remainingInRun);
+                left -= step;
+                remainingInRun -= step;
+                if (remainingInRun == 0) {
+                    nextRun();
+                }
+            }
+        }
+
+        void fill(short[] target, int offset, int count) {
+            int index = offset;
+            int end = offset + count;
+            while (index < end) {
+                int step = Math.min(end - index, remainingInRun);
+                Arrays.fill(target, index, index + step, (short) value());
+                index += step;
+                skip(step);
+            }
+        }
+
+        void fill(byte[] target, int offset, int count) {
+            int index = offset;
+            int end = offset + count;
+            while (index < end) {
+                int step = Math.min(end - index, remainingInRun);
+                Arrays.fill(target, index, index + step, (byte) value());
+                index += step;
+                skip(step);
             }
         }
-        return new TeraDenseArray8Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z, decodedData);
     }
 }
@@ -42,6 +42,13 @@ public void doTask(ChunkTask task) {
         }
     }
 
+    /**
+     * Notifies the pipeline that the relevance of queued tasks changed, e.g. because a relevance region moved.
+     */
+    public void reprioritize() {
+        chunkGenerator.reprioritize();
+    }
+
     public void shutdown() {
         chunkGenerator.shutdown(new ShutdownChunkTask(), false);
     }
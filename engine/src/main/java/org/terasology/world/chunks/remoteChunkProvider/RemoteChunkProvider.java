@@ -75,6 +75,12 @@ public class RemoteChunkProvider implements ChunkProvider, GeneratingChunkProvid
 
     private LocalPlayer localPlayer;
 
+    /**
+     * The chunk the local player was in when the pipeline was last reprioritized. Task priorities are scored against
+     * this instead of the live player position, so they stay consistent while the queue is being reordered.
+     */
+    private volatile Vector3i playerChunkPos = new Vector3i();
+
     public RemoteChunkProvider(BlockManager blockManager, LocalPlayer localPlayer) {
         this.blockManager = blockManager;
         this.localPlayer = localPlayer;
@@ -112,6 +118,7 @@ public void invalidateChunks(Vector3i pos) {
 
     @Override
     public void beginUpdate() {
+        updatePlayerChunkPos();
         if (listener != null) {
             List<Chunk> newReadyChunks = Lists.newArrayList();
             readyChunks.drainTo(newReadyChunks);
@@ -141,6 +148,14 @@ public void beginUpdate() {
         }
     }
 
+    private void updatePlayerChunkPos() {
+        Vector3i currentChunkPos = ChunkMath.calcChunkPos(new Vector3i(localPlayer.getPosition(), RoundingMode.HALF_UP));
+        if (!currentChunkPos.equals(playerChunkPos)) {
+            playerChunkPos = currentChunkPos;
+            pipeline.reprioritize();
+        }
+    }
+
     private boolean makeChunkAvailable(final Chunk chunk) {
         for (Vector3i pos : Region3i.createFromCenterExtents(chunk.getPosition(), 1)) {
             if (chunkCache.get(pos) == null) {
@@ -148,8 +163,7 @@ private boolean makeChunkAvailable(final Chunk chunk) {
             }
         }
 
-        lightMerger.beginMerge(chunk, chunk);
-        return true;
+        return lightMerger.beginMerge(chunk, chunk);
     }
 
 
@@ -265,8 +279,7 @@ public void removeRelevanceEntity(EntityRef entity) {
 
     @Override
     public void completeUpdate() {
-        Chunk chunk = lightMerger.completeMerge();
-        if (chunk != null) {
+        for (Chunk chunk : lightMerger.completeMerges()) {
             chunk.markReady();
             updateAdjacentChunksReadyFieldOf(chunk);
             updateAdjacentChunksReadyFieldOfAdjChunks(chunk);
@@ -321,12 +334,14 @@ private class ChunkTaskRelevanceComparator implements Comparator<ChunkTask> {
 
         @Override
         public int compare(ChunkTask o1, ChunkTask o2) {
-            return score(o1.getPosition()) - score(o2.getPosition());
+            return Integer.compare(score(o1), score(o2));
         }
 
-        private int score(Vector3i chunk) {
-            Vector3i playerChunk = ChunkMath.calcChunkPos(new Vector3i(localPlayer.getPosition(), RoundingMode.HALF_UP));
-            return playerChunk.distanceSquared(chunk);
+        private int score(ChunkTask task) {
+            if (task.isTerminateSignal()) {
+                return -1;
+            }
+            return playerChunkPos.distanceSquared(task.getPosition());
         }
     }
 
@@ -0,0 +1,299 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.generation;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.entitySystem.Component;
+import org.terasology.math.Region3i;
+import org.terasology.math.geom.Vector3i;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shares 2D facets between all regions that cover the same column of the world.
+ * <br><br>
+ * A {@link WorldFacet2D} is column-invariant if every provider in its chain only produces, updates and requires
+ * 2D facets. Such facets only depend on the x/z extent of the region, so they are generated once in a region
+ * that is shared by the vertically stacked chunks of a column. The shared regions are kept in a bounded cache keyed
+ * by the x/z extent. They are dropped whenever one of the providers involved gets a new configuration.
+ * <br><br>
+ * This class is thread-safe. Facets handed out by the cache are shared and must be treated as read-only.
+ */
+public class ColumnFacetCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ColumnFacetCache.class);
+
+    private final ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetProviderChains;
+    private final Map<Class<? extends WorldFacet>, Border3D> borders;
+
+    private final Set<Class<? extends WorldFacet>> columnFacets = Sets.newHashSet();
+    private final Set<FacetProvider> columnProviders = Sets.newHashSet();
+    private final List<ConfigurableFacetProvider> configurableProviders = Lists.newArrayList();
+
+    private final Cache<ColumnKey, RegionImpl> columns;
+    private volatile ConfigurationState configurationState = new ConfigurationState(new Component[0], 0);
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * @param facetProviderChains the provider chain of each facet, as determined by the {@link WorldBuilder}
+     * @param borders             the border of each facet
+     * @param maxColumns          the maximum number of columns to keep facets for
+     */
+    public ColumnFacetCache(ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetProviderChains,
+                            Map<Class<? extends WorldFacet>, Border3D> borders, int maxColumns) {
+        this.facetProviderChains = facetProviderChains;
+        this.borders = borders;
+        this.columns = CacheBuilder.newBuilder().maximumSize(maxColumns).build();
+
+        for (Class<? extends WorldFacet> facet : facetProviderChains.keySet()) {
+            if (WorldFacet2D.class.isAssignableFrom(facet)
+                    && facetProviderChains.get(facet).stream().allMatch(ColumnFacetCache::touchesOnly2DFacets)) {
+                columnFacets.add(facet);
+            }
+        }
+        for (FacetProvider provider : Sets.newLinkedHashSet(facetProviderChains.values())) {
+            Collection<Class<? extends WorldFacet>> generated = getGeneratedFacets(provider);
+            if (!generated.isEmpty() && columnFacets.containsAll(generated)) {
+                columnProviders.add(provider);
+                if (provider instanceof ConfigurableFacetProvider) {
+                    configurableProviders.add((ConfigurableFacetProvider) provider);
+                }
+            }
+        }
+        logger.debug("Column facets: {}", columnFacets);
+    }
+
+    /**
+     * @param facet the facet class
+     * @return Whether the facet is shared between all regions of a column
+     */
+    public boolean isColumnFacet(Class<? extends WorldFacet> facet) {
+        return columnFacets.contains(facet);
+    }
+
+    /**
+     * @param provider a facet provider
+     * @return Whether the provider only generates column facets, so its results can be taken from the column instead
+     */
+    public boolean isColumnProvider(FacetProvider provider) {
+        return columnProviders.contains(provider);
+    }
+
+    /**
+     * @param region the region to get the facet for; only its x/z extent is relevant
+     * @param facet  a column facet
+     * @return The facet for the column of the region, generating it if it is not cached yet
+     */
+    public <T extends WorldFacet> T getFacet(Region3i region, Class<T> facet) {
+        RegionImpl column = getColumn(region);
+        synchronized (column) {
+            if (column.isFacetGenerated(facet)) {
+                hitCount.incrementAndGet();
+            } else {
+                missCount.incrementAndGet();
+            }
+            return column.getFacet(facet);
+        }
+    }
+
+    /**
+     * @param provider a facet provider
+     * @return The facets the provider produces or updates
+     */
+    static Collection<Class<? extends WorldFacet>> getGeneratedFacets(FacetProvider provider) {
+        List<Class<? extends WorldFacet>> result = Lists.newArrayList();
+        Produces produces = provider.getClass().getAnnotation(Produces.class);
+        if (produces != null) {
+            result.addAll(Arrays.asList(produces.value()));
+        }
+        Updates updates = provider.getClass().getAnnotation(Updates.class);
+        if (updates != null) {
+            for (Facet facet : updates.value()) {
+                result.add(facet.value());
+            }
+        }
+        return result;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @return The fraction of column facet requests that were served without generating the facet
+     */
+    public double getHitRate() {
+        long hits = hitCount.get();
+        long total = hits + missCount.get();
+        return (total == 0) ? 1.0 : (double) hits / total;
+    }
+
+    /**
+     * @return The number of columns currently cached
+     */
+    public long getColumnCount() {
+        return columns.size();
+    }
+
+    public void invalidateAll() {
+        columns.invalidateAll();
+    }
+
+    private RegionImpl getColumn(Region3i region) {
+        ColumnKey key = new ColumnKey(region, getConfigurationGeneration());
+        try {
+            return columns.get(key, () -> new RegionImpl(key.getColumnRegion(), facetProviderChains, borders));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to create column region for " + region, e);
+        }
+    }
+
+    /**
+     * Configurations are replaced rather than modified when they change (see {@link FacetedWorldConfigurator}), so
+     * comparing their identities is enough to notice a change. Columns generated with an older configuration are
+     * dropped, and their keys no longer match in case they are still being generated.
+     *
+     * @return The number of configuration changes seen so far
+     */
+    private int getConfigurationGeneration() {
+        ConfigurationState state = configurationState;
+        if (!state.matches(configurableProviders)) {
+            synchronized (this) {
+                state = configurationState;
+                if (!state.matches(configurableProviders)) {
+                    Component[] configurations = new Component[configurableProviders.size()];
+                    for (int i = 0; i < configurations.length; i++) {
+                        configurations[i] = configurableProviders.get(i).getConfiguration();
+                    }
+                    state = new ConfigurationState(configurations, state.generation + 1);
+                    configurationState = state;
+                    columns.invalidateAll();
+                }
+            }
+        }
+        return state.generation;
+    }
+
+    private static boolean touchesOnly2DFacets(FacetProvider provider) {
+        Produces produces = provider.getClass().getAnnotation(Produces.class);
+        if (produces != null) {
+            for (Class<? extends WorldFacet> facet : produces.value()) {
+                if (!WorldFacet2D.class.isAssignableFrom(facet)) {
+                    return false;
+                }
+            }
+        }
+        Updates updates = provider.getClass().getAnnotation(Updates.class);
+        if (updates != null) {
+            for (Facet facet : updates.value()) {
+                if (!WorldFacet2D.class.isAssignableFrom(facet.value())) {
+                    return false;
+                }
+            }
+        }
+        Requires requires = provider.getClass().getAnnotation(Requires.class);
+        if (requires != null) {
+            for (Facet facet : requires.value()) {
+                if (!WorldFacet2D.class.isAssignableFrom(facet.value())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static final class ConfigurationState {
+        private final Component[] configurations;
+        private final int generation;
+
+        ConfigurationState(Component[] configurations, int generation) {
+            this.configurations = configurations;
+            this.generation = generation;
+        }
+
+        boolean matches(List<ConfigurableFacetProvider> providers) {
+            if (configurations.length != providers.size()) {
+                return false;
+            }
+            for (int i = 0; i < configurations.length; i++) {
+                if (configurations[i] != providers.get(i).getConfiguration()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class ColumnKey {
+        private final int minX;
+        private final int minZ;
+        private final int sizeX;
+        private final int sizeZ;
+        private final int configurationGeneration;
+
+        ColumnKey(Region3i region, int configurationGeneration) {
+            this.minX = region.minX();
+            this.minZ = region.minZ();
+            this.sizeX = region.sizeX();
+            this.sizeZ = region.sizeZ();
+            this.configurationGeneration = configurationGeneration;
+        }
+
+        /**
+         * @return A region with the x/z extent of the column. Its y extent is the same for all chunks of the column.
+         */
+        Region3i getColumnRegion() {
+            return Region3i.createFromMinAndSize(new Vector3i(minX, 0, minZ), new Vector3i(sizeX, 1, sizeZ));
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj instanceof ColumnKey) {
+                ColumnKey other = (ColumnKey) obj;
+                return minX == other.minX && minZ == other.minZ && sizeX == other.sizeX && sizeZ == other.sizeZ
+                        && configurationGeneration == other.configurationGeneration;
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(minX, minZ, sizeX, sizeZ, configurationGeneration);
+        }
+    }
+}
@@ -30,31 +30,69 @@ public class RegionImpl implements Region, GeneratingRegion {
     private final Region3i region;
     private final ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetProviderChains;
     private final Map<Class<? extends WorldFacet>, Border3D> borders;
+    private final ColumnFacetCache columnFacetCache;
 
     private final TypeMap<WorldFacet> generatingFacets = TypeMap.create();
     private final Set<FacetProvider> processedProviders = Sets.newHashSet();
     private final TypeMap<WorldFacet> generatedFacets = TypeMap.create();
 
     public RegionImpl(Region3i region, ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetProviderChains, Map<Class<? extends WorldFacet>, Border3D> borders) {
+        this(region, facetProviderChains, borders, null);
+    }
+
+    /**
+     * @param columnFacetCache the cache to take column facets from, or null to generate all facets for this region
+     */
+    public RegionImpl(Region3i region, ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetProviderChains, Map<Class<? extends WorldFacet>, Border3D> borders,
+                      ColumnFacetCache columnFacetCache) {
         this.region = region;
         this.facetProviderChains = facetProviderChains;
         this.borders = borders;
+        this.columnFacetCache = columnFacetCache;
     }
 
     @Override
     public <T extends WorldFacet> T getFacet(Class<T> dataType) {
         T facet = generatedFacets.get(dataType);
         if (facet == null) {
-            facetProviderChains.get(dataType).stream().filter(provider -> !processedProviders.contains(provider)).forEach(provider -> {
-                provider.process(this);
-                processedProviders.add(provider);
-            });
-            facet = generatingFacets.get(dataType);
+            if (columnFacetCache != null && columnFacetCache.isColumnFacet(dataType)) {
+                facet = columnFacetCache.getFacet(region, dataType);
+                if (!generatingFacets.containsKey(dataType)) {
+                    generatingFacets.put(dataType, facet);
+                }
+            } else {
+                facetProviderChains.get(dataType).stream().filter(provider -> !processedProviders.contains(provider)).forEach(provider -> {
+                    if (columnFacetCache != null && columnFacetCache.isColumnProvider(provider)) {
+                        takeFacetsFromColumn(provider);
+                    } else {
+                        provider.process(this);
+                    }
+                    processedProviders.add(provider);
+                });
+                facet = generatingFacets.get(dataType);
+            }
             generatedFacets.put(dataType, facet);
         }
         return facet;
     }
 
+    /**
+     * Uses the column's facets in place of running a provider that only generates column facets.
+     */
+    private void takeFacetsFromColumn(FacetProvider provider) {
+        for (Class<? extends WorldFacet> facetType : ColumnFacetCache.getGeneratedFacets(provider)) {
+            takeFacetFromColumn(facetType);
+        }
+    }
+
+    private <T extends WorldFacet> void takeFacetFromColumn(Class<T> facetType) {
+        generatingFacets.put(facetType, columnFacetCache.getFacet(region, facetType));
+    }
+
+    boolean isFacetGenerated(Class<? extends WorldFacet> dataType) {
+        return generatedFacets.containsKey(dataType);
+    }
+
     @Override
     public Region3i getRegion() {
         return region;
@@ -29,11 +29,14 @@
 /**
  */
 public class WorldImpl implements World {
+    private static final int MAX_CACHED_COLUMNS = 256;
+
     private final ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetProviderChains;
     private final List<WorldRasterizer> worldRasterizers;
     private final List<EntityProvider> entityProviders;
     private final Map<Class<? extends WorldFacet>, Border3D> borders;
     private final int seaLevel;
+    private final ColumnFacetCache columnFacetCache;
 
     public WorldImpl(ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetProviderChains,
                      List<WorldRasterizer> worldRasterizers,
@@ -45,6 +48,7 @@ public WorldImpl(ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetP
         this.entityProviders = entityProviders;
         this.borders = borders;
         this.seaLevel = seaLevel;
+        this.columnFacetCache = new ColumnFacetCache(facetProviderChains, borders, MAX_CACHED_COLUMNS);
     }
 
     @Override
@@ -59,7 +63,7 @@ public int getSeaLevel() {
 
     @Override
     public void rasterizeChunk(CoreChunk chunk, EntityBuffer buffer) {
-        Region chunkRegion = getWorldData(chunk.getRegion());
+        Region chunkRegion = getChunkData(chunk.getRegion());
         for (WorldRasterizer rasterizer : worldRasterizers) {
             rasterizer.generateChunk(chunk, chunkRegion);
         }
@@ -68,6 +72,21 @@ public void rasterizeChunk(CoreChunk chunk, EntityBuffer buffer) {
         }
     }
 
+    /**
+     * Like {@link #getWorldData(Region3i)}, but takes 2D facets from the column cache so vertically stacked chunks
+     * share them.
+     */
+    Region getChunkData(Region3i region) {
+        return new RegionImpl(region, facetProviderChains, borders, columnFacetCache);
+    }
+
+    /**
+     * @return The cache of 2D facets shared by the chunks of a column
+     */
+    public ColumnFacetCache getColumnFacetCache() {
+        return columnFacetCache;
+    }
+
     @Override
     public Set<Class<? extends WorldFacet>> getAllFacets() {
         return Sets.newHashSet(facetProviderChains.keySet());
@@ -83,5 +102,7 @@ public void initialize() {
         worldRasterizers.forEach(WorldRasterizer::initialize);
 
         entityProviders.forEach(EntityProvider::initialize);
+
+        columnFacetCache.invalidateAll();
     }
 }
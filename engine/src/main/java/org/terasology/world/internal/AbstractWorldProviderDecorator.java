@@ -26,6 +26,7 @@
 import org.terasology.world.time.WorldTime;
 
 import java.util.Collection;
+import java.util.Map;
 
 /**
  */
@@ -97,6 +98,11 @@ public Block setBlock(Vector3i pos, Block type) {
         return base.setBlock(pos, type);
     }
 
+    @Override
+    public Map<Vector3i, Block> setBlocks(Map<Vector3i, Block> blocks) {
+        return base.setBlocks(blocks);
+    }
+
     @Override
     public boolean setLiquid(int x, int y, int z, LiquidData newState, LiquidData oldState) {
         return base.setLiquid(x, y, z, newState, oldState);
@@ -126,6 +126,24 @@ public Block setBlock(Vector3i pos, Block type) {
         return null;
     }
 
+    @Override
+    public Map<Vector3i, Block> setBlocks(Map<Vector3i, Block> blocks) {
+        if (GameThread.isCurrentThread()) {
+            Map<Vector3i, EntityRef> blockEntities = Maps.newHashMapWithExpectedSize(blocks.size());
+            for (Vector3i pos : blocks.keySet()) {
+                blockEntities.put(pos, getBlockEntityAt(pos));
+            }
+            Map<Vector3i, Block> oldTypes = super.setBlocks(blocks);
+            for (Map.Entry<Vector3i, Block> entry : oldTypes.entrySet()) {
+                Vector3i pos = entry.getKey();
+                updateBlockEntity(blockEntities.get(pos), pos, entry.getValue(), blocks.get(pos), false,
+                        Collections.<Class<? extends Component>>emptySet());
+            }
+            return oldTypes;
+        }
+        return Collections.emptyMap();
+    }
+
     @Override
     @SafeVarargs
     public final Block setBlockRetainComponent(Vector3i pos, Block type, Class<? extends Component>... components) {
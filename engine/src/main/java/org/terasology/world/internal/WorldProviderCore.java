@@ -25,6 +25,7 @@
 import org.terasology.world.time.WorldTime;
 
 import java.util.Collection;
+import java.util.Map;
 
 /**
  * Provides the basic interface for all world providers.
@@ -104,6 +105,16 @@ public interface WorldProviderCore {
      */
     Block setBlock(Vector3i pos, Block type);
 
+    /**
+     * Places many blocks at once. The changes are grouped by chunk, so each affected chunk is locked and marked dirty
+     * only once and listeners receive a single notification for the whole batch.
+     *
+     * @param blocks The world positions to change, mapped to the type of the block to place there
+     * @return The previous block types of all positions that could be set. Positions in chunks that are not loaded
+     * are missing from the result
+     */
+    Map<Vector3i, Block> setBlocks(Map<Vector3i, Block> blocks);
+
     /**
      * Changes the biome at the given position.
      *
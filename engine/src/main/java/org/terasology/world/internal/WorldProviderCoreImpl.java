@@ -21,6 +21,7 @@
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import org.terasology.context.Context;
 import org.terasology.engine.SimpleUri;
 import org.terasology.entitySystem.entity.EntityManager;
@@ -61,6 +62,7 @@
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  */
@@ -191,12 +193,7 @@ public Block setBlock(Vector3i worldPos, Block type) {
             Block oldBlockType = chunk.setBlock(blockPos, type);
             chunk.writeUnlock();
             if (oldBlockType != type) {
-                BlockChange oldChange = blockChanges.get(worldPos);
-                if (oldChange == null) {
-                    blockChanges.put(worldPos, new BlockChange(worldPos, oldBlockType, type));
-                } else {
-                    oldChange.setTo(type);
-                }
+                recordBlockChange(worldPos, oldBlockType, type);
                 for (Vector3i pos : ChunkMath.getChunkRegionAroundWorldPos(worldPos, 1)) {
                     RenderableChunk dirtiedChunk = chunkProvider.getChunk(pos);
                     if (dirtiedChunk != null) {
@@ -211,6 +208,73 @@ public Block setBlock(Vector3i worldPos, Block type) {
         return null;
     }
 
+    @Override
+    public Map<Vector3i, Block> setBlocks(Map<Vector3i, Block> blocks) {
+        Map<Vector3i, Map<Vector3i, Block>> blocksByChunk = Maps.newHashMap();
+        for (Map.Entry<Vector3i, Block> entry : blocks.entrySet()) {
+            Vector3i chunkPos = ChunkMath.calcChunkPos(entry.getKey());
+            Map<Vector3i, Block> chunkBlocks = blocksByChunk.get(chunkPos);
+            if (chunkBlocks == null) {
+                chunkBlocks = Maps.newHashMap();
+                blocksByChunk.put(chunkPos, chunkBlocks);
+            }
+            chunkBlocks.put(entry.getKey(), entry.getValue());
+        }
+
+        Map<Vector3i, Block> oldBlocks = Maps.newHashMapWithExpectedSize(blocks.size());
+        List<BlockChange> changes = Lists.newArrayList();
+        Set<Vector3i> dirtiedChunkPositions = Sets.newHashSet();
+        for (Map.Entry<Vector3i, Map<Vector3i, Block>> chunkEntry : blocksByChunk.entrySet()) {
+            CoreChunk chunk = chunkProvider.getChunk(chunkEntry.getKey());
+            if (chunk == null) {
+                continue;
+            }
+            chunk.writeLock();
+            try {
+                for (Map.Entry<Vector3i, Block> entry : chunkEntry.getValue().entrySet()) {
+                    Vector3i worldPos = entry.getKey();
+                    Block type = entry.getValue();
+                    Block oldBlockType = chunk.setBlock(ChunkMath.calcBlockPos(worldPos), type);
+                    oldBlocks.put(worldPos, oldBlockType);
+                    if (oldBlockType != type) {
+                        changes.add(new BlockChange(worldPos, oldBlockType, type));
+                        for (Vector3i pos : ChunkMath.getChunkRegionAroundWorldPos(worldPos, 1)) {
+                            dirtiedChunkPositions.add(pos);
+                        }
+                    }
+                }
+            } finally {
+                chunk.writeUnlock();
+            }
+        }
+
+        if (!changes.isEmpty()) {
+            for (BlockChange change : changes) {
+                recordBlockChange(change.getPosition(), change.getFrom(), change.getTo());
+            }
+            for (Vector3i pos : dirtiedChunkPositions) {
+                RenderableChunk dirtiedChunk = chunkProvider.getChunk(pos);
+                if (dirtiedChunk != null) {
+                    dirtiedChunk.setDirty(true);
+                }
+            }
+            notifyBlocksChanged(changes);
+        }
+        return oldBlocks;
+    }
+
+    /**
+     * Records a block change for the next propagation pass, merging it with an earlier change of the same position.
+     */
+    private void recordBlockChange(Vector3i worldPos, Block oldType, Block type) {
+        BlockChange oldChange = blockChanges.get(worldPos);
+        if (oldChange == null) {
+            blockChanges.put(worldPos, new BlockChange(worldPos, oldType, type));
+        } else {
+            oldChange.setTo(type);
+        }
+    }
+
     private void notifyBlockChanged(Vector3i pos, Block type, Block oldType) {
         // TODO: Could use a read/write writeLock.
         // TODO: Review, should only happen on main thread (as should changes to listeners)
@@ -221,6 +285,14 @@ private void notifyBlockChanged(Vector3i pos, Block type, Block oldType) {
         }
     }
 
+    private void notifyBlocksChanged(Collection<BlockChange> changes) {
+        synchronized (listeners) {
+            for (WorldChangeListener listener : listeners) {
+                listener.onBlocksChanged(changes);
+            }
+        }
+    }
+
     private void notifyBiomeChanged(Vector3i pos, Biome newBiome, Biome originalBiome) {
         // TODO: Could use a read/write writeLock.
         // TODO: Review, should only happen on main thread (as should changes to listeners)
@@ -240,17 +312,27 @@ public boolean setLiquid(int x, int y, int z, LiquidData newState, LiquidData ol
             try {
                 Vector3i blockPos = ChunkMath.calcBlockPos(x, y, z);
                 LiquidData liquidState = chunk.getLiquid(blockPos);
-                if (liquidState.equals(oldState)) {
-                    chunk.setLiquid(blockPos, newState);
-                    return true;
+                if (!liquidState.equals(oldState)) {
+                    return false;
                 }
+                chunk.setLiquid(blockPos, newState);
             } finally {
                 chunk.writeUnlock();
             }
+            notifyLiquidChanged(new Vector3i(x, y, z), newState, oldState);
+            return true;
         }
         return false;
     }
 
+    private void notifyLiquidChanged(Vector3i pos, LiquidData newState, LiquidData oldState) {
+        synchronized (listeners) {
+            for (WorldChangeListener listener : listeners) {
+                listener.onLiquidChanged(pos, newState, oldState);
+            }
+        }
+    }
+
     @Override
     public LiquidData getLiquid(int x, int y, int z) {
         Vector3i chunkPos = ChunkMath.calcChunkPos(x, y, z);
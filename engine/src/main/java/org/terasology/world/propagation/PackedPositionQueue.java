@@ -0,0 +1,191 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.propagation;
+
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.world.chunks.ChunkConstants;
+
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Deque;
+
+/**
+ * A first-in first-out queue of block positions, used as work queue by the batch propagators.
+ * <br><br>
+ * Positions are packed into a single long (24 bits for x and z, 16 bits for y), so queueing a position allocates
+ * nothing. Each position is contained at most once: membership is tracked by one bitset per chunk, which are recycled
+ * whenever the queue runs empty. Removing a position only clears its bit; the stale entry is skipped when polled.
+ *
+ */
+final class PackedPositionQueue {
+
+    private static final int X_SHIFT = 40;
+    private static final int Y_SHIFT = 24;
+    private static final long X_MASK = 0xFFFFFFL;
+    private static final long Y_MASK = 0xFFFFL;
+    private static final long Z_MASK = 0xFFFFFFL;
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int CHUNK_VOLUME = ChunkConstants.SIZE_X * ChunkConstants.SIZE_Y * ChunkConstants.SIZE_Z;
+
+    private long[] elements = new long[INITIAL_CAPACITY];
+    private int head;
+    private int tail;
+    private int size;
+
+    private final TLongObjectMap<BitSet> members = new TLongObjectHashMap<>();
+    private final Deque<BitSet> unusedMembers = new ArrayDeque<>();
+
+    static long pack(int x, int y, int z) {
+        return ((x & X_MASK) << X_SHIFT) | ((y & Y_MASK) << Y_SHIFT) | (z & Z_MASK);
+    }
+
+    static long pack(Vector3i pos) {
+        return pack(pos.x, pos.y, pos.z);
+    }
+
+    static int unpackX(long packed) {
+        return (int) (packed >> X_SHIFT);
+    }
+
+    static int unpackY(long packed) {
+        return (int) (packed << (64 - X_SHIFT) >> (64 - X_SHIFT + Y_SHIFT));
+    }
+
+    static int unpackZ(long packed) {
+        return (int) (packed << (64 - Y_SHIFT) >> (64 - Y_SHIFT));
+    }
+
+    /**
+     * @param packed A packed position
+     * @param target The vector to write the position into
+     * @return The target vector
+     */
+    static Vector3i unpack(long packed, Vector3i target) {
+        target.set(unpackX(packed), unpackY(packed), unpackZ(packed));
+        return target;
+    }
+
+    /**
+     * @return Whether the position was added, false if it was already contained
+     */
+    boolean add(long packed) {
+        BitSet chunkMembers = members.get(chunkKey(packed));
+        if (chunkMembers == null) {
+            chunkMembers = unusedMembers.isEmpty() ? new BitSet(CHUNK_VOLUME) : unusedMembers.pop();
+            members.put(chunkKey(packed), chunkMembers);
+        }
+        int index = indexInChunk(packed);
+        if (chunkMembers.get(index)) {
+            return false;
+        }
+        chunkMembers.set(index);
+        if (tail == elements.length) {
+            makeRoom();
+        }
+        elements[tail++] = packed;
+        size++;
+        return true;
+    }
+
+    /**
+     * @return Whether the position was contained
+     */
+    boolean remove(long packed) {
+        BitSet chunkMembers = members.get(chunkKey(packed));
+        int index = indexInChunk(packed);
+        if (chunkMembers == null || !chunkMembers.get(index)) {
+            return false;
+        }
+        chunkMembers.clear(index);
+        size--;
+        if (size == 0) {
+            reset();
+        }
+        return true;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Removes the oldest position from the queue. Must not be called on an empty queue.
+     *
+     * @return The packed position
+     */
+    long poll() {
+        while (true) {
+            long packed = elements[head++];
+            BitSet chunkMembers = members.get(chunkKey(packed));
+            int index = indexInChunk(packed);
+            if (chunkMembers != null && chunkMembers.get(index)) {
+                chunkMembers.clear(index);
+                size--;
+                if (size == 0) {
+                    reset();
+                }
+                return packed;
+            }
+        }
+    }
+
+    void clear() {
+        for (BitSet chunkMembers : members.valueCollection()) {
+            chunkMembers.clear();
+        }
+        size = 0;
+        reset();
+    }
+
+    private void reset() {
+        head = 0;
+        tail = 0;
+        unusedMembers.addAll(members.valueCollection());
+        members.clear();
+    }
+
+    private void makeRoom() {
+        int live = tail - head;
+        if (live < elements.length / 2) {
+            System.arraycopy(elements, head, elements, 0, live);
+        } else {
+            long[] grown = new long[elements.length * 2];
+            System.arraycopy(elements, head, grown, 0, live);
+            elements = grown;
+        }
+        head = 0;
+        tail = live;
+    }
+
+    private static long chunkKey(long packed) {
+        return pack(unpackX(packed) >> ChunkConstants.POWER_X, unpackY(packed) >> ChunkConstants.POWER_Y,
+                unpackZ(packed) >> ChunkConstants.POWER_Z);
+    }
+
+    private static int indexInChunk(long packed) {
+        int x = unpackX(packed) & ChunkConstants.INNER_CHUNK_POS_FILTER_X;
+        int y = unpackY(packed) & ChunkConstants.INNER_CHUNK_POS_FILTER_Y;
+        int z = unpackZ(packed) & ChunkConstants.INNER_CHUNK_POS_FILTER_Z;
+        return x + ChunkConstants.SIZE_X * (z + ChunkConstants.SIZE_Z * y);
+    }
+}
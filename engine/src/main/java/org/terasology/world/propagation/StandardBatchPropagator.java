@@ -16,7 +16,6 @@
 package org.terasology.world.propagation;
 
 import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
 import org.terasology.math.ChunkMath;
 import org.terasology.math.Region3i;
 import org.terasology.math.Side;
@@ -27,7 +26,6 @@
 
 import java.util.Arrays;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * Batch propagator that works on a set of changed blocks
@@ -40,8 +38,14 @@ public class StandardBatchPropagator implements BatchPropagator {
     private PropagationRules rules;
     private PropagatorWorldView world;
 
-    private Set<Vector3i>[] reduceQueues;
-    private Set<Vector3i>[] increaseQueues;
+    private PackedPositionQueue[] reduceQueues;
+    private PackedPositionQueue[] increaseQueues;
+
+    /**
+     * Scratch vectors for the position being processed and its neighbours, so the work loops allocate nothing
+     */
+    private final Vector3i currentPos = new Vector3i();
+    private final Vector3i adjacentPos = new Vector3i();
 
     private Map<Side, Vector3i> chunkEdgeDeltas = Maps.newEnumMap(Side.class);
 
@@ -69,11 +73,11 @@ public StandardBatchPropagator(PropagationRules rules, PropagatorWorldView world
             chunkEdgeDeltas.put(side, delta);
         }
 
-        increaseQueues = new Set[rules.getMaxValue()];
-        reduceQueues = new Set[rules.getMaxValue()];
+        increaseQueues = new PackedPositionQueue[rules.getMaxValue()];
+        reduceQueues = new PackedPositionQueue[rules.getMaxValue()];
         for (int i = 0; i < rules.getMaxValue(); ++i) {
-            increaseQueues[i] = Sets.newLinkedHashSet();
-            reduceQueues[i] = Sets.newLinkedHashSet();
+            increaseQueues[i] = new PackedPositionQueue();
+            reduceQueues[i] = new PackedPositionQueue();
         }
 
     }
@@ -129,28 +133,19 @@ private void reviewChange(BlockChange blockChange) {
     }
 
     private void processReduction() {
-        int depth = 0;
-        while (depth < rules.getMaxValue()) {
+        for (int depth = 0; depth < rules.getMaxValue(); depth++) {
             byte oldValue = (byte) (rules.getMaxValue() - depth);
-            Set<Vector3i> toProcess = reduceQueues[depth];
-            if (!toProcess.isEmpty()) {
-                reduceQueues[depth] = Sets.newLinkedHashSetWithExpectedSize(toProcess.size());
-
-                for (Vector3i pos : toProcess) {
-                    purge(pos, oldValue);
-                }
-                if (toProcess.isEmpty()) {
-                    depth++;
-                }
-            } else {
-                depth++;
+            PackedPositionQueue toProcess = reduceQueues[depth];
+            while (!toProcess.isEmpty()) {
+                purge(toProcess.poll(), oldValue);
             }
         }
     }
 
-    private void purge(Vector3i pos, byte oldValue) {
+    private void purge(long packedPos, byte oldValue) {
+        Vector3i pos = PackedPositionQueue.unpack(packedPos, currentPos);
         Block block = world.getBlockAt(pos);
-        increaseQueues[rules.getMaxValue() - oldValue].remove(pos);
+        increaseQueues[rules.getMaxValue() - oldValue].remove(packedPos);
         byte fixedValue = rules.getFixedValue(block, pos);
         if (fixedValue > 0) {
             increase(pos, fixedValue);
@@ -160,7 +155,9 @@ private void purge(Vector3i pos, byte oldValue) {
 
         for (Side side : Side.values()) {
             byte expectedValue = rules.propagateValue(oldValue, side, block);
-            Vector3i adjPos = side.getAdjacentPos(pos);
+            Vector3i adjPos = adjacentPos;
+            adjPos.set(pos);
+            adjPos.add(side.getVector3i());
             if (rules.canSpreadOutOf(block, side)) {
                 byte adjValue = world.getValueAt(adjPos);
                 if (adjValue == expectedValue) {
@@ -176,30 +173,23 @@ private void purge(Vector3i pos, byte oldValue) {
     }
 
     private void processIncrease() {
-        int depth = 0;
-        while (depth < rules.getMaxValue() - 1) {
+        for (int depth = 0; depth < rules.getMaxValue() - 1; depth++) {
             byte value = (byte) (rules.getMaxValue() - depth);
-            Set<Vector3i> toProcess = increaseQueues[depth];
-            if (!toProcess.isEmpty()) {
-                increaseQueues[depth] = Sets.newLinkedHashSetWithExpectedSize(toProcess.size());
-
-                for (Vector3i pos : toProcess) {
-                    push(pos, value);
-                }
-                if (increaseQueues[depth].isEmpty()) {
-                    depth++;
-                }
-            } else {
-                depth++;
+            PackedPositionQueue toProcess = increaseQueues[depth];
+            while (!toProcess.isEmpty()) {
+                push(toProcess.poll(), value);
             }
         }
     }
 
-    private void push(Vector3i pos, byte value) {
+    private void push(long packedPos, byte value) {
+        Vector3i pos = PackedPositionQueue.unpack(packedPos, currentPos);
         Block block = world.getBlockAt(pos);
         for (Side side : Side.values()) {
             byte spreadValue = rules.propagateValue(value, side, block);
-            Vector3i adjPos = side.getAdjacentPos(pos);
+            Vector3i adjPos = adjacentPos;
+            adjPos.set(pos);
+            adjPos.add(side.getVector3i());
             if (rules.canSpreadOutOf(block, side)) {
                 byte adjValue = world.getValueAt(adjPos);
                 if (adjValue < spreadValue && adjValue != PropagatorWorldView.UNAVAILABLE) {
@@ -213,7 +203,7 @@ private void push(Vector3i pos, byte value) {
     }
 
     private void cleanUp() {
-        for (Set<Vector3i> queue : increaseQueues) {
+        for (PackedPositionQueue queue : increaseQueues) {
             queue.clear();
         }
     }
@@ -225,13 +215,13 @@ private void increase(Vector3i position, byte value) {
 
     private void queueSpreadValue(Vector3i position, byte value) {
         if (value > 1) {
-            increaseQueues[rules.getMaxValue() - value].add(position);
+            increaseQueues[rules.getMaxValue() - value].add(PackedPositionQueue.pack(position));
         }
     }
 
     private void reduce(Vector3i position, byte oldValue) {
         if (oldValue > 0) {
-            reduceQueues[rules.getMaxValue() - oldValue].add(position);
+            reduceQueues[rules.getMaxValue() - oldValue].add(PackedPositionQueue.pack(position));
         }
     }
 
@@ -15,7 +15,6 @@
  */
 package org.terasology.world.propagation;
 
-import com.google.common.collect.Sets;
 import org.terasology.math.ChunkMath;
 import org.terasology.math.Side;
 import org.terasology.math.geom.Vector3i;
@@ -24,7 +23,6 @@
 import org.terasology.world.chunks.LitChunk;
 
 import java.util.Arrays;
-import java.util.Set;
 
 /**
  * Batch propagator that works on a set of changed blocks
@@ -37,8 +35,13 @@ public class SunlightRegenBatchPropagator implements BatchPropagator {
     private PropagatorWorldView sunlightWorld;
     private BatchPropagator sunlightPropagator;
 
-    private Set<Vector3i>[] reduceQueues;
-    private Set<Vector3i>[] increaseQueues;
+    private PackedPositionQueue[] reduceQueues;
+    private PackedPositionQueue[] increaseQueues;
+
+    /**
+     * Scratch vector for the column position being processed
+     */
+    private final Vector3i currentPos = new Vector3i();
 
     public SunlightRegenBatchPropagator(PropagationRules regenRules, PropagatorWorldView regenWorld, BatchPropagator sunlightPropagator, PropagatorWorldView sunlightWorld) {
         this.regenRules = regenRules;
@@ -46,11 +49,11 @@ public SunlightRegenBatchPropagator(PropagationRules regenRules, PropagatorWorld
         this.sunlightPropagator = sunlightPropagator;
         this.sunlightWorld = sunlightWorld;
 
-        increaseQueues = new Set[regenRules.getMaxValue() + 1];
-        reduceQueues = new Set[regenRules.getMaxValue() + 1];
+        increaseQueues = new PackedPositionQueue[regenRules.getMaxValue() + 1];
+        reduceQueues = new PackedPositionQueue[regenRules.getMaxValue() + 1];
         for (int i = 0; i < regenRules.getMaxValue() + 1; ++i) {
-            increaseQueues[i] = Sets.newLinkedHashSet();
-            reduceQueues[i] = Sets.newLinkedHashSet();
+            increaseQueues[i] = new PackedPositionQueue();
+            reduceQueues[i] = new PackedPositionQueue();
         }
     }
 
@@ -102,32 +105,32 @@ private void reviewChangeToTop(BlockChange blockChange) {
     }
 
     private void queueSpreadRegen(Vector3i position, byte value) {
-        increaseQueues[value].add(position);
+        increaseQueues[value].add(PackedPositionQueue.pack(position));
     }
 
     private void processRegenReduction() {
         for (byte depth = 0; depth <= regenRules.getMaxValue(); depth++) {
-            Set<Vector3i> toProcess = reduceQueues[depth];
-
-            toProcess.forEach(this::purge);
-            toProcess.clear();
+            PackedPositionQueue toProcess = reduceQueues[depth];
+            while (!toProcess.isEmpty()) {
+                purge(toProcess.poll());
+            }
         }
     }
 
-    private void purge(Vector3i pos) {
-        int expectedValue = regenWorld.getValueAt(pos);
+    private void purge(long packedPos) {
+        PackedPositionQueue.unpack(packedPos, currentPos);
+        int expectedValue = regenWorld.getValueAt(currentPos);
         if (expectedValue != 0) {
-            Vector3i position = new Vector3i(pos);
             for (byte i = 0; i <= ChunkConstants.MAX_SUNLIGHT_REGEN; ++i) {
-                if (regenWorld.getValueAt(position) == expectedValue) {
-                    regenWorld.setValueAt(position, i);
+                if (regenWorld.getValueAt(currentPos) == expectedValue) {
+                    regenWorld.setValueAt(currentPos, i);
                     if (expectedValue - ChunkConstants.SUNLIGHT_REGEN_THRESHOLD > 0) {
-                        sunlightPropagator.regenerate(new Vector3i(position), (byte) (expectedValue - ChunkConstants.SUNLIGHT_REGEN_THRESHOLD));
+                        sunlightPropagator.regenerate(currentPos, (byte) (expectedValue - ChunkConstants.SUNLIGHT_REGEN_THRESHOLD));
                     }
                 } else {
                     break;
                 }
-                position.y--;
+                currentPos.y--;
                 if (expectedValue < ChunkConstants.MAX_SUNLIGHT_REGEN) {
                     expectedValue++;
                 }
@@ -137,34 +140,32 @@ private void purge(Vector3i pos) {
 
     private void processRegenIncrease() {
         for (byte depth = regenRules.getMaxValue(); depth >= 0; depth--) {
-            Set<Vector3i> toProcess = increaseQueues[depth];
-
-            for (Vector3i pos : toProcess) {
-                push(pos, depth);
+            PackedPositionQueue toProcess = increaseQueues[depth];
+            while (!toProcess.isEmpty()) {
+                push(toProcess.poll(), depth);
             }
-            toProcess.clear();
         }
     }
 
-    private void push(Vector3i pos, byte value) {
+    private void push(long packedPos, byte value) {
         byte regenValue = value;
-        Block block = regenWorld.getBlockAt(pos);
-        Vector3i position = new Vector3i(pos);
+        PackedPositionQueue.unpack(packedPos, currentPos);
+        Block block = regenWorld.getBlockAt(currentPos);
         while (regenRules.canSpreadOutOf(block, Side.BOTTOM)) {
             regenValue = regenRules.propagateValue(regenValue, Side.BOTTOM, block);
-            position.y -= 1;
-            byte adjValue = regenWorld.getValueAt(position);
+            currentPos.y -= 1;
+            byte adjValue = regenWorld.getValueAt(currentPos);
             if (adjValue < regenValue && adjValue != PropagatorWorldView.UNAVAILABLE) {
-                block = regenWorld.getBlockAt(position);
+                block = regenWorld.getBlockAt(currentPos);
                 if (regenRules.canSpreadInto(block, Side.TOP)) {
-                    regenWorld.setValueAt(position, regenValue);
-                    reduceQueues[adjValue].remove(position);
+                    regenWorld.setValueAt(currentPos, regenValue);
+                    reduceQueues[adjValue].remove(PackedPositionQueue.pack(currentPos));
                     byte sunlightValue = (byte) (regenValue - ChunkConstants.SUNLIGHT_REGEN_THRESHOLD);
                     if (sunlightValue > 0) {
-                        byte prevValue = sunlightWorld.getValueAt(position);
+                        byte prevValue = sunlightWorld.getValueAt(currentPos);
                         if (prevValue < sunlightValue) {
-                            sunlightWorld.setValueAt(position, sunlightValue);
-                            sunlightPropagator.propagateFrom(new Vector3i(position), sunlightValue);
+                            sunlightWorld.setValueAt(currentPos, sunlightValue);
+                            sunlightPropagator.propagateFrom(currentPos, sunlightValue);
                         }
                     }
                 } else {
@@ -181,7 +182,7 @@ private void cleanUp() {
 
     private void reduce(Vector3i position, byte oldValue) {
         if (oldValue > 0) {
-            reduceQueues[oldValue].add(position);
+            reduceQueues[oldValue].add(PackedPositionQueue.pack(position));
         }
     }
 
@@ -16,8 +16,10 @@
 package org.terasology.world.propagation.light;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.terasology.math.Region3i;
 import org.terasology.math.Side;
 import org.terasology.math.geom.Vector3i;
 import org.terasology.world.chunks.Chunk;
@@ -30,7 +32,9 @@
 import org.terasology.world.propagation.StandardBatchPropagator;
 import org.terasology.world.propagation.SunlightRegenBatchPropagator;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -38,14 +42,26 @@
 import java.util.concurrent.TimeUnit;
 
 /**
+ * Merges the lighting of chunks that became ready with their neighbours, on a pool of worker threads.
+ * <br><br>
+ * A merge locks the 3x3x3 neighbourhood of its chunk. Merges are only scheduled if their neighbourhood does not
+ * overlap the neighbourhood of a merge still in flight, so concurrent merges never wait for each other's locks.
+ * Overlapping merges are rejected and have to be offered again after the merges in flight are completed.
+ * <br><br>
+ * {@link #beginMerge(Chunk, Object)} and {@link #completeMerges()} must be called from the same thread.
+ *
  */
 public class LightMerger<T> {
     private static final int CENTER_INDEX = 13;
 
     private static Logger logger = LoggerFactory.getLogger(LightMerger.class);
 
-    private ExecutorService executorService = Executors.newSingleThreadExecutor();
-    private Future<T> resultFuture;
+    private final int threads;
+    private final int maxMergesInFlight;
+    private ExecutorService executorService;
+
+    private final List<PendingMerge<T>> mergesInFlight = Lists.newArrayList();
+    private final Set<Vector3i> reservedChunks = Sets.newHashSet();
 
     private GeneratingChunkProvider chunkProvider;
     private LightPropagationRules lightRules = new LightPropagationRules();
@@ -54,27 +70,87 @@
     private boolean running = true;
 
     public LightMerger(GeneratingChunkProvider chunkProvider) {
+        this(chunkProvider, Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    }
+
+    /**
+     * @param chunkProvider The provider of the chunks to merge
+     * @param threads       The number of merges to run concurrently
+     */
+    public LightMerger(GeneratingChunkProvider chunkProvider, int threads) {
         this.chunkProvider = chunkProvider;
+        this.threads = threads;
+        this.maxMergesInFlight = 2 * threads;
+        this.executorService = Executors.newFixedThreadPool(threads);
     }
 
-    public void beginMerge(final Chunk chunk, final T data) {
-        resultFuture = executorService.submit(() -> {
+    /**
+     * Schedules the merge of the given chunk, unless another merge in flight is using part of its neighbourhood or
+     * the merger is already at capacity.
+     *
+     * @param chunk The chunk to merge into its neighbourhood
+     * @param data  The data to return from {@link #completeMerges()} once the merge is done
+     * @return Whether the merge was scheduled
+     */
+    public boolean beginMerge(final Chunk chunk, final T data) {
+        if (isAtCapacity()) {
+            return false;
+        }
+        Vector3i center = chunk.getPosition();
+        for (Vector3i pos : Region3i.createFromCenterExtents(center, 1)) {
+            if (reservedChunks.contains(pos)) {
+                return false;
+            }
+        }
+        for (Vector3i pos : Region3i.createFromCenterExtents(center, 1)) {
+            reservedChunks.add(new Vector3i(pos));
+        }
+        Future<T> result = executorService.submit(() -> {
             merge(chunk);
             return data;
         });
+        mergesInFlight.add(new PendingMerge<>(new Vector3i(center), result));
+        return true;
+    }
+
+    /**
+     * @return Whether no further merges can be scheduled until some of the merges in flight are completed
+     */
+    public boolean isAtCapacity() {
+        return mergesInFlight.size() >= maxMergesInFlight;
+    }
+
+    /**
+     * @param chunkPos The position of a chunk
+     * @return Whether the chunk is part of the neighbourhood of a merge in flight, and so must not be unloaded
+     */
+    public boolean isMerging(Vector3i chunkPos) {
+        return reservedChunks.contains(chunkPos);
     }
 
-    public T completeMerge() {
-        if (resultFuture != null) {
-            try {
-                T result = resultFuture.get();
-                resultFuture = null;
-                return result;
-            } catch (InterruptedException | ExecutionException e) {
-                throw new RuntimeException("Error completing lighting merge", e);
+    /**
+     * Collects all merges that have finished since the last call and frees their neighbourhoods for further merges.
+     *
+     * @return The data passed to {@link #beginMerge(Chunk, Object)} for each finished merge
+     */
+    public List<T> completeMerges() {
+        List<T> results = Lists.newArrayList();
+        Iterator<PendingMerge<T>> iterator = mergesInFlight.iterator();
+        while (iterator.hasNext()) {
+            PendingMerge<T> merge = iterator.next();
+            if (merge.result.isDone()) {
+                iterator.remove();
+                for (Vector3i pos : Region3i.createFromCenterExtents(merge.center, 1)) {
+                    reservedChunks.remove(pos);
+                }
+                try {
+                    results.add(merge.result.get());
+                } catch (InterruptedException | ExecutionException e) {
+                    throw new RuntimeException("Error completing lighting merge", e);
+                }
             }
         }
-        return null;
+        return results;
     }
 
     private void merge(Chunk chunk) {
@@ -151,14 +227,26 @@ public void shutdown() {
         try {
             executorService.awaitTermination(10, TimeUnit.SECONDS);
         } catch (InterruptedException e) {
-            logger.error("Failed to shutdown light merge thread in a timely manner");
+            logger.error("Failed to shutdown light merge threads in a timely manner");
         }
+        mergesInFlight.clear();
+        reservedChunks.clear();
     }
 
     public void restart() {
         if (!running) {
-            executorService = Executors.newSingleThreadExecutor();
+            executorService = Executors.newFixedThreadPool(threads);
             running = true;
         }
     }
+
+    private static final class PendingMerge<T> {
+        private final Vector3i center;
+        private final Future<T> result;
+
+        PendingMerge(Vector3i center, Future<T> result) {
+            this.center = center;
+            this.result = result;
+        }
+    }
 }
@@ -71,6 +71,10 @@ varying vec3 normal;
 
 varying float blockHint;
 varying float isUpside;
+varying vec2 tiledBlockPos;
+
+// The size of a tile without the border added around it by BlockMeshPart.mapTexCoords
+#define TILED_TEXTURE_SIZE (TEXTURE_OFFSET * (1.0 - 2.0 / 128.0))
 
 uniform sampler2D textureWater;
 uniform sampler2D textureLava;
@@ -90,6 +94,11 @@ void main() {
 #endif
 
     vec2 texCoord = gl_TexCoord[0].xy;
+    // Continuous across merged quads, so the derivatives stay valid where the tile repeats
+    vec2 unrepeatedTexCoord = texCoord + tiledBlockPos * TILED_TEXTURE_SIZE;
+    if (checkFlag(BLOCK_HINT_TILED, blockHint)) {
+        texCoord += fract(tiledBlockPos) * TILED_TEXTURE_SIZE;
+    }
 
     vec3 normalizedVPos = -normalize(vertexViewPos.xyz);
     vec2 projectedPos = projectVertexToTexCoord(vertexProjPos);
@@ -101,8 +110,8 @@ void main() {
     // the tangent for each vertex in the chunk VBO might be not the best idea either.
     vec3 dp1 = dFdx(vertexProjPos.xyz);
     vec3 dp2 = dFdy(vertexProjPos.xyz);
-    vec2 duv1 = dFdx(gl_TexCoord[0].xy);
-    vec2 duv2 = dFdy(gl_TexCoord[0].xy);
+    vec2 duv1 = dFdx(unrepeatedTexCoord);
+    vec2 duv2 = dFdy(unrepeatedTexCoord);
 
     vec3 dp2perp = cross(dp2, normal);
     vec3 dp1perp = cross(normal, dp1);
@@ -106,6 +106,7 @@ varying vec3 sunVecView;
 
 varying float isUpside;
 varying float blockHint;
+varying vec2 tiledBlockPos;
 
 void main()
 {
@@ -114,6 +115,27 @@ void main()
 
     gl_TexCoord[1] = gl_MultiTexCoord1;
 
+    // Position on the face in blocks, used to repeat the texture across quads spanning several blocks. The axes
+    // follow the texture coordinates of the cube shape, see GreedyMesher.matchesTiledMapping
+    if (checkFlag(BLOCK_HINT_TILED, blockHint)) {
+        vec3 blockPos = gl_Vertex.xyz + 0.5;
+        if (gl_Normal.y > 0.5) {
+            tiledBlockPos = blockPos.xz;
+        } else if (gl_Normal.y < -0.5) {
+            tiledBlockPos = vec2(-blockPos.x, blockPos.z);
+        } else if (gl_Normal.x > 0.5) {
+            tiledBlockPos = vec2(-blockPos.z, -blockPos.y);
+        } else if (gl_Normal.x < -0.5) {
+            tiledBlockPos = vec2(blockPos.z, -blockPos.y);
+        } else if (gl_Normal.z > 0.5) {
+            tiledBlockPos = vec2(blockPos.x, -blockPos.y);
+        } else {
+            tiledBlockPos = vec2(-blockPos.x, -blockPos.y);
+        }
+    } else {
+        tiledBlockPos = vec2(0.0);
+    }
+
 	vertexViewPos = gl_ModelViewMatrix * gl_Vertex;
 	vertexWorldPos = gl_Vertex.xyz + chunkPositionWorld.xyz;
 